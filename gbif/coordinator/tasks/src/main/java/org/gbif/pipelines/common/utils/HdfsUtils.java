@@ -23,9 +23,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.gbif.api.model.pipelines.PipelineStep;
 import org.gbif.pipelines.core.factory.FileSystemFactory;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.gbif.pipelines.core.utils.FsUtils;
 
 /** Utils help to work with HDFS files */
 @Slf4j
@@ -52,8 +54,9 @@ public class HdfsUtils {
   public static List<FileStatus> getAllFilesRecursive(Path filePath, FileSystem fs)
       throws IOException {
     List<FileStatus> fileList = new ArrayList<>();
-    FileStatus[] fileStatus = fs.listStatus(filePath);
-    for (FileStatus fileStat : fileStatus) {
+    RemoteIterator<FileStatus> iterator = fs.listStatusIterator(filePath);
+    while (iterator.hasNext()) {
+      FileStatus fileStat = iterator.next();
       if (fileStat.isDirectory()) {
         fileList.addAll(getAllFilesRecursive(fileStat.getPath(), fs));
       } else {
@@ -194,14 +197,22 @@ public class HdfsUtils {
     return true;
   }
 
-  /** Delete HDFS subdirectories where modification date is older than deleteAfterDays value */
-  public static void deleteSubFolders(
+  /** Delete HDFS subdirectories found by {@link #getSubFolders}, they are deleted concurrently */
+  public static void deleteSubFolders(HdfsConfigs hdfsConfigs, List<String> subFolders) {
+    FsUtils.deleteIfExist(hdfsConfigs, subFolders)
+        .forEach(
+            (attemptToDelete, deleted) ->
+                log.info("Tried to delete directory {}, is deleted? {}", attemptToDelete, deleted));
+  }
+
+  /** Get HDFS subdirectories where modification date is older than deleteAfterDays value */
+  public static List<String> getSubFolders(
       HdfsConfigs hdfsConfigs, String filePath, long deleteAfterDays, Set<String> exclude)
       throws IOException {
 
     LocalDateTime limitDate = LocalDateTime.now().minusDays(deleteAfterDays);
 
-    getSubDirList(hdfsConfigs, filePath).stream()
+    return getSubDirList(hdfsConfigs, filePath).stream()
         .filter(x -> !exclude.contains(x.getPath().getName()))
         .filter(
             fileStatus ->
@@ -210,11 +221,7 @@ public class HdfsUtils {
                         ZoneId.systemDefault())
                     .isBefore(limitDate))
         .map(fileStatus -> fileStatus.getPath().toString())
-        .forEach(
-            attemptToDelete -> {
-              boolean deleted = deleteDirectory(hdfsConfigs, attemptToDelete);
-              log.info("Tried to delete directory {}, is deleted? {}", attemptToDelete, deleted);
-            });
+        .collect(Collectors.toList());
   }
 
   private static FileSystem getFileSystem(HdfsConfigs hdfsConfigs, String filePath) {
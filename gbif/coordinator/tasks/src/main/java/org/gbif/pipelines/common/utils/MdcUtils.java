@@ -0,0 +1,38 @@
+package org.gbif.pipelines.common.utils;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.slf4j.MDC;
+
+/** Propagates the MDC context of the calling thread to tasks run by another thread */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MdcUtils {
+
+  /** Runs the runnable with the given MDC context, a null context leaves the MDC empty */
+  public static Runnable withMdc(Map<String, String> mdcContext, Runnable runnable) {
+    Supplier<Void> supplier =
+        withMdc(
+            mdcContext,
+            () -> {
+              runnable.run();
+              return null;
+            });
+    return supplier::get;
+  }
+
+  /** Calls the supplier with the given MDC context, a null context leaves the MDC empty */
+  public static <T> Supplier<T> withMdc(Map<String, String> mdcContext, Supplier<T> supplier) {
+    return () -> {
+      if (mdcContext != null) {
+        MDC.setContextMap(mdcContext);
+      }
+      try {
+        return supplier.get();
+      } finally {
+        MDC.clear();
+      }
+    };
+  }
+}
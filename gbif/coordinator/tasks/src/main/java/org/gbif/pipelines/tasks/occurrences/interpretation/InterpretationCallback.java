@@ -4,12 +4,16 @@ import static org.gbif.common.parsers.date.DateComponentOrdering.DMY_FORMATS;
 import static org.gbif.common.parsers.date.DateComponentOrdering.ISO_FORMATS;
 import static org.gbif.common.parsers.date.DateComponentOrdering.MDY_FORMATS;
 import static org.gbif.pipelines.common.ValidatorPredicate.isValidator;
+import static org.gbif.pipelines.common.utils.MdcUtils.withMdc;
 
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -45,6 +49,7 @@ import org.gbif.pipelines.tasks.verbatims.dwca.DwcaToAvroConfiguration;
 import org.gbif.registry.ws.client.DatasetClient;
 import org.gbif.registry.ws.client.pipelines.PipelinesHistoryClient;
 import org.gbif.validator.ws.client.ValidationWsClient;
+import org.slf4j.MDC;
 
 /** Callback which is called when the {@link PipelinesVerbatimMessage} is received. */
 @Slf4j
@@ -151,6 +156,12 @@ public class InterpretationCallback extends AbstractMessageCallback<PipelinesVer
       log.info("Start the process. Message - {}", message);
       try {
 
+        // Old attempts are listed while the step runs, but deleted only if it succeeds
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        CompletableFuture<List<String>> oldAttempts =
+            CompletableFuture.supplyAsync(
+                withMdc(mdcContext, () -> getOldAttempts(datasetId, attempt)));
+
         if (runnerPr.test(StepRunner.DISTRIBUTED)) {
           runDistributed(message, beamParameters);
         } else if (runnerPr.test(StepRunner.STANDALONE)) {
@@ -158,11 +169,7 @@ public class InterpretationCallback extends AbstractMessageCallback<PipelinesVer
         }
 
         log.info("Deleting old attempts directories");
-        String pathToDelete = String.join("/", config.stepConfig.repositoryPath, datasetId);
-        HdfsConfigs hdfsConfigs =
-            HdfsConfigs.create(config.stepConfig.hdfsSiteConfig, config.stepConfig.coreSiteConfig);
-        HdfsUtils.deleteSubFolders(
-            hdfsConfigs, pathToDelete, config.deleteAfterDays, Collections.singleton(attempt));
+        HdfsUtils.deleteSubFolders(getHdfsConfigs(), oldAttempts.join());
 
       } catch (Exception ex) {
         log.error(ex.getMessage(), ex);
@@ -172,6 +179,17 @@ public class InterpretationCallback extends AbstractMessageCallback<PipelinesVer
     };
   }
 
+  @SneakyThrows
+  private List<String> getOldAttempts(String datasetId, String attempt) {
+    String path = String.join("/", config.stepConfig.repositoryPath, datasetId);
+    return HdfsUtils.getSubFolders(
+        getHdfsConfigs(), path, config.deleteAfterDays, Collections.singleton(attempt));
+  }
+
+  private HdfsConfigs getHdfsConfigs() {
+    return HdfsConfigs.create(config.stepConfig.hdfsSiteConfig, config.stepConfig.coreSiteConfig);
+  }
+
   private int computeNumberOfShards(PipelinesVerbatimMessage message) {
     Long numberOfRecords = message.getValidationResult().getNumberOfRecords();
     return HdfsViewSettings.computeNumberOfShards(config.avroConfig, numberOfRecords);
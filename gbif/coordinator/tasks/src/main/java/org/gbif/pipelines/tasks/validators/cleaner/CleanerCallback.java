@@ -1,13 +1,17 @@
 package org.gbif.pipelines.tasks.validators.cleaner;
 
+import static org.gbif.pipelines.common.utils.MdcUtils.withMdc;
+
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,9 +43,15 @@ public class CleanerCallback extends AbstractMessageCallback<PipelinesCleanerMes
 
       log.info("Deleting index/records and files");
 
-      deleteFsData(datasetUuid);
-      deleteHdfsData(datasetUuid);
+      // File system, HDFS and elasticsearch data are independent, deleted concurrently
+      Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+      CompletableFuture<Void> fsDeletion =
+          CompletableFuture.runAsync(withMdc(mdcContext, () -> deleteFsData(datasetUuid)));
+      CompletableFuture<Void> hdfsDeletion =
+          CompletableFuture.runAsync(withMdc(mdcContext, () -> deleteHdfsData(datasetUuid)));
       deleteEsData(datasetUuid);
+      CompletableFuture.allOf(fsDeletion, hdfsDeletion).join();
+
       markDataAsDeleted(datasetUuid);
     }
   }
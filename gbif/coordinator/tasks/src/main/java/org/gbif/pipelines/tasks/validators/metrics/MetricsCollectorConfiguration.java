@@ -29,9 +29,6 @@ public class MetricsCollectorConfiguration implements BaseConfiguration {
   @Parameter(names = "--index-name")
   public String indexName = "validator";
 
-  @Parameter(names = "--core-prefix")
-  public String corePrefix = "verbatim.core";
-
   @Parameter(names = "--extensions-prefix")
   public String extensionsPrefix = "verbatim.extensions";
 
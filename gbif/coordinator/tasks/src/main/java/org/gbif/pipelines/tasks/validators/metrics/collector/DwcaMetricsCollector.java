@@ -2,6 +2,7 @@ package org.gbif.pipelines.tasks.validators.metrics.collector;
 
 import static org.gbif.pipelines.common.utils.PathUtil.buildDwcaInputPath;
 import static org.gbif.validator.api.DwcFileType.CORE;
+import static org.gbif.validator.api.DwcFileType.EXTENSION;
 import static org.gbif.validator.api.EvaluationType.OCCURRENCE_NOT_UNIQUELY_IDENTIFIED;
 
 import java.nio.file.Path;
@@ -9,9 +10,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.FileSystem;
 import org.gbif.api.model.pipelines.StepType;
 import org.gbif.common.messaging.api.MessagePublisher;
 import org.gbif.common.messaging.api.messages.PipelinesChecklistValidatorMessage;
@@ -19,10 +22,14 @@ import org.gbif.common.messaging.api.messages.PipelinesIndexedMessage;
 import org.gbif.dwc.Archive;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.PipelinesVariables;
+import org.gbif.pipelines.common.PipelinesVariables.Pipeline.Conversion;
 import org.gbif.pipelines.common.configs.StepConfiguration;
 import org.gbif.pipelines.common.utils.HdfsUtils;
+import org.gbif.pipelines.core.io.DwcaTermCounts;
+import org.gbif.pipelines.core.io.DwcaTermCounts.FileCounts;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.DwcaUtils;
+import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.tasks.validators.metrics.MetricsCollectorConfiguration;
 import org.gbif.pipelines.validator.DwcaFileTermCounter;
 import org.gbif.pipelines.validator.IndexMetricsCollector;
@@ -32,6 +39,7 @@ import org.gbif.validator.api.FileFormat;
 import org.gbif.validator.api.Metrics;
 import org.gbif.validator.api.Metrics.FileInfo;
 import org.gbif.validator.api.Metrics.IssueInfo;
+import org.gbif.validator.api.Metrics.TermInfo;
 import org.gbif.validator.api.Validation;
 import org.gbif.validator.api.Validation.Status;
 import org.gbif.validator.ws.client.ValidationWsClient;
@@ -89,8 +97,9 @@ public class DwcaMetricsCollector implements MetricsCollector {
 
   @SneakyThrows
   private void collectMetrics(Archive archive) {
-    // Collect raw terms count using archive and DwcaIO
-    List<FileInfo> fileInfos = DwcaFileTermCounter.process(archive);
+    // Use raw terms count collected during the DwC-A conversion, or count using archive and DwcaIO
+    List<FileInfo> fileInfos =
+        readTermCounts().orElseGet(() -> DwcaFileTermCounter.process(archive));
 
     // Collect metrics from ES
     Metrics metrics =
@@ -98,7 +107,6 @@ public class DwcaMetricsCollector implements MetricsCollector {
             .fileInfos(fileInfos)
             .key(message.getDatasetUuid())
             .index(config.indexName)
-            .corePrefix(config.corePrefix)
             .extensionsPrefix(config.extensionsPrefix)
             .esHost(config.esConfig.hosts)
             .build()
@@ -119,6 +127,45 @@ public class DwcaMetricsCollector implements MetricsCollector {
     validationClient.update(validation);
   }
 
+  /** Reads term counts written by the DwC-A to verbatim step for the same attempt */
+  private Optional<List<FileInfo>> readTermCounts() {
+    StepConfiguration stepConfig = config.stepConfig;
+    String path =
+        String.join(
+            "/",
+            stepConfig.repositoryPath,
+            message.getDatasetUuid().toString(),
+            message.getAttempt().toString(),
+            Conversion.TERM_COUNTS_FILE_NAME);
+    HdfsConfigs hdfsConfigs =
+        HdfsConfigs.create(stepConfig.hdfsSiteConfig, stepConfig.coreSiteConfig);
+    FileSystem fs = FsUtils.getFileSystem(hdfsConfigs, path);
+
+    Optional<List<FileInfo>> fileInfos =
+        DwcaTermCounts.read(fs, new org.apache.hadoop.fs.Path(path))
+            .map(
+                counts ->
+                    counts.getFiles().stream()
+                        .map(DwcaMetricsCollector::toFileInfo)
+                        .collect(Collectors.toList()));
+    fileInfos.ifPresent(x -> log.info("Using term counts from {}", path));
+    return fileInfos;
+  }
+
+  private static FileInfo toFileInfo(FileCounts fc) {
+    List<TermInfo> terms =
+        fc.getTerms().entrySet().stream()
+            .map(es -> TermInfo.builder().term(es.getKey()).rawIndexed(es.getValue()).build())
+            .collect(Collectors.toList());
+    return FileInfo.builder()
+        .count(fc.getCount())
+        .fileName(fc.getTitle())
+        .fileType(fc.isCore() ? CORE : EXTENSION)
+        .rowType(fc.getRowType())
+        .terms(terms)
+        .build();
+  }
+
   @SneakyThrows
   private void updateIssuesFromMetaInfos(Validation validation) {
     StepConfiguration stepConfig = config.stepConfig;
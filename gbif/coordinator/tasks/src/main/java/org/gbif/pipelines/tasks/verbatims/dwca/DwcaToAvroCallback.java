@@ -32,6 +32,7 @@ import org.gbif.dwc.UnsupportedArchiveException;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.dwc.terms.Term;
 import org.gbif.pipelines.common.PipelinesVariables.Metrics;
+import org.gbif.pipelines.common.PipelinesVariables.Pipeline.Conversion;
 import org.gbif.pipelines.common.process.RecordCountReader;
 import org.gbif.pipelines.common.utils.HdfsUtils;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
@@ -143,6 +144,17 @@ public class DwcaToAvroCallback extends AbstractMessageCallback<PipelinesDwcaMes
           HdfsUtils.buildOutputPath(
               config.stepConfig.repositoryPath, datasetId.toString(), attempt, config.metaFileName);
 
+      // Validator term counts are collected while converting, instead of rereading the archive
+      boolean isValidator = isValidator(message.getPipelineSteps(), config.validatorOnly);
+      org.apache.hadoop.fs.Path termCountsPath =
+          isValidator
+              ? HdfsUtils.buildOutputPath(
+                  config.stepConfig.repositoryPath,
+                  datasetId.toString(),
+                  attempt,
+                  Conversion.TERM_COUNTS_FILE_NAME)
+              : null;
+
       HdfsConfigs hdfsConfigs =
           HdfsConfigs.create(config.stepConfig.hdfsSiteConfig, config.stepConfig.coreSiteConfig);
       // Run main conversion process
@@ -153,7 +165,8 @@ public class DwcaToAvroCallback extends AbstractMessageCallback<PipelinesDwcaMes
           .inputPath(inputPath)
           .outputPath(outputPath)
           .metaPath(metaPath)
-          .skipDeletion(isValidator(message.getPipelineSteps(), config.validatorOnly))
+          .termCountsPath(termCountsPath)
+          .skipDeletion(isValidator)
           .convert();
     };
   }
@@ -0,0 +1,239 @@
+package org.gbif.pipelines.diagnostics.common;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.gbif.pipelines.keygen.HBaseLockingKeyService.NUMBER_OF_BUCKETS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValue.Type;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.io.hfile.HFileContextBuilder;
+import org.apache.hadoop.hbase.tool.BulkLoadHFiles;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.gbif.pipelines.keygen.HBaseLockingKeyService;
+import org.gbif.pipelines.keygen.HBaseLockingKeyService.KeyStatus;
+import org.gbif.pipelines.keygen.hbase.Columns;
+import org.gbif.pipelines.keygen.hbase.HBaseStore;
+import org.gbif.pipelines.keygen.identifier.OccurrenceKeyBuilder;
+
+/**
+ * Bulk version of {@link org.gbif.pipelines.keygen.HbaseKeyMigrator}, migrates many lookup keys at
+ * once instead of one put and delete per key.
+ *
+ * <p>The GBIF identifiers of the old and new lookup keys are read with multi-gets, the salted rows
+ * of the new lookup keys are written to an HFile and bulk loaded into the lookup table, and the old
+ * rows are deleted in batches. The new rows replace existing rows in place: the HFile holds the key
+ * and status cells and a delete marker for the lock column of every row. A verification pass reads
+ * all new lookup keys back and fails if any of them doesn't have the expected identifier.
+ *
+ * <p>Pairs are validated before anything is written, a pair with an issue either aborts the whole
+ * migration or, using skipIssues, is left out of it.
+ */
+@Slf4j
+@Builder
+public class HbaseKeyBulkMigrator {
+
+  // Number of lookup keys per multi-get or batched delete
+  private static final int BATCH_SIZE = 10_000;
+
+  private static final byte[] KEY_COLUMN = Bytes.toBytes(Columns.LOOKUP_KEY_COLUMN);
+  private static final byte[] LOCK_COLUMN = Bytes.toBytes(Columns.LOOKUP_LOCK_COLUMN);
+  private static final byte[] STATUS_COLUMN = Bytes.toBytes(Columns.LOOKUP_STATUS_COLUMN);
+  private static final byte[] ALLOCATED = Bytes.toBytes(KeyStatus.ALLOCATED.toString());
+
+  private final String fromDatasetKey;
+  private final String toDatasetKey;
+
+  private final HBaseLockingKeyService keyService;
+  private final Connection connection;
+  private final String lookupTable;
+
+  // Directory on the cluster file system for the HFiles, a unique subdirectory is used per run
+  @Builder.Default private final String stagingDir = "/tmp/identifiers-migration";
+
+  @Builder.Default private final boolean deleteKeys = false;
+  @Builder.Default private final boolean skipIssues = false;
+
+  /**
+   * @param lookupKeys new lookup key by old lookup key
+   * @return migrated GBIF identifiers by new lookup key, empty if the migration was aborted
+   */
+  @SneakyThrows
+  public Map<String, Long> migrate(Map<String, String> lookupKeys) {
+    checkNotNull(lookupKeys, "lookupKeys can't be null");
+
+    Map<String, Long> oldKeys = findKeys(lookupKeys.keySet(), fromDatasetKey);
+    Map<String, Long> newKeys = findKeys(lookupKeys.values(), toDatasetKey);
+
+    Map<String, Long> toMigrate = validate(lookupKeys, oldKeys, newKeys);
+    if (toMigrate == null) {
+      log.warn("If you want to skip issues, please use flag --skip-issues");
+      return new HashMap<>();
+    }
+    if (toMigrate.isEmpty()) {
+      log.info("Nothing to migrate");
+      return toMigrate;
+    }
+
+    // Salted rows of the new lookup keys, sorted as required by the HFile
+    NavigableMap<byte[], Long> rows = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+    toMigrate.forEach((newKey, gbifId) -> rows.put(saltedRow(newKey, toDatasetKey), gbifId));
+
+    bulkLoad(rows);
+
+    // Loaded cells can be hidden by newer ones, e.g. when the client clock is behind the servers,
+    // the old rows are only deleted once every new key reads back its identifier
+    verify(toMigrate);
+
+    // The old rows are deleted after the new ones are verified, a failure never loses an identifier
+    List<Delete> deletes = new ArrayList<>();
+    lookupKeys.forEach(
+        (oldKey, newKey) -> {
+          byte[] row = saltedRow(oldKey, fromDatasetKey);
+          if (toMigrate.containsKey(newKey) && !rows.containsKey(row)) {
+            deletes.add(new Delete(row));
+          }
+        });
+    delete(deletes);
+
+    log.info(
+        "Migrated {} GBIF identifiers from {} to {}",
+        toMigrate.size(),
+        fromDatasetKey,
+        toDatasetKey);
+    return toMigrate;
+  }
+
+  /** @return GBIF identifiers by new lookup key, or null if the migration must be aborted */
+  private Map<String, Long> validate(
+      Map<String, String> lookupKeys, Map<String, Long> oldKeys, Map<String, Long> newKeys) {
+
+    Map<String, Integer> newKeyCounts = new HashMap<>();
+    lookupKeys.values().forEach(k -> newKeyCounts.merge(k, 1, Integer::sum));
+
+    Map<String, Long> toMigrate = new LinkedHashMap<>();
+    boolean issues = false;
+    for (Map.Entry<String, String> e : lookupKeys.entrySet()) {
+      String oldKey = e.getKey();
+      String newKey = e.getValue();
+      Long gbifId = oldKeys.get(oldKey);
+
+      if (gbifId == null) {
+        log.error("Can't find GBIF ID for datasetKey {}, lookup key {}", fromDatasetKey, oldKey);
+        issues = true;
+      } else if (newKeyCounts.get(newKey) > 1) {
+        log.error("The new lookup key {} is used for more than one old lookup key", newKey);
+        issues = true;
+      } else if (newKeys.containsKey(newKey) && !deleteKeys) {
+        log.error(
+            "The new lookup key already has a GBIF identifier, you must use the delete keys option otherwise there will be an id collision. Dataset key source {}, dataset key target {}, old lookup key {}, new lookup key {}",
+            fromDatasetKey,
+            toDatasetKey,
+            oldKey,
+            newKey);
+        issues = true;
+      } else {
+        toMigrate.put(newKey, gbifId);
+      }
+    }
+    return issues && !skipIssues ? null : toMigrate;
+  }
+
+  private void bulkLoad(NavigableMap<byte[], Long> rows) throws IOException {
+    Configuration conf = connection.getConfiguration();
+    Path dir = new Path(stagingDir, UUID.randomUUID().toString());
+    Path file = new Path(new Path(dir, Columns.OCCURRENCE_COLUMN_FAMILY), "lookup");
+    FileSystem fs = dir.getFileSystem(conf);
+
+    try {
+      long ts = System.currentTimeMillis();
+      try (HFile.Writer writer =
+          HFile.getWriterFactory(conf, new CacheConfig(conf))
+              .withPath(fs, file)
+              .withFileContext(new HFileContextBuilder().build())
+              .create()) {
+        // Cells of a row must be appended in column order: key (i), lock (l), status (s)
+        for (Map.Entry<byte[], Long> e : rows.entrySet()) {
+          byte[] row = e.getKey();
+          byte[] gbifId = Bytes.toBytes(e.getValue());
+          writer.append(new KeyValue(row, Columns.CF, KEY_COLUMN, ts, gbifId));
+          writer.append(new KeyValue(row, Columns.CF, LOCK_COLUMN, ts, Type.DeleteColumn));
+          writer.append(new KeyValue(row, Columns.CF, STATUS_COLUMN, ts, ALLOCATED));
+        }
+      }
+      log.info("Bulk loading {} lookup keys from {}", rows.size(), file);
+      BulkLoadHFiles.create(conf).bulkLoad(TableName.valueOf(lookupTable), dir);
+    } finally {
+      fs.delete(dir, true);
+    }
+  }
+
+  private void delete(List<Delete> deletes) throws IOException {
+    try (Table table = connection.getTable(TableName.valueOf(lookupTable))) {
+      for (int i = 0; i < deletes.size(); i += BATCH_SIZE) {
+        int to = Math.min(i + BATCH_SIZE, deletes.size());
+        table.delete(new ArrayList<>(deletes.subList(i, to)));
+      }
+    }
+    log.info("Deleted {} old lookup keys", deletes.size());
+  }
+
+  private void verify(Map<String, Long> expected) {
+    Map<String, Long> found = findKeys(expected.keySet(), toDatasetKey);
+    Map<String, Long> mismatches = new TreeMap<>();
+    expected.forEach(
+        (newKey, gbifId) -> {
+          if (!gbifId.equals(found.get(newKey))) {
+            mismatches.put(newKey, found.get(newKey));
+          }
+        });
+    if (!mismatches.isEmpty()) {
+      throw new IllegalStateException(
+          "Migration aborted, the old lookup keys are kept. Loaded lookup keys don't have the"
+              + " expected GBIF identifiers: "
+              + mismatches);
+    }
+  }
+
+  private Map<String, Long> findKeys(Iterable<String> uniqueStrings, String scope) {
+    Map<String, Long> keys = new HashMap<>();
+    Set<String> batch = new HashSet<>();
+    for (String uniqueString : uniqueStrings) {
+      batch.add(uniqueString);
+      if (batch.size() == BATCH_SIZE) {
+        keys.putAll(keyService.findKeys(batch, scope));
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      keys.putAll(keyService.findKeys(batch, scope));
+    }
+    return keys;
+  }
+
+  private static byte[] saltedRow(String uniqueString, String scope) {
+    String lookupKey = OccurrenceKeyBuilder.buildKey(uniqueString, scope);
+    return HBaseStore.saltKey(lookupKey, NUMBER_OF_BUCKETS);
+  }
+}
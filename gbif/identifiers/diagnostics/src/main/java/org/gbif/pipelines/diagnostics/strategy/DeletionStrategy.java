@@ -1,16 +1,30 @@
 package org.gbif.pipelines.diagnostics.strategy;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import org.gbif.pipelines.keygen.HBaseLockingKeyService;
 
 public interface DeletionStrategy {
 
+  /**
+   * @param lookup finds the GBIF ID of a triplet or occurrenceID, empty for null or empty keys
+   */
   Map<String, Long> getKeysToDelete(
-      HBaseLockingKeyService keygenService,
+      Function<String, Optional<Long>> lookup,
       boolean onlyCollisions,
       String triplet,
       String occurrenceId);
 
+  default Map<String, Long> getKeysToDelete(
+      HBaseLockingKeyService keygenService,
+      boolean onlyCollisions,
+      String triplet,
+      String occurrenceId) {
+    return getKeysToDelete(
+        k -> LookupKeyUtils.getKey(keygenService, k), onlyCollisions, triplet, occurrenceId);
+  }
+
   enum DeletionStrategyType {
     MIN(new MinStrategy()),
     MAX(new MaxStrategy()),
@@ -31,5 +45,13 @@ public interface DeletionStrategy {
         String occurrenceId) {
       return deletionStrategy.getKeysToDelete(keygenService, onlyCollisions, triplet, occurrenceId);
     }
+
+    public Map<String, Long> getKeysToDelete(
+        Function<String, Optional<Long>> lookup,
+        boolean onlyCollisions,
+        String triplet,
+        String occurrenceId) {
+      return deletionStrategy.getKeysToDelete(lookup, onlyCollisions, triplet, occurrenceId);
+    }
   }
 }
@@ -1,6 +1,7 @@
 package org.gbif.pipelines.diagnostics.strategy;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -17,4 +18,12 @@ public class LookupKeyUtils {
     }
     return tripletKey;
   }
+
+  /** Finds the GBIF ID of a lookup key in keys found by a batched lookup */
+  public static Optional<Long> getKey(Map<String, Long> foundKeys, String lookupKey) {
+    if (lookupKey == null || lookupKey.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(foundKeys.get(lookupKey));
+  }
 }
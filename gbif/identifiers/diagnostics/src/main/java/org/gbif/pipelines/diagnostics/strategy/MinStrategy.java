@@ -3,18 +3,18 @@ package org.gbif.pipelines.diagnostics.strategy;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
-import org.gbif.pipelines.keygen.HBaseLockingKeyService;
+import java.util.function.Function;
 
 public class MinStrategy implements DeletionStrategy {
   @Override
   public Map<String, Long> getKeysToDelete(
-      HBaseLockingKeyService keygenService,
+      Function<String, Optional<Long>> lookup,
       boolean onlyCollisions,
       String triplet,
       String occurrenceId) {
 
-    Optional<Long> tripletKey = LookupKeyUtils.getKey(keygenService, triplet);
-    Optional<Long> occurrenceIdtKey = LookupKeyUtils.getKey(keygenService, occurrenceId);
+    Optional<Long> tripletKey = lookup.apply(triplet);
+    Optional<Long> occurrenceIdtKey = lookup.apply(occurrenceId);
 
     if (!tripletKey.isPresent() || !occurrenceIdtKey.isPresent()) {
       return Collections.emptyMap();
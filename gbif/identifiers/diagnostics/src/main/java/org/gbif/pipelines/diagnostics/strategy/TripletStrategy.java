@@ -3,17 +3,17 @@ package org.gbif.pipelines.diagnostics.strategy;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import org.gbif.pipelines.keygen.HBaseLockingKeyService;
+import java.util.function.Function;
 
 public class TripletStrategy implements DeletionStrategy {
   @Override
   public Map<String, Long> getKeysToDelete(
-      HBaseLockingKeyService keygenService,
+      Function<String, Optional<Long>> lookup,
       boolean onlyCollisions,
       String triplet,
       String occurrenceId) {
 
-    Optional<Long> tripletKey = LookupKeyUtils.getKey(keygenService, triplet);
+    Optional<Long> tripletKey = lookup.apply(triplet);
 
     Map<String, Long> keys = new HashMap<>(1);
     if (!onlyCollisions) {
@@ -21,7 +21,7 @@ public class TripletStrategy implements DeletionStrategy {
       return keys;
     }
 
-    Optional<Long> occurrenceIdtKey = LookupKeyUtils.getKey(keygenService, occurrenceId);
+    Optional<Long> occurrenceIdtKey = lookup.apply(occurrenceId);
 
     if (tripletKey.isPresent()
         && occurrenceIdtKey.isPresent()
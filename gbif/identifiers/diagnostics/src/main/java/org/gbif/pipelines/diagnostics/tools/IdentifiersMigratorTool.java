@@ -7,15 +7,19 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import javax.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Connection;
+import org.gbif.pipelines.diagnostics.common.HbaseKeyBulkMigrator;
 import org.gbif.pipelines.diagnostics.common.KeygenServiceFactory;
 import org.gbif.pipelines.keygen.HBaseLockingKeyService;
 import org.gbif.pipelines.keygen.HbaseKeyMigrator;
 import org.gbif.pipelines.keygen.api.KeyLookupResult;
+import org.gbif.pipelines.keygen.common.HbaseConnectionFactory;
 
 @Slf4j
 @Builder
@@ -71,6 +75,18 @@ public class IdentifiersMigratorTool implements Tool {
   @NotNull
   public String occurrenceTable;
 
+  @Parameter(
+      names = "--bulk",
+      description = "Migrate all lookup keys at once, using HFiles bulk loaded into the lookup table")
+  @Builder.Default
+  public boolean bulk = false;
+
+  @Parameter(
+      names = "--staging-dir",
+      description = "Cluster file system directory for the HFiles of the bulk migration")
+  @Builder.Default
+  public String stagingDir = "/tmp/identifiers-migration";
+
   @Parameter(names = "--help", description = "Display help information", order = 4)
   @Builder.Default
   public boolean help = false;
@@ -89,6 +105,11 @@ public class IdentifiersMigratorTool implements Tool {
 
     try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), UTF_8)) {
 
+      Connection hbaseConnection =
+          connection != null
+              ? connection
+              : HbaseConnectionFactory.getInstance(zkConnection, hbaseZnode).getConnection();
+
       keygenService =
           KeygenServiceFactory.builder()
               .zkConnection(zkConnection)
@@ -96,10 +117,15 @@ public class IdentifiersMigratorTool implements Tool {
               .lookupTable(lookupTable)
               .counterTable(counterTable)
               .occurrenceTable(occurrenceTable)
-              .connection(connection)
+              .connection(hbaseConnection)
               .build()
               .create();
 
+      if (bulk) {
+        runBulk(reader, keygenService, hbaseConnection);
+        return;
+      }
+
       long lineCounter = 0;
 
       String line = reader.readLine();
@@ -143,4 +169,48 @@ public class IdentifiersMigratorTool implements Tool {
       }
     }
   }
+
+  private void runBulk(
+      BufferedReader reader, HBaseLockingKeyService keygenService, Connection hbaseConnection)
+      throws IOException {
+
+    long lineCounter = 0;
+    Map<String, String> lookupKeys = new LinkedHashMap<>();
+
+    String line = reader.readLine();
+    while (line != null) {
+
+      lineCounter++;
+
+      String[] split = line.split(splitter);
+
+      if (split.length != 2) {
+        log.warn(
+            "Line: {}. There are {} line parameters, supported value is 2, try to change line splitter setting",
+            lineCounter,
+            split.length);
+      } else if (lookupKeys.putIfAbsent(split[0].trim(), split[1].trim()) != null) {
+        log.error("Line: {}. The old lookup key {} is used twice", lineCounter, split[0].trim());
+        if (!skipIssues) {
+          log.warn("If you want to skip issues, please use flag --skip-issues");
+          return;
+        }
+      }
+
+      line = reader.readLine();
+    }
+    log.info("Read {} lines, migrating {} lookup keys", lineCounter, lookupKeys.size());
+
+    HbaseKeyBulkMigrator.builder()
+        .fromDatasetKey(fromDatasetKey)
+        .toDatasetKey(toDatasetKey)
+        .keyService(keygenService)
+        .connection(hbaseConnection)
+        .lookupTable(lookupTable)
+        .stagingDir(stagingDir)
+        .deleteKeys(deleteKeys)
+        .skipIssues(skipIssues)
+        .build()
+        .migrate(lookupKeys);
+  }
 }
@@ -5,20 +5,36 @@ import com.beust.jcommander.Parameter;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Connection;
 import org.gbif.dwc.Archive;
 import org.gbif.dwc.DwcFiles;
-import org.gbif.dwc.record.Record;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.diagnostics.common.KeygenServiceFactory;
 import org.gbif.pipelines.diagnostics.strategy.DeletionStrategy.DeletionStrategyType;
+import org.gbif.pipelines.diagnostics.strategy.LookupKeyUtils;
 import org.gbif.pipelines.keygen.HBaseLockingKeyService;
 import org.gbif.pipelines.keygen.identifier.OccurrenceKeyBuilder;
 
@@ -31,7 +47,11 @@ public class RepairGbifIDLookupTool implements Tool {
     FILE
   }
 
-  private long counter;
+  // Logs progress every N records
+  private static final long PROGRESS_INTERVAL = 100_000L;
+
+  private final AtomicLong counter = new AtomicLong();
+  private final AtomicLong processed = new AtomicLong();
 
   @Parameter(names = "--tool")
   public CliTool tool;
@@ -101,6 +121,18 @@ public class RepairGbifIDLookupTool implements Tool {
   @Builder.Default
   public boolean onlyCollisions = false;
 
+  @Parameter(
+      names = "--threads",
+      description = "Number of threads reading batches of lookup keys from HBase")
+  @Builder.Default
+  public int threads = 4;
+
+  @Parameter(
+      names = "--batch-size",
+      description = "Number of records which lookup keys are read from HBase at once")
+  @Builder.Default
+  public int batchSize = 1_000;
+
   @Parameter(names = "--help", description = "Display help information", order = 4)
   @Builder.Default
   public boolean help = false;
@@ -133,6 +165,8 @@ public class RepairGbifIDLookupTool implements Tool {
     checkArguments(jc, counterTable == null, "--counter-table can't be null");
     checkArguments(jc, occurrenceTable == null, "--occurrence-table can't be null");
     checkArguments(jc, zkConnection == null, "--zookeeper connection can't be null");
+    checkArguments(jc, threads < 1, "--threads must be positive");
+    checkArguments(jc, batchSize < 1, "--batch-size must be positive");
   }
 
   @Override
@@ -175,7 +209,7 @@ public class RepairGbifIDLookupTool implements Tool {
       }
     }
 
-    log.info("Finished. IDs with collisions: {}", counter);
+    log.info("Finished. IDs with collisions: {}", counter.get());
   }
 
   private static void checkArguments(JCommander jc, boolean check, String message) {
@@ -197,46 +231,154 @@ public class RepairGbifIDLookupTool implements Tool {
       dwca = DwcFiles.fromCompressed(source.toPath(), t);
     }
 
-    for (Record r : dwca.getCore()) {
-      String ic = r.value(DwcTerm.institutionCode);
-      String cc = r.value(DwcTerm.collectionCode);
-      String cn = r.value(DwcTerm.catalogNumber);
-      String occID = r.value(DwcTerm.occurrenceID);
-
-      String triplet = OccurrenceKeyBuilder.buildKey(ic, cc, cn).orElse(null);
-
-      deleteKeys(keygenService, triplet, occID);
-    }
+    // The archive reader is sequential, records are read by one thread and repaired in batches
+    Stream<String[]> lookups =
+        StreamSupport.stream(dwca.getCore().spliterator(), false)
+            .map(
+                r -> {
+                  String ic = r.value(DwcTerm.institutionCode);
+                  String cc = r.value(DwcTerm.collectionCode);
+                  String cn = r.value(DwcTerm.catalogNumber);
+                  String occID = r.value(DwcTerm.occurrenceID);
+
+                  String triplet = OccurrenceKeyBuilder.buildKey(ic, cc, cn).orElse(null);
+                  return new String[] {triplet, occID};
+                });
+
+    runBatches(keygenService, lookups.iterator());
   }
 
   @SneakyThrows
   private void runFile(HBaseLockingKeyService keygenService) {
     try (Stream<String> lines = Files.lines(source.toPath())) {
-      lines.forEach(
-          key -> {
-            String occID = deletionStrategyType == DeletionStrategyType.OCCURRENCE_ID ? key : null;
-            String triplet = deletionStrategyType == DeletionStrategyType.TRIPLET ? key : null;
-            deleteKeys(keygenService, triplet, occID);
-          });
+      Stream<String[]> lookups =
+          lines.map(
+              key -> {
+                String occID =
+                    deletionStrategyType == DeletionStrategyType.OCCURRENCE_ID ? key : null;
+                String triplet = deletionStrategyType == DeletionStrategyType.TRIPLET ? key : null;
+                return new String[] {triplet, occID};
+              });
+      runBatches(keygenService, lookups.iterator());
     }
   }
 
   private void runSingleLookup(HBaseLockingKeyService keygenService) {
-    deleteKeys(keygenService, tripletLookupKey, occurrenceIdLookupKey);
+    deleteKeys(
+        keygenService,
+        k -> LookupKeyUtils.getKey(keygenService, k),
+        tripletLookupKey,
+        occurrenceIdLookupKey);
+  }
+
+  /**
+   * Splits (triplet, occurrenceID) pairs into batches, the lookup keys of a batch are read with one
+   * multi-get by a pool of workers. Deletions are applied by the calling thread, one batch after
+   * another in source order, and a key deleted for an earlier batch is never used again by a later
+   * batch that was read before the deletion. The number of batches read ahead is bounded, so large
+   * sources are never read fully into memory.
+   */
+  private void runBatches(HBaseLockingKeyService keygenService, Iterator<String[]> lookups) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    Deque<Batch> readAhead = new ArrayDeque<>();
+    Set<String> deletedKeys = new HashSet<>();
+    long start = System.nanoTime();
+
+    try {
+      List<String[]> batch = new ArrayList<>(batchSize);
+      while (lookups.hasNext()) {
+        batch.add(lookups.next());
+        if (batch.size() == batchSize || !lookups.hasNext()) {
+          List<String[]> toRead = batch;
+          CompletableFuture<Map<String, Long>> foundKeys =
+              CompletableFuture.supplyAsync(() -> findKeys(keygenService, toRead), executor);
+          readAhead.add(new Batch(toRead, foundKeys));
+          batch = new ArrayList<>(batchSize);
+        }
+        if (readAhead.size() > threads * 2) {
+          repairBatch(keygenService, readAhead.poll(), deletedKeys, start);
+        }
+      }
+      while (!readAhead.isEmpty()) {
+        repairBatch(keygenService, readAhead.poll(), deletedKeys, start);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    logProgress(processed.get(), start);
   }
 
-  private void deleteKeys(
-      HBaseLockingKeyService keygenService, String triplet, String occurrenceId) {
+  private static Map<String, Long> findKeys(
+      HBaseLockingKeyService keygenService, List<String[]> batch) {
+    Set<String> uniqueStrings = new HashSet<>();
+    for (String[] lookup : batch) {
+      for (String key : lookup) {
+        if (key != null && !key.isEmpty()) {
+          uniqueStrings.add(key);
+        }
+      }
+    }
+    return keygenService.findKeys(uniqueStrings);
+  }
+
+  private void repairBatch(
+      HBaseLockingKeyService keygenService, Batch batch, Set<String> deletedKeys, long start) {
+    Map<String, Long> foundKeys;
+    try {
+      foundKeys = batch.foundKeys.join();
+    } catch (CompletionException ex) {
+      throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+    }
+
+    // Keys deleted by this or an earlier batch are gone, even if the batch read them before
+    Function<String, Optional<Long>> lookup =
+        k -> deletedKeys.contains(k) ? Optional.empty() : LookupKeyUtils.getKey(foundKeys, k);
+    for (String[] pair : batch.lookups) {
+      Map<String, Long> deleted = deleteKeys(keygenService, lookup, pair[0], pair[1]);
+      if (!dryRun) {
+        deletedKeys.addAll(deleted.keySet());
+      }
+    }
+
+    long size = batch.lookups.size();
+    long done = processed.addAndGet(size);
+    if (done / PROGRESS_INTERVAL != (done - size) / PROGRESS_INTERVAL) {
+      logProgress(done, start);
+    }
+  }
+
+  private void logProgress(long done, long start) {
+    double seconds = Math.max(System.nanoTime() - start, 1L) / 1_000_000_000d;
+    log.info(
+        "Processed {} records, {} records/s, IDs with collisions: {}",
+        done,
+        Math.round(done / seconds),
+        counter.get());
+  }
+
+  private Map<String, Long> deleteKeys(
+      HBaseLockingKeyService keygenService,
+      Function<String, Optional<Long>> lookup,
+      String triplet,
+      String occurrenceId) {
     Map<String, Long> keysToDelete =
-        deletionStrategyType.getKeysToDelete(keygenService, onlyCollisions, triplet, occurrenceId);
+        deletionStrategyType.getKeysToDelete(lookup, onlyCollisions, triplet, occurrenceId);
     if (!keysToDelete.isEmpty()) {
       log.info("Use keys to request, triplet: {} and occurrenceId: {}", triplet, occurrenceId);
       String message = dryRun ? "Lookup key" : "Delete lookup key";
       keysToDelete.forEach((k, v) -> log.info("{} - {}, gbifID - {}", message, k, v));
-      counter++;
+      counter.incrementAndGet();
     }
     if (!dryRun && !keysToDelete.isEmpty()) {
       keygenService.deleteKeyByUniques(keysToDelete.keySet());
     }
+    return keysToDelete;
+  }
+
+  @AllArgsConstructor
+  private static class Batch {
+    private final List<String[]> lookups;
+    private final CompletableFuture<Map<String, Long>> foundKeys;
   }
 }
@@ -195,6 +195,114 @@ public class IdentifiersMigratorToolIT {
     Assert.assertEquals(old2Key.getKey(), new2Key.get().getKey());
   }
 
+  @Test
+  public void testBulkDatasetMigration() {
+
+    // State
+    String file = this.getClass().getResource("/migration.csv").getFile();
+    String datasetKey = UUID.randomUUID().toString();
+    String newDatasetKey = UUID.randomUUID().toString();
+    String old1Occurrence = "old1";
+    String old2Occurrence = "old2";
+    String new1Occurrence = "new1";
+    String new2Occurrence = "new2";
+
+    KeyLookupResult old1Key =
+        HBASE_SERVER.getKeyService().generateKey(Collections.singleton(old1Occurrence), datasetKey);
+    KeyLookupResult old2Key =
+        HBASE_SERVER.getKeyService().generateKey(Collections.singleton(old2Occurrence), datasetKey);
+    KeyLookupResult new1ExistingKey =
+        HBASE_SERVER
+            .getKeyService()
+            .generateKey(Collections.singleton(new1Occurrence), newDatasetKey);
+
+    // When
+    IdentifiersMigratorTool.builder()
+        .bulk(true)
+        .deleteKeys(true)
+        .fromDatasetKey(datasetKey)
+        .toDatasetKey(newDatasetKey)
+        .filePath(file)
+        .lookupTable(HbaseServer.CFG.getLookupTable())
+        .counterTable(HbaseServer.CFG.getCounterTable())
+        .occurrenceTable(HbaseServer.CFG.getOccurrenceTable())
+        .connection(HBASE_SERVER.getConnection())
+        .build()
+        .run();
+
+    // Should
+    Optional<KeyLookupResult> old1DeletedKey =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(old1Occurrence), datasetKey);
+    Optional<KeyLookupResult> old2DeletedKey =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(old2Occurrence), datasetKey);
+    Optional<KeyLookupResult> new1Key =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(new1Occurrence), newDatasetKey);
+    Optional<KeyLookupResult> new2Key =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(new2Occurrence), newDatasetKey);
+
+    Assert.assertFalse(old1DeletedKey.isPresent());
+    Assert.assertFalse(old2DeletedKey.isPresent());
+    Assert.assertTrue(new1Key.isPresent());
+    Assert.assertTrue(new2Key.isPresent());
+    Assert.assertNotEquals(new1ExistingKey.getKey(), new1Key.get().getKey());
+    Assert.assertEquals(old1Key.getKey(), new1Key.get().getKey());
+    Assert.assertEquals(old2Key.getKey(), new2Key.get().getKey());
+  }
+
+  @Test
+  public void testBulkMigrationIssues() {
+
+    // State
+    String file = this.getClass().getResource("/migration.csv").getFile();
+    String datasetKey = UUID.randomUUID().toString();
+    String newDatasetKey = UUID.randomUUID().toString();
+    String old1Occurrence = "old1";
+    String old2Occurrence = "old2";
+    String new1Occurrence = "new1";
+    String new2Occurrence = "new2";
+
+    KeyLookupResult old1Key =
+        HBASE_SERVER.getKeyService().generateKey(Collections.singleton(old1Occurrence), datasetKey);
+    KeyLookupResult old2Key =
+        HBASE_SERVER.getKeyService().generateKey(Collections.singleton(old2Occurrence), datasetKey);
+    KeyLookupResult new1ExistingKey =
+        HBASE_SERVER
+            .getKeyService()
+            .generateKey(Collections.singleton(new1Occurrence), newDatasetKey);
+
+    // When
+    IdentifiersMigratorTool.builder()
+        .bulk(true)
+        .fromDatasetKey(datasetKey)
+        .toDatasetKey(newDatasetKey)
+        .filePath(file)
+        .lookupTable(HbaseServer.CFG.getLookupTable())
+        .counterTable(HbaseServer.CFG.getCounterTable())
+        .occurrenceTable(HbaseServer.CFG.getOccurrenceTable())
+        .connection(HBASE_SERVER.getConnection())
+        .build()
+        .run();
+
+    // Should
+    Optional<KeyLookupResult> old1ExistingKey =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(old1Occurrence), datasetKey);
+    Optional<KeyLookupResult> old2ExistingKey =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(old2Occurrence), datasetKey);
+    Optional<KeyLookupResult> new1Key =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(new1Occurrence), newDatasetKey);
+    Optional<KeyLookupResult> new2Key =
+        HBASE_SERVER.getKeyService().findKey(Collections.singleton(new2Occurrence), newDatasetKey);
+
+    // One issue aborts the whole bulk migration
+    Assert.assertTrue(old1ExistingKey.isPresent());
+    Assert.assertTrue(old2ExistingKey.isPresent());
+    Assert.assertEquals(old1Key.getKey(), old1ExistingKey.get().getKey());
+    Assert.assertEquals(old2Key.getKey(), old2ExistingKey.get().getKey());
+    Assert.assertTrue(new1Key.isPresent());
+    Assert.assertEquals(new1ExistingKey.getKey(), new1Key.get().getKey());
+    Assert.assertFalse(new2Key.isPresent());
+  }
+
   @Test
   public void testMigrationIssuesWithoutDeletion() {
     // State
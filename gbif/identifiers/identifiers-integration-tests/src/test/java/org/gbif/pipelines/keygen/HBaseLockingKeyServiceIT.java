@@ -11,6 +11,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -56,6 +57,24 @@ public class HBaseLockingKeyServiceIT {
     assertFalse(result2.get().isCreated());
   }
 
+  @Test
+  public void testFindKeys() {
+    // State
+    HBASE_SERVER.keyService.generateKey(new HashSet<>(Arrays.asList("a", "b")), "boo");
+    HBASE_SERVER.keyService.generateKey(Collections.singleton("c"), "boo");
+    HBASE_SERVER.keyService.generateKey(Collections.singleton("d"), "other");
+
+    // When
+    Map<String, Long> result =
+        HBASE_SERVER.keyService.findKeys(Arrays.asList("a", "b", "c", "d", "e"), "boo");
+
+    // Should
+    assertEquals(3, result.size());
+    assertEquals(Long.valueOf(1L), result.get("a"));
+    assertEquals(Long.valueOf(1L), result.get("b"));
+    assertEquals(Long.valueOf(2L), result.get("c"));
+  }
+
   @Test
   public void testAddOccIdToExistingTriplet() throws IOException {
     // setup: 1 finalized row, the triplet
@@ -7,6 +7,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.Serializable;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -341,6 +342,33 @@ public class HBaseLockingKeyService implements HBaseLockingKey, Serializable {
     return findKey(uniqueStrings, datasetId);
   }
 
+  /**
+   * Finds the keys of many unique strings independently, with one multi-get against the lookup
+   * table. Unlike {@link #findKey(Set, String)} the unique strings don't have to belong to the same
+   * occurrence, so missing lookups are not filled in.
+   *
+   * @return keys by unique string, unique strings without a key are absent
+   */
+  public Map<String, Long> findKeys(Collection<String> uniqueStrings, String scope) {
+    checkNotNull(uniqueStrings, "uniqueStrings can't be null");
+    checkNotNull(scope, "scope can't be null");
+
+    Map<String, String> uniqueByLookupKey = new HashMap<>(uniqueStrings.size());
+    for (String uniqueString : uniqueStrings) {
+      uniqueByLookupKey.put(OccurrenceKeyBuilder.buildKey(uniqueString, scope), uniqueString);
+    }
+
+    Map<String, Long> keys = new HashMap<>(uniqueStrings.size());
+    lookupTableStore
+        .getLongs(uniqueByLookupKey.keySet(), Columns.LOOKUP_KEY_COLUMN)
+        .forEach((lookupKey, key) -> keys.put(uniqueByLookupKey.get(lookupKey), key));
+    return keys;
+  }
+
+  public Map<String, Long> findKeys(Collection<String> uniqueStrings) {
+    return findKeys(uniqueStrings, datasetId);
+  }
+
   @SneakyThrows
   public Map<String, Long> findKeysByScope(String scope, Long maxResultSize) {
     Map<String, Long> keysMap = new HashMap<>();
@@ -18,7 +18,11 @@ public class OccurrenceKeyBuilder {
   }
 
   public static Set<String> buildKeys(Set<String> uniqueStrings, String scope) {
-    return uniqueStrings.stream().map(us -> scope + DELIMITER + us).collect(Collectors.toSet());
+    return uniqueStrings.stream().map(us -> buildKey(us, scope)).collect(Collectors.toSet());
+  }
+
+  public static String buildKey(String uniqueString, String scope) {
+    return scope + DELIMITER + uniqueString;
   }
 
   public static Optional<String> buildKey(
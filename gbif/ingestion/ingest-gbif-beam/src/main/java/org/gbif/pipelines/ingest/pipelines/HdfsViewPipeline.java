@@ -51,6 +51,7 @@ import org.gbif.pipelines.common.beam.metrics.MetricsHandler;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.core.utils.HdfsViewUtils;
@@ -176,6 +177,7 @@ public class HdfsViewPipeline {
     Set<String> types = options.getInterpretationTypes();
     RecordType recordType = options.getCoreRecordType();
     DwcTerm coreTerm = HdfsViewUtils.getCoreTerm(recordType);
+    AvroWriteSettings avroWriteSettings = PipelinesOptionsFactory.createAvroWriteSettings(options);
 
     SerializableFunction<RecordType, String> pathFn =
         st ->
@@ -338,7 +340,11 @@ public class HdfsViewPipeline {
         // Apply
         .apply("Group hdfs objects", CoGroupByKey.create())
         .apply("Merge to HdfsRecord", hdfsRecordTransform.converter())
-        .apply(hdfsRecordTransform.write(pathFn.apply(recordType), numberOfShards));
+        .apply(
+            hdfsRecordTransform.write(
+                pathFn.apply(recordType),
+                numberOfShards,
+                avroWriteSettings.codecFor(recordType.name())));
 
     // Table records
     PCollection<KV<String, CoGbkResult>> tableCollection =
@@ -357,6 +363,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(AMPLIFICATION_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     IdentificationTableTransform.builder()
@@ -367,6 +374,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(IDENTIFICATION_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     MeasurementOrFactTableTransform.builder()
@@ -377,6 +385,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(MEASUREMENT_OR_FACT_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     ResourceRelationshipTableTransform.builder()
@@ -387,6 +396,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(RESOURCE_RELATIONSHIP_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     CloningTableTransform.builder()
@@ -397,6 +407,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(CLONING_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     GelImageTableTransform.builder()
@@ -407,6 +418,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(GEL_IMAGE_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     LoanTableTransform.builder()
@@ -417,6 +429,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(LOAN_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     MaterialSampleTableTransform.builder()
@@ -427,6 +440,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(MATERIAL_SAMPLE_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     PermitTableTransform.builder()
@@ -437,6 +451,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(PERMIT_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     PreparationTableTransform.builder()
@@ -447,6 +462,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(PREPARATION_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     PreservationTableTransform.builder()
@@ -457,6 +473,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(PRESERVATION_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     GermplasmMeasurementScoreTableTransform.builder()
@@ -467,6 +484,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(GERMPLASM_MEASUREMENT_SCORE_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     GermplasmMeasurementTraitTableTransform.builder()
@@ -477,6 +495,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(GERMPLASM_MEASUREMENT_TRAIT_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     GermplasmMeasurementTrialTableTransform.builder()
@@ -487,6 +506,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(GERMPLASM_MEASUREMENT_TRIAL_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     GermplasmAccessionTableTransform.builder()
@@ -497,6 +517,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(GERMPLASM_ACCESSION_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     ExtendedMeasurementOrFactTableTransform.builder()
@@ -507,6 +528,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(EXTENDED_MEASUREMENT_OR_FACT_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     ChronometricAgeTableTransform.builder()
@@ -517,6 +539,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(CHRONOMETRIC_AGE_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     ReferenceTableTransform.builder()
@@ -527,6 +550,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(REFERENCE_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     IdentifierTableTransform.builder()
@@ -537,6 +561,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(IDENTIFIER_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     DnaDerivedDataTableTransform.builder()
@@ -547,6 +572,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(DNA_DERIVED_DATA_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     AudubonTableTransform.builder()
@@ -557,6 +583,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(AUDUBON_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     MultimediaTableTransform.builder()
@@ -567,6 +594,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(MULTIMEDIA_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     ImageTableTransform.builder()
@@ -577,6 +605,7 @@ public class HdfsViewPipeline {
         .path(pathFn.apply(IMAGE_TABLE))
         .types(types)
         .build()
+        .setAvroWriteSettings(avroWriteSettings)
         .write(tableCollection);
 
     log.info("Running the pipeline");
@@ -78,6 +78,7 @@ public class VerbatimToIdentifierPipeline {
             .generateIdIfAbsent(false)
             .keygenServiceSupplier(KeygenServiceFactory.createSupplier(config, datasetId))
             .create();
+    idTransform.setAvroWriteSettings(PipelinesOptionsFactory.createAvroWriteSettings(options));
 
     VerbatimTransform verbatimTransform = VerbatimTransform.create();
     GbifIdTupleTransform tupleTransform = GbifIdTupleTransform.create();
@@ -104,18 +105,17 @@ public class VerbatimToIdentifierPipeline {
 
     idsTuple
         .get(uniqueIdTransform.getTag())
-        .apply("Write GBIF ids to avro", idTransform.write(pathFn).withoutSharding());
+        .apply("Write GBIF ids to avro", idTransform.write(pathFn));
 
     idsTuple
         .get(uniqueIdTransform.getInvalidTag())
-        .apply(
-            "Write invalid GBIF IDs to avro", idTransform.writeInvalid(pathFn).withoutSharding());
+        .apply("Write invalid GBIF IDs to avro", idTransform.writeInvalid(pathFn));
 
     idCollection
         .get(tupleTransform.getAbsentTag())
         .apply(
             "Write absent GBIF ids to avro",
-            idTransform.write(pathFn.apply(idTransform.getAbsentName())).withoutSharding());
+            idTransform.write(pathFn.apply(idTransform.getAbsentName())));
 
     log.info("Running the pipeline");
     PipelineResult result = p.run();
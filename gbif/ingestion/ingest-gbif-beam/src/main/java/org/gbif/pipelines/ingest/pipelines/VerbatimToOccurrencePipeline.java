@@ -27,10 +27,13 @@ import org.apache.beam.sdk.values.PCollectionView;
 import org.gbif.api.model.pipelines.InterpretationType.RecordType;
 import org.gbif.api.model.pipelines.StepType;
 import org.gbif.dwc.terms.DwcTerm;
+import org.gbif.kvs.grscicoll.GrscicollLookupRequest;
 import org.gbif.pipelines.common.beam.metrics.MetricsHandler;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.kvs.PrefetchedKeyValueStore;
+import org.gbif.pipelines.core.kvs.PrefetchedKeyValueStore.Snapshot;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.ingest.pipelines.interpretation.TransformsFactory;
@@ -53,6 +56,7 @@ import org.gbif.pipelines.transforms.metadata.MetadataTransform;
 import org.gbif.pipelines.transforms.specific.ClusteringTransform;
 import org.gbif.pipelines.transforms.specific.GbifIdAbsentTransform;
 import org.gbif.pipelines.transforms.specific.GbifIdTransform;
+import org.gbif.rest.client.grscicoll.GrscicollLookupResponse;
 import org.slf4j.MDC;
 
 /**
@@ -137,6 +141,10 @@ public class VerbatimToOccurrencePipeline {
     UnaryOperator<String> pathFn =
         t -> PathBuilder.buildPathInterpretUsingTargetPath(options, CORE_TERM, t, id);
 
+    // Path function for writing GBIF ids created for absent identifiers
+    UnaryOperator<String> absentPathFn =
+        t -> PathBuilder.buildPathInterpretUsingTargetPath(options, CORE_TERM, t, id + "-absent");
+
     // Path function for reading avro files
     UnaryOperator<String> interpretedPathFn =
         t -> PathBuilder.buildPathInterpretUsingTargetPath(options, CORE_TERM, t, ALL_AVRO);
@@ -204,7 +212,9 @@ public class VerbatimToOccurrencePipeline {
               .apply("Lookup GBIF IDs records", idTransform.interpret())
               .apply("Filter unique GBIF ids", uniqueIdTransform);
       uniqueGbifId = idsTuple.get(uniqueIdTransform.getTag());
-      uniqueGbifId.apply("Write GBIF IDs to avro", idTransform.write(pathFn).withoutSharding());
+      uniqueGbifId.apply(
+          "Write GBIF IDs to avro",
+          idTransform.write(pathFn).withNumShards(options.getNumberOfShards()));
       idsTuple
           .get(uniqueIdTransform.getInvalidTag())
           .apply("Write invalid GBIF IDs to avro", idTransform.writeInvalid(pathFn));
@@ -230,8 +240,10 @@ public class VerbatimToOccurrencePipeline {
       PCollection<IdentifierRecord> absentCreatedGbifIds =
           absentTyple.get(uniqueIdTransform.getTag());
 
+      // Own file prefix, the GBIF ids above can be written to the same directory in this run
       absentCreatedGbifIds.apply(
-          "Write GBIF ids to avro", idTransform.write(pathFn).withoutSharding());
+          "Write GBIF ids to avro",
+          idTransform.write(absentPathFn).withNumShards(options.getNumberOfShards()));
 
       absentTyple
           .get(uniqueIdTransform.getInvalidTag())
@@ -320,9 +332,18 @@ public class VerbatimToOccurrencePipeline {
             "Write multi-taxon to avro",
             multiTaxonomyTransform.write(pathFn).withNumShards(options.getNumberOfShards()));
 
-    filteredUniqueRecords
-        .apply("Check grscicoll transform condition", grscicollTransform.check(types))
-        .apply("Interpret grscicoll", grscicollTransform.interpret(metadataView))
+    // Collection fields rarely change within a dataset, resolve each distinct lookup once
+    PCollection<ExtendedRecord> grscicollRecords =
+        filteredUniqueRecords.apply(
+            "Check grscicoll transform condition", grscicollTransform.check(types));
+    int grscicollMaxInFlight =
+        options.getLookupConcurrency() > 0
+            ? options.getLookupConcurrency()
+            : PrefetchedKeyValueStore.DEFAULT_MAX_IN_FLIGHT;
+    PCollectionView<Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>> grscicollView =
+        grscicollTransform.prefetch(grscicollRecords, metadataView, grscicollMaxInFlight);
+    grscicollRecords
+        .apply("Interpret grscicoll", grscicollTransform.interpret(metadataView, grscicollView))
         .apply("Write grscicoll to avro", grscicollTransform.write(pathFn).withoutSharding());
 
     filteredUniqueRecords
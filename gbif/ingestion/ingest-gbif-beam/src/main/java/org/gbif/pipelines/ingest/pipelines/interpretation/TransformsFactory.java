@@ -16,8 +16,10 @@ import org.gbif.kvs.geocode.GeocodeRequest;
 import org.gbif.kvs.grscicoll.GrscicollLookupRequest;
 import org.gbif.kvs.species.NameUsageMatchRequest;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
+import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.core.config.model.PipelinesConfig;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.core.ws.metadata.MetadataServiceClient;
@@ -32,6 +34,7 @@ import org.gbif.pipelines.factory.NameUsageMatchStoreFactory;
 import org.gbif.pipelines.factory.OccurrenceStatusKvStoreFactory;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
 import org.gbif.pipelines.keygen.HBaseLockingKey;
+import org.gbif.pipelines.transforms.Transform;
 import org.gbif.pipelines.transforms.common.ExtensionFilterTransform;
 import org.gbif.pipelines.transforms.common.FilterRecordsTransform;
 import org.gbif.pipelines.transforms.common.UniqueGbifIdTransform;
@@ -68,6 +71,7 @@ public class TransformsFactory {
   private final HdfsConfigs hdfsConfigs;
   private final PipelinesConfig config;
   private final List<DateComponentOrdering> dateComponentOrdering;
+  private final AvroWriteSettings avroWriteSettings;
 
   private TransformsFactory(InterpretationPipelineOptions options) {
     this.options = options;
@@ -78,6 +82,7 @@ public class TransformsFactory {
         options.getDefaultDateFormat() == null
             ? config.getDefaultDateFormat()
             : options.getDefaultDateFormat();
+    this.avroWriteSettings = PipelinesOptionsFactory.createAvroWriteSettings(options);
   }
 
   public static TransformsFactory create(InterpretationPipelineOptions options) {
@@ -105,10 +110,11 @@ public class TransformsFactory {
     if (options.getUseMetadataWsCalls() && !options.getTestMode()) {
       metadataServiceClientSupplier = MetadataServiceClientFactory.createSupplier(config);
     }
-    return MetadataTransform.builder()
-        .clientSupplier(metadataServiceClientSupplier)
-        .attempt(options.getAttempt())
-        .create();
+    return withAvroWriteSettings(
+        MetadataTransform.builder()
+            .clientSupplier(metadataServiceClientSupplier)
+            .attempt(options.getAttempt())
+            .create());
   }
 
   public GbifIdAbsentTransform createGbifIdAbsentTransform() {
@@ -116,29 +122,32 @@ public class TransformsFactory {
     if (!options.isUseExtendedRecordId()) {
       keyServiceSupplier = createHBaseLockingKeySupplier();
     }
-    return GbifIdAbsentTransform.builder()
-        .isTripletValid(options.isTripletValid())
-        .isOccurrenceIdValid(options.isOccurrenceIdValid())
-        .keygenServiceSupplier(keyServiceSupplier)
-        .create();
+    return withAvroWriteSettings(
+        GbifIdAbsentTransform.builder()
+            .isTripletValid(options.isTripletValid())
+            .isOccurrenceIdValid(options.isOccurrenceIdValid())
+            .keygenServiceSupplier(keyServiceSupplier)
+            .create());
   }
 
   public BasicTransform createBasicTransform() {
-    return BasicTransform.builder()
-        .useDynamicPropertiesInterpretation(true)
-        .occStatusKvStoreSupplier(OccurrenceStatusKvStoreFactory.createSupplier(config))
-        .vocabularyServiceSupplier(FileVocabularyFactory.createSupplier(hdfsConfigs, config))
-        .create();
+    return withAvroWriteSettings(
+        BasicTransform.builder()
+            .useDynamicPropertiesInterpretation(true)
+            .occStatusKvStoreSupplier(OccurrenceStatusKvStoreFactory.createSupplier(config))
+            .vocabularyServiceSupplier(FileVocabularyFactory.createSupplier(hdfsConfigs, config))
+            .create());
   }
 
   public ClusteringTransform createClusteringTransform() {
-    return ClusteringTransform.builder()
-        .clusteringServiceSupplier(ClusteringServiceFactory.createSupplier(config))
-        .create();
+    return withAvroWriteSettings(
+        ClusteringTransform.builder()
+            .clusteringServiceSupplier(ClusteringServiceFactory.createSupplier(config))
+            .create());
   }
 
   public VerbatimTransform createVerbatimTransform() {
-    return VerbatimTransform.create();
+    return withAvroWriteSettings(VerbatimTransform.create());
   }
 
   public GbifIdTransform createGbifIdTransform() {
@@ -155,11 +164,12 @@ public class TransformsFactory {
           .generateIdIfAbsent(true)
           .keygenServiceSupplier(keyServiceSupplier);
     }
-    return gbifIdTransformBuilder.create();
+    return withAvroWriteSettings(gbifIdTransformBuilder.create());
   }
 
   public TemporalTransform createTemporalTransform() {
-    return TemporalTransform.builder().orderings(dateComponentOrdering).create();
+    return withAvroWriteSettings(
+        TemporalTransform.builder().orderings(dateComponentOrdering).create());
   }
 
   public TaxonomyTransform createTaxonomyTransform() {
@@ -175,10 +185,11 @@ public class TransformsFactory {
             ? config.getNameUsageMatchingService().getChecklistKeys().get(0)
             : Constants.NUB_DATASET_KEY.toString();
 
-    return TaxonomyTransform.builder()
-        .kvStoreSupplier(nameUsageMatchServiceSupplier)
-        .checklistKey(firstConfiguredChecklistKey)
-        .create();
+    return withAvroWriteSettings(
+        TaxonomyTransform.builder()
+            .kvStoreSupplier(nameUsageMatchServiceSupplier)
+            .checklistKey(firstConfiguredChecklistKey)
+            .create());
   }
 
   public MultiTaxonomyTransform createMultiTaxonomyTransform() {
@@ -194,18 +205,21 @@ public class TransformsFactory {
       geocodeServiceSupplier = GeocodeKvStoreFactory.createSupplier(hdfsConfigs, config);
     }
 
-    return MultiTaxonomyTransform.builder()
-        .kvStoresSupplier(nameUsageMatchServiceSupplier)
-        .geoKvStoreSupplier(geocodeServiceSupplier)
-        .checklistKeys(
-            config.getNameUsageMatchingService() != null
-                ? config.getNameUsageMatchingService().getChecklistKeys()
-                : List.of())
-        .countryCheckistKeyMap(
-            config.getNameUsageMatchingService() != null
-                ? config.getNameUsageMatchingService().getCountryChecklistKeyMap()
-                : Map.of())
-        .create();
+    MultiTaxonomyTransform transform =
+        MultiTaxonomyTransform.builder()
+            .kvStoresSupplier(nameUsageMatchServiceSupplier)
+            .geoKvStoreSupplier(geocodeServiceSupplier)
+            .checklistKeys(
+                config.getNameUsageMatchingService() != null
+                    ? config.getNameUsageMatchingService().getChecklistKeys()
+                    : List.of())
+            .countryCheckistKeyMap(
+                config.getNameUsageMatchingService() != null
+                    ? config.getNameUsageMatchingService().getCountryChecklistKeyMap()
+                    : Map.of())
+            .create();
+    transform.setLookupConcurrency(options.getLookupConcurrency());
+    return withAvroWriteSettings(transform);
   }
 
   public GrscicollTransform createGrscicollTransform() {
@@ -214,7 +228,10 @@ public class TransformsFactory {
     if (!options.getTestMode()) {
       grscicollServiceSupplier = GrscicollLookupKvStoreFactory.createSupplier(config);
     }
-    return GrscicollTransform.builder().kvStoreSupplier(grscicollServiceSupplier).create();
+    GrscicollTransform transform =
+        GrscicollTransform.builder().kvStoreSupplier(grscicollServiceSupplier).create();
+    transform.setLookupConcurrency(options.getLookupConcurrency());
+    return withAvroWriteSettings(transform);
   }
 
   public LocationTransform createLocationTransform() {
@@ -223,33 +240,41 @@ public class TransformsFactory {
     if (!options.getTestMode()) {
       geocodeServiceSupplier = GeocodeKvStoreFactory.createSupplier(hdfsConfigs, config);
     }
-    return LocationTransform.builder().geocodeKvStoreSupplier(geocodeServiceSupplier).create();
+    LocationTransform transform =
+        LocationTransform.builder().geocodeKvStoreSupplier(geocodeServiceSupplier).create();
+    transform.setLookupConcurrency(options.getLookupConcurrency());
+    return withAvroWriteSettings(transform);
   }
 
   public EventCoreTransform createEventCoreTransform() {
-    return EventCoreTransform.builder()
-        .vocabularyServiceSupplier(FileVocabularyFactory.createSupplier(hdfsConfigs, config))
-        .create();
+    return withAvroWriteSettings(
+        EventCoreTransform.builder()
+            .vocabularyServiceSupplier(FileVocabularyFactory.createSupplier(hdfsConfigs, config))
+            .create());
   }
 
   public IdentifierTransform createIdentifierTransform() {
-    return IdentifierTransform.builder().datasetKey(options.getDatasetId()).create();
+    return withAvroWriteSettings(
+        IdentifierTransform.builder().datasetKey(options.getDatasetId()).create());
   }
 
   public MultimediaTransform createMultimediaTransform() {
-    return MultimediaTransform.builder().orderings(dateComponentOrdering).create();
+    return withAvroWriteSettings(
+        MultimediaTransform.builder().orderings(dateComponentOrdering).create());
   }
 
   public AudubonTransform createAudubonTransform() {
-    return AudubonTransform.builder().orderings(dateComponentOrdering).create();
+    return withAvroWriteSettings(
+        AudubonTransform.builder().orderings(dateComponentOrdering).create());
   }
 
   public ImageTransform createImageTransform() {
-    return ImageTransform.builder().orderings(dateComponentOrdering).create();
+    return withAvroWriteSettings(
+        ImageTransform.builder().orderings(dateComponentOrdering).create());
   }
 
   public DnaDerivedDataTransform createDnaDerivedTransform() {
-    return DnaDerivedDataTransform.builder().create();
+    return withAvroWriteSettings(DnaDerivedDataTransform.builder().create());
   }
 
   public UniqueGbifIdTransform createUniqueGbifIdTransform() {
@@ -270,7 +295,7 @@ public class TransformsFactory {
   }
 
   public MeasurementOrFactTransform createMeasurementOrFactTransform() {
-    return MeasurementOrFactTransform.builder().create();
+    return withAvroWriteSettings(MeasurementOrFactTransform.builder().create());
   }
 
   public SerializableSupplier<HBaseLockingKey> createHBaseLockingKeySupplier() {
@@ -281,6 +306,11 @@ public class TransformsFactory {
     return FragmenterServiceFactory.createSupplier(config);
   }
 
+  private <T extends Transform<?, ?>> T withAvroWriteSettings(T transform) {
+    transform.setAvroWriteSettings(avroWriteSettings);
+    return transform;
+  }
+
   private static boolean useGbifIdRecordWriteIO(Set<String> types) {
     return types.contains(RecordType.IDENTIFIER.name()) || types.contains(RecordType.ALL.name());
   }
@@ -26,6 +26,7 @@ import static org.gbif.pipelines.common.PipelinesVariables.Metrics.REFERENCE_TAB
 import static org.gbif.pipelines.common.PipelinesVariables.Metrics.RESOURCE_RELATIONSHIP_TABLE_RECORDS_COUNT;
 import static org.gbif.pipelines.common.PipelinesVariables.Pipeline.AVRO_EXTENSION;
 import static org.gbif.pipelines.ingest.java.transforms.InterpretedAvroReader.readAvroAsFuture;
+import static org.gbif.pipelines.ingest.java.transforms.InterpretedAvroReader.readAvroObjectsAsFuture;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -255,8 +256,9 @@ public class HdfsViewPipeline {
     CompletableFuture<Map<String, ExtendedRecord>> verbatimMapFeature =
         readAvroAsFuture(options, coreTerm, executor, VerbatimTransform.create());
 
-    CompletableFuture<Map<String, IdentifierRecord>> idMapFeature =
-        readAvroAsFuture(options, coreTerm, executor, GbifIdTransform.builder().create());
+    // Identifier records drive the join, they are only iterated and not looked up by id
+    CompletableFuture<List<IdentifierRecord>> idRecordsFeature =
+        readAvroObjectsAsFuture(options, coreTerm, executor, GbifIdTransform.builder().create());
 
     CompletableFuture<Map<String, ClusteringRecord>> clusteringMapFeature =
         readAvroAsFuture(options, coreTerm, executor, ClusteringTransform.builder().create());
@@ -288,7 +290,7 @@ public class HdfsViewPipeline {
     CompletableFuture<Map<String, AudubonRecord>> audubonMapFeature =
         readAvroAsFuture(options, coreTerm, executor, AudubonTransform.builder().create());
 
-    Map<String, IdentifierRecord> idRecordMap = idMapFeature.get();
+    List<IdentifierRecord> idRecords = idRecordsFeature.get();
     MetadataRecord metadataRecord = metadataMapFeature.get().values().iterator().next();
 
     OccurrenceHdfsRecordConverter.OccurrenceHdfsRecordConverterBuilder occurrenceBuilder =
@@ -320,7 +322,7 @@ public class HdfsViewPipeline {
     // OccurrenceHdfsRecord
     TableRecordWriter.<OccurrenceHdfsRecord>builder()
         .recordFunction(occurrenceBuilder.build().getFn())
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(OccurrenceHdfsRecord.getClassSchema())
         .executor(executor)
@@ -343,7 +345,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<MeasurementOrFactTable>builder()
         .recordFunction(measurementOrFactFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(MeasurementOrFactTable.getClassSchema())
         .executor(executor)
@@ -366,7 +368,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<IdentificationTable>builder()
         .recordFunction(identificationFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(IdentificationTable.getClassSchema())
         .executor(executor)
@@ -389,7 +391,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<ResourceRelationshipTable>builder()
         .recordFunction(resourceRelationFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(ResourceRelationshipTable.getClassSchema())
         .executor(executor)
@@ -412,7 +414,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<AmplificationTable>builder()
         .recordFunction(amplificationFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(AmplificationTable.getClassSchema())
         .executor(executor)
@@ -435,7 +437,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<CloningTable>builder()
         .recordFunction(cloningFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(CloningTable.getClassSchema())
         .executor(executor)
@@ -458,7 +460,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<GelImageTable>builder()
         .recordFunction(gelImageFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(GelImageTable.getClassSchema())
         .executor(executor)
@@ -481,7 +483,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<LoanTable>builder()
         .recordFunction(loanFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(LoanTable.getClassSchema())
         .executor(executor)
@@ -504,7 +506,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<MaterialSampleTable>builder()
         .recordFunction(materialSampleFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(MaterialSampleTable.getClassSchema())
         .executor(executor)
@@ -527,7 +529,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<PermitTable>builder()
         .recordFunction(permitFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(PermitTable.getClassSchema())
         .executor(executor)
@@ -550,7 +552,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<PreparationTable>builder()
         .recordFunction(preparationFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(PreparationTable.getClassSchema())
         .executor(executor)
@@ -573,7 +575,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<PreservationTable>builder()
         .recordFunction(preservationFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(PreservationTable.getClassSchema())
         .executor(executor)
@@ -596,7 +598,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<GermplasmMeasurementScoreTable>builder()
         .recordFunction(measurementScoreFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(GermplasmMeasurementScoreTable.getClassSchema())
         .executor(executor)
@@ -619,7 +621,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<GermplasmMeasurementTraitTable>builder()
         .recordFunction(measurementTraitFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(GermplasmMeasurementTraitTable.getClassSchema())
         .executor(executor)
@@ -642,7 +644,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<GermplasmMeasurementTrialTable>builder()
         .recordFunction(measurementTrialFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(GermplasmMeasurementTrialTable.getClassSchema())
         .executor(executor)
@@ -665,7 +667,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<GermplasmAccessionTable>builder()
         .recordFunction(germplasmAccessionFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(GermplasmAccessionTable.getClassSchema())
         .executor(executor)
@@ -688,7 +690,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<ExtendedMeasurementOrFactTable>builder()
         .recordFunction(extendedMeasurementOrFactFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(ExtendedMeasurementOrFactTable.getClassSchema())
         .executor(executor)
@@ -711,7 +713,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<ChronometricAgeTable>builder()
         .recordFunction(chronometricAgeFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(ChronometricAgeTable.getClassSchema())
         .executor(executor)
@@ -734,7 +736,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<ReferenceTable>builder()
         .recordFunction(referencesFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(ReferenceTable.getClassSchema())
         .executor(executor)
@@ -757,7 +759,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<IdentifierTable>builder()
         .recordFunction(identifierFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(IdentifierTable.getClassSchema())
         .executor(executor)
@@ -780,7 +782,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<DnaDerivedDataTable>builder()
         .recordFunction(dnaDerivedDataFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(DnaDerivedDataTable.getClassSchema())
         .executor(executor)
@@ -803,7 +805,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<AudubonTable>builder()
         .recordFunction(audubonFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(AudubonTable.getClassSchema())
         .executor(executor)
@@ -826,7 +828,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<ImageTable>builder()
         .recordFunction(imageFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(ImageTable.getClassSchema())
         .executor(executor)
@@ -849,7 +851,7 @@ public class HdfsViewPipeline {
 
     TableRecordWriter.<MultimediaTable>builder()
         .recordFunction(multimediaFn)
-        .identifierRecords(idRecordMap.values())
+        .identifierRecords(idRecords)
         .targetPathFn(pathFn)
         .schema(MultimediaTable.getClassSchema())
         .executor(executor)
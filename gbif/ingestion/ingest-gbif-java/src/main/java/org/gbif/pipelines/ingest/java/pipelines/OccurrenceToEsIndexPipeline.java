@@ -1,8 +1,10 @@
 package org.gbif.pipelines.ingest.java.pipelines;
 
 import static org.gbif.pipelines.ingest.java.transforms.InterpretedAvroReader.readAvroAsFuture;
+import static org.gbif.pipelines.ingest.java.transforms.InterpretedAvroReader.readAvroObjectsAsFuture;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -141,8 +143,9 @@ public class OccurrenceToEsIndexPipeline {
     CompletableFuture<Map<String, ExtendedRecord>> verbatimMapFeature =
         readAvroAsFuture(options, CORE_TERM, executor, VerbatimTransform.create());
 
-    CompletableFuture<Map<String, IdentifierRecord>> idMapFeature =
-        readAvroAsFuture(options, CORE_TERM, executor, GbifIdTransform.builder().create());
+    // Identifier records drive the join, they are only iterated and not looked up by id
+    CompletableFuture<List<IdentifierRecord>> idRecordsFeature =
+        readAvroObjectsAsFuture(options, CORE_TERM, executor, GbifIdTransform.builder().create());
 
     CompletableFuture<Map<String, ClusteringRecord>> clusteringMapFeature =
         readAvroAsFuture(options, CORE_TERM, executor, ClusteringTransform.builder().create());
@@ -204,7 +207,7 @@ public class OccurrenceToEsIndexPipeline {
         .executor(executor)
         .syncModeThreshold(options.getSyncThreshold())
         .indexRequestFn(indexRequestFn)
-        .records(idMapFeature.get().values())
+        .records(idRecordsFeature.get())
         .backPressure(options.getBackPressure())
         .build()
         .write();
@@ -29,6 +29,8 @@ import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
 import org.gbif.pipelines.core.io.AvroReader;
+import org.gbif.pipelines.core.kvs.LookupExecutors;
+import org.gbif.pipelines.core.kvs.PrefetchedKeyValueStore;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.ingest.java.pipelines.interpretation.Shutdown;
@@ -114,7 +116,14 @@ public class VerbatimToOccurrencePipeline {
   }
 
   public static void run(InterpretationPipelineOptions options) {
-    ExecutorService executor = Executors.newWorkStealingPool();
+    // Records waiting for remote lookups don't hold a platform thread with virtual threads
+    ExecutorService executor = null;
+    if (options.getLookupConcurrency() > 0) {
+      executor = LookupExecutors.newVirtualThreadExecutor();
+    }
+    if (executor == null) {
+      executor = Executors.newWorkStealingPool();
+    }
     try {
       run(options, executor);
     } finally {
@@ -205,6 +214,15 @@ public class VerbatimToOccurrencePipeline {
       erExtMap = extensionFilterTr.transform(erExtMap);
       defaultValuesTr.replaceDefaultValues(erExtMap);
 
+      // Collection fields rarely change within a dataset, resolve each distinct lookup once
+      if (grscicollTr.checkType(types)) {
+        int maxInFlight =
+            options.getLookupConcurrency() > 0
+                ? options.getLookupConcurrency()
+                : PrefetchedKeyValueStore.DEFAULT_MAX_IN_FLIGHT;
+        grscicollTr.prefetch(erExtMap.values(), mdr, maxInFlight);
+      }
+
       boolean useSyncMode = options.getSyncThreshold() > erExtMap.size();
 
       // Skip interpretation and use avro reader when partial intepretation is activated
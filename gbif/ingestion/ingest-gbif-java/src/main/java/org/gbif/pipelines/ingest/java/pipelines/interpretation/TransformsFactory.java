@@ -15,6 +15,7 @@ import org.gbif.pipelines.core.config.model.PipelinesConfig;
 import org.gbif.pipelines.core.factory.ConfigFactory;
 import org.gbif.pipelines.core.functions.SerializableConsumer;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.kvs.AsyncKeyValueStore;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.ws.metadata.MetadataServiceClient;
 import org.gbif.pipelines.factory.ClusteringServiceFactory;
@@ -145,8 +146,9 @@ public class TransformsFactory {
         null;
 
     if (!options.getTestMode()) {
-      nameUsageMatchServiceSupplier = NameUsageMatchStoreFactory.createMultiServiceSupplier(config);
-      geocodeServiceSupplier = GeocodeKvStoreFactory.createSupplier(hdfsConfigs, config);
+      nameUsageMatchServiceSupplier =
+          bounded(NameUsageMatchStoreFactory.createMultiServiceSupplier(config));
+      geocodeServiceSupplier = bounded(GeocodeKvStoreFactory.createSupplier(hdfsConfigs, config));
     }
 
     List<String> checklistKeys =
@@ -176,7 +178,7 @@ public class TransformsFactory {
     SerializableSupplier<KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse>>
         grscicollServiceSupplier = null;
     if (!options.getTestMode()) {
-      grscicollServiceSupplier = GrscicollLookupKvStoreFactory.getInstanceSupplier(config);
+      grscicollServiceSupplier = bounded(GrscicollLookupKvStoreFactory.getInstanceSupplier(config));
     }
     return GrscicollTransform.builder()
         .kvStoreSupplier(grscicollServiceSupplier)
@@ -189,7 +191,8 @@ public class TransformsFactory {
     SerializableSupplier<KeyValueStore<GeocodeRequest, GeocodeResponse>> geocodeServiceSupplier =
         null;
     if (!options.getTestMode()) {
-      geocodeServiceSupplier = GeocodeKvStoreFactory.getInstanceSupplier(hdfsConfigs, config);
+      geocodeServiceSupplier =
+          bounded(GeocodeKvStoreFactory.getInstanceSupplier(hdfsConfigs, config));
     }
     return LocationTransform.builder()
         .geocodeKvStoreSupplier(geocodeServiceSupplier)
@@ -253,4 +256,11 @@ public class TransformsFactory {
         .create()
         .init();
   }
+
+  /** Limits the remote lookups in flight of a store to lookupConcurrency, if it is set */
+  private <K, V> SerializableSupplier<KeyValueStore<K, V>> bounded(
+      SerializableSupplier<KeyValueStore<K, V>> supplier) {
+    int maxInFlight = options.getLookupConcurrency();
+    return maxInFlight > 0 ? AsyncKeyValueStore.boundedSupplier(supplier, maxInFlight) : supplier;
+  }
 }
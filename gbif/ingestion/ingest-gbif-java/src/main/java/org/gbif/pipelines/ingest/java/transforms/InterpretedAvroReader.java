@@ -2,6 +2,7 @@ package org.gbif.pipelines.ingest.java.transforms;
 
 import static org.gbif.pipelines.common.PipelinesVariables.Pipeline.ALL_AVRO;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -12,6 +13,7 @@ import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
 import org.gbif.pipelines.core.io.AvroReader;
+import org.gbif.pipelines.core.io.ParallelAvroReader;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.io.avro.Record;
 import org.gbif.pipelines.transforms.Transform;
@@ -19,7 +21,7 @@ import org.gbif.pipelines.transforms.Transform;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class InterpretedAvroReader {
 
-  /** Read avro files and return as Map<ID, Clazz> */
+  /** Read avro files in parallel and return as Map<ID, Clazz> */
   public static <T extends SpecificRecordBase & Record>
       CompletableFuture<Map<String, T>> readAvroAsFuture(
           InterpretationPipelineOptions options,
@@ -29,12 +31,27 @@ public class InterpretedAvroReader {
     String path =
         PathBuilder.buildPathInterpretUsingInputPath(
             options, coreTerm, transform.getBaseName(), ALL_AVRO);
-    return CompletableFuture.supplyAsync(
-        () ->
-            AvroReader.readRecords(
-                HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
-                transform.getReturnClazz(),
-                path),
+    return ParallelAvroReader.readRecords(
+        HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
+        transform.getReturnClazz(),
+        path,
+        executor);
+  }
+
+  /** Read avro files in parallel and return the records, without the lookup by ID */
+  public static <T extends SpecificRecordBase & Record>
+      CompletableFuture<List<T>> readAvroObjectsAsFuture(
+          InterpretationPipelineOptions options,
+          DwcTerm coreTerm,
+          ExecutorService executor,
+          Transform<?, T> transform) {
+    String path =
+        PathBuilder.buildPathInterpretUsingInputPath(
+            options, coreTerm, transform.getBaseName(), ALL_AVRO);
+    return ParallelAvroReader.readObjects(
+        HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
+        transform.getReturnClazz(),
+        path,
         executor);
   }
 
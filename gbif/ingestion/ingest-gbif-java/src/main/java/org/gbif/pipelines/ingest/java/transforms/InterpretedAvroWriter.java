@@ -11,7 +11,9 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
+import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.io.AvroWriteSettings.Setting;
 import org.gbif.pipelines.core.io.SyncDataFileWriter;
 import org.gbif.pipelines.core.io.SyncDataFileWriterBuilder;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
@@ -35,11 +37,14 @@ public class InterpretedAvroWriter {
     FileSystem fs =
         createParentDirectories(
             HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()), path);
+    Setting settings =
+        PipelinesOptionsFactory.createAvroWriteSettings(options)
+            .forRecordType(transform.getRecordType().name());
     return SyncDataFileWriterBuilder.builder()
         .schema(transform.getAvroSchema())
-        .codec(options.getAvroCompressionType())
+        .codec(settings.getCodec())
         .outputStream(fs.create(path))
-        .syncInterval(options.getAvroSyncInterval())
+        .syncInterval(settings.getSyncInterval())
         .build()
         .createSyncDataFileWriter();
   }
@@ -16,6 +16,8 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.gbif.api.model.pipelines.InterpretationType;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
+import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
+import org.gbif.pipelines.core.io.AvroWriteSettings.Setting;
 import org.gbif.pipelines.core.io.SyncDataFileWriter;
 import org.gbif.pipelines.core.io.SyncDataFileWriterBuilder;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
@@ -68,11 +70,13 @@ public class TableRecordWriter<T> {
     FileSystem verbatimFs =
         createParentDirectories(
             HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()), path);
+    Setting settings =
+        PipelinesOptionsFactory.createAvroWriteSettings(options).forRecordType(recordType.name());
     return SyncDataFileWriterBuilder.builder()
         .schema(schema)
-        .codec(options.getAvroCompressionType())
+        .codec(settings.getCodec())
         .outputStream(verbatimFs.create(path))
-        .syncInterval(options.getAvroSyncInterval())
+        .syncInterval(settings.getSyncInterval())
         .build()
         .createSyncDataFileWriter();
   }
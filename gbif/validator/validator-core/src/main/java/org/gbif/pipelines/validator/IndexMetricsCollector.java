@@ -2,6 +2,8 @@ package org.gbif.pipelines.validator;
 
 import static org.gbif.dwc.terms.DwcTerm.Event;
 import static org.gbif.dwc.terms.DwcTerm.Occurrence;
+import static org.gbif.pipelines.validator.metrics.request.FileMetricsRequestBuilder.TERMS_AGGREGATION;
+import static org.gbif.pipelines.validator.metrics.request.FileMetricsRequestBuilder.TERM_AGGREGATION_PREFIX;
 import static org.gbif.pipelines.validator.metrics.request.OccurrenceIssuesRequestBuilder.HITS_AGGREGATION;
 import static org.gbif.pipelines.validator.metrics.request.OccurrenceIssuesRequestBuilder.ISSUES_AGGREGATION;
 
@@ -13,15 +15,20 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.core.CountRequest;
 import org.elasticsearch.search.SearchHit;
-import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.filter.ParsedFilters;
 import org.elasticsearch.search.aggregations.bucket.terms.ParsedStringTerms;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms.Bucket;
 import org.elasticsearch.search.aggregations.metrics.ParsedTopHits;
@@ -30,11 +37,7 @@ import org.gbif.api.vocabulary.OccurrenceIssue;
 import org.gbif.dwc.terms.Term;
 import org.gbif.pipelines.common.PipelinesVariables.Pipeline.Indexing;
 import org.gbif.pipelines.validator.factory.ElasticsearchClientFactory;
-import org.gbif.pipelines.validator.metrics.request.ExtensionTermCountRequestBuilder;
-import org.gbif.pipelines.validator.metrics.request.ExtensionTermCountRequestBuilder.ExtTermCountRequest;
-import org.gbif.pipelines.validator.metrics.request.OccurrenceIssuesRequestBuilder;
-import org.gbif.pipelines.validator.metrics.request.TermCountRequestBuilder;
-import org.gbif.pipelines.validator.metrics.request.TermCountRequestBuilder.TermCountRequest;
+import org.gbif.pipelines.validator.metrics.request.FileMetricsRequestBuilder;
 import org.gbif.validator.api.DwcFileType;
 import org.gbif.validator.api.EvaluationCategory;
 import org.gbif.validator.api.Metrics;
@@ -44,13 +47,14 @@ import org.gbif.validator.api.Metrics.IssueSample;
 import org.gbif.validator.api.Metrics.TermInfo;
 
 /**
- * The class collects all necessary metrics using ES API, there are 4 main queries. such as:
+ * The class collects all necessary metrics using ES API, there is one query per file, and files are
+ * queried concurrently:
  *
  * <pre>
- * 1) Query total documents count
- * 2) Query core terms and return term, counts of raw and indexed terms
- * 3) Query extensions terms and return term, and raw terms count
- * 4) Query all issues and return issue value, and 5 terms samples
+ * 1) Occurrence files - total documents count, interpreted terms counts and all issues with
+ *    5 terms samples
+ * 2) Event core files - total documents count and interpreted terms counts
+ * 3) Extension files - raw terms counts
  * </pre>
  */
 @Slf4j
@@ -61,85 +65,120 @@ public class IndexMetricsCollector {
   private final List<FileInfo> fileInfos;
   private final UUID key;
   private final String index;
-  private final String corePrefix;
   private final String extensionsPrefix;
+  @Builder.Default private final int parallelism = 4;
 
   /** Collect all metrics using ES API */
+  @SneakyThrows
   public Metrics collect() {
+    long start = System.currentTimeMillis();
+
+    List<FileInfo> files =
+        fileInfos.stream().filter(f -> f.getRowType() != null).collect(Collectors.toList());
+
+    int threads = Math.max(1, Math.min(parallelism, files.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CompletableFuture<?>[] futures =
+          files.stream()
+              .map(f -> CompletableFuture.runAsync(() -> collectFileInfo(f), executor))
+              .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(futures).get();
+    } catch (ExecutionException ex) {
+      throw ex.getCause();
+    } finally {
+      executor.shutdown();
+    }
 
-    fileInfos.stream()
-        .filter(f -> f.getRowType() != null)
-        .forEach(
-            fileInfo -> {
-              if (fileInfo.getRowType().equals(Occurrence.qualifiedName())) {
-                collectOccurrnceInfo(fileInfo);
-              } else if (fileInfo.getRowType().equals(Event.qualifiedName())
-                  && fileInfo.getFileType() == DwcFileType.CORE) {
-                collectEventInfo(fileInfo);
-              } else if (!fileInfo.getRowType().equals(Occurrence.qualifiedName())
-                  && fileInfo.getFileType() == DwcFileType.EXTENSION) {
-                collectExtensionInfo(fileInfo);
-              }
-            });
+    log.info(
+        "Collected ES metrics for {} files of {} in {} ms",
+        files.size(),
+        key,
+        System.currentTimeMillis() - start);
 
     return Metrics.builder().fileInfos(fileInfos).build();
   }
 
-  private void collectOccurrnceInfo(FileInfo fileInfo) {
-    fileInfo.setIndexedCount(queryOccurrenceDocCount());
-    fileInfo.setIssues(queryOccurrenceIssuesCount());
-    for (TermInfo ti : fileInfo.getTerms()) {
-      queryOccurrenceCoreTermsCount(ti.getTerm()).ifPresent(ti::setInterpretedIndexed);
-    }
-  }
-
-  private void collectEventInfo(FileInfo fileInfo) {
-    fileInfo.setIndexedCount(queryOccurrenceDocCount());
-    for (TermInfo ti : fileInfo.getTerms()) {
-      queryOccurrenceCoreTermsCount(ti.getTerm()).ifPresent(ti::setInterpretedIndexed);
+  private void collectFileInfo(FileInfo fileInfo) {
+    long start = System.currentTimeMillis();
+    if (fileInfo.getRowType().equals(Occurrence.qualifiedName())) {
+      collectCoreInfo(fileInfo, true);
+    } else if (fileInfo.getRowType().equals(Event.qualifiedName())
+        && fileInfo.getFileType() == DwcFileType.CORE) {
+      collectCoreInfo(fileInfo, false);
+    } else if (fileInfo.getFileType() == DwcFileType.EXTENSION) {
+      collectExtensionInfo(fileInfo);
+    } else {
+      return;
     }
+    log.info(
+        "Collected ES metrics for {} with {} terms in {} ms",
+        fileInfo.getFileName(),
+        fileInfo.getTerms().size(),
+        System.currentTimeMillis() - start);
   }
 
-  private void collectExtensionInfo(FileInfo fileInfo) {
-    String extPrefix = extensionsPrefix + "." + fileInfo.getRowType();
-    for (TermInfo ti : fileInfo.getTerms()) {
-      ti.setInterpretedIndexed(queryExtensionTermsCount(extPrefix, ti.getTerm()));
-    }
-  }
-
-  /** Query indexed document count by datasetKey */
+  /** Query indexed document count, interpreted terms counts and optionally issues at once */
   @SneakyThrows
-  private Long queryOccurrenceDocCount() {
-    TermCountRequest request =
-        TermCountRequestBuilder.builder()
+  private void collectCoreInfo(FileInfo fileInfo, boolean withIssues) {
+    List<TermInfo> termInfos = fileInfo.getTerms();
+    SearchRequest request =
+        FileMetricsRequestBuilder.builder()
             .termValue(key.toString())
             .indexName(index)
+            .terms(termInfos.stream().map(TermInfo::getTerm).collect(Collectors.toList()))
+            .withIssues(withIssues)
             .build()
             .getRequest();
 
-    return ElasticsearchClientFactory.getInstance(esHost)
-        .count(request.getRawCountRequest(), RequestOptions.DEFAULT)
-        .getCount();
+    SearchResponse response =
+        ElasticsearchClientFactory.getInstance(esHost).search(request, RequestOptions.DEFAULT);
+
+    fileInfo.setIndexedCount(response.getHits().getTotalHits().value);
+
+    // No aggregations are requested for a core without interpreted terms and issues
+    Aggregations aggregations = response.getAggregations();
+    if (aggregations == null) {
+      return;
+    }
+
+    ParsedFilters filters = aggregations.get(TERMS_AGGREGATION);
+    if (filters != null) {
+      for (TermInfo ti : termInfos) {
+        Optional.ofNullable(filters.getBucketByKey(ti.getTerm()))
+            .ifPresent(b -> ti.setInterpretedIndexed(b.getDocCount()));
+      }
+    }
+
+    ParsedStringTerms issues = aggregations.get(ISSUES_AGGREGATION);
+    if (withIssues && issues != null) {
+      fileInfo.setIssues(
+          issues.getBuckets().stream().map(this::collectIssueInfo).collect(Collectors.toList()));
+    }
   }
 
-  /** Aggregate all issues and return 5 samples per issue */
+  /** Query all extension raw terms counts at once */
   @SneakyThrows
-  private List<IssueInfo> queryOccurrenceIssuesCount() {
+  private void collectExtensionInfo(FileInfo fileInfo) {
+    List<TermInfo> termInfos = fileInfo.getTerms();
     SearchRequest request =
-        OccurrenceIssuesRequestBuilder.builder()
+        FileMetricsRequestBuilder.builder()
             .termValue(key.toString())
             .indexName(index)
+            .terms(termInfos.stream().map(TermInfo::getTerm).collect(Collectors.toList()))
+            .extensionPrefix(extensionsPrefix + "." + fileInfo.getRowType())
             .build()
             .getRequest();
 
-    Aggregation aggregation =
+    Aggregations aggregations =
         ElasticsearchClientFactory.getInstance(esHost)
             .search(request, RequestOptions.DEFAULT)
-            .getAggregations()
-            .get(ISSUES_AGGREGATION);
+            .getAggregations();
 
-    return ((ParsedStringTerms) aggregation)
-        .getBuckets().stream().map(this::collectIssueInfo).collect(Collectors.toList());
+    for (int i = 0; i < termInfos.size(); i++) {
+      ParsedValueCount count = aggregations.get(TERM_AGGREGATION_PREFIX + i);
+      termInfos.get(i).setInterpretedIndexed(count.getValue());
+    }
   }
 
   /** Process one issue bucket, get issue value, count and 5 samples of related data */
@@ -187,50 +226,4 @@ public class IndexMetricsCollector {
         .issueCategory(EvaluationCategory.OCC_INTERPRETATION_BASED)
         .build();
   }
-
-  /** Aggregate occurrence terms and return term count */
-  @SneakyThrows
-  private Optional<Long> queryOccurrenceCoreTermsCount(String term) {
-
-    TermCountRequest tcr =
-        TermCountRequestBuilder.builder()
-            .termValue(key.toString())
-            .prefix(corePrefix)
-            .indexName(index)
-            .term(term)
-            .build()
-            .getRequest();
-
-    Optional<CountRequest> countRequest = tcr.getInterpretedCountRequest();
-    Long interpretedCount = null;
-    if (countRequest.isPresent()) {
-      interpretedCount =
-          ElasticsearchClientFactory.getInstance(esHost)
-              .count(countRequest.get(), RequestOptions.DEFAULT)
-              .getCount();
-    }
-
-    return Optional.ofNullable(interpretedCount);
-  }
-
-  /** Aggregate extensions term and return term count */
-  @SneakyThrows
-  private Long queryExtensionTermsCount(String prefix, String term) {
-    ExtTermCountRequest etcr =
-        ExtensionTermCountRequestBuilder.builder()
-            .prefix(prefix)
-            .termValue(key.toString())
-            .indexName(index)
-            .term(term)
-            .build()
-            .getRequest();
-
-    Aggregation aggregation =
-        ElasticsearchClientFactory.getInstance(esHost)
-            .search(etcr.getSearchRequest(), RequestOptions.DEFAULT)
-            .getAggregations()
-            .get(ExtensionTermCountRequestBuilder.AGGREGATION);
-
-    return ((ParsedValueCount) aggregation).getValue();
-  }
 }
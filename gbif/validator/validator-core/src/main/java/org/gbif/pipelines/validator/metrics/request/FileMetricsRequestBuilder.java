@@ -0,0 +1,85 @@
+package org.gbif.pipelines.validator.metrics.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregator.KeyedFilter;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.gbif.pipelines.validator.metrics.RawToInterpreted;
+
+/**
+ * Collects all term counts of one file in a single _search API call, instead of one call per term
+ *
+ * <p>Core files use a filters aggregation with an exists filter per interpreted field, total hits
+ * are the indexed documents count and the issues aggregation can be added to the same request:
+ *
+ * <p>{"size":0,"track_total_hits":true,"query":{"term":{"datasetKey":"675a1bfd-..."}},
+ * "aggs":{"terms_count":{"filters":{"filters":{"http://rs.tdwg.org/dwc/terms/country":{"exists":
+ * {"field":"countryCode"}}}}}}}
+ *
+ * <p>Extension files use a value_count aggregation per term, named by the term position:
+ *
+ * <p>{"size":0,"query":{"term":{"datasetKey":"675a1bfd-..."}},"aggs":{"term_0":{"value_count":
+ * {"field":"verbatim.extensions.http://rs.tdwg.org/dwc/terms/MeasurementOrFact.http://rs.tdwg.org/dwc/terms/measurementType"}}}}
+ */
+@Slf4j
+@Builder
+public class FileMetricsRequestBuilder {
+
+  public static final String TERMS_AGGREGATION = "terms_count";
+  public static final String TERM_AGGREGATION_PREFIX = "term_";
+
+  @Builder.Default private final String termName = "datasetKey";
+  private final String termValue;
+  private final String indexName;
+  private final List<String> terms;
+  // Extension prefix, counts raw extension values instead of interpreted core fields when set
+  private final String extensionPrefix;
+  private final boolean withIssues;
+
+  public SearchRequest getRequest() {
+
+    SearchSourceBuilder source =
+        new SearchSourceBuilder().size(0).query(QueryBuilders.termQuery(termName, termValue));
+
+    if (extensionPrefix == null) {
+      source.trackTotalHits(true);
+      getInterpretedFilters()
+          .ifPresent(f -> source.aggregation(AggregationBuilders.filters(TERMS_AGGREGATION, f)));
+    } else {
+      for (int i = 0; i < terms.size(); i++) {
+        String field = extensionPrefix + "." + terms.get(i);
+        source.aggregation(AggregationBuilders.count(TERM_AGGREGATION_PREFIX + i).field(field));
+      }
+    }
+
+    if (withIssues) {
+      source.aggregation(
+          OccurrenceIssuesRequestBuilder.builder()
+              .termValue(termValue)
+              .indexName(indexName)
+              .build()
+              .getAggregation());
+    }
+
+    return new SearchRequest().source(source).indices(indexName);
+  }
+
+  /** One exists filter per term with an interpreted field, keyed by the term */
+  private Optional<KeyedFilter[]> getInterpretedFilters() {
+    List<KeyedFilter> filters = new ArrayList<>(terms.size());
+    for (String term : terms) {
+      RawToInterpreted.getInterpretedField(term)
+          .ifPresent(field -> filters.add(new KeyedFilter(term, QueryBuilders.existsQuery(field))));
+    }
+    // A filters aggregation can't be empty
+    return filters.isEmpty()
+        ? Optional.empty()
+        : Optional.of(filters.toArray(new KeyedFilter[0]));
+  }
+}
@@ -133,7 +133,6 @@ public class IndexMetricsCollectorIT {
             .fileInfos(new ArrayList<>(Arrays.asList(occurrenceFileInfo, extensionFileInfo)))
             .key(UUID.fromString(datasetKey))
             .index(IDX_NAME)
-            .corePrefix("verbatim.core")
             .extensionsPrefix("verbatim.extensions")
             .esHost(ES_SERVER.getEsConfig().getRawHosts())
             .build()
@@ -0,0 +1,101 @@
+package org.gbif.pipelines.validator.metrics.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregator.KeyedFilter;
+import org.gbif.dwc.terms.DwcTerm;
+import org.junit.Test;
+
+public class FileMetricsRequestBuilderTest {
+
+  private static final List<String> TERMS =
+      Arrays.asList(
+          DwcTerm.year.qualifiedName(),
+          DwcTerm.bed.qualifiedName(),
+          DwcTerm.decimalLatitude.qualifiedName());
+
+  @Test
+  public void coreRequestTest() {
+    // When
+    SearchRequest request =
+        FileMetricsRequestBuilder.builder()
+            .termValue("675a1bfd-9bcc-46ea-a417-1f68f23a10f6")
+            .indexName("validator")
+            .terms(TERMS)
+            .withIssues(true)
+            .build()
+            .getRequest();
+
+    // Should
+    assertEquals(0, request.source().size());
+    List<String> names = aggregationNames(request);
+    assertEquals(2, names.size());
+    assertTrue(names.contains(FileMetricsRequestBuilder.TERMS_AGGREGATION));
+    assertTrue(names.contains(OccurrenceIssuesRequestBuilder.ISSUES_AGGREGATION));
+
+    FiltersAggregationBuilder filters =
+        (FiltersAggregationBuilder)
+            request.source().aggregations().getAggregatorFactories().stream()
+                .filter(a -> a.getName().equals(FileMetricsRequestBuilder.TERMS_AGGREGATION))
+                .findFirst()
+                .get();
+    List<String> keys =
+        filters.filters().stream().map(KeyedFilter::key).collect(Collectors.toList());
+    // bed has no interpreted field
+    assertEquals(2, keys.size());
+    assertTrue(keys.contains(DwcTerm.year.qualifiedName()));
+    assertFalse(keys.contains(DwcTerm.bed.qualifiedName()));
+  }
+
+  @Test
+  public void coreRequestWithoutInterpretedTermsTest() {
+    // When
+    SearchRequest request =
+        FileMetricsRequestBuilder.builder()
+            .termValue("675a1bfd-9bcc-46ea-a417-1f68f23a10f6")
+            .indexName("validator")
+            .terms(Arrays.asList(DwcTerm.bed.qualifiedName()))
+            .build()
+            .getRequest();
+
+    // Should
+    assertTrue(aggregationNames(request).isEmpty());
+  }
+
+  @Test
+  public void extensionRequestTest() {
+    // When
+    SearchRequest request =
+        FileMetricsRequestBuilder.builder()
+            .termValue("675a1bfd-9bcc-46ea-a417-1f68f23a10f6")
+            .indexName("validator")
+            .terms(TERMS)
+            .extensionPrefix("verbatim.extensions." + DwcTerm.MeasurementOrFact.qualifiedName())
+            .build()
+            .getRequest();
+
+    // Should
+    List<String> names = aggregationNames(request);
+    assertEquals(3, names.size());
+    assertTrue(names.contains(FileMetricsRequestBuilder.TERM_AGGREGATION_PREFIX + 0));
+    assertTrue(names.contains(FileMetricsRequestBuilder.TERM_AGGREGATION_PREFIX + 2));
+  }
+
+  private static List<String> aggregationNames(SearchRequest request) {
+    if (request.source().aggregations() == null) {
+      return Collections.emptyList();
+    }
+    return request.source().aggregations().getAggregatorFactories().stream()
+        .map(AggregationBuilder::getName)
+        .collect(Collectors.toList());
+  }
+}
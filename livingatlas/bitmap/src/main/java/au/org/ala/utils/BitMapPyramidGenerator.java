@@ -0,0 +1,300 @@
+package au.org.ala.utils;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Strings;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.batik.transcoder.TranscoderException;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
+
+/**
+ * Generates a quadtree tile pyramid from the same layer SVGs as {@link BitMapGenerator}.
+ *
+ * <p>The root level has the same 7200×3600 resolution as the single bitmap, split into 240px tiles.
+ * Every tile containing border pixels is rendered again as four children at twice the resolution,
+ * up to the requested number of levels. The border band is kept the same number of pixels wide at
+ * every level, so it narrows geographically by half at each level and most coordinates near coasts
+ * and borders resolve to a colour without a web service call.
+ *
+ * <p>The output is read by {@code org.gbif.pipelines.core.parsers.location.cache.TilePyramid},
+ * which documents the file layout.
+ */
+@Slf4j
+@AllArgsConstructor
+public class BitMapPyramidGenerator {
+
+  private static final int MAGIC = 0x47545059; // GTPY
+  private static final int VERSION = 1;
+  private static final int TILE_SIZE = 240;
+  private static final int ROOT_COLS = 30;
+  private static final int ROOT_ROWS = 15;
+  private static final int BORDER = 0x000000;
+  private static final int NO_CHILD = -1;
+  // Tiles are rendered with a margin, so borders just outside a tile are still spread into it
+  private static final int MARGIN = 8;
+  private static final double BORDER_KM = 5d;
+
+  private final int maxLevel;
+
+  /** A tile waiting to be rendered. */
+  @AllArgsConstructor
+  private static class Tile {
+    private final int id;
+    private final int level;
+    private final double west;
+    private final double north;
+    private final double width;
+    private final double height;
+  }
+
+  public void generatePyramid(String[] twoSvgs, String outputFolder, String layerName)
+      throws IOException, TranscoderException {
+
+    Path pyramidFile = Paths.get(outputFolder).resolve(layerName + ".pyramid");
+    if (pyramidFile.toFile().exists()) {
+      log.error(
+          "Won't overwrite {}, remove it first if you want to regenerate it (slow).", pyramidFile);
+      return;
+    }
+
+    Path filledSvgFile = Files.createTempFile(layerName, "-filled.svg");
+    Path hollowSvgFile = Files.createTempFile(layerName, "-hollow.svg");
+    Files.write(filledSvgFile, twoSvgs[0].getBytes(StandardCharsets.UTF_8));
+    Files.write(hollowSvgFile, twoSvgs[1].getBytes(StandardCharsets.UTF_8));
+
+    // Raw RGB tiles in id order, converted to palette indices once all colours are known
+    Path rawTiles = Files.createTempFile(layerName, "-tiles.raw");
+    Map<Integer, Integer> palette = new LinkedHashMap<>();
+    palette.put(BORDER, 0);
+    List<Integer> firstChild = new ArrayList<>();
+
+    Stopwatch sw = Stopwatch.createStarted();
+    log.info("Generating tile pyramid for {} with {} levels", layerName, maxLevel + 1);
+
+    Deque<Tile> queue = new ArrayDeque<>();
+    double rootWidth = 360d / ROOT_COLS;
+    double rootHeight = 180d / ROOT_ROWS;
+    for (int row = 0; row < ROOT_ROWS; row++) {
+      for (int col = 0; col < ROOT_COLS; col++) {
+        queue.add(
+            new Tile(
+                row * ROOT_COLS + col,
+                0,
+                -180d + col * rootWidth,
+                90d - row * rootHeight,
+                rootWidth,
+                rootHeight));
+      }
+    }
+    int nextId = queue.size();
+
+    try (DataOutputStream raw =
+        new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(rawTiles.toFile()), 1 << 20))) {
+      while (!queue.isEmpty()) {
+        Tile tile = queue.poll();
+        int[] pixels = renderTile(filledSvgFile, hollowSvgFile, tile);
+
+        boolean hasBorder = false;
+        for (int pixel : pixels) {
+          hasBorder |= pixel == BORDER;
+          palette.computeIfAbsent(pixel, k -> palette.size());
+          raw.writeInt(pixel);
+        }
+
+        if (hasBorder && tile.level < maxLevel) {
+          firstChild.add(nextId);
+          double w = tile.width / 2d;
+          double h = tile.height / 2d;
+          // NW, NE, SW, SE, matching the order the reader descends
+          queue.add(new Tile(nextId, tile.level + 1, tile.west, tile.north, w, h));
+          queue.add(new Tile(nextId + 1, tile.level + 1, tile.west + w, tile.north, w, h));
+          queue.add(new Tile(nextId + 2, tile.level + 1, tile.west, tile.north - h, w, h));
+          queue.add(new Tile(nextId + 3, tile.level + 1, tile.west + w, tile.north - h, w, h));
+          nextId += 4;
+        } else {
+          firstChild.add(NO_CHILD);
+        }
+
+        if (firstChild.size() % 100 == 0) {
+          log.info("→ Rendered {} tiles, {} queued", firstChild.size(), queue.size());
+        }
+      }
+    }
+
+    log.info("→ Writing {} tiles with {} colours to {}", nextId, palette.size(), pyramidFile);
+    int bytesPerPixel = palette.size() <= 0xFFFF ? 2 : 4;
+    try (DataInputStream in =
+            new DataInputStream(
+                new BufferedInputStream(new FileInputStream(rawTiles.toFile()), 1 << 20));
+        DataOutputStream out =
+            new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(pyramidFile.toFile()), 1 << 20))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(TILE_SIZE);
+      out.writeInt(ROOT_COLS);
+      out.writeInt(ROOT_ROWS);
+      out.writeInt(bytesPerPixel);
+
+      out.writeInt(palette.size());
+      for (Integer colour : palette.keySet()) {
+        out.writeInt(colour);
+      }
+
+      out.writeInt(firstChild.size());
+      for (Integer child : firstChild) {
+        out.writeInt(child);
+      }
+
+      long pixelCount = (long) firstChild.size() * TILE_SIZE * TILE_SIZE;
+      for (long i = 0; i < pixelCount; i++) {
+        int index = palette.get(in.readInt());
+        if (bytesPerPixel == 2) {
+          out.writeShort(index);
+        } else {
+          out.writeInt(index);
+        }
+      }
+    }
+
+    Files.deleteIfExists(rawTiles);
+    Files.deleteIfExists(filledSvgFile);
+    Files.deleteIfExists(hollowSvgFile);
+    log.info("Tile pyramid for {} completed in {} s", layerName, sw.elapsed(TimeUnit.SECONDS));
+  }
+
+  /** Renders a tile with its margin and marks pixels near a hollow outline as borders. */
+  private int[] renderTile(Path filledSvgFile, Path hollowSvgFile, Tile tile)
+      throws TranscoderException {
+    int size = TILE_SIZE + 2 * MARGIN;
+    double marginWidth = tile.width / TILE_SIZE * MARGIN;
+    double marginHeight = tile.height / TILE_SIZE * MARGIN;
+    // SVG user space has y growing southwards, the generated paths use -latitude
+    Rectangle2D aoi =
+        new Rectangle2D.Double(
+            tile.west - marginWidth,
+            -tile.north - marginHeight,
+            tile.width + 2 * marginWidth,
+            tile.height + 2 * marginHeight);
+
+    BufferedImage filled = render(filledSvgFile, aoi, size);
+    BufferedImage hollow = render(hollowSvgFile, aoi, size);
+
+    int ySpread = Math.min(MARGIN, (int) Math.ceil(kmToPx(0, BORDER_KM)));
+
+    int[] pixels = new int[TILE_SIZE * TILE_SIZE];
+    for (int y = 0; y < TILE_SIZE; y++) {
+      double latitude = tile.north - (y + 0.5d) / TILE_SIZE * tile.height;
+      int xSpread = Math.min(MARGIN, (int) Math.ceil(kmToPx(latitude, BORDER_KM)));
+      for (int x = 0; x < TILE_SIZE; x++) {
+        pixels[y * TILE_SIZE + x] =
+            isNearOutline(hollow, x + MARGIN, y + MARGIN, xSpread, ySpread)
+                ? BORDER
+                : filled.getRGB(x + MARGIN, y + MARGIN) & 0x00FFFFFF;
+      }
+    }
+    return pixels;
+  }
+
+  private boolean isNearOutline(BufferedImage hollow, int x, int y, int xSpread, int ySpread) {
+    for (int ys = y - ySpread; ys <= y + ySpread; ys++) {
+      for (int xs = x - xSpread; xs <= x + xSpread; xs++) {
+        if ((hollow.getRGB(xs, ys) | 0xFF000000) < 0xFFFFFFFF) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private BufferedImage render(Path svgFile, Rectangle2D aoi, int size)
+      throws TranscoderException {
+    TileTranscoder transcoder = new TileTranscoder();
+    transcoder.addTranscodingHint(ImageTranscoder.KEY_BACKGROUND_COLOR, Color.white);
+    transcoder.addTranscodingHint(ImageTranscoder.KEY_WIDTH, (float) size);
+    transcoder.addTranscodingHint(ImageTranscoder.KEY_HEIGHT, (float) size);
+    transcoder.addTranscodingHint(ImageTranscoder.KEY_AOI, aoi);
+    transcoder.transcode(new TranscoderInput(svgFile.toUri().toString()), new TranscoderOutput());
+    return transcoder.image;
+  }
+
+  /** Keeps the rendered image in memory instead of encoding it as a PNG. */
+  private static class TileTranscoder extends ImageTranscoder {
+
+    private BufferedImage image;
+
+    @Override
+    public BufferedImage createImage(int width, int height) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Override
+    public void writeImage(BufferedImage img, TranscoderOutput output) {
+      this.image = img;
+    }
+  }
+
+  /**
+   * Length of N kilometres in pixels at the root resolution (7200×3600). The same pixel width is
+   * used at every level.
+   */
+  private double kmToPx(double latitude, double nKm) {
+    double lengthParallelKm =
+        2d * Math.PI * 6378.137 /* Earth radius */ * Math.cos(Math.toRadians(latitude));
+    return nKm / (lengthParallelKm / (TILE_SIZE * ROOT_COLS));
+  }
+
+  /**
+   * BitMapPyramidGenerator cw_state_poly feature /data/sds-shp/ 4
+   *
+   * <p>Connection settings are the same system properties as {@link BitMapGenerator}.
+   */
+  public static void main(String[] args) throws Exception {
+
+    String url =
+        Strings.isNullOrEmpty(System.getProperty("url"))
+            ? "jdbc:postgresql://127.0.0.1"
+            : System.getProperty("url");
+    String db = Strings.isNullOrEmpty(System.getProperty("db")) ? "eez" : System.getProperty("db");
+    String user =
+        Strings.isNullOrEmpty(System.getProperty("user")) ? "eez" : System.getProperty("user");
+    String password =
+        Strings.isNullOrEmpty(System.getProperty("password"))
+            ? "eez"
+            : System.getProperty("password");
+
+    if (args.length < 3) {
+      log.info("Error: args are incorrect!");
+      log.info("Minimum three arguments required: layerName, AttrName, outputFolder [maxLevel]");
+      log.info("Example: BitMapPyramidGenerator cw_state_poly feature /data/sds-shp/ 4");
+      return;
+    }
+
+    String layer = args[0];
+    String idName = args[1];
+    String outputFolder = args[2];
+    int maxLevel = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+    BitMapGenerator bmg = new BitMapGenerator(url, db, password, user);
+    String[] svgs = bmg.generateSVG(layer, idName);
+    new BitMapPyramidGenerator(maxLevel).generatePyramid(svgs, outputFolder, layer);
+  }
+}
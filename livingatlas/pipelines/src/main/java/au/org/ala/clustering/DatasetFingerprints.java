@@ -0,0 +1,154 @@
+package au.org.ala.clustering;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.GlobPattern;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+
+/**
+ * Fingerprints of the index records of every dataset, the total size and the latest modification
+ * time of its files. Comparing the fingerprints of two clustering runs gives the datasets that
+ * changed or were deleted in between.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DatasetFingerprints {
+
+  private static final String ALL = "*";
+
+  /**
+   * @param indexRecordPath directory with a sub directory of index records per dataset
+   * @return datasetId -> fingerprint
+   */
+  public static Map<String, String> create(FileSystem fs, String indexRecordPath) {
+    return create(fs, indexRecordPath, ALL);
+  }
+
+  /**
+   * @param indexRecordPath directory with a sub directory of index records per dataset
+   * @param datasetPattern glob of the dataset directories to fingerprint, see {@link #pattern}
+   * @return datasetId -> fingerprint
+   */
+  @SneakyThrows
+  public static Map<String, String> create(
+      FileSystem fs, String indexRecordPath, String datasetPattern) {
+    Map<String, String> fingerprints = new TreeMap<>();
+    Path path = new Path(indexRecordPath);
+    if (!fs.exists(path)) {
+      return fingerprints;
+    }
+    FileStatus[] dirs = fs.globStatus(new Path(path, datasetPattern));
+    for (FileStatus dir : dirs == null ? new FileStatus[0] : dirs) {
+      if (dir.isDirectory()) {
+        long size = 0L;
+        long modified = 0L;
+        RemoteIterator<LocatedFileStatus> files = fs.listFiles(dir.getPath(), true);
+        while (files.hasNext()) {
+          LocatedFileStatus file = files.next();
+          size += file.getLen();
+          modified = Math.max(modified, file.getModificationTime());
+        }
+        fingerprints.put(dir.getPath().getName(), size + ":" + modified);
+      }
+    }
+    return fingerprints;
+  }
+
+  /** Glob of the selected datasets, all datasets for a null, "all" or "*" datasetId */
+  public static String pattern(String datasetId) {
+    return datasetId == null || "all".equalsIgnoreCase(datasetId) ? ALL : datasetId;
+  }
+
+  /** Reads fingerprints written by {@link #write}, empty if the file doesn't exist */
+  @SneakyThrows
+  public static Map<String, String> read(FileSystem fs, String filePath) {
+    Map<String, String> fingerprints = new TreeMap<>();
+    Path path = new Path(filePath);
+    if (!fs.exists(path)) {
+      return fingerprints;
+    }
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(fs.open(path), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.split("\t");
+        if (parts.length == 2) {
+          fingerprints.put(parts[0], parts[1]);
+        }
+      }
+    }
+    return fingerprints;
+  }
+
+  /** Writes fingerprints as datasetId TAB fingerprint lines */
+  @SneakyThrows
+  public static void write(FileSystem fs, String filePath, Map<String, String> fingerprints) {
+    try (BufferedWriter writer =
+        new BufferedWriter(
+            new OutputStreamWriter(fs.create(new Path(filePath), true), StandardCharsets.UTF_8))) {
+      for (Map.Entry<String, String> e : fingerprints.entrySet()) {
+        writer.write(e.getKey() + "\t" + e.getValue());
+        writer.newLine();
+      }
+    }
+    log.info("Written {} dataset fingerprints to {}", fingerprints.size(), filePath);
+  }
+
+  /** Datasets which are new or have a different fingerprint */
+  public static Set<String> changed(Map<String, String> previous, Map<String, String> current) {
+    Set<String> changed = new TreeSet<>();
+    current.forEach(
+        (datasetId, fingerprint) -> {
+          if (!fingerprint.equals(previous.get(datasetId))) {
+            changed.add(datasetId);
+          }
+        });
+    return changed;
+  }
+
+  /** Datasets which don't exist anymore */
+  public static Set<String> deleted(Map<String, String> previous, Map<String, String> current) {
+    return deleted(previous, current, ALL);
+  }
+
+  /** Selected datasets which don't exist anymore, others weren't fingerprinted by this run */
+  public static Set<String> deleted(
+      Map<String, String> previous, Map<String, String> current, String datasetPattern) {
+    GlobPattern glob = new GlobPattern(datasetPattern);
+    Set<String> deleted = new TreeSet<>();
+    previous.keySet().stream()
+        .filter(datasetId -> glob.matches(datasetId) && !current.containsKey(datasetId))
+        .forEach(deleted::add);
+    return deleted;
+  }
+
+  /** Current fingerprints of the selected datasets and previous ones of all other datasets */
+  public static Map<String, String> merge(
+      Map<String, String> previous, Map<String, String> current, String datasetPattern) {
+    GlobPattern glob = new GlobPattern(datasetPattern);
+    Map<String, String> merged = new TreeMap<>();
+    previous.forEach(
+        (datasetId, fingerprint) -> {
+          if (!glob.matches(datasetId)) {
+            merged.put(datasetId, fingerprint);
+          }
+        });
+    merged.putAll(current);
+    return merged;
+  }
+}
@@ -0,0 +1,75 @@
+package au.org.ala.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.gbif.pipelines.io.avro.HashKeyRecord;
+
+/** Converts hash keys to and from {@link HashKeyRecord}, the AVRO form persisted between runs. */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HashKeyRecords {
+
+  public static HashKeyRecord toRecord(HashKeyOccurrence o) {
+    return HashKeyRecord.newBuilder()
+        .setHashKey(o.getHashKey())
+        .setId(o.getId())
+        .setDatasetKey(o.getDatasetKey())
+        .setSpeciesKey(o.getSpeciesKey())
+        .setTaxonKey(o.getTaxonKey())
+        .setBasisOfRecord(o.getBasisOfRecord())
+        .setDecimalLatitude(o.getDecimalLatitude())
+        .setDecimalLongitude(o.getDecimalLongitude())
+        .setYear(o.getYear())
+        .setMonth(o.getMonth())
+        .setDay(o.getDay())
+        .setEventDate(o.getEventDate())
+        .setScientificName(o.getScientificName())
+        .setCountryCode(o.getCountryCode())
+        .setTypeStatus(o.getTypeStatus())
+        .setOccurrenceID(o.getOccurrenceID())
+        .setRecordedBy(o.getRecordedBy())
+        .setFieldNumber(o.getFieldNumber())
+        .setRecordNumber(o.getRecordNumber())
+        .setCatalogNumber(o.getCatalogNumber())
+        .setOtherCatalogNumbers(o.getOtherCatalogNumbers())
+        .setInstitutionCode(o.getInstitutionCode())
+        .setCollectionCode(o.getCollectionCode())
+        .build();
+  }
+
+  public static HashKeyOccurrence fromRecord(HashKeyRecord r) {
+    HashKeyOccurrence o =
+        HashKeyOccurrenceBuilder.aHashKeyOccurrence()
+            .withHashKey(r.getHashKey())
+            .withId(r.getId())
+            .withDatasetKey(r.getDatasetKey())
+            .withSpeciesKey(r.getSpeciesKey())
+            .withTaxonKey(r.getTaxonKey())
+            .withBasisOfRecord(r.getBasisOfRecord())
+            .withDecimalLatitude(r.getDecimalLatitude())
+            .withDecimalLongitude(r.getDecimalLongitude())
+            .withYear(r.getYear())
+            .withMonth(r.getMonth())
+            .withDay(r.getDay())
+            .withEventDate(r.getEventDate())
+            .withScientificName(r.getScientificName())
+            .withCountryCode(r.getCountryCode())
+            .withTypeStatus(copy(r.getTypeStatus()))
+            .withOccurrenceID(r.getOccurrenceID())
+            .withRecordedBy(copy(r.getRecordedBy()))
+            .withFieldNumber(r.getFieldNumber())
+            .withRecordNumber(r.getRecordNumber())
+            .withCatalogNumber(r.getCatalogNumber())
+            .withOtherCatalogNumbers(copy(r.getOtherCatalogNumbers()))
+            .build();
+    o.setInstitutionCode(r.getInstitutionCode());
+    o.setCollectionCode(r.getCollectionCode());
+    return o;
+  }
+
+  // AVRO arrays are GenericData.Array, the schema coder expects plain lists
+  private static List<String> copy(List<String> values) {
+    return values == null ? null : new ArrayList<>(values);
+  }
+}
@@ -17,6 +17,7 @@ import org.gbif.kvs.hbase.Command;
 import org.gbif.pipelines.common.PipelinesException;
 import org.gbif.pipelines.core.config.model.WsConfig;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.kvs.SharedKeyValueStore;
 
 @Slf4j
 public class ALANameMatchKVStoreFactory {
@@ -106,8 +107,12 @@ public class ALANameMatchKVStoreFactory {
             closeHandler.execute();
           }
         };
+    // On-heap cache of the worker, in front of the cache shared by all workers of the host
+    KeyValueStore<NameSearch, NameUsageMatch> shared =
+        SharedKeyValueStore.wrap(
+            "alaNameMatch", config.getAlaNameMatch().getSharedCache(), NameUsageMatch.class, kvs);
     return KeyValueCache.cache(
-        kvs, config.getAlaNameMatch().getCacheSizeMb(), NameSearch.class, NameUsageMatch.class);
+        shared, config.getAlaNameMatch().getCacheSizeMb(), NameSearch.class, NameUsageMatch.class);
   }
 
   public static SerializableSupplier<KeyValueStore<NameSearch, NameUsageMatch>> getInstanceSupplier(
@@ -9,8 +9,11 @@ import org.gbif.kvs.geocode.GeocodeRequest;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
 import org.gbif.pipelines.core.parsers.location.GeocodeKvStore;
 import org.gbif.pipelines.core.parsers.location.cache.BinaryBitmapLookup;
+import org.gbif.pipelines.core.parsers.location.cache.TilePyramid;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.factory.BufferedImageFactory;
+import org.gbif.pipelines.factory.TilePyramidFactory;
 import org.gbif.rest.client.geocode.GeocodeResponse;
 import org.gbif.rest.client.geocode.Location;
 
@@ -23,6 +26,7 @@ public class GeocodeKvStoreFactory {
   private static volatile GeocodeKvStoreFactory instance;
   private static final Object MUTEX = new Object();
   private static final String BITMAP_EXT = ".png";
+  private static final String PYRAMID_EXT = ".pyramid";
 
   static final GeocodeResponse BIOME_TERRESTRIAL;
   static final GeocodeResponse BIOME_MARINE;
@@ -41,25 +45,41 @@ public class GeocodeKvStoreFactory {
 
     HdfsConfigs hdfsConfigs = HdfsConfigs.nullConfig();
 
-    BufferedImage image =
-        BufferedImageFactory.getInstance(hdfsConfigs, config.getGbifConfig().getImageCachePath());
     KeyValueStore<GeocodeRequest, GeocodeResponse> countryStore =
         CountryKeyValueStore.create(config.getGeocodeConfig());
 
     // missEqualsFail=true because each point should be associated with a country or marine area
-    this.countryKvStore = GeocodeKvStore.create(countryStore, image, "COUNTRY", true);
+    String countryPyramidPath = config.getGbifConfig().getImageCachePyramidPath();
+    if (countryPyramidPath != null) {
+      TilePyramid pyramid = TilePyramidFactory.getInstance(hdfsConfigs, countryPyramidPath);
+      this.countryKvStore = GeocodeKvStore.create(countryStore, pyramid, "COUNTRY", true);
+    } else {
+      BufferedImage image =
+          BufferedImageFactory.getInstance(hdfsConfigs, config.getGbifConfig().getImageCachePath());
+      this.countryKvStore = GeocodeKvStore.create(countryStore, image, "COUNTRY", true);
+    }
 
     KeyValueStore<GeocodeRequest, GeocodeResponse> stateProvinceStore =
         StateProvinceKeyValueStore.create(config.getGeocodeConfig());
 
-    // Try to load from image file which has the same name of the SHP file
-    BufferedImage stateCacheImage =
-        BufferedImageFactory.loadImageFile(
-            hdfsConfigs, config.getGeocodeConfig().getStateProvince().getPath() + BITMAP_EXT);
-
-    // missEqualsFail=false because not every point will be in a stateProvince
-    this.stateProvinceKvStore =
-        GeocodeKvStore.create(stateProvinceStore, stateCacheImage, "STATEPROVINCE", false);
+    // Prefer a tile pyramid generated next to the SHP file, it resolves most border pixels
+    String statePath = config.getGeocodeConfig().getStateProvince().getPath();
+    if (FsUtils.fileExists(hdfsConfigs, statePath + PYRAMID_EXT)) {
+      TilePyramid statePyramid =
+          TilePyramidFactory.getInstance(hdfsConfigs, statePath + PYRAMID_EXT);
+
+      // missEqualsFail=false because not every point will be in a stateProvince
+      this.stateProvinceKvStore =
+          GeocodeKvStore.create(stateProvinceStore, statePyramid, "STATEPROVINCE", false);
+    } else {
+      // Try to load from image file which has the same name of the SHP file
+      BufferedImage stateCacheImage =
+          BufferedImageFactory.loadImageFile(hdfsConfigs, statePath + BITMAP_EXT);
+
+      // missEqualsFail=false because not every point will be in a stateProvince
+      this.stateProvinceKvStore =
+          GeocodeKvStore.create(stateProvinceStore, stateCacheImage, "STATEPROVINCE", false);
+    }
 
     // Try to load from image file which has the same name of the SHP file
     BufferedImage biomeCacheImage =
@@ -9,6 +9,7 @@ import au.org.ala.kvs.cache.SDSReportKVStoreFactory;
 import au.org.ala.kvs.client.SDSConservationServiceFactory;
 import au.org.ala.pipelines.transforms.ALASensitiveDataRecordTransform;
 import au.org.ala.pipelines.transforms.ALATaxonomyTransform;
+import au.org.ala.pipelines.transforms.SensitivityDecisions;
 import au.org.ala.pipelines.util.VersionInfo;
 import au.org.ala.utils.ArchiveUtils;
 import au.org.ala.utils.CombinedYamlConfiguration;
@@ -16,6 +17,7 @@ import au.org.ala.utils.ValidationUtils;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Map;
 import java.util.function.UnaryOperator;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -23,12 +25,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.extensions.joinlibrary.Join;
+import org.apache.beam.sdk.transforms.Distinct;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.transforms.join.CoGbkResult;
 import org.apache.beam.sdk.transforms.join.CoGroupByKey;
 import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TypeDescriptors;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.beam.metrics.MetricsHandler;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
@@ -115,6 +123,8 @@ public class ALAInterpretedToSensitivePipeline {
             .txrTag(null)
             .atxrTag(alaTaxonomyTransform.getTag())
             .create();
+    alaSensitiveDataRecordTransform.setAvroWriteSettings(
+        PipelinesOptionsFactory.createAvroWriteSettings(options));
 
     log.info("Adding step 3: Creating beam pipeline");
     PCollection<KV<String, ExtendedRecord>> inputVerbatimCollection =
@@ -151,10 +161,45 @@ public class ALAInterpretedToSensitivePipeline {
             // ALA Specific
             .and(alaTaxonomyTransform.getTag(), inputAlaTaxonCollection);
 
+    PCollection<KV<String, CoGbkResult>> grouped =
+        inputTuples.apply("Grouping objects", CoGroupByKey.create());
+
+    log.info("Resolving distinct sensitivity queries of the dataset");
+    PCollection<String> queries =
+        grouped
+            .apply("Sensitivity query keys", alaSensitiveDataRecordTransform.queryKeys())
+            .apply("Distinct sensitivity queries", Distinct.create());
+
+    PCollectionView<Map<String, Boolean>> speciesView =
+        queries
+            .apply(
+                "Species keys",
+                MapElements.into(TypeDescriptors.strings()).via(SensitivityDecisions::speciesKey))
+            .apply("Distinct species", Distinct.create())
+            .apply(
+                "Resolve sensitive species",
+                ParDo.of(
+                    new SensitivityDecisions.ResolveSpeciesFn(
+                        SDSCheckKVStoreFactory.getInstanceSupplier(config))))
+            .apply("Species decisions", View.asMap());
+
+    PCollectionView<Map<String, String>> reportView =
+        queries
+            .apply(
+                "Resolve sensitivity reports",
+                ParDo.of(
+                        new SensitivityDecisions.ResolveReportsFn(
+                            SDSReportKVStoreFactory.getInstanceSupplier(config),
+                            options.getDatasetId(),
+                            speciesView))
+                    .withSideInputs(speciesView))
+            .apply("Report decisions", View.asMap());
+
     log.info("Creating sensitivity records");
-    inputTuples
-        .apply("Grouping objects", CoGroupByKey.create())
-        .apply("Converting to sensitivity records", alaSensitiveDataRecordTransform.interpret())
+    grouped
+        .apply(
+            "Converting to sensitivity records",
+            alaSensitiveDataRecordTransform.decisions(speciesView, reportView).interpret())
         .apply("Write to AVRO", alaSensitiveDataRecordTransform.write(outputPathFn));
 
     log.info("Running the pipeline");
@@ -1,6 +1,6 @@
 package au.org.ala.pipelines.beam;
 
-import au.org.ala.pipelines.jackknife.JackKnife;
+import au.org.ala.pipelines.jackknife.JackKnifeSamples;
 import au.org.ala.pipelines.options.JackKnifePipelineOptions;
 import au.org.ala.pipelines.transforms.JackKnifeOutlierTransform;
 import au.org.ala.pipelines.util.VersionInfo;
@@ -9,22 +9,33 @@ import au.org.ala.utils.CombinedYamlConfiguration;
 import au.org.ala.utils.ValidationUtils;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.coders.AvroCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.extensions.joinlibrary.Join;
 import org.apache.beam.sdk.io.AvroIO;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
-import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.WithKeys;
+import org.apache.beam.sdk.transforms.join.CoGbkResult;
+import org.apache.beam.sdk.transforms.join.CoGroupByKey;
+import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.*;
 import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.gbif.pipelines.common.beam.metrics.MetricsHandler;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
@@ -41,6 +52,7 @@ import org.slf4j.MDC;
 public class ALAReverseJackKnifePipeline {
   public static final String OUTLIER_RECORDS_COUNT = "outlierRecordsCount";
   public static final String JACKKNIFE_MODELS_COUNT = "modelRecordsCount";
+  public static final String REUSED_JACKKNIFE_MODELS_COUNT = "reusedModelSpeciesCount";
 
   public static void main(String[] args) throws IOException {
     VersionInfo.print();
@@ -69,9 +81,10 @@ public class ALAReverseJackKnifePipeline {
     // JackKnife output locations
     String outliersPath = String.join("/", options.getJackKnifePath(), "outliers");
     String modelsPath = String.join("/", options.getJackKnifePath(), "models");
+    String previousModelsPath = String.join("/", options.getJackKnifePath(), "models-previous");
     String jackknifePath = String.join("/", options.getJackKnifePath());
 
-    log.info("1. Delete existing jackknife outliers, models and metrics.");
+    log.info("1. Delete existing jackknife outliers and metrics, keep models for reuse.");
     deletePreviousValidation(options, options.getJackKnifePath());
 
     String[] layers = options.getLayers().split(",");
@@ -113,57 +126,73 @@ public class ALAReverseJackKnifePipeline {
                   }
                 }));
 
-    // Convert to KV <LatLng, ArrayOfLayerValues>
-    PCollection<KV<String, Double[]>> sampleRecordsKeyedLatng =
+    // Convert to KV <LatLng, ArrayOfLayerValues>, NaN for missing values
+    PCollection<KV<String, double[]>> sampleRecordsKeyedLatng =
         sampleRecords.apply(
             ParDo.of(
-                new DoFn<SampleRecord, KV<String, Double[]>>() {
+                new DoFn<SampleRecord, KV<String, double[]>>() {
                   @ProcessElement
                   public void processElement(ProcessContext c) {
                     SampleRecord e = c.element();
-                    Double[] values = new Double[layers.length];
-                    int countNull = 0;
+                    double[] values = new double[layers.length];
+                    int countMissing = 0;
                     for (int i = 0; i < layers.length; i++) {
-                      values[i] = e.getDoubles().getOrDefault(layers[i], Double.NaN);
-                      if (values[i] == null) {
-                        countNull++;
+                      Double value = e.getDoubles().get(layers[i]);
+                      values[i] = value == null ? Double.NaN : value;
+                      if (Double.isNaN(values[i])) {
+                        countMissing++;
                       }
                     }
                     String latlng = e.getLatLng();
-                    if (latlng != null && countNull < layers.length) {
+                    if (latlng != null && countMissing < layers.length) {
                       c.output(KV.of(latlng, values));
                     }
                   }
                 }));
 
     // Join collections by LatLng string
-    PCollection<KV<String, KV<KV<String, String>, Double[]>>> results =
+    PCollection<KV<String, KV<KV<String, String>, double[]>>> results =
         Join.innerJoin(recordsWithCoordinatesKeyedLatng, sampleRecordsKeyedLatng);
 
-    // Group by speciesID
-    PCollection<KV<String, Iterable<KV<String, Double[]>>>> groups =
-        results
-            .apply(
-                ParDo.of(
-                    new DoFn<
-                        KV<String, KV<KV<String, String>, Double[]>>,
-                        KV<String, KV<String, Double[]>>>() {
-                      @ProcessElement
-                      public void processElement(ProcessContext c) {
-                        KV<String, KV<KV<String, String>, Double[]>> e = c.element();
-                        try {
-                          Double[] sampling = e.getValue().getValue();
-                          KV<String, String> ir = e.getValue().getKey();
+    // Key by speciesID
+    PCollection<KV<String, KV<String, double[]>>> samplesKeyedSpecies =
+        results.apply(
+            ParDo.of(
+                new DoFn<
+                    KV<String, KV<KV<String, String>, double[]>>,
+                    KV<String, KV<String, double[]>>>() {
+                  @ProcessElement
+                  public void processElement(ProcessContext c) {
+                    KV<String, KV<KV<String, String>, double[]>> e = c.element();
+                    double[] sampling = e.getValue().getValue();
+                    KV<String, String> ir = e.getValue().getKey();
 
-                          String recordID = ir.getKey();
-                          String speciesID = ir.getValue();
-                          c.output(KV.of(speciesID, KV.of(recordID, sampling)));
-                        } catch (Exception ex) {
+                    String recordID = ir.getKey();
+                    String speciesID = ir.getValue();
+                    c.output(KV.of(speciesID, KV.of(recordID, sampling)));
+                  }
+                }));
 
-                        }
-                      }
-                    }))
-            .apply(GroupByKey.create());
+    // Models of the previous run, keyed by speciesID
+    PCollection<KV<String, JackKnifeModelRecord>> previousModels =
+        pipeline
+            .apply(
+                AvroIO.read(JackKnifeModelRecord.class)
+                    .from(previousModelsPath + "/*.avro")
+                    .withEmptyMatchTreatment(EmptyMatchTreatment.ALLOW))
+            .apply(WithKeys.of(JackKnifeModelRecord::getTaxonId))
+            .setCoder(
+                KvCoder.of(StringUtf8Coder.of(), AvroCoder.of(JackKnifeModelRecord.class)));
+
+    // Group samples and previous models by speciesID
+    final TupleTag<KV<String, double[]>> samplesTag = new TupleTag<KV<String, double[]>>() {};
+    final TupleTag<JackKnifeModelRecord> previousModelsTag =
+        new TupleTag<JackKnifeModelRecord>() {};
+
+    PCollection<KV<String, CoGbkResult>> groups =
+        KeyedPCollectionTuple.of(samplesTag, samplesKeyedSpecies)
+            .and(previousModelsTag, previousModels)
+            .apply(CoGroupByKey.create());
 
     // Calculate and apply JackKnife for each SpeciesID
     final TupleTag<JackKnifeModelRecord> jackKnifeModelRecordTag =
@@ -174,91 +203,65 @@ public class ALAReverseJackKnifePipeline {
     PCollectionTuple jackknife =
         groups.apply(
             ParDo.of(
-                    new DoFn<KV<String, Iterable<KV<String, Double[]>>>, JackKnifeModelRecord>() {
+                    new DoFn<KV<String, CoGbkResult>, JackKnifeModelRecord>() {
 
                       private final Counter counterModels =
                           Metrics.counter(
                               ALAReverseJackKnifePipeline.class, JACKKNIFE_MODELS_COUNT);
+                      private final Counter counterReusedModels =
+                          Metrics.counter(
+                              ALAReverseJackKnifePipeline.class, REUSED_JACKKNIFE_MODELS_COUNT);
                       private final Counter counterOutliers =
                           Metrics.counter(ALAReverseJackKnifePipeline.class, OUTLIER_RECORDS_COUNT);
 
                       @ProcessElement
                       public void processElement(ProcessContext c) {
-                        // Build jacknife model.
-
-                        KV<String, Iterable<KV<String, Double[]>>> e = c.element();
-                        Iterator<KV<String, Double[]>> valuesIter = e.getValue().iterator();
+                        String speciesID = c.element().getKey();
+                        CoGbkResult group = c.element().getValue();
 
-                        // Values for each layer.
-                        List<Double>[] values = new ArrayList[layers.length];
-                        for (int i = 0; i < layers.length; i++) {
-                          values[i] = new ArrayList<>();
+                        // Record IDs and layer values
+                        List<String> ids = new ArrayList<>();
+                        List<double[]> rows = new ArrayList<>();
+                        for (KV<String, double[]> v : group.getAll(samplesTag)) {
+                          ids.add(v.getKey());
+                          rows.add(v.getValue());
+                        }
+                        if (ids.isEmpty()) {
+                          // Species is gone since the previous run
+                          return;
                         }
 
-                        // Record IDs.
-                        List<String> ids = new ArrayList<>();
+                        JackKnifeSamples samples = JackKnifeSamples.create(layers, ids, rows);
+                        long sampleHash = samples.hash(minSampleThreshold);
 
-                        // Remap IDs and layer values.
-                        while (valuesIter.hasNext()) {
-                          KV<String, Double[]> v = valuesIter.next();
-                          ids.add(v.getKey());
-                          for (int i = 0; i < layers.length; i++) {
-                            values[i].add(v.getValue()[i]);
-                          }
+                        // Reuse the previous models if the samples haven't changed
+                        double[][] models =
+                            reuseModels(layers, group.getAll(previousModelsTag), sampleHash);
+                        if (models != null) {
+                          counterReusedModels.inc();
+                        } else {
+                          models = samples.models(minSampleThreshold);
                         }
 
-                        // Generate jacknife models for each layer.
-                        List<double[]> jackKnifeModels = new ArrayList<>(layers.length);
                         for (int i = 0; i < layers.length; i++) {
-                          double[] model = null;
-                          try {
-                            model =
-                                JackKnife.jackknife(
-                                    values[i].toArray(new Double[0]), minSampleThreshold);
-                            if (model != null) {
-                              JackKnifeModelRecord jkmr =
-                                  JackKnifeModelRecord.newBuilder()
-                                      .setTaxonId(e.getKey())
-                                      .setFeature(layers[i])
-                                      .setMin(model[0])
-                                      .setMax(model[1])
-                                      .setCount(
-                                          (int)
-                                              values[i].stream()
-                                                  .filter(v -> !Double.isNaN(v))
-                                                  .count())
-                                      .build();
-                              c.output(jackKnifeModelRecordTag, jkmr);
-                              counterModels.inc();
-                            }
-                          } catch (Exception ex) {
-                            log.error(
-                                "Failed to build jackknife model for "
-                                    + e.getKey()
-                                    + " "
-                                    + layers[i],
-                                ex.getMessage());
-                          } finally {
-                            jackKnifeModels.add(model);
+                          if (models[i] != null) {
+                            JackKnifeModelRecord jkmr =
+                                JackKnifeModelRecord.newBuilder()
+                                    .setTaxonId(speciesID)
+                                    .setFeature(layers[i])
+                                    .setMin(models[i][0])
+                                    .setMax(models[i][1])
+                                    .setCount(samples.count(i))
+                                    .setSampleHash(sampleHash)
+                                    .build();
+                            c.output(jackKnifeModelRecordTag, jkmr);
+                            counterModels.inc();
                           }
                         }
 
                         // Apply jacknife model to produce ID -> list of outliers
-                        for (int i = 0; i < ids.size(); i++) {
-                          List<String> outliers = null;
-
-                          for (int j = 0; j < layers.length; j++) {
-                            double[] model = jackKnifeModels.get(j);
-                            if (model != null) {
-                              Double v = values[j].get(i);
-                              if (v != null && (model[0] > v || model[1] < v)) {
-                                if (outliers == null) {
-                                  outliers = new ArrayList<>();
-                                }
-                                outliers.add(layers[j]);
-                              }
-                            }
-                          }
+                        for (int i = 0; i < samples.size(); i++) {
+                          List<String> outliers = samples.outliers(i, models);
 
                           // Collect only IDs containing outlier layers.
                           if (outliers != null) {
@@ -301,16 +304,56 @@ public class ALAReverseJackKnifePipeline {
         jackknifePath + "/metrics.yaml",
         result.metrics());
 
+    FsUtils.deleteIfExist(
+        HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
+        previousModelsPath);
+
     log.info("3. Pipeline has been finished");
   }
 
+  /**
+   * Models of the previous run, by layer, if they were built from samples with the same hash.
+   * Layers without a previous model had no valid model. Returns null if the models can't be reused.
+   */
+  private static double[][] reuseModels(
+      String[] layers, Iterable<JackKnifeModelRecord> previous, long sampleHash) {
+    Map<String, JackKnifeModelRecord> byFeature = new HashMap<>();
+    for (JackKnifeModelRecord r : previous) {
+      if (r.getSampleHash() == null || r.getSampleHash() != sampleHash) {
+        return null;
+      }
+      byFeature.put(r.getFeature(), r);
+    }
+    if (byFeature.isEmpty()) {
+      return null;
+    }
+    double[][] models = new double[layers.length][];
+    for (int i = 0; i < layers.length; i++) {
+      JackKnifeModelRecord r = byFeature.get(layers[i]);
+      if (r != null) {
+        models[i] = new double[] {r.getMin(), r.getMax()};
+      }
+    }
+    return models;
+  }
+
+  @SneakyThrows
   public static void deletePreviousValidation(
       JackKnifePipelineOptions options, String jackknifePath) {
     // delete output directories
     HdfsConfigs hdfsConfigs =
         HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig());
     FsUtils.deleteIfExist(hdfsConfigs, jackknifePath + "/outliers");
-    FsUtils.deleteIfExist(hdfsConfigs, jackknifePath + "/models");
+
+    // keep the models of the last run, models of unchanged species are reused
+    String previousModelsPath = jackknifePath + "/models-previous";
+    FsUtils.deleteIfExist(hdfsConfigs, previousModelsPath);
+    FileSystem fs = FsUtils.getFileSystem(hdfsConfigs, jackknifePath);
+    Path modelsPath = new Path(jackknifePath + "/models");
+    if (fs.exists(modelsPath) && !fs.rename(modelsPath, new Path(previousModelsPath))) {
+      log.warn("Can't move {} to {}, models will be rebuilt", modelsPath, previousModelsPath);
+      FsUtils.deleteIfExist(hdfsConfigs, modelsPath.toString());
+    }
 
     // delete metrics
     FsUtils.deleteIfExist(hdfsConfigs, jackknifePath + "/metrics.yaml");
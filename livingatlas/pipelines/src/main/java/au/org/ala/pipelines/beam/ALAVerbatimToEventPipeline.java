@@ -11,6 +11,7 @@ import au.org.ala.utils.CombinedYamlConfiguration;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import org.gbif.pipelines.common.beam.metrics.MetricsHandler;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.factory.FileVocabularyFactory;
@@ -50,6 +52,7 @@ import org.gbif.pipelines.io.avro.TemporalRecord;
 import org.gbif.pipelines.io.avro.json.EventInheritedRecord;
 import org.gbif.pipelines.io.avro.json.LocationInheritedRecord;
 import org.gbif.pipelines.io.avro.json.TemporalInheritedRecord;
+import org.gbif.pipelines.transforms.Transform;
 import org.gbif.pipelines.transforms.core.*;
 import org.gbif.pipelines.transforms.extension.AudubonTransform;
 import org.gbif.pipelines.transforms.extension.ImageTransform;
@@ -173,6 +176,20 @@ public class ALAVerbatimToEventPipeline {
     SeedbankTransform seedbankTransform =
         SeedbankTransform.builder().orderings(dateComponentOrdering).create();
 
+    AvroWriteSettings avroWriteSettings = PipelinesOptionsFactory.createAvroWriteSettings(options);
+    List<Transform<?, ?>> writers =
+        Arrays.asList(
+            metadataTransform,
+            verbatimTransform,
+            eventCoreTransform,
+            identifierTransform,
+            multimediaTransform,
+            audubonTransform,
+            imageTransform,
+            measurementOrFactTransform,
+            seedbankTransform);
+    writers.forEach(t -> t.setAvroWriteSettings(avroWriteSettings));
+
     log.info("Creating beam pipeline");
 
     if (useMetadataRecordWriteIO(types)) {
@@ -254,6 +271,9 @@ public class ALAVerbatimToEventPipeline {
     org.gbif.pipelines.transforms.core.TemporalTransform gbifTemporalTransform =
         org.gbif.pipelines.transforms.core.TemporalTransform.builder().create();
 
+    gbifLocationTransform.setAvroWriteSettings(avroWriteSettings);
+    gbifTemporalTransform.setAvroWriteSettings(avroWriteSettings);
+
     InheritedFields inheritedFields =
         InheritedFields.builder()
             .inheritedFieldsTransform(InheritedFieldsTransform.builder().build())
@@ -41,6 +41,7 @@ import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.beam.metrics.MetricsHandler;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.factory.FileVocabularyFactory;
@@ -48,6 +49,7 @@ import org.gbif.pipelines.factory.OccurrenceStatusKvStoreFactory;
 import org.gbif.pipelines.io.avro.ALAMetadataRecord;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
 import org.gbif.pipelines.io.avro.MetadataRecord;
+import org.gbif.pipelines.transforms.Transform;
 import org.gbif.pipelines.transforms.converters.OccurrenceExtensionTransform;
 import org.gbif.pipelines.transforms.core.VerbatimTransform;
 import org.gbif.pipelines.transforms.extension.MeasurementOrFactTransform;
@@ -246,6 +248,20 @@ public class ALAVerbatimToInterpretedPipeline {
             .dataResourceKvStoreSupplier(ALAAttributionKVStoreFactory.getInstanceSupplier(config))
             .create();
 
+    AvroWriteSettings avroWriteSettings = PipelinesOptionsFactory.createAvroWriteSettings(options);
+    List<Transform<?, ?>> writers =
+        Arrays.asList(
+            metadataTransform,
+            verbatimTransform,
+            basicTransform,
+            temporalTransform,
+            multimediaTransform,
+            alaAttributionTransform,
+            alaTaxonomyTransform,
+            locationTransform,
+            measurementOrFactTransform);
+    writers.forEach(t -> t.setAvroWriteSettings(avroWriteSettings));
+
     log.info("Creating beam pipeline");
 
     metadataRecord.apply("Write metadata to avro", metadataTransform.write(pathFn));
@@ -12,16 +12,28 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.file.CodecFactory;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.IterableCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.AvroIO;
 import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.transforms.*;
+import org.apache.beam.sdk.transforms.join.CoGbkResult;
+import org.apache.beam.sdk.transforms.join.CoGroupByKey;
+import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TypeDescriptor;
+import org.apache.beam.sdk.values.TypeDescriptors;
 import org.apache.directory.api.util.Strings;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.core.parsers.clustering.OccurrenceFeatures;
@@ -44,6 +56,11 @@ import org.slf4j.MDC;
  * generate clusters using the algorithm from the occurrence-clustering module.
  *
  * <p>The output is then written to AVRO files using the @{@link Relationships} AVRO class.
+ *
+ * <p>With --incremental=true the hash keys and the relationships by hash key are kept in the
+ * clustering path. The next run hashes only the index records of datasets changed since then,
+ * re-evaluates the hash keys touched by changed or deleted datasets and reuses the relationships
+ * of all other hash keys.
  */
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -60,6 +77,12 @@ public class ClusteringPipeline {
 
   private static final CodecFactory BASE_CODEC = CodecFactory.snappyCodec();
 
+  // State kept in the clustering path for incremental runs
+  private static final String HASHKEYS = "hashkeys";
+  private static final String BUCKET_RELATIONSHIPS = "bucket-relationships";
+  private static final String FINGERPRINTS_FILE = "dataset-fingerprints.tsv";
+  private static final String PREVIOUS = "-previous";
+
   public static void main(String[] args) throws IOException {
     VersionInfo.print();
     String[] combinedArgs = new CombinedYamlConfiguration(args).toArgs("general", "clustering");
@@ -86,11 +109,64 @@ public class ClusteringPipeline {
     log.info("Creating a pipeline from options");
     Pipeline pipeline = Pipeline.create(options);
 
+    FileSystem fs =
+        FsUtils.getFileSystem(
+            HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
+            options.getInputPath());
+    String clusteringPath = options.getClusteringPath();
+    String fingerprintsPath = clusteringPath + "/" + FINGERPRINTS_FILE;
+
+    String datasetPattern = DatasetFingerprints.pattern(options.getDatasetId());
+
+    // datasets changed or deleted since the previous incremental run, null clusters everything
+    Map<String, String> fingerprints = Collections.emptyMap();
+    Map<String, String> previous = Collections.emptyMap();
+    Set<String> changedDatasets = null;
+    Set<String> staleDatasets = null;
+    if (options.isIncremental()) {
+      fingerprints =
+          DatasetFingerprints.create(
+              fs,
+              String.join("/", options.getAllDatasetsInputPath(), "index-record"),
+              datasetPattern);
+      previous = DatasetFingerprints.read(fs, fingerprintsPath);
+      if (!previous.isEmpty()
+          && ALAFsUtils.existsAndNonEmpty(fs, clusteringPath + "/" + HASHKEYS)
+          && ALAFsUtils.existsAndNonEmpty(fs, clusteringPath + "/" + BUCKET_RELATIONSHIPS)) {
+        changedDatasets = DatasetFingerprints.changed(previous, fingerprints);
+        staleDatasets = new HashSet<>(changedDatasets);
+        staleDatasets.addAll(DatasetFingerprints.deleted(previous, fingerprints, datasetPattern));
+        if (staleDatasets.isEmpty()) {
+          log.info("No datasets changed since the previous clustering run");
+          return;
+        }
+        log.info(
+            "Incremental clustering, changed datasets {}, stale datasets {}",
+            changedDatasets,
+            staleDatasets);
+        if (!movePreviousState(fs, clusteringPath)) {
+          changedDatasets = null;
+          staleDatasets = null;
+        }
+      } else {
+        log.info(
+            "No previous incremental clustering in {}, clustering all datasets", clusteringPath);
+      }
+    }
+
     // clear previous runs
     clearPreviousClustering(options);
+    // the state is written again once the run succeeds, a failed run is followed by a full run
+    ALAFsUtils.deleteIfExist(fs, fingerprintsPath);
+    if (changedDatasets == null) {
+      clearIncrementalState(fs, clusteringPath);
+    }
 
-    // read index records
-    PCollection<IndexRecord> indexRecords = ALAFsUtils.loadIndexRecords(options, pipeline);
+    // read index records, only of the changed datasets in incremental runs
+    PCollection<IndexRecord> indexRecords =
+        changedDatasets == null
+            ? ALAFsUtils.loadIndexRecords(options, pipeline)
+            : ALAFsUtils.loadIndexRecords(options, pipeline, changedDatasets);
 
     final Integer candidatesCutoff = options.getCandidatesCutoff();
 
@@ -239,18 +315,68 @@ public class ClusteringPipeline {
                   }
                 }));
 
+    // hash keys of all records, and in incremental runs the hash keys to re-evaluate
+    PCollection<HashKeyOccurrence> hashes = hashAll;
+    PCollection<KV<String, Boolean>> touchedKeys = null;
+    PCollection<HashKeyRelationships> keptRelationships = null;
+
+    if (staleDatasets != null) {
+      final Set<String> stale = staleDatasets;
+
+      PCollection<HashKeyOccurrence> previousHashes =
+          pipeline
+              .apply(
+                  AvroIO.read(HashKeyRecord.class)
+                      .from(clusteringPath + "/" + HASHKEYS + PREVIOUS + "/*.avro"))
+              .apply(
+                  MapElements.into(TypeDescriptor.of(HashKeyOccurrence.class))
+                      .via(HashKeyRecords::fromRecord));
+
+      PCollection<HashKeyOccurrence> staleHashes =
+          previousHashes.apply(
+              Filter.by((HashKeyOccurrence h) -> stale.contains(h.getDatasetKey())));
+      PCollection<HashKeyOccurrence> keptHashes =
+          previousHashes.apply(
+              Filter.by((HashKeyOccurrence h) -> !stale.contains(h.getDatasetKey())));
+
+      // buckets touched by records of changed or deleted datasets
+      touchedKeys =
+          PCollectionList.of(hashAll)
+              .and(staleHashes)
+              .apply(Flatten.pCollections())
+              .apply(MapElements.into(TypeDescriptors.strings()).via(HashKeyOccurrence::getHashKey))
+              .apply(Distinct.create())
+              .apply(
+                  MapElements.into(
+                          TypeDescriptors.kvs(
+                              TypeDescriptors.strings(), TypeDescriptors.booleans()))
+                      .via((String k) -> KV.of(k, Boolean.TRUE)));
+
+      hashes = PCollectionList.of(keptHashes).and(hashAll).apply(Flatten.pCollections());
+
+      keptRelationships =
+          untouched(
+              pipeline.apply(
+                  AvroIO.read(HashKeyRelationships.class)
+                      .from(clusteringPath + "/" + BUCKET_RELATIONSHIPS + PREVIOUS + "/*.avro")),
+              touchedKeys);
+    }
+
     // convert to hashkey -> OccurrenceHash
+    PCollection<KV<String, HashKeyOccurrence>> keyedHashes =
+        hashes.apply(
+            MapElements.via(
+                new SimpleFunction<HashKeyOccurrence, KV<String, HashKeyOccurrence>>() {
+                  @Override
+                  public KV<String, HashKeyOccurrence> apply(HashKeyOccurrence input) {
+                    return KV.of(input.getHashKey(), input);
+                  }
+                }));
+
     PCollection<ClusteringCandidates> candidates =
-        hashAll
-            .apply(
-                MapElements.via(
-                    new SimpleFunction<HashKeyOccurrence, KV<String, HashKeyOccurrence>>() {
-                      @Override
-                      public KV<String, HashKeyOccurrence> apply(HashKeyOccurrence input) {
-                        return KV.of(input.getHashKey(), input);
-                      }
-                    }))
-            .apply(GroupByKey.create())
+        (touchedKeys == null
+                ? keyedHashes.apply(GroupByKey.create())
+                : touchedBuckets(keyedHashes, touchedKeys))
             .apply(
                 ParDo.of(
                     new DoFn<KV<String, Iterable<HashKeyOccurrence>>, ClusteringCandidates>() {
@@ -272,15 +398,15 @@ public class ClusteringPipeline {
                       }
                     }));
 
-    // need to Group by UUID
-    PCollection<KV<String, Relationship>> relationships =
+    // relationships by hash key
+    PCollection<HashKeyRelationships> bucketRelationships =
         candidates.apply(
             ParDo.of(
-                new DoFn<ClusteringCandidates, KV<String, Relationship>>() {
+                new DoFn<ClusteringCandidates, HashKeyRelationships>() {
                   @ProcessElement
                   public void processElement(
                       @Element ClusteringCandidates source,
-                      OutputReceiver<KV<String, Relationship>> out) {
+                      OutputReceiver<HashKeyRelationships> out) {
 
                     log.info("Candidates: {}", source.getCandidates().size());
                     if (source.getCandidates().size() < candidatesCutoff) {
@@ -290,13 +416,60 @@ public class ClusteringPipeline {
                           "Candidates: {}, Relationships {}",
                           source.getCandidates().size(),
                           output.size());
-                      output.forEach(out::output);
+                      if (!output.isEmpty()) {
+                        out.output(
+                            HashKeyRelationships.newBuilder()
+                                .setHashKey(source.getHashKey())
+                                .setRelationships(
+                                    output.stream().map(KV::getValue).collect(Collectors.toList()))
+                                .build());
+                      }
+                    }
+                  }
+                }));
+
+    if (keptRelationships != null) {
+      bucketRelationships =
+          PCollectionList.of(keptRelationships)
+              .and(bucketRelationships)
+              .apply(Flatten.pCollections());
+    }
+
+    if (options.isIncremental()) {
+      // keep the hash keys and relationships by hash key for the next incremental run
+      hashes
+          .apply(
+              MapElements.into(TypeDescriptor.of(HashKeyRecord.class))
+                  .via(HashKeyRecords::toRecord))
+          .apply(
+              AvroIO.write(HashKeyRecord.class)
+                  .to(clusteringPath + "/" + HASHKEYS + "/hashkeys")
+                  .withSuffix(".avro")
+                  .withCodec(BASE_CODEC));
+      bucketRelationships.apply(
+          AvroIO.write(HashKeyRelationships.class)
+              .to(clusteringPath + "/" + BUCKET_RELATIONSHIPS + "/bucket-relationships")
+              .withSuffix(".avro")
+              .withCodec(BASE_CODEC));
+    }
+
+    // need to Group by UUID
+    PCollection<KV<String, Relationship>> relationships =
+        bucketRelationships.apply(
+            ParDo.of(
+                new DoFn<HashKeyRelationships, KV<String, Relationship>>() {
+                  @ProcessElement
+                  public void processElement(
+                      @Element HashKeyRelationships source,
+                      OutputReceiver<KV<String, Relationship>> out) {
+                    for (Relationship r : source.getRelationships()) {
+                      out.output(KV.of(r.getDupId(), r));
                     }
                   }
                 }));
 
     if (options.isOutputDebugAvro()) {
-      outputDebugHashKeys(options, hashAll);
+      outputDebugHashKeys(options, hashes);
       outputDebugCandidates(options, candidates);
       outputDebugRelationships(options, candidatesCutoff, candidates);
       outputDebugRelationshipsUngrouped(options, relationships);
@@ -376,6 +549,81 @@ public class ClusteringPipeline {
 
     // write candidates out to disk ??
     pipeline.run().waitUntilFinish();
+
+    if (options.isIncremental()) {
+      ALAFsUtils.deleteIfExist(fs, clusteringPath + "/" + HASHKEYS + PREVIOUS);
+      ALAFsUtils.deleteIfExist(fs, clusteringPath + "/" + BUCKET_RELATIONSHIPS + PREVIOUS);
+      // Datasets outside the selection keep their state only if it wasn't cleared by a full run
+      DatasetFingerprints.write(
+          fs,
+          fingerprintsPath,
+          changedDatasets == null
+              ? fingerprints
+              : DatasetFingerprints.merge(previous, fingerprints, datasetPattern));
+    }
+  }
+
+  /** Buckets of the hash keys touched by changed or deleted datasets */
+  private static PCollection<KV<String, Iterable<HashKeyOccurrence>>> touchedBuckets(
+      PCollection<KV<String, HashKeyOccurrence>> hashes,
+      PCollection<KV<String, Boolean>> touchedKeys) {
+
+    final TupleTag<HashKeyOccurrence> hashesTag = new TupleTag<>();
+    final TupleTag<Boolean> touchedTag = new TupleTag<>();
+
+    return KeyedPCollectionTuple.of(hashesTag, hashes)
+        .and(touchedTag, touchedKeys)
+        .apply(CoGroupByKey.create())
+        .apply(
+            ParDo.of(
+                new DoFn<KV<String, CoGbkResult>, KV<String, Iterable<HashKeyOccurrence>>>() {
+                  @ProcessElement
+                  public void processElement(
+                      @Element KV<String, CoGbkResult> source,
+                      OutputReceiver<KV<String, Iterable<HashKeyOccurrence>>> out) {
+                    if (source.getValue().getAll(touchedTag).iterator().hasNext()) {
+                      List<HashKeyOccurrence> bucket = new ArrayList<>();
+                      source.getValue().getAll(hashesTag).forEach(bucket::add);
+                      out.output(KV.of(source.getKey(), bucket));
+                    }
+                  }
+                }))
+        .setCoder(
+            KvCoder.of(
+                StringUtf8Coder.of(),
+                IterableCoder.of(
+                    ((KvCoder<String, HashKeyOccurrence>) hashes.getCoder()).getValueCoder())));
+  }
+
+  /** Relationships of the previous run by hash key, of the buckets not touched in this run */
+  private static PCollection<HashKeyRelationships> untouched(
+      PCollection<HashKeyRelationships> previous, PCollection<KV<String, Boolean>> touchedKeys) {
+
+    final TupleTag<HashKeyRelationships> previousTag = new TupleTag<>();
+    final TupleTag<Boolean> touchedTag = new TupleTag<>();
+
+    PCollection<KV<String, HashKeyRelationships>> keyed =
+        previous.apply(
+            MapElements.into(
+                    TypeDescriptors.kvs(
+                        TypeDescriptors.strings(), TypeDescriptor.of(HashKeyRelationships.class)))
+                .via((HashKeyRelationships r) -> KV.of(r.getHashKey(), r)));
+
+    return KeyedPCollectionTuple.of(previousTag, keyed)
+        .and(touchedTag, touchedKeys)
+        .apply(CoGroupByKey.create())
+        .apply(
+            ParDo.of(
+                new DoFn<KV<String, CoGbkResult>, HashKeyRelationships>() {
+                  @ProcessElement
+                  public void processElement(
+                      @Element KV<String, CoGbkResult> source,
+                      OutputReceiver<HashKeyRelationships> out) {
+                    if (!source.getValue().getAll(touchedTag).iterator().hasNext()) {
+                      source.getValue().getAll(previousTag).forEach(out::output);
+                    }
+                  }
+                }));
   }
 
   private static void outputDebugRelationshipsUngrouped(
@@ -644,4 +892,30 @@ public class ClusteringPipeline {
     ALAFsUtils.deleteIfExist(fs, options.getClusteringPath() + "/relationships-debug");
     log.info("Cleared clustering path {}.", options.getClusteringPath());
   }
+
+  /** Removes the hash keys and relationships by hash key kept for incremental runs */
+  private static void clearIncrementalState(FileSystem fs, String clusteringPath) {
+    for (String dir : Arrays.asList(HASHKEYS, BUCKET_RELATIONSHIPS)) {
+      ALAFsUtils.deleteIfExist(fs, clusteringPath + "/" + dir);
+      ALAFsUtils.deleteIfExist(fs, clusteringPath + "/" + dir + PREVIOUS);
+    }
+  }
+
+  /**
+   * Moves the hash keys and relationships by hash key of the previous run aside, they are read by
+   * this run and replaced by its output. Returns false if they can't be moved.
+   */
+  @SneakyThrows
+  private static boolean movePreviousState(FileSystem fs, String clusteringPath) {
+    for (String dir : Arrays.asList(HASHKEYS, BUCKET_RELATIONSHIPS)) {
+      Path path = new Path(clusteringPath + "/" + dir);
+      Path previousPath = new Path(clusteringPath + "/" + dir + PREVIOUS);
+      ALAFsUtils.deleteIfExist(fs, previousPath.toString());
+      if (!fs.rename(path, previousPath)) {
+        log.warn("Can't move {} to {}, clustering all datasets", path, previousPath);
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -179,7 +179,6 @@ public class DistributionOutlierPipeline {
         "Write to file",
         AvroIO.write(DistributionOutlierRecord.class)
             .to(outputPath + "/outlier_" + ts)
-            .withoutSharding()
             .withSuffix(".avro"));
 
     log.info("Running the pipeline");
@@ -9,22 +9,27 @@ import au.org.ala.pipelines.converters.CoreCsvConverter;
 import au.org.ala.pipelines.converters.MultimediaCsvConverter;
 import au.org.ala.pipelines.options.DwCAExportPipelineOptions;
 import au.org.ala.pipelines.util.DwcaMetaXml;
+import au.org.ala.pipelines.util.ParallelZipAssembler;
 import au.org.ala.pipelines.util.VersionInfo;
 import au.org.ala.utils.ALAFsUtils;
 import au.org.ala.utils.CombinedYamlConfiguration;
 import au.org.ala.utils.ValidationUtils;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeMap;
 import java.util.function.UnaryOperator;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.beam.sdk.Pipeline;
@@ -49,6 +54,10 @@ import org.slf4j.MDC;
 @Slf4j
 public class IndexRecordToDwcaPipeline {
 
+  private static final String CORE_FILE = "occurrence";
+  private static final String IMAGE_FILE = "image";
+  private static final String TSV_EXT = ".tsv";
+
   public static void main(String[] args) throws Exception {
     MDC.put("step", "INDEX_RECORD_TO_DWCA");
     VersionInfo.print();
@@ -68,6 +77,11 @@ public class IndexRecordToDwcaPipeline {
         fileName ->
             String.join(Path.SEPARATOR, buildDatasetAttemptPath(options, "dwca", false), fileName);
 
+    // Shards of an earlier run would otherwise be merged into the archive
+    HdfsConfigs hdfsConfigs =
+        HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig());
+    FsUtils.deleteIfExist(hdfsConfigs, buildDatasetAttemptPath(options, "dwca", false));
+
     Pipeline p = Pipeline.create(options);
 
     // Load IndexRecords - keyed on UUID
@@ -79,7 +93,7 @@ public class IndexRecordToDwcaPipeline {
             MapElements.into(strings()).via(CoreCsvConverter::convert))
         .apply(
             "Write core csv file",
-            TextIO.write().to(pathFn.apply("occurrence")).withoutSharding().withSuffix(".tsv"));
+            TextIO.write().to(pathFn.apply(CORE_FILE)).withSuffix(TSV_EXT));
 
     final String formatPath = options.getImageServicePath();
 
@@ -95,7 +109,7 @@ public class IndexRecordToDwcaPipeline {
         .apply(Flatten.iterables())
         .apply(
             "Write image csv file",
-            TextIO.write().to(pathFn.apply("image")).withoutSharding().withSuffix(".tsv"));
+            TextIO.write().to(pathFn.apply(IMAGE_FILE)).withSuffix(TSV_EXT));
 
     PipelineResult result = p.run();
     result.waitUntilFinish();
@@ -122,10 +136,7 @@ public class IndexRecordToDwcaPipeline {
     // if inputPath is "hdfs://", then copy to local
     if (originalInputIsHdfs) {
 
-      FileSystem fs =
-          FileSystemFactory.getInstance(
-                  HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()))
-              .getFs(options.getInputPath());
+      FileSystem fs = FileSystemFactory.getInstance(hdfsConfigs).getFs(options.getInputPath());
 
       Path inputPathHdfs = new Path(options.getInputPath());
 
@@ -135,6 +146,7 @@ public class IndexRecordToDwcaPipeline {
 
       String dwcaHdfsOutputPath = buildDatasetAttemptPath(options, "dwca", false);
       String dwcaOutputPath = options.getLocalExportPath() + "/" + options.getDatasetId() + "/";
+      FileUtils.deleteDirectory(new File(dwcaOutputPath));
       RemoteIterator<LocatedFileStatus> iter =
           fs.listFiles(new Path(dwcaHdfsOutputPath + "/"), false);
 
@@ -150,19 +162,59 @@ public class IndexRecordToDwcaPipeline {
 
     String zipPath = options.getLocalExportPath() + "/" + options.getDatasetId() + ".zip";
     String dwcaOutputPath = options.getLocalExportPath() + "/" + options.getDatasetId();
-    File[] filePaths =
+    File dwcaDir =
         originalInputIsHdfs
-            ? new File(dwcaOutputPath).listFiles()
-            : new File(buildDatasetAttemptPath(options, "dwca", false)).listFiles();
-
-    try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipPath))) {
-      for (File fileToZip : filePaths) {
-        log.info("Adding to Zip file: " + fileToZip.getName());
-        zipOut.putNextEntry(new ZipEntry(fileToZip.getName()));
-        Files.copy(fileToZip.toPath(), zipOut);
+            ? new File(dwcaOutputPath)
+            : new File(buildDatasetAttemptPath(options, "dwca", false));
+
+    ParallelZipAssembler.builder()
+        .zipPath(Paths.get(zipPath))
+        .entries(collectZipEntries(dwcaDir))
+        .create()
+        .write();
+    log.info("Zip file written to: " + zipPath);
+  }
+
+  /**
+   * Groups the sharded TSV files into their archive entries, e.g. occurrence-00000-of-00004.tsv
+   * into occurrence.tsv. Other files (meta.xml, eml.xml) are added as they are, a single
+   * occurrence.tsv or image.tsv is only used when there are no shards.
+   */
+  private static Map<String, List<java.nio.file.Path>> collectZipEntries(File dwcaDir)
+      throws IOException {
+    Map<String, List<java.nio.file.Path>> entries = new TreeMap<>();
+    List<File> singleFiles = new ArrayList<>();
+    File[] files = dwcaDir.listFiles(File::isFile);
+    if (files != null) {
+      Arrays.sort(files);
+      for (File file : files) {
+        String name = file.getName();
+        String entryName = null;
+        for (String prefix : new String[] {CORE_FILE, IMAGE_FILE}) {
+          if (name.startsWith(prefix + "-") && name.endsWith(TSV_EXT)) {
+            entryName = prefix + TSV_EXT;
+          }
+        }
+        if (entryName != null) {
+          entries.computeIfAbsent(entryName, k -> new ArrayList<>()).add(file.toPath());
+        } else {
+          singleFiles.add(file);
+        }
       }
     }
-    log.info("Zip file written to: " + zipPath);
+    for (File file : singleFiles) {
+      entries.putIfAbsent(file.getName(), Collections.singletonList(file.toPath()));
+    }
+
+    // Beam may not create a shard for an empty collection, meta.xml always refers to both files
+    for (String prefix : new String[] {CORE_FILE, IMAGE_FILE}) {
+      if (!entries.containsKey(prefix + TSV_EXT)) {
+        java.nio.file.Path empty = dwcaDir.toPath().resolve(prefix + TSV_EXT);
+        Files.write(empty, new byte[0]);
+        entries.put(prefix + TSV_EXT, Collections.singletonList(empty));
+      }
+    }
+    return entries;
   }
 
   @SneakyThrows
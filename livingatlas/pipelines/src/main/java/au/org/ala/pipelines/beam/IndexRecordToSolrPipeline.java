@@ -11,6 +11,7 @@ import au.org.ala.pipelines.options.SolrPipelineOptions;
 import au.org.ala.pipelines.transforms.IndexFields;
 import au.org.ala.pipelines.transforms.IndexRecordTransform;
 import au.org.ala.pipelines.transforms.IndexValues;
+import au.org.ala.pipelines.util.SolrAtomicUpdates;
 import au.org.ala.pipelines.util.VersionInfo;
 import au.org.ala.utils.ALAFsUtils;
 import au.org.ala.utils.CombinedYamlConfiguration;
@@ -18,11 +19,15 @@ import au.org.ala.utils.ValidationUtils;
 import com.google.common.collect.ImmutableMap;
 import java.util.*;
 import java.util.stream.Collectors;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.file.CodecFactory;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.io.AvroIO;
 import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
 import org.apache.beam.sdk.io.solr.SolrIO;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.*;
 import org.apache.beam.sdk.transforms.join.CoGbkResult;
 import org.apache.beam.sdk.transforms.join.CoGroupByKey;
@@ -30,6 +35,7 @@ import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.*;
 import org.apache.beam.vendor.guava.v26_0_jre.com.google.common.collect.ImmutableList;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.solr.client.solrj.impl.CloudSolrClient;
 import org.apache.solr.client.solrj.request.schema.SchemaRequest;
@@ -39,6 +45,8 @@ import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.PipelinesException;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.gbif.pipelines.core.utils.FsUtils;
 import org.gbif.pipelines.io.avro.*;
 import org.jetbrains.annotations.NotNull;
 import org.joda.time.Duration;
@@ -67,6 +75,13 @@ public class IndexRecordToSolrPipeline {
       SampleRecord.newBuilder().setLatLng("NO_VALUE").build();
 
   public static final String EMPTY = "EMPTY";
+
+  public static final String NEW_DOCUMENTS = "newSolrDocuments";
+  public static final String UPDATED_DOCUMENTS = "updatedSolrDocuments";
+  public static final String UNCHANGED_DOCUMENTS = "unchangedSolrDocuments";
+
+  private static final String HASHES_CURRENT = "current";
+  private static final String HASHES_NEXT = "next";
   static final IndexRecord nullIndexRecord = IndexRecord.newBuilder().setId(EMPTY).build();
   static final JackKnifeOutlierRecord nullJkor =
       JackKnifeOutlierRecord.newBuilder().setId(EMPTY).setItems(new ArrayList<>()).build();
@@ -99,6 +114,14 @@ public class IndexRecordToSolrPipeline {
     final List<String> dynamicFieldPrefixes = getSchemaDynamicFieldPrefixes(options);
     final int numOfPartitions = options.getNumOfPartitions();
 
+    if (useAtomicUpdates(options)) {
+      FileSystem fs =
+          FsUtils.getFileSystem(
+              HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
+              options.getInputPath());
+      ALAFsUtils.deleteIfExist(fs, hashesPath(options, HASHES_NEXT));
+    }
+
     Pipeline pipeline = Pipeline.create(options);
 
     // Load IndexRecords - keyed on UUID
@@ -184,9 +207,158 @@ public class IndexRecordToSolrPipeline {
     log.info("Starting pipeline");
     pipeline.run(options).waitUntilFinish();
 
+    if (useAtomicUpdates(options)) {
+      replaceHashes(options);
+    }
+
     log.info("Solr indexing pipeline complete");
   }
 
+  private static boolean useAtomicUpdates(SolrPipelineOptions options) {
+    return options.getSolrAtomicUpdates() && options.getOutputAvroToFilePath() == null;
+  }
+
+  private static String hashesPath(SolrPipelineOptions options, String name) {
+    return String.join("/", options.getSolrHashesPath(), options.getSolrCollection(), name);
+  }
+
+  /** Replaces the hashes of the previous run with the hashes of the indexed documents */
+  @SneakyThrows
+  private static void replaceHashes(SolrPipelineOptions options) {
+    FileSystem fs =
+        FsUtils.getFileSystem(
+            HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig()),
+            options.getInputPath());
+    String current = hashesPath(options, HASHES_CURRENT);
+    String next = hashesPath(options, HASHES_NEXT);
+    ALAFsUtils.deleteIfExist(fs, current);
+    if (!fs.rename(new Path(next), new Path(current))) {
+      log.warn("Can't move {} to {}, all documents will be sent next time", next, current);
+    }
+  }
+
+  /**
+   * Converts index records to SOLR documents and compares them with the hashes of the documents
+   * indexed by the previous run. New documents are indexed as they are, changed documents are sent
+   * as atomic updates of the changed fields and unchanged documents are skipped. The hashes of
+   * this run are written to the "next" hashes path.
+   */
+  private static PCollection<SolrInputDocument> changedDocuments(
+      SolrPipelineOptions options,
+      PCollection<IndexRecord> indexRecords,
+      final Map<String, SolrFieldSchema> schemaFields,
+      final List<String> dynamicFieldPrefixes) {
+
+    // Records of other datasets are not indexed by this run, their hashes are kept
+    String datasetId = options.getDatasetId();
+    final String indexedDataset =
+        datasetId == null || "all".equalsIgnoreCase(datasetId) || "*".equals(datasetId)
+            ? null
+            : datasetId;
+
+    String previousPath = hashesPath(options, HASHES_CURRENT) + "/*" + AVRO_EXTENSION;
+    log.info("Loading SOLR document hashes from {}", previousPath);
+
+    PCollection<KV<String, SolrDocumentHash>> previousHashes =
+        indexRecords
+            .getPipeline()
+            .apply(
+                AvroIO.read(SolrDocumentHash.class)
+                    .from(previousPath)
+                    .withEmptyMatchTreatment(EmptyMatchTreatment.ALLOW))
+            .apply(
+                MapElements.via(
+                    new SimpleFunction<SolrDocumentHash, KV<String, SolrDocumentHash>>() {
+                      @Override
+                      public KV<String, SolrDocumentHash> apply(SolrDocumentHash input) {
+                        return KV.of(input.getId(), input);
+                      }
+                    }));
+
+    PCollection<KV<String, IndexRecord>> keyedRecords =
+        indexRecords.apply(
+            MapElements.via(
+                new SimpleFunction<IndexRecord, KV<String, IndexRecord>>() {
+                  @Override
+                  public KV<String, IndexRecord> apply(IndexRecord input) {
+                    return KV.of(input.getId(), input);
+                  }
+                }));
+
+    final TupleTag<IndexRecord> indexRecordTag = new TupleTag<>();
+    final TupleTag<SolrDocumentHash> previousTag = new TupleTag<>();
+    final TupleTag<SolrInputDocument> documentTag = new TupleTag<SolrInputDocument>() {};
+    final TupleTag<SolrDocumentHash> hashTag = new TupleTag<SolrDocumentHash>() {};
+
+    PCollectionTuple results =
+        KeyedPCollectionTuple.of(indexRecordTag, keyedRecords)
+            .and(previousTag, previousHashes)
+            .apply(CoGroupByKey.create())
+            .apply(
+                "Compare SOLR documents with the previous hashes",
+                ParDo.of(
+                        new DoFn<KV<String, CoGbkResult>, SolrInputDocument>() {
+
+                          private final Counter newCounter =
+                              Metrics.counter(IndexRecordToSolrPipeline.class, NEW_DOCUMENTS);
+                          private final Counter updatedCounter =
+                              Metrics.counter(IndexRecordToSolrPipeline.class, UPDATED_DOCUMENTS);
+                          private final Counter unchangedCounter =
+                              Metrics.counter(IndexRecordToSolrPipeline.class, UNCHANGED_DOCUMENTS);
+
+                          @ProcessElement
+                          public void processElement(ProcessContext c) {
+                            CoGbkResult result = c.element().getValue();
+                            // Only one document per id reaches SOLR, duplicates keep the first
+                            Iterator<IndexRecord> indexRecords =
+                                result.getAll(indexRecordTag).iterator();
+                            IndexRecord indexRecord =
+                                indexRecords.hasNext() ? indexRecords.next() : null;
+                            if (indexRecords.hasNext()) {
+                              log.warn(
+                                  "More than one IndexRecord with id {}, only the first is indexed",
+                                  c.element().getKey());
+                            }
+                            SolrDocumentHash previous = result.getOnly(previousTag, null);
+
+                            if (indexRecord == null) {
+                              if (previous != null
+                                  && indexedDataset != null
+                                  && !indexedDataset.equals(previous.getDatasetId())) {
+                                c.output(hashTag, previous);
+                              }
+                              return;
+                            }
+
+                            SolrInputDocument doc =
+                                IndexRecordTransform.convertIndexRecordToSolrDoc(
+                                    indexRecord, schemaFields, dynamicFieldPrefixes);
+                            SolrDocumentHash hash = SolrAtomicUpdates.hash(doc);
+                            SolrInputDocument update =
+                                SolrAtomicUpdates.update(doc, hash, previous);
+
+                            if (update == null) {
+                              unchangedCounter.inc();
+                            } else {
+                              (update == doc ? newCounter : updatedCounter).inc();
+                              c.output(update);
+                            }
+                            c.output(hashTag, hash);
+                          }
+                        })
+                    .withOutputTags(documentTag, TupleTagList.of(hashTag)));
+
+    results
+        .get(hashTag)
+        .apply(
+            AvroIO.write(SolrDocumentHash.class)
+                .to(hashesPath(options, HASHES_NEXT) + "/hashes")
+                .withSuffix(AVRO_EXTENSION)
+                .withCodec(CodecFactory.snappyCodec()));
+
+    return results.get(documentTag);
+  }
+
   @NotNull
   private static Map<String, SolrFieldSchema> getSchemaFields(SolrPipelineOptions options) {
     try (CloudSolrClient client =
@@ -250,30 +422,33 @@ public class IndexRecordToSolrPipeline {
 
     if (options.getOutputAvroToFilePath() == null) {
 
-      indexRecords
-          .apply(
-              "IndexRecord to SOLR Document",
-              ParDo.of(
-                  new DoFn<IndexRecord, SolrInputDocument>() {
-                    @DoFn.ProcessElement
-                    public void processElement(
-                        @DoFn.Element IndexRecord indexRecord,
-                        OutputReceiver<SolrInputDocument> out) {
-                      SolrInputDocument solrInputDocument =
-                          IndexRecordTransform.convertIndexRecordToSolrDoc(
-                              indexRecord, schemaFields, dynamicFieldPrefixes);
-                      out.output(solrInputDocument);
-                    }
-                  }))
-          .apply(
-              SolrIO.write()
-                  .to(options.getSolrCollection())
-                  .withConnectionConfiguration(conn)
-                  .withMaxBatchSize(options.getSolrBatchSize())
-                  .withRetryConfiguration(
-                      SolrIO.RetryConfiguration.create(
-                          options.getSolrRetryMaxAttempts(),
-                          Duration.standardMinutes(options.getSolrRetryDurationInMins()))));
+      PCollection<SolrInputDocument> documents =
+          useAtomicUpdates(options)
+              ? changedDocuments(options, indexRecords, schemaFields, dynamicFieldPrefixes)
+              : indexRecords.apply(
+                  "IndexRecord to SOLR Document",
+                  ParDo.of(
+                      new DoFn<IndexRecord, SolrInputDocument>() {
+                        @DoFn.ProcessElement
+                        public void processElement(
+                            @DoFn.Element IndexRecord indexRecord,
+                            OutputReceiver<SolrInputDocument> out) {
+                          SolrInputDocument solrInputDocument =
+                              IndexRecordTransform.convertIndexRecordToSolrDoc(
+                                  indexRecord, schemaFields, dynamicFieldPrefixes);
+                          out.output(solrInputDocument);
+                        }
+                      }));
+
+      documents.apply(
+          SolrIO.write()
+              .to(options.getSolrCollection())
+              .withConnectionConfiguration(conn)
+              .withMaxBatchSize(options.getSolrBatchSize())
+              .withRetryConfiguration(
+                  SolrIO.RetryConfiguration.create(
+                      options.getSolrRetryMaxAttempts(),
+                      Duration.standardMinutes(options.getSolrRetryDurationInMins()))));
     } else {
       indexRecords.apply(AvroIO.write(IndexRecord.class).to(options.getOutputAvroToFilePath()));
     }
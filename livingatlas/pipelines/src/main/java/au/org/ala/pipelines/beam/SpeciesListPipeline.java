@@ -4,7 +4,7 @@ import static org.gbif.pipelines.common.PipelinesVariables.Pipeline.ALL_AVRO;
 
 import au.org.ala.pipelines.options.SpeciesLevelPipelineOptions;
 import au.org.ala.pipelines.transforms.ALATaxonomyTransform;
-import au.org.ala.pipelines.util.SpeciesListUtils;
+import au.org.ala.pipelines.util.SpeciesListIndex;
 import au.org.ala.pipelines.util.VersionInfo;
 import au.org.ala.specieslists.SpeciesListDownloader;
 import au.org.ala.utils.CombinedYamlConfiguration;
@@ -13,17 +13,17 @@ import java.util.function.UnaryOperator;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.file.CodecFactory;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.io.AvroIO;
 import org.apache.beam.sdk.transforms.*;
-import org.apache.beam.sdk.transforms.join.CoGbkResult;
-import org.apache.beam.sdk.transforms.join.CoGroupByKey;
-import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
-import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.PCollectionView;
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.pipelines.common.beam.options.PipelinesOptionsFactory;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.io.AvroReader;
+import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.io.avro.*;
 
 /**
@@ -102,79 +102,43 @@ public class SpeciesListPipeline {
     UnaryOperator<String> pathFn =
         t -> PathBuilder.buildPathInterpretUsingTargetPath(options, CORE_TERM, t, ALL_AVRO);
 
-    // now lets start the pipelines
-    PCollection<SpeciesListRecord> speciesLists =
+    // compile the lists into a sorted taxonID index, used as a side input instead of a join
+    HdfsConfigs hdfsConfigs =
+        HdfsConfigs.create(options.getHdfsSiteConfig(), options.getCoreSiteConfig());
+    SpeciesListIndex speciesListIndex =
+        SpeciesListIndex.create(
+            AvroReader.readObjects(
+                hdfsConfigs,
+                SpeciesListRecord.class,
+                options.getSpeciesAggregatesPath() + options.getSpeciesListCachePath()),
+            options.getIncludeConservationStatus(),
+            options.getIncludeInvasiveStatus());
+    log.info("Species list index has {} taxa", speciesListIndex.size());
+
+    PCollectionView<SpeciesListIndex> indexView =
         p.apply(
-            AvroIO.read(SpeciesListRecord.class)
-                .from(options.getSpeciesAggregatesPath() + options.getSpeciesListCachePath()));
-
-    // transform to taxonID -> List<SpeciesListRecord>
-    PCollection<KV<String, Iterable<SpeciesListRecord>>> taxonID2Lists =
-        speciesLists
-            .apply(Filter.by(record -> record.getTaxonID() != null))
-            .apply(
-                MapElements.via(
-                    new SimpleFunction<SpeciesListRecord, KV<String, SpeciesListRecord>>() {
-                      @Override
-                      public KV<String, SpeciesListRecord> apply(SpeciesListRecord record) {
-                        return KV.of(record.getTaxonID(), record);
-                      }
-                    }))
-            .apply(GroupByKey.create());
+                "Create species list index",
+                Create.of(speciesListIndex)
+                    .withCoder(SerializableCoder.of(SpeciesListIndex.class)))
+            .apply(View.asSingleton());
 
     // read taxonomy extension,
     ALATaxonomyTransform alaTaxonomyTransform = ALATaxonomyTransform.builder().create();
 
-    // generate a taxonID -> occurrenceID PCollection
-    PCollection<KV<String, String>> alaTaxonID =
-        p.apply("Read Taxon", alaTaxonomyTransform.read(pathFn))
-            .apply("Map Taxon to KV", alaTaxonomyTransform.toKv())
-            .apply(Filter.by(record -> record.getValue().getTaxonConceptID() != null))
-            .apply(
-                MapElements.via(
-                    new SimpleFunction<KV<String, ALATaxonRecord>, KV<String, String>>() {
-                      @Override
-                      public KV<String, String> apply(KV<String, ALATaxonRecord> record) {
-                        return KV.of(record.getValue().getTaxonConceptID(), record.getKey());
+    // look up the taxon profile of each occurrence, map only
+    return p.apply("Read Taxon", alaTaxonomyTransform.read(pathFn))
+        .apply(
+            "Look up species lists",
+            ParDo.of(
+                    new DoFn<ALATaxonRecord, KV<String, TaxonProfile>>() {
+                      @ProcessElement
+                      public void processElement(ProcessContext c) {
+                        ALATaxonRecord record = c.element();
+                        c.sideInput(indexView)
+                            .lookup(record.getTaxonConceptID(), record.getId())
+                            .ifPresent(tp -> c.output(KV.of(record.getId(), tp)));
                       }
-                    }));
-
-    final TupleTag<String> t1 = new TupleTag<String>() {};
-    final TupleTag<Iterable<SpeciesListRecord>> t2 = new TupleTag<Iterable<SpeciesListRecord>>() {};
-
-    PCollection<KV<String, CoGbkResult>> result =
-        KeyedPCollectionTuple.of(t1, alaTaxonID)
-            .and(t2, taxonID2Lists)
-            .apply(CoGroupByKey.create());
-
-    final boolean includeConservationStatus = options.getIncludeConservationStatus();
-    final boolean includeInvasiveStatus = options.getIncludeInvasiveStatus();
-
-    // join collections
-    return result.apply(
-        ParDo.of(
-            new DoFn<KV<String, CoGbkResult>, KV<String, TaxonProfile>>() {
-              @ProcessElement
-              public void processElement(ProcessContext c) {
-
-                KV<String, CoGbkResult> e = c.element();
-                CoGbkResult result = e.getValue();
-
-                // Retrieve all integers associated with this key from pt1
-                Iterable<String> occurrenceIDs = result.getAll(t1);
-                Iterable<SpeciesListRecord> speciesLists = result.getOnly(t2, null);
-
-                if (speciesLists != null) {
-                  TaxonProfile.Builder builder =
-                      SpeciesListUtils.createTaxonProfileBuilder(
-                          speciesLists, includeConservationStatus, includeInvasiveStatus);
-                  // output a link to each occurrence record we've matched by taxonID
-                  for (String occurrenceID : occurrenceIDs) {
-                    builder.setId(occurrenceID);
-                    c.output(KV.of(occurrenceID, builder.build()));
-                  }
-                }
-              }
-            }));
+                    })
+                .withSideInputs(indexView));
   }
 }
@@ -10,37 +10,49 @@ public class JackKnife {
   /**
    * Takes a list of sampled values and returns the statistics for these results
    *
-   * @param values array of values used for jackknife. Double.NaN indicates absence.
+   * @param values array of values used for jackknife. Double.NaN or null indicates absence.
    * @param minSampleThreshold minimum number of values
    * @return null or JackKnifeStats
    */
   public static double[] jackknife(Double[] values, Integer minSampleThreshold) {
+    double[] primitives = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      primitives[i] = values[i] == null ? Double.NaN : values[i];
+    }
+    return jackknife(
+        primitives, 0, primitives.length, minSampleThreshold, new double[primitives.length]);
+  }
+
+  /**
+   * Takes a range of sampled values and returns the statistics for these results, without boxing
+   * or allocating apart from the result
+   *
+   * @param values array of values used for jackknife. Double.NaN indicates absence.
+   * @param offset first value of the range
+   * @param length number of values in the range
+   * @param minSampleThreshold minimum number of values
+   * @param scratch working array, at least length long, its content is overwritten
+   * @return null or JackKnifeStats
+   */
+  public static double[] jackknife(
+      double[] values, int offset, int length, int minSampleThreshold, double[] scratch) {
     // inclusive outlier range
     double maxValue, minValue;
 
-    int missingValues = 0;
-    for (Double value : values) {
-      if (Double.isNaN(value)) {
-        missingValues++;
-      }
-    }
-
-    double[] valuesNotMissing = new double[values.length - missingValues];
-    int pos = 0;
-    for (Double value : values) {
+    int n = 0;
+    for (int i = offset; i < offset + length; i++) {
+      double value = values[i];
       if (!Double.isNaN(value)) {
-        valuesNotMissing[pos++] = value;
+        scratch[n++] = value;
       }
     }
 
-    // number of actual values
-    int n = valuesNotMissing.length;
-
-    if (valuesNotMissing.length < minSampleThreshold) {
+    if (n < minSampleThreshold || n == 0) {
       return null;
     }
 
-    Arrays.sort(valuesNotMissing);
+    Arrays.sort(scratch, 0, n);
+    double[] valuesNotMissing = scratch;
 
     double min = valuesNotMissing[0];
     double max = valuesNotMissing[n - 1];
@@ -54,13 +66,13 @@ public class JackKnife {
       return null;
     }
 
-    for (double v : valuesNotMissing) {
-      smean += v;
+    for (int i = 0; i < n; i++) {
+      smean += valuesNotMissing[i];
     }
     smean = smean / n;
 
-    for (double v : valuesNotMissing) {
-      sstd += Math.pow(v - smean, 2);
+    for (int i = 0; i < n; i++) {
+      sstd += Math.pow(valuesNotMissing[i] - smean, 2);
     }
     sstd = Math.sqrt(sstd / n);
 
@@ -0,0 +1,139 @@
+package au.org.ala.pipelines.jackknife;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Layer values of all records of one species in a columnar layout: column j holds the values of
+ * layer j for every record, Double.NaN where the value is missing. Models are calculated column by
+ * column without boxing, in parallel for large species.
+ */
+@Slf4j
+public class JackKnifeSamples {
+
+  // Records * layers above which layers are calculated in parallel
+  private static final int PARALLEL_THRESHOLD = 250_000;
+
+  private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[0]);
+
+  private final String[] layers;
+  @Getter private final List<String> ids;
+  private final double[] columns;
+  private final int size;
+
+  private JackKnifeSamples(String[] layers, List<String> ids, List<double[]> rows) {
+    this.layers = layers;
+    this.ids = ids;
+    this.size = ids.size();
+    this.columns = new double[layers.length * size];
+    for (int r = 0; r < size; r++) {
+      double[] row = rows.get(r);
+      for (int j = 0; j < layers.length; j++) {
+        columns[j * size + r] = row[j];
+      }
+    }
+  }
+
+  /**
+   * @param layers layer names, in the order of the row values
+   * @param ids record ids
+   * @param rows layer values of every record, in the same order as ids
+   */
+  public static JackKnifeSamples create(String[] layers, List<String> ids, List<double[]> rows) {
+    return new JackKnifeSamples(layers, ids, rows);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public double get(int record, int layer) {
+    return columns[layer * size + record];
+  }
+
+  /** Number of records with a value for the layer */
+  public int count(int layer) {
+    int count = 0;
+    for (int i = layer * size; i < (layer + 1) * size; i++) {
+      if (!Double.isNaN(columns[i])) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Order independent hash of the record ids, layer values, layer names and threshold. Equal hashes
+   * mean the models of a previous run can be reused.
+   */
+  public long hash(int minSampleThreshold) {
+    long hash = 0L;
+    for (int r = 0; r < size; r++) {
+      long recordHash = ids.get(r).hashCode();
+      for (int j = 0; j < layers.length; j++) {
+        recordHash = recordHash * 31 + Double.doubleToLongBits(get(r, j));
+      }
+      // Sum of mixed record hashes doesn't depend on the grouping order
+      hash += mix(recordHash);
+    }
+    hash = hash * 31 + Arrays.hashCode(layers);
+    hash = hash * 31 + minSampleThreshold;
+    return hash * 31 + size;
+  }
+
+  /** JackKnife {min, max} model for every layer, null where a model can't be built */
+  public double[][] models(int minSampleThreshold) {
+    double[][] models = new double[layers.length][];
+    IntStream range = IntStream.range(0, layers.length);
+    if ((long) size * layers.length >= PARALLEL_THRESHOLD) {
+      range = range.parallel();
+    }
+    range.forEach(j -> models[j] = model(j, minSampleThreshold));
+    return models;
+  }
+
+  /** Names of the layers where the record's value is outside the model range, or null */
+  public List<String> outliers(int record, double[][] models) {
+    List<String> outliers = null;
+    for (int j = 0; j < layers.length; j++) {
+      double[] model = models[j];
+      double v = get(record, j);
+      // NaN is never an outlier
+      if (model != null && (model[0] > v || model[1] < v)) {
+        if (outliers == null) {
+          outliers = new ArrayList<>();
+        }
+        outliers.add(layers[j]);
+      }
+    }
+    return outliers;
+  }
+
+  private double[] model(int layer, int minSampleThreshold) {
+    double[] scratch = SCRATCH.get();
+    if (scratch.length < size) {
+      scratch = new double[size];
+      SCRATCH.set(scratch);
+    }
+    try {
+      return JackKnife.jackknife(columns, layer * size, size, minSampleThreshold, scratch);
+    } catch (RuntimeException ex) {
+      log.error("Failed to build jackknife model for layer {}", layers[layer], ex);
+      return null;
+    }
+  }
+
+  /** Murmur3 64-bit finalizer */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
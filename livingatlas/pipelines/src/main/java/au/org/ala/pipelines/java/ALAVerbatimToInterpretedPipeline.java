@@ -61,6 +61,7 @@ import org.gbif.pipelines.common.beam.utils.PathBuilder;
 import org.gbif.pipelines.core.factory.FileSystemFactory;
 import org.gbif.pipelines.core.functions.SerializableConsumer;
 import org.gbif.pipelines.core.io.AvroReader;
+import org.gbif.pipelines.core.io.AvroWriteSettings.Setting;
 import org.gbif.pipelines.core.io.SyncDataFileWriter;
 import org.gbif.pipelines.core.io.SyncDataFileWriterBuilder;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
@@ -427,11 +428,14 @@ public class ALAVerbatimToInterpretedPipeline {
             .getFs(path.toString());
     fs.mkdirs(path.getParent());
 
+    Setting settings =
+        PipelinesOptionsFactory.createAvroWriteSettings(options)
+            .forRecordType(transform.getRecordType().name());
     return SyncDataFileWriterBuilder.builder()
         .schema(schema)
-        .codec(options.getAvroCompressionType())
+        .codec(settings.getCodec())
         .outputStream(fs.create(path))
-        .syncInterval(options.getAvroSyncInterval())
+        .syncInterval(settings.getSyncInterval())
         .build()
         .createSyncDataFileWriter();
   }
@@ -1,12 +1,11 @@
 package au.org.ala.pipelines.java;
 
-import static java.util.stream.Collectors.groupingBy;
 import static org.gbif.pipelines.common.PipelinesVariables.Pipeline.ALL_AVRO;
 
 import au.org.ala.pipelines.beam.IndexRecordPipeline;
 import au.org.ala.pipelines.options.SpeciesLevelPipelineOptions;
 import au.org.ala.pipelines.transforms.ALATaxonomyTransform;
-import au.org.ala.pipelines.util.SpeciesListUtils;
+import au.org.ala.pipelines.util.SpeciesListIndex;
 import au.org.ala.pipelines.util.VersionInfo;
 import au.org.ala.specieslists.SpeciesListDownloader;
 import au.org.ala.utils.CombinedYamlConfiguration;
@@ -14,6 +13,7 @@ import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -118,9 +118,12 @@ public class SpeciesListPipeline {
               SpeciesListRecord.class,
               options.getSpeciesAggregatesPath() + options.getSpeciesListCachePath());
 
-      // transform to taxonID -> List<SpeciesListRecord>
-      Map<String, List<SpeciesListRecord>> speciesListMap =
-          speciesListRecords.stream().collect(groupingBy(SpeciesListRecord::getTaxonID));
+      // compile to a sorted taxonID index
+      SpeciesListIndex speciesListIndex =
+          SpeciesListIndex.create(
+              speciesListRecords,
+              options.getIncludeConservationStatus(),
+              options.getIncludeInvasiveStatus());
 
       List<ALATaxonRecord> alaTaxonRecords =
           AvroReader.readObjects(
@@ -128,43 +131,14 @@ public class SpeciesListPipeline {
               ALATaxonRecord.class,
               pathFn.apply(ALATaxonomyTransform.builder().create().getBaseName()));
 
-      // join by taxonID
-      List<TaxonProfile> profiles =
-          alaTaxonRecords.stream()
-              .map(
-                  alaTaxonRecord ->
-                      convertToTaxonProfile(
-                          alaTaxonRecord,
-                          speciesListMap,
-                          options.getIncludeConservationStatus(),
-                          options.getIncludeInvasiveStatus()))
-              .collect(Collectors.toList());
-
-      return profiles.stream()
-          .filter(taxonProfile -> taxonProfile != null && taxonProfile.getId() != null)
+      // look up by taxonID
+      return alaTaxonRecords.stream()
+          .filter(alaTaxonRecord -> alaTaxonRecord.getId() != null)
+          .map(r -> speciesListIndex.lookup(r.getTaxonConceptID(), r.getId()))
+          .flatMap(Optional::stream)
           .collect(Collectors.toMap(TaxonProfile::getId, taxon -> taxon));
     } catch (Exception e) {
       throw new PipelinesException(e);
     }
   }
-
-  static TaxonProfile convertToTaxonProfile(
-      ALATaxonRecord alaTaxonRecord,
-      Map<String, List<SpeciesListRecord>> speciesListMap,
-      boolean includeConservationStatus,
-      boolean includeInvasiveStatus) {
-
-    Iterable<SpeciesListRecord> speciesLists =
-        speciesListMap.get(alaTaxonRecord.getTaxonConceptID());
-
-    if (speciesLists != null) {
-      TaxonProfile.Builder builder =
-          SpeciesListUtils.createTaxonProfileBuilder(
-              speciesLists, includeConservationStatus, includeInvasiveStatus);
-      builder.setId(alaTaxonRecord.getId());
-      return builder.build();
-    } else {
-      return null;
-    }
-  }
 }
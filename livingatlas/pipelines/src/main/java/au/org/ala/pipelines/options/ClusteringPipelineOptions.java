@@ -27,4 +27,14 @@ public interface ClusteringPipelineOptions
   Boolean isOutputDebugAvro();
 
   void setOutputDebugAvro(Boolean outputDebugAvro);
+
+  @Description(
+      "Re-evaluate only the hash keys of records in datasets changed or deleted since the "
+          + "previous incremental run. Hash keys are kept in the clustering path for the next "
+          + "run, the first run clusters all datasets. Use a full run after changing "
+          + "candidatesCutoff")
+  @Default.Boolean(false)
+  Boolean isIncremental();
+
+  void setIncremental(Boolean incremental);
 }
@@ -89,6 +89,22 @@ public interface SolrPipelineOptions extends IndexingPipelineOptions {
 
   void setNumOfPartitions(Integer numOfPartitions);
 
+  @Description(
+      "Send only documents that changed since the previous run, as atomic updates of the changed "
+          + "fields. Needs all fields stored or with docValues")
+  @Default.Boolean(false)
+  Boolean getSolrAtomicUpdates();
+
+  void setSolrAtomicUpdates(Boolean solrAtomicUpdates);
+
+  @Description(
+      "Path to the hashes of the indexed documents, used with solrAtomicUpdates. Delete the "
+          + "hashes of a collection when the collection is recreated")
+  @Default.String("/data/pipelines-solr-hashes")
+  String getSolrHashesPath();
+
+  void setSolrHashesPath(String solrHashesPath);
+
   @Description("Output AVRO to file path")
   String getOutputAvroToFilePath();
 
@@ -3,6 +3,8 @@ package au.org.ala.pipelines.parser;
 import com.google.common.base.Strings;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.AccessLevel;
@@ -102,9 +104,43 @@ public class CollectorNameParser {
       Pattern.compile(FIRSTNAME_SURNAME_PATTERN);
   private static final Pattern AND_NAME_LIST_PATTERN_P = Pattern.compile(AND_NAME_LIST_PATTERN);
 
+  private static final Pattern UNKNOWN_P = Pattern.compile(UNKNOWN_PATTERN);
+  private static final Pattern EMAIL_P = Pattern.compile(EMAIL_PATTERN);
+  private static final Pattern COLLECTOR_DELIM_P = Pattern.compile(COLLECTOR_DELIM);
+  private static final Pattern COMMA_LIST_P = Pattern.compile(COMMA_LIST);
+  private static final Pattern NOT_INITIAL_P = Pattern.compile("[^\\p{Lu}\\p{Ll}-]");
+  private static final Pattern DOT_DASH_DOT_P = Pattern.compile("\\.-\\.");
+
   private static final Pattern CONTAINS_NUMBER = Pattern.compile("[0-9]{1,}");
 
+  // Collector strings repeat across a dataset, the memo stops growing above this size
+  static final int MAX_CACHE_SIZE = 100_000;
+
+  // Cached value for sources without a result
+  private static final String[] NO_RESULT = new String[0];
+
+  // source -> parsed names, shared by all threads of a worker
+  private static final Map<String, String[]> CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * Parses a list of collector names. Results are memoised per source string, a copy of the cached
+   * array is returned.
+   */
   public static String[] parseList(String source) {
+    String[] result = CACHE.get(source);
+    if (result == null) {
+      result = parseListNoCache(source);
+      if (result == null) {
+        result = NO_RESULT;
+      }
+      if (CACHE.size() < MAX_CACHE_SIZE) {
+        CACHE.put(source, result);
+      }
+    }
+    return result == NO_RESULT ? null : result.clone();
+  }
+
+  private static String[] parseListNoCache(String source) {
 
     // if it contains numbers, its is likely to be an ID  - avoid parsing
     if (CONTAINS_NUMBER.matcher(source).find()) {
@@ -112,7 +148,7 @@ public class CollectorNameParser {
     }
 
     // pattern 1
-    if (source.matches(AND_NAME_LIST_PATTERN)) {
+    if (AND_NAME_LIST_PATTERN_P.matcher(source).matches()) {
       // initials1, firstName, secondName, initials2, thirdName, forthName
       Matcher m = AND_NAME_LIST_PATTERN_P.matcher(source);
       if (m.find() && m.groupCount() == 6) {
@@ -159,10 +195,10 @@ public class CollectorNameParser {
           }
         }
       }
-    } else if (source.matches(UNKNOWN_PATTERN)) {
+    } else if (UNKNOWN_P.matcher(source).matches()) {
       return new String[] {"UNKNOWN OR ANONYMOUS"};
     } else {
-      String[] list = source.split(COLLECTOR_DELIM);
+      String[] list = COLLECTOR_DELIM_P.split(source);
       List<String> outputs = new ArrayList<>();
       if (list.length > 1) {
         for (String s : list) {
@@ -180,7 +216,7 @@ public class CollectorNameParser {
         } else {
           // check to see if it contains a comma delimited list - this needs to be done outside the
           // other items due to mixed meaning of comma
-          String[] names = source.split(COMMA_LIST);
+          String[] names = COMMA_LIST_P.split(source);
           if (names.length > 1) {
             for (String s : names) {
               String name = parse(s.trim());
@@ -203,11 +239,11 @@ public class CollectorNameParser {
       return source;
     }
 
-    if (source.matches(UNKNOWN_PATTERN)) {
+    if (UNKNOWN_P.matcher(source).matches()) {
       log.debug(source + " UNKNOWN PATTERN");
       return "UNKNOWN OR ANONYMOUS";
     }
-    if (source.matches(ORGANISATION_PATTERN)) {
+    if (ORG_P.matcher(source).matches()) {
       log.debug(source + ": ORGANISATION_PATTERN");
       Matcher m = ORG_P.matcher(source);
       if (m.find() && m.groupCount() == 1) {
@@ -215,12 +251,14 @@ public class CollectorNameParser {
       }
     }
 
-    if (source.matches(EMAIL_PATTERN)) {
+    // Every address form of the email pattern contains '@' or ':'
+    if ((source.indexOf('@') >= 0 || source.indexOf(':') >= 0)
+        && EMAIL_P.matcher(source).matches()) {
       log.debug(source + ": EMAIL_PATTERN");
       return source;
     }
 
-    if (source.matches(SINGLE_NAME_PATTERN)) {
+    if (SINGLE_NAME_P.matcher(source).matches()) {
       log.debug(source + ": SINGLE_NAME_PATTERN");
       Matcher m = SINGLE_NAME_P.matcher(source);
       if (m.find() && m.groupCount() == 1) {
@@ -230,7 +268,7 @@ public class CollectorNameParser {
     }
 
     // Dr NL Kirby
-    if (source.matches(INITIALS_SURNAME_PATTERN)) {
+    if (INIT_SURNAME_P.matcher(source).matches()) {
       log.debug(source + ": INITIALS_SURNAME_PATTERN");
       Matcher m = INIT_SURNAME_P.matcher(source);
       if (m.find() && m.groupCount() == 2) {
@@ -240,7 +278,7 @@ public class CollectorNameParser {
       }
     }
     // Simon Starr
-    if (source.matches(FIRSTNAME_SURNAME_PATTERN)) {
+    if (FIRSTNAME_SURNAME_PATTERN_P.matcher(source).matches()) {
       log.debug(source + ": FIRSTNAME_SURNAME_PATTERN");
       Matcher m = FIRSTNAME_SURNAME_PATTERN_P.matcher(source);
       if (m.find() && m.groupCount() == 3) {
@@ -251,7 +289,7 @@ public class CollectorNameParser {
       }
     }
 
-    if (source.matches(SURNAME_FIRSTNAE_PATTERN)) {
+    if (SURNAME_FIRSTNAME_P.matcher(source).matches()) {
       log.debug(source + ": SURNAME_FIRSTNAE_PATTERN");
       Matcher m = SURNAME_FIRSTNAME_P.matcher(source);
       if (m.find() && m.groupCount() == 3) {
@@ -262,7 +300,7 @@ public class CollectorNameParser {
       }
     }
 
-    if (source.matches(SURNAME_PUNC_FIRSTNAME_PATTERN)) {
+    if (SURNAME_PUNC_FIRSTNAME_P.matcher(source).matches()) {
       log.debug(source + ": SURNAME_PUNC_FIRSTNAME_PATTERN");
       Matcher m = SURNAME_PUNC_FIRSTNAME_P.matcher(source);
       if (m.find() && m.groupCount() == 8) {
@@ -309,13 +347,13 @@ public class CollectorNameParser {
     if (!Strings.isNullOrEmpty(initials)) {
       name.append(", ");
       // R.J-P. will be converted to R.J.-.P.
-      String newinit = initials.trim().replaceAll("[^\\p{Lu}\\p{Ll}-]", "");
+      String newinit = NOT_INITIAL_P.matcher(initials.trim()).replaceAll("");
       char[] inits = newinit.toCharArray();
       for (char init : inits) {
         name.append(init).append(".");
       }
       // R.J.-.P. will be converted R.J-P.
-      name = new StringBuilder(name.toString().replaceAll("\\.-\\.", "-"));
+      name = new StringBuilder(DOT_DASH_DOT_P.matcher(name).replaceAll("-"));
     }
 
     if (!Strings.isNullOrEmpty(firstName)) {
@@ -18,9 +18,12 @@ import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.join.CoGbkResult;
 import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TypeDescriptor;
 import org.gbif.dwc.terms.DwcTerm;
@@ -65,6 +68,11 @@ public class ALASensitiveDataRecordTransform
   private List<Generalisation> generalisations;
   private Set<Term> sensitiveFields;
 
+  // Decision tables resolved per dataset, see SensitivityDecisions
+  private PCollectionView<Map<String, Boolean>> speciesView;
+  private PCollectionView<Map<String, String>> reportView;
+  private transient SensitivityDecisions decisions;
+
   @NonNull private final TupleTag<ExtendedRecord> erTag;
   @NonNull private final TupleTag<TemporalRecord> trTag;
   @NonNull private final TupleTag<TaxonRecord> txrTag;
@@ -117,6 +125,32 @@ public class ALASensitiveDataRecordTransform
         .via((ALASensitivityRecord tr) -> KV.of(tr.getId(), tr));
   }
 
+  /**
+   * Uses the decision tables of the dataset instead of per record lookups in the SDS stores.
+   *
+   * @param speciesView results of {@link SensitivityDecisions.ResolveSpeciesFn}
+   * @param reportView results of {@link SensitivityDecisions.ResolveReportsFn}
+   */
+  public ALASensitiveDataRecordTransform decisions(
+      PCollectionView<Map<String, Boolean>> speciesView,
+      PCollectionView<Map<String, String>> reportView) {
+    this.speciesView = speciesView;
+    this.reportView = reportView;
+    return this;
+  }
+
+  @Override
+  public ParDo.SingleOutput<KV<String, CoGbkResult>, ALASensitivityRecord> interpret() {
+    return speciesView == null
+        ? super.interpret()
+        : ParDo.of(this).withSideInputs(speciesView, reportView);
+  }
+
+  /** Distinct candidates for {@link SensitivityDecisions}, the sensitivity query keys of records */
+  public ParDo.SingleOutput<KV<String, CoGbkResult>, String> queryKeys() {
+    return ParDo.of(new QueryKeysFn());
+  }
+
   public ALASensitiveDataRecordTransform counterFn(SerializableConsumer<String> counterFn) {
     setCounterFn(counterFn);
     return this;
@@ -172,6 +206,16 @@ public class ALASensitiveDataRecordTransform
     // of the dataResourceStore
   }
 
+  @Override
+  @ProcessElement
+  public void processElement(ProcessContext c) {
+    if (speciesView != null) {
+      decisions =
+          SensitivityDecisions.of(c.sideInput(speciesView), c.sideInput(reportView), decisions);
+    }
+    super.processElement(c);
+  }
+
   /**
    * Gather the information from the various interpretations of the data and provide a sensitivity
    * statement, describing what aspects are to be genealised.
@@ -189,14 +233,37 @@ public class ALASensitiveDataRecordTransform
       return Optional.empty();
     }
 
+    ExtendedRecord ier = erTag == null ? null : v.getOnly(erTag, null);
+
+    ALASensitivityRecord sr = ALASensitivityRecord.newBuilder().setId(id).build();
+
+    Map<String, String> properties = properties(v);
+
+    Map<String, String> dataGeneralisations = new HashMap<>();
+    SensitiveDataInterpreter.constructFields(GENERALISATION_FIELDS, dataGeneralisations, ier);
+
+    if (SensitiveDataInterpreter.sourceQualityChecks(properties, sr)) {
+      SensitiveDataInterpreter.sensitiveDataInterpreter(
+          decisions == null ? speciesStore : decisions.speciesStore(speciesStore),
+          decisions == null ? reportStore : decisions.reportStore(reportStore),
+          generalisations,
+          datasetId,
+          properties,
+          dataGeneralisations,
+          sensitivityVocab,
+          sr);
+    }
+    return Optional.of(sr);
+  }
+
+  /** The potentially sensitive properties of a record */
+  private Map<String, String> properties(CoGbkResult v) {
     ExtendedRecord ier = erTag == null ? null : v.getOnly(erTag, null);
     TemporalRecord itr = trTag == null ? null : v.getOnly(trTag, null);
     TaxonRecord itxr = txrTag == null ? null : v.getOnly(txrTag, null);
     ALATaxonRecord iatxr = atxrTag == null ? null : v.getOnly(atxrTag, null);
     LocationRecord ilr = lrTag == null ? null : v.getOnly(lrTag, null);
 
-    ALASensitivityRecord sr = ALASensitivityRecord.newBuilder().setId(id).build();
-
     Map<String, String> properties = new HashMap<>(sensitiveFields.size());
     properties.put(
         DwcTerm.scientificName.qualifiedName(),
@@ -205,26 +272,38 @@ public class ALASensitiveDataRecordTransform
         DwcTerm.taxonConceptID.qualifiedName(),
         SensitiveDataInterpreter.extractTaxonId(iatxr, itxr, ier));
 
-    Map<String, String> dataGeneralisations = new HashMap<>();
-    SensitiveDataInterpreter.constructFields(GENERALISATION_FIELDS, dataGeneralisations, ier);
-
     SensitiveDataInterpreter.constructFields(sensitiveFields, properties, iatxr);
     SensitiveDataInterpreter.constructFields(sensitiveFields, properties, itxr);
     SensitiveDataInterpreter.constructFields(sensitiveFields, properties, itr);
     SensitiveDataInterpreter.constructFields(sensitiveFields, properties, ilr);
     SensitiveDataInterpreter.constructFields(sensitiveFields, properties, ier);
+    return properties;
+  }
 
-    if (SensitiveDataInterpreter.sourceQualityChecks(properties, sr)) {
-      SensitiveDataInterpreter.sensitiveDataInterpreter(
-          speciesStore,
-          reportStore,
-          generalisations,
-          datasetId,
-          properties,
-          dataGeneralisations,
-          sensitivityVocab,
-          sr);
+  /** Outputs the sensitivity query key of records with a scientific name */
+  private class QueryKeysFn extends DoFn<KV<String, CoGbkResult>, String> {
+
+    @Setup
+    public void setup() {
+      ALASensitiveDataRecordTransform.this.setup();
+    }
+
+    @ProcessElement
+    public void processElement(
+        @Element KV<String, CoGbkResult> source, OutputReceiver<String> out) {
+      if (source.getValue() == null) {
+        return;
+      }
+      Map<String, String> properties = properties(source.getValue());
+      String scientificName = properties.get(DwcTerm.scientificName.qualifiedName());
+      if (scientificName != null) {
+        out.output(
+            SensitivityDecisions.key(
+                scientificName,
+                properties.get(DwcTerm.taxonConceptID.qualifiedName()),
+                properties.get(DwcTerm.stateProvince.qualifiedName()),
+                properties.get(DwcTerm.country.qualifiedName())));
+      }
     }
-    return Optional.of(sr);
   }
 }
@@ -0,0 +1,201 @@
+package au.org.ala.pipelines.transforms;
+
+import au.org.ala.sds.api.SensitivityQuery;
+import au.org.ala.sds.api.SensitivityReport;
+import au.org.ala.sds.api.SpeciesCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.gbif.kvs.KeyValueStore;
+import org.gbif.pipelines.core.functions.SerializableSupplier;
+
+/**
+ * Decision table for the sensitive data interpretation of one dataset.
+ *
+ * <p>The distinct (scientific name, taxon id, state, country) queries of a dataset are resolved
+ * once against the SDS stores by {@link ResolveSpeciesFn} and {@link ResolveReportsFn}, and
+ * distributed to the workers as side inputs. Records are then generalised using the in-memory
+ * decisions, the SDS stores are only used for queries missing from the table.
+ */
+@Slf4j
+public class SensitivityDecisions {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final char SEPARATOR = '\u0001';
+  private static final String NULL = "\u0000";
+
+  private final Map<String, Boolean> species;
+  private final Map<String, String> reports;
+  private final Map<String, SensitivityReport> parsedReports = new HashMap<>();
+
+  private SensitivityDecisions(Map<String, Boolean> species, Map<String, String> reports) {
+    this.species = species;
+    this.reports = reports;
+  }
+
+  /** Returns the previous decisions if they were created from the same side inputs */
+  public static SensitivityDecisions of(
+      Map<String, Boolean> species, Map<String, String> reports, SensitivityDecisions previous) {
+    if (previous != null && previous.species == species && previous.reports == reports) {
+      return previous;
+    }
+    return new SensitivityDecisions(species, reports);
+  }
+
+  /** Key of a sensitivity query */
+  public static String key(String scientificName, String taxonId, String state, String country) {
+    return join(scientificName, taxonId) + SEPARATOR + value(state) + SEPARATOR + value(country);
+  }
+
+  /** Key of the species part of a sensitivity query key */
+  public static String speciesKey(String key) {
+    int idx = key.indexOf(SEPARATOR, key.indexOf(SEPARATOR) + 1);
+    return key.substring(0, idx);
+  }
+
+  /** Species store answering from the decision table, and from the fallback store otherwise */
+  public KeyValueStore<SpeciesCheck, Boolean> speciesStore(
+      KeyValueStore<SpeciesCheck, Boolean> fallback) {
+    return new KeyValueStore<SpeciesCheck, Boolean>() {
+      @Override
+      public Boolean get(SpeciesCheck check) {
+        Boolean sensitive = species.get(join(check.getScientificName(), check.getTaxonId()));
+        return sensitive != null ? sensitive : fallback.get(check);
+      }
+
+      @Override
+      public void close() {
+        // Nothing to close, the fallback store is shared
+      }
+    };
+  }
+
+  /** Report store answering from the decision table, and from the fallback store otherwise */
+  public KeyValueStore<SensitivityQuery, SensitivityReport> reportStore(
+      KeyValueStore<SensitivityQuery, SensitivityReport> fallback) {
+    return new KeyValueStore<SensitivityQuery, SensitivityReport>() {
+      @Override
+      public SensitivityReport get(SensitivityQuery query) {
+        String key =
+            key(
+                query.getScientificName(),
+                query.getTaxonId(),
+                query.getStateProvince(),
+                query.getCountry());
+        SensitivityReport report = parsedReports.computeIfAbsent(key, k -> parse(reports.get(k)));
+        return report != null ? report : fallback.get(query);
+      }
+
+      @Override
+      public void close() {
+        // Nothing to close, the fallback store is shared
+      }
+    };
+  }
+
+  private static String join(String scientificName, String taxonId) {
+    return value(scientificName) + SEPARATOR + value(taxonId);
+  }
+
+  private static String value(String value) {
+    return value == null ? NULL : value;
+  }
+
+  private static String[] parts(String key) {
+    String[] parts = key.split(String.valueOf(SEPARATOR), -1);
+    for (int i = 0; i < parts.length; i++) {
+      if (NULL.equals(parts[i])) {
+        parts[i] = null;
+      }
+    }
+    return parts;
+  }
+
+  @SneakyThrows
+  static String toJson(SensitivityReport report) {
+    return MAPPER.writeValueAsString(report);
+  }
+
+  @SneakyThrows
+  private static SensitivityReport parse(String json) {
+    return json == null ? null : MAPPER.readValue(json, SensitivityReport.class);
+  }
+
+  /** Resolves distinct species keys against the SDS species store */
+  public static class ResolveSpeciesFn extends DoFn<String, KV<String, Boolean>> {
+
+    private final SerializableSupplier<KeyValueStore<SpeciesCheck, Boolean>> storeSupplier;
+    private KeyValueStore<SpeciesCheck, Boolean> store;
+
+    public ResolveSpeciesFn(
+        SerializableSupplier<KeyValueStore<SpeciesCheck, Boolean>> storeSupplier) {
+      this.storeSupplier = storeSupplier;
+    }
+
+    @Setup
+    public void setup() {
+      store = storeSupplier.get();
+    }
+
+    @ProcessElement
+    public void processElement(
+        @Element String speciesKey, OutputReceiver<KV<String, Boolean>> out) {
+      String[] parts = parts(speciesKey);
+      Boolean sensitive =
+          store.get(SpeciesCheck.builder().scientificName(parts[0]).taxonId(parts[1]).build());
+      if (sensitive != null) {
+        out.output(KV.of(speciesKey, sensitive));
+      }
+    }
+  }
+
+  /** Resolves the distinct queries of sensitive species against the SDS report store */
+  public static class ResolveReportsFn extends DoFn<String, KV<String, String>> {
+
+    private final SerializableSupplier<KeyValueStore<SensitivityQuery, SensitivityReport>>
+        storeSupplier;
+    private final String dataResourceUid;
+    private final PCollectionView<Map<String, Boolean>> speciesView;
+    private KeyValueStore<SensitivityQuery, SensitivityReport> store;
+
+    public ResolveReportsFn(
+        SerializableSupplier<KeyValueStore<SensitivityQuery, SensitivityReport>> storeSupplier,
+        String dataResourceUid,
+        PCollectionView<Map<String, Boolean>> speciesView) {
+      this.storeSupplier = storeSupplier;
+      this.dataResourceUid = dataResourceUid;
+      this.speciesView = speciesView;
+    }
+
+    @Setup
+    public void setup() {
+      store = storeSupplier.get();
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      String key = c.element();
+      if (Boolean.TRUE.equals(c.sideInput(speciesView).get(speciesKey(key)))) {
+        String[] parts = parts(key);
+        SensitivityReport report =
+            store.get(
+                SensitivityQuery.builder()
+                    .scientificName(parts[0])
+                    .taxonId(parts[1])
+                    .dataResourceUid(dataResourceUid)
+                    .stateProvince(parts[2])
+                    .country(parts[3])
+                    .build());
+        if (report != null) {
+          c.output(KV.of(key, toJson(report)));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,440 @@
+package au.org.ala.pipelines.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds a ZIP archive where each entry is the concatenation of one or more part files, e.g. the
+ * shards written by Beam for a single DwC-A data file.
+ *
+ * <p>Every part is deflated on its own thread into a temporary file. All parts except the last one
+ * of an entry are ended with a sync flush instead of a final block, so the compressed parts can be
+ * appended to form one valid deflate stream, and the entry CRC is combined from the part CRCs. The
+ * archive is then written sequentially from the pre-compressed data, using ZIP64 records when
+ * sizes, offsets or the entry count need them.
+ */
+@Slf4j
+@Builder(buildMethodName = "create")
+public class ParallelZipAssembler {
+
+  private static final int LOCAL_HEADER_SIG = 0x04034b50;
+  private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+  private static final int ZIP64_END_SIG = 0x06064b50;
+  private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+  private static final int END_SIG = 0x06054b50;
+  private static final int ZIP64_EXTRA_ID = 0x0001;
+  private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+  private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+  private static final int VERSION_DEFLATE = 20;
+  private static final int VERSION_ZIP64 = 45;
+  private static final int FLAG_UTF8 = 0x0800;
+  private static final int METHOD_DEFLATED = 8;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  @NonNull private final Path zipPath;
+
+  /** Entry names mapped to their parts, in archive order. */
+  @NonNull private final Map<String, List<Path>> entries;
+
+  @Builder.Default private final int threads = Runtime.getRuntime().availableProcessors();
+
+  @Builder.Default private final int level = Deflater.DEFAULT_COMPRESSION;
+
+  @AllArgsConstructor
+  private static class CompressedPart {
+    private final Path file;
+    private final long crc;
+    private final long size;
+    private final long compressedSize;
+  }
+
+  @AllArgsConstructor
+  private static class CentralRecord {
+    private final byte[] name;
+    private final long crc;
+    private final long size;
+    private final long compressedSize;
+    private final long offset;
+  }
+
+  /** Compresses all parts in parallel and writes the archive. */
+  public void write() throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+    try {
+      Map<String, List<Future<CompressedPart>>> compressed = new LinkedHashMap<>();
+      for (Map.Entry<String, List<Path>> entry : entries.entrySet()) {
+        List<Path> parts = entry.getValue();
+        List<Future<CompressedPart>> futures = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+          Path part = parts.get(i);
+          boolean last = i == parts.size() - 1;
+          futures.add(executor.submit(() -> compress(part, last)));
+        }
+        compressed.put(entry.getKey(), futures);
+      }
+      writeArchive(compressed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private CompressedPart compress(Path part, boolean last) throws IOException {
+    Path target = Files.createTempFile(part.getFileName().toString(), ".deflate");
+    Deflater deflater = new Deflater(level, true);
+    CRC32 crc = new CRC32();
+    long size = 0L;
+    byte[] in = new byte[BUFFER_SIZE];
+    byte[] out = new byte[BUFFER_SIZE];
+
+    try (InputStream is = Files.newInputStream(part);
+        OutputStream os = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+      int read;
+      while ((read = is.read(in)) != -1) {
+        crc.update(in, 0, read);
+        size += read;
+        deflater.setInput(in, 0, read);
+        while (!deflater.needsInput()) {
+          os.write(out, 0, deflater.deflate(out, 0, out.length, Deflater.NO_FLUSH));
+        }
+      }
+
+      if (last) {
+        deflater.finish();
+        while (!deflater.finished()) {
+          os.write(out, 0, deflater.deflate(out));
+        }
+      } else {
+        // A full output buffer means the flush may not be complete yet
+        int written;
+        do {
+          written = deflater.deflate(out, 0, out.length, Deflater.SYNC_FLUSH);
+          os.write(out, 0, written);
+        } while (written == out.length);
+      }
+    } finally {
+      deflater.end();
+    }
+
+    log.info("Compressed part {} ({} bytes)", part.getFileName(), size);
+    return new CompressedPart(target, crc.getValue(), size, Files.size(target));
+  }
+
+  private void writeArchive(Map<String, List<Future<CompressedPart>>> compressed)
+      throws IOException {
+    long dosTime = dosTime(LocalDateTime.now());
+    List<CentralRecord> records = new ArrayList<>(compressed.size());
+
+    try (CountingOutputStream out =
+        new CountingOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(zipPath), BUFFER_SIZE))) {
+
+      for (Map.Entry<String, List<Future<CompressedPart>>> entry : compressed.entrySet()) {
+        List<CompressedPart> parts = new ArrayList<>(entry.getValue().size());
+        for (Future<CompressedPart> future : entry.getValue()) {
+          parts.add(await(future));
+        }
+
+        long crc = 0L;
+        long size = 0L;
+        long compressedSize = 0L;
+        for (CompressedPart part : parts) {
+          crc = crc32Combine(crc, part.crc, part.size);
+          size += part.size;
+          compressedSize += part.compressedSize;
+        }
+
+        byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        long offset = out.count;
+        boolean zip64 = size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+
+        LittleEndian header = new LittleEndian(30 + name.length + (zip64 ? 20 : 0));
+        header.putInt(LOCAL_HEADER_SIG);
+        header.putShort(zip64 ? VERSION_ZIP64 : VERSION_DEFLATE);
+        header.putShort(FLAG_UTF8);
+        header.putShort(METHOD_DEFLATED);
+        header.putInt((int) dosTime);
+        header.putInt((int) crc);
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : compressedSize));
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : size));
+        header.putShort(name.length);
+        header.putShort(zip64 ? 20 : 0);
+        header.put(name);
+        if (zip64) {
+          header.putShort(ZIP64_EXTRA_ID);
+          header.putShort(16);
+          header.putLong(size);
+          header.putLong(compressedSize);
+        }
+        header.writeTo(out);
+
+        for (CompressedPart part : parts) {
+          Files.copy(part.file, out);
+          Files.delete(part.file);
+        }
+
+        log.info("Added {} to zip file ({} bytes, {} parts)", entry.getKey(), size, parts.size());
+        records.add(new CentralRecord(name, crc, size, compressedSize, offset));
+      }
+
+      long centralOffset = out.count;
+      for (CentralRecord record : records) {
+        writeCentralRecord(out, record, dosTime);
+      }
+      long centralSize = out.count - centralOffset;
+
+      writeEnd(out, records.size(), centralOffset, centralSize);
+    }
+  }
+
+  private void writeCentralRecord(OutputStream out, CentralRecord record, long dosTime)
+      throws IOException {
+    boolean sizeOverflow = record.size >= ZIP64_MAGIC;
+    boolean compressedOverflow = record.compressedSize >= ZIP64_MAGIC;
+    boolean offsetOverflow = record.offset >= ZIP64_MAGIC;
+    int extraLength =
+        (sizeOverflow ? 8 : 0) + (compressedOverflow ? 8 : 0) + (offsetOverflow ? 8 : 0);
+    boolean zip64 = extraLength > 0;
+
+    LittleEndian header = new LittleEndian(46 + record.name.length + (zip64 ? 4 + extraLength : 0));
+    header.putInt(CENTRAL_HEADER_SIG);
+    header.putShort(VERSION_ZIP64);
+    header.putShort(zip64 ? VERSION_ZIP64 : VERSION_DEFLATE);
+    header.putShort(FLAG_UTF8);
+    header.putShort(METHOD_DEFLATED);
+    header.putInt((int) dosTime);
+    header.putInt((int) record.crc);
+    header.putInt((int) (compressedOverflow ? ZIP64_MAGIC : record.compressedSize));
+    header.putInt((int) (sizeOverflow ? ZIP64_MAGIC : record.size));
+    header.putShort(record.name.length);
+    header.putShort(zip64 ? 4 + extraLength : 0);
+    header.putShort(0); // comment length
+    header.putShort(0); // disk number
+    header.putShort(0); // internal attributes
+    header.putInt(0); // external attributes
+    header.putInt((int) (offsetOverflow ? ZIP64_MAGIC : record.offset));
+    header.put(record.name);
+    if (zip64) {
+      header.putShort(ZIP64_EXTRA_ID);
+      header.putShort(extraLength);
+      if (sizeOverflow) {
+        header.putLong(record.size);
+      }
+      if (compressedOverflow) {
+        header.putLong(record.compressedSize);
+      }
+      if (offsetOverflow) {
+        header.putLong(record.offset);
+      }
+    }
+    header.writeTo(out);
+  }
+
+  private void writeEnd(CountingOutputStream out, int count, long centralOffset, long centralSize)
+      throws IOException {
+    boolean zip64 =
+        count >= ZIP64_MAGIC_COUNT || centralOffset >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC;
+
+    if (zip64) {
+      long zip64EndOffset = out.count;
+
+      LittleEndian end64 = new LittleEndian(56);
+      end64.putInt(ZIP64_END_SIG);
+      end64.putLong(44L); // size of the remaining record
+      end64.putShort(VERSION_ZIP64);
+      end64.putShort(VERSION_ZIP64);
+      end64.putInt(0); // disk number
+      end64.putInt(0); // disk with the central directory
+      end64.putLong(count);
+      end64.putLong(count);
+      end64.putLong(centralSize);
+      end64.putLong(centralOffset);
+      end64.writeTo(out);
+
+      LittleEndian locator = new LittleEndian(20);
+      locator.putInt(ZIP64_LOCATOR_SIG);
+      locator.putInt(0); // disk with the zip64 end record
+      locator.putLong(zip64EndOffset);
+      locator.putInt(1); // total disks
+      locator.writeTo(out);
+    }
+
+    LittleEndian end = new LittleEndian(22);
+    end.putInt(END_SIG);
+    end.putShort(0); // disk number
+    end.putShort(0); // disk with the central directory
+    end.putShort(zip64 ? ZIP64_MAGIC_COUNT : count);
+    end.putShort(zip64 ? ZIP64_MAGIC_COUNT : count);
+    end.putInt((int) (zip64 ? ZIP64_MAGIC : centralSize));
+    end.putInt((int) (zip64 ? ZIP64_MAGIC : centralOffset));
+    end.putShort(0); // comment length
+    end.writeTo(out);
+  }
+
+  private static CompressedPart await(Future<CompressedPart> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while compressing zip entries", ex);
+    } catch (ExecutionException ex) {
+      throw new IOException("Failed to compress zip entry part", ex.getCause());
+    }
+  }
+
+  private static long dosTime(LocalDateTime time) {
+    return ((long) (time.getYear() - 1980) << 25)
+        | ((long) time.getMonthValue() << 21)
+        | ((long) time.getDayOfMonth() << 16)
+        | ((long) time.getHour() << 11)
+        | ((long) time.getMinute() << 5)
+        | ((long) time.getSecond() >> 1);
+  }
+
+  /** CRC-32 of two concatenated blocks, from their CRCs and the second length (zlib algorithm). */
+  static long crc32Combine(long crc1, long crc2, long len2) {
+    if (len2 <= 0) {
+      return crc1;
+    }
+
+    long[] even = new long[32];
+    long[] odd = new long[32];
+
+    // Operator for one zero bit in odd
+    odd[0] = 0xEDB88320L;
+    long row = 1L;
+    for (int n = 1; n < 32; n++) {
+      odd[n] = row;
+      row <<= 1;
+    }
+
+    // Operators for two and four zero bits
+    gf2MatrixSquare(even, odd);
+    gf2MatrixSquare(odd, even);
+
+    // Apply len2 zeros to crc1, the first square puts the operator for one zero byte in even
+    long len = len2;
+    long crc = crc1;
+    do {
+      gf2MatrixSquare(even, odd);
+      if ((len & 1) != 0) {
+        crc = gf2MatrixTimes(even, crc);
+      }
+      len >>= 1;
+      if (len == 0) {
+        break;
+      }
+      gf2MatrixSquare(odd, even);
+      if ((len & 1) != 0) {
+        crc = gf2MatrixTimes(odd, crc);
+      }
+      len >>= 1;
+    } while (len != 0);
+
+    return crc ^ crc2;
+  }
+
+  private static long gf2MatrixTimes(long[] mat, long vec) {
+    long sum = 0L;
+    int i = 0;
+    long v = vec;
+    while (v != 0) {
+      if ((v & 1) != 0) {
+        sum ^= mat[i];
+      }
+      v >>>= 1;
+      i++;
+    }
+    return sum;
+  }
+
+  private static void gf2MatrixSquare(long[] square, long[] mat) {
+    for (int n = 0; n < 32; n++) {
+      square[n] = gf2MatrixTimes(mat, mat[n]);
+    }
+  }
+
+  /** Fixed size little-endian record buffer. */
+  private static class LittleEndian {
+
+    private final ByteBuffer buffer;
+
+    private LittleEndian(int size) {
+      this.buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void putShort(int value) {
+      buffer.putShort((short) value);
+    }
+
+    private void putInt(int value) {
+      buffer.putInt(value);
+    }
+
+    private void putLong(long value) {
+      buffer.putLong(value);
+    }
+
+    private void put(byte[] value) {
+      buffer.put(value);
+    }
+
+    private void writeTo(OutputStream out) throws IOException {
+      out.write(buffer.array(), 0, buffer.position());
+    }
+  }
+
+  /** Tracks the archive offset for local headers and the central directory. */
+  private static class CountingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private long count;
+
+    private CountingOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package au.org.ala.pipelines.util;
+
+import static au.org.ala.pipelines.transforms.IndexFields.DATA_RESOURCE_UID;
+import static au.org.ala.pipelines.transforms.IndexFields.ID;
+import static au.org.ala.pipelines.transforms.IndexFields.LAST_PROCESSED_DATE;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+import org.gbif.pipelines.io.avro.SolrDocumentHash;
+
+/**
+ * Compares a SOLR document with the hashes of the previously indexed version and creates an atomic
+ * update with the changed fields only.
+ *
+ * <p>Atomic updates need all fields of the collection to be stored or to have docValues, SOLR
+ * rebuilds the document from them. The hashes must be cleared when the collection is recreated.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SolrAtomicUpdates {
+
+  /** Fields that change on every run, they are only sent when other fields have changed */
+  static final Set<String> VOLATILE_FIELDS = ImmutableSet.of(LAST_PROCESSED_DATE);
+
+  private static final String SET = "set";
+
+  public static SolrDocumentHash hash(SolrInputDocument doc) {
+    Map<String, Long> fields = new TreeMap<>();
+    for (SolrInputField field : doc) {
+      fields.put(field.getName(), hash(field.getValue()));
+    }
+
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    fields.forEach(
+        (name, hash) -> {
+          if (!VOLATILE_FIELDS.contains(name)) {
+            hasher.putString(name, StandardCharsets.UTF_8).putLong(hash);
+          }
+        });
+
+    Object datasetId = doc.getFieldValue(DATA_RESOURCE_UID);
+    return SolrDocumentHash.newBuilder()
+        .setId(doc.getFieldValue(ID).toString())
+        .setDatasetId(datasetId == null ? null : datasetId.toString())
+        .setHash(hasher.hash().asLong())
+        .setFields(fields)
+        .build();
+  }
+
+  /**
+   * @param doc document to index
+   * @param hash hash of the document
+   * @param previous hash of the indexed document, null if the document wasn't indexed
+   * @return the document if it wasn't indexed, null if it didn't change, otherwise an atomic
+   *     update that sets the changed fields and removes the fields that don't exist anymore
+   */
+  public static SolrInputDocument update(
+      SolrInputDocument doc, SolrDocumentHash hash, SolrDocumentHash previous) {
+    if (previous == null) {
+      return doc;
+    }
+    if (previous.getHash() == hash.getHash()) {
+      return null;
+    }
+
+    Map<String, Long> previousFields = previous.getFields();
+    SolrInputDocument update = new SolrInputDocument();
+    update.setField(ID, doc.getFieldValue(ID));
+
+    for (SolrInputField field : doc) {
+      String name = field.getName();
+      if (!ID.equals(name)
+          && (VOLATILE_FIELDS.contains(name)
+              || !hash.getFields().get(name).equals(previousFields.get(name)))) {
+        update.setField(name, Collections.singletonMap(SET, field.getValue()));
+      }
+    }
+    for (String name : previousFields.keySet()) {
+      if (!hash.getFields().containsKey(name)) {
+        // SET with null removes all values of the field
+        update.setField(name, Collections.singletonMap(SET, null));
+      }
+    }
+    return update;
+  }
+
+  private static long hash(Object value) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    if (value instanceof Collection) {
+      for (Object v : (Collection<?>) value) {
+        putValue(hasher, v);
+      }
+    } else {
+      putValue(hasher, value);
+    }
+    return hasher.hash().asLong();
+  }
+
+  private static void putValue(Hasher hasher, Object value) {
+    if (value instanceof Date) {
+      hasher.putLong(((Date) value).getTime());
+    } else {
+      hasher.putString(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+    hasher.putByte((byte) 0);
+  }
+}
@@ -0,0 +1,105 @@
+package au.org.ala.pipelines.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.gbif.pipelines.io.avro.SpeciesListRecord;
+import org.gbif.pipelines.io.avro.TaxonProfile;
+
+/**
+ * Species lists compiled into a sorted array of taxonIDs with the Avro encoded {@link TaxonProfile}
+ * of each taxon, built once from the downloaded lists. Small enough to be a Beam side input or kept
+ * in memory, so records are annotated by a lookup instead of being grouped by taxonID.
+ */
+public class SpeciesListIndex implements Serializable {
+
+  private static final long serialVersionUID = 4437216011829516563L;
+
+  private final String[] taxonIDs;
+  private final byte[][] profiles;
+
+  private SpeciesListIndex(String[] taxonIDs, byte[][] profiles) {
+    this.taxonIDs = taxonIDs;
+    this.profiles = profiles;
+  }
+
+  /** Groups the list records by taxonID, records without taxonID are skipped */
+  public static SpeciesListIndex create(
+      Iterable<SpeciesListRecord> records,
+      boolean includeConservationStatus,
+      boolean includeInvasiveStatus) {
+
+    Map<String, List<SpeciesListRecord>> byTaxonID = new TreeMap<>();
+    for (SpeciesListRecord record : records) {
+      if (record.getTaxonID() != null) {
+        byTaxonID.computeIfAbsent(record.getTaxonID(), k -> new ArrayList<>()).add(record);
+      }
+    }
+
+    String[] taxonIDs = new String[byTaxonID.size()];
+    byte[][] profiles = new byte[byTaxonID.size()][];
+    SpecificDatumWriter<TaxonProfile> writer = new SpecificDatumWriter<>(TaxonProfile.class);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = null;
+    int i = 0;
+    for (Map.Entry<String, List<SpeciesListRecord>> entry : byTaxonID.entrySet()) {
+      TaxonProfile profile =
+          SpeciesListUtils.createTaxonProfileBuilder(
+                  entry.getValue(), includeConservationStatus, includeInvasiveStatus)
+              .build();
+      try {
+        out.reset();
+        encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+        writer.write(profile, encoder);
+        encoder.flush();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      taxonIDs[i] = entry.getKey();
+      profiles[i] = out.toByteArray();
+      i++;
+    }
+    return new SpeciesListIndex(taxonIDs, profiles);
+  }
+
+  /**
+   * @param taxonID taxonConceptID of the record
+   * @param id id of the record, the id of the returned profile
+   * @return the profile of the taxon, or empty if the taxon isn't on any list
+   */
+  public Optional<TaxonProfile> lookup(String taxonID, String id) {
+    if (taxonID == null) {
+      return Optional.empty();
+    }
+    int idx = Arrays.binarySearch(taxonIDs, taxonID);
+    if (idx < 0) {
+      return Optional.empty();
+    }
+    try {
+      TaxonProfile profile =
+          new SpecificDatumReader<>(TaxonProfile.class)
+              .read(null, DecoderFactory.get().binaryDecoder(profiles[idx], null));
+      profile.setId(id);
+      return Optional.of(profile);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /** Number of taxa on at least one list */
+  public int size() {
+    return taxonIDs.length;
+  }
+}
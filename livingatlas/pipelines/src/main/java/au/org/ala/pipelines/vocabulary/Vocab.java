@@ -4,28 +4,49 @@ import au.org.ala.pipelines.util.Stemmer;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 
-/** A trait for a vocabulary. A vocabulary consists of a set of Terms, each with string variants. */
+/**
+ * A trait for a vocabulary. A vocabulary consists of a set of Terms, each with string variants.
+ *
+ * <p>Variants and their stems are computed once when the vocabulary is loaded, a match is at most
+ * three hash lookups. Results are cached per raw search term, so the stemmer only runs the first
+ * time a term is seen.
+ */
 @Slf4j
-@NoArgsConstructor(access = AccessLevel.PACKAGE)
 public class Vocab {
 
-  private final Set<String> canonicals = new HashSet<>();
+  // Vocabulary values are low cardinality, the cache stops growing above this size
+  static final int MAX_CACHE_SIZE = 10_000;
+
+  private static final ThreadLocal<Stemmer> STEMMER = ThreadLocal.withInitial(Stemmer::new);
+
+  private final Set<String> canonicals;
   // variant -> canonical
-  private final HashMap<String, String> variants = new HashMap<>();
+  private final Map<String, String> variants;
   // stemmed variant -> canonical
-  private final HashMap<String, String> stemmedVariants = new HashMap<>();
+  private final Map<String, String> stemmedVariants;
+  // raw search term -> match
+  private final Map<String, Optional<String>> cache = new ConcurrentHashMap<>();
+
+  Vocab(Set<String> canonicals, Map<String, String> variants, Map<String, String> stemmed) {
+    this.canonicals = Collections.unmodifiableSet(canonicals);
+    this.variants = Collections.unmodifiableMap(variants);
+    this.stemmedVariants = Collections.unmodifiableMap(stemmed);
+  }
 
   public static Vocab loadVocabFromStream(InputStream is) {
 
-    Vocab vocab = new Vocab();
+    Set<String> canonicals = new HashSet<>();
+    Map<String, String> variants = new HashMap<>();
+    Map<String, String> stemmedVariants = new HashMap<>();
     Stemmer stemmer = new Stemmer();
 
     new BufferedReader(new InputStreamReader(is))
@@ -36,41 +57,49 @@ public class Vocab {
               String[] ss = l.split("\t");
 
               String canonical = ss[0];
-              vocab.canonicals.add(canonical);
+              canonicals.add(canonical);
 
               for (String s : ss) {
-                vocab.variants.put(s.toLowerCase(), canonical);
-                vocab.stemmedVariants.put(stemmer.stem(s.toLowerCase()), canonical);
+                variants.put(s.toLowerCase(), canonical);
+                stemmedVariants.put(stemmer.stem(s.toLowerCase()), canonical);
               }
             });
 
     if (log.isDebugEnabled()) {
-      log.debug(vocab.canonicals.size() + " vocabs/records have been loaded.");
+      log.debug(canonicals.size() + " vocabs/records have been loaded.");
     }
-    return vocab;
+    return new Vocab(canonicals, variants, stemmedVariants);
   }
 
   /** Match a vocab term. */
   public Optional<String> matchTerm(String searchTerm) {
-    Stemmer stemmer = new Stemmer();
-
-    String searchTermLowerCase = searchTerm.toLowerCase();
-    String stemmedSearchTerm = stemmer.stem(searchTerm.toLowerCase());
+    Optional<String> match = cache.get(searchTerm);
+    if (match == null) {
+      match = match(searchTerm);
+      if (cache.size() < MAX_CACHE_SIZE) {
+        cache.put(searchTerm, match);
+      }
+    }
+    return match;
+  }
 
+  private Optional<String> match(String searchTerm) {
     // match by key
     if (canonicals.contains(searchTerm)) {
       return Optional.of(searchTerm);
     }
 
-    // match by key
-    if (variants.containsKey(searchTermLowerCase)) {
-      return Optional.of(variants.get(searchTerm.toLowerCase()));
+    // match by variant
+    String canonical = variants.get(searchTerm.toLowerCase());
+    if (canonical != null) {
+      return Optional.of(canonical);
     }
 
-    if (stemmedVariants.containsKey(stemmedSearchTerm)) {
-      return Optional.of(stemmedVariants.get(stemmedSearchTerm));
-    }
+    canonical = stemmedVariants.get(STEMMER.get().stem(searchTerm.toLowerCase()));
+    return Optional.ofNullable(canonical);
+  }
 
-    return Optional.empty();
+  int cacheSize() {
+    return cache.size();
   }
 }
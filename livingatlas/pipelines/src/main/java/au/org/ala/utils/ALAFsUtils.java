@@ -18,7 +18,9 @@ import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.AvroCoder;
 import org.apache.beam.sdk.io.AvroIO;
+import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.hadoop.fs.*;
 import org.apache.hadoop.fs.FileSystem;
@@ -312,6 +314,32 @@ public class ALAFsUtils {
     if (dataResourceFolder == null || "all".equalsIgnoreCase(dataResourceFolder)) {
       dataResourceFolder = "*";
     }
+    return loadIndexRecords(options, p, dataResourceFolder);
+  }
+
+  /**
+   * Load index records of the supplied datasets only from AVRO.
+   *
+   * @param options
+   * @param p
+   * @param datasetIds
+   * @return
+   */
+  public static PCollection<IndexRecord> loadIndexRecords(
+      AllDatasetsPipelinesOptions options, Pipeline p, Collection<String> datasetIds) {
+
+    if (datasetIds.isEmpty()) {
+      return p.apply(Create.empty(AvroCoder.of(IndexRecord.class)));
+    }
+    String dataResourceFolder =
+        datasetIds.size() == 1
+            ? datasetIds.iterator().next()
+            : "{" + String.join(",", datasetIds) + "}";
+    return loadIndexRecords(options, p, dataResourceFolder);
+  }
+
+  private static PCollection<IndexRecord> loadIndexRecords(
+      AllDatasetsPipelinesOptions options, Pipeline p, String dataResourceFolder) {
     String dataSource =
         String.join(
             "/", options.getAllDatasetsInputPath(), "index-record", dataResourceFolder, "*.avro");
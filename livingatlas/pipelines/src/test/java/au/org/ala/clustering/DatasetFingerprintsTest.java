@@ -0,0 +1,94 @@
+package au.org.ala.clustering;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DatasetFingerprintsTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void changedAndDeletedTest() {
+    // State
+    Map<String, String> previous = new HashMap<>();
+    previous.put("dr1", "10:1");
+    previous.put("dr2", "20:2");
+    previous.put("dr3", "30:3");
+
+    Map<String, String> current = new HashMap<>();
+    current.put("dr1", "10:1");
+    current.put("dr2", "25:4");
+    current.put("dr4", "40:4");
+
+    // When
+    Set<String> changed = DatasetFingerprints.changed(previous, current);
+    Set<String> deleted = DatasetFingerprints.deleted(previous, current);
+    Set<String> firstRun = DatasetFingerprints.changed(Collections.emptyMap(), current);
+
+    // Should
+    assertEquals("[dr2, dr4]", changed.toString());
+    assertEquals("[dr3]", deleted.toString());
+    assertEquals("[dr1, dr2, dr4]", firstRun.toString());
+  }
+
+  @Test
+  public void createWriteReadTest() throws IOException {
+    // State
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    File indexRecords = folder.newFolder("index-record");
+    File dr1 = new File(indexRecords, "dr1");
+    Files.createDirectories(dr1.toPath());
+    Files.write(new File(dr1, "index-record.avro").toPath(), new byte[7]);
+    Files.createDirectories(new File(indexRecords, "dr2").toPath());
+    String file = new File(folder.getRoot(), "fingerprints.tsv").getAbsolutePath();
+
+    // When
+    Map<String, String> fingerprints = DatasetFingerprints.create(fs, indexRecords.getPath());
+    DatasetFingerprints.write(fs, file, fingerprints);
+    Map<String, String> read = DatasetFingerprints.read(fs, file);
+
+    // Should
+    assertEquals(2, fingerprints.size());
+    assertEquals("7:", fingerprints.get("dr1").substring(0, 2));
+    assertEquals("0:0", fingerprints.get("dr2"));
+    assertEquals(fingerprints, read);
+    assertEquals(0, DatasetFingerprints.read(fs, file + ".missing").size());
+  }
+
+  @Test
+  public void selectedDatasetTest() throws IOException {
+    // State
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    File indexRecords = folder.newFolder("index-record");
+    Files.createDirectories(new File(indexRecords, "dr1").toPath());
+    Files.createDirectories(new File(indexRecords, "dr2").toPath());
+
+    Map<String, String> previous = new HashMap<>();
+    previous.put("dr1", "10:1");
+    previous.put("dr3", "30:3");
+
+    // When
+    Map<String, String> current =
+        DatasetFingerprints.create(fs, indexRecords.getPath(), DatasetFingerprints.pattern("dr1"));
+    Set<String> deleted = DatasetFingerprints.deleted(previous, current, "dr1");
+    Map<String, String> merged = DatasetFingerprints.merge(previous, current, "dr1");
+
+    // Should
+    assertEquals("[dr1]", current.keySet().toString());
+    assertEquals("[]", deleted.toString());
+    assertEquals("{dr1=0:0, dr3=30:3}", merged.toString());
+    assertEquals("*", DatasetFingerprints.pattern("all"));
+  }
+}
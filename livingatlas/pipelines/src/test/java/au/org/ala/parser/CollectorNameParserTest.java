@@ -2,6 +2,7 @@ package au.org.ala.parser;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 import au.org.ala.pipelines.parser.CollectorNameParser;
 import org.junit.Test;
@@ -180,4 +181,13 @@ public class CollectorNameParserTest {
         new String[] {"Kenny, S.D. Sue", "Wallace-Ward, D. Di"},
         CollectorNameParser.parseList("\"KENNY S.D. Sue\"\"WALLACE-WARD D. Di\""));
   }
+
+  @Test
+  public void memoisedListTest() {
+    String[] first = CollectorNameParser.parseList("Simmons, J.G.; Simmons, M.H.");
+    first[0] = "Changed";
+    String[] second = CollectorNameParser.parseList("Simmons, J.G.; Simmons, M.H.");
+    assertArrayEquals(new String[] {"Simmons, J.G.", "Simmons, M.H."}, second);
+    assertNotSame(first, second);
+  }
 }
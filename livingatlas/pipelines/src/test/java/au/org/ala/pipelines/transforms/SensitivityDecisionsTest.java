@@ -0,0 +1,106 @@
+package au.org.ala.pipelines.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import au.org.ala.sds.api.SensitivityQuery;
+import au.org.ala.sds.api.SensitivityReport;
+import au.org.ala.sds.api.SpeciesCheck;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gbif.kvs.KeyValueStore;
+import org.junit.Test;
+
+public class SensitivityDecisionsTest {
+
+  @Test
+  public void keysTest() {
+    // When
+    String key = SensitivityDecisions.key("Acacia dealbata", null, "NSW", null);
+
+    // Should
+    assertEquals("Acacia dealbata\u0001\u0000", SensitivityDecisions.speciesKey(key));
+    assertEquals(
+        SensitivityDecisions.speciesKey(key),
+        SensitivityDecisions.speciesKey(
+            SensitivityDecisions.key("Acacia dealbata", null, "VIC", "Australia")));
+  }
+
+  @Test
+  public void speciesStoreTest() {
+    // State
+    AtomicInteger calls = new AtomicInteger();
+    Map<String, Boolean> species = new HashMap<>();
+    species.put(
+        SensitivityDecisions.speciesKey(SensitivityDecisions.key("Acacia", "t1", null, null)),
+        Boolean.TRUE);
+    SensitivityDecisions decisions =
+        SensitivityDecisions.of(species, Collections.emptyMap(), null);
+
+    // When
+    KeyValueStore<SpeciesCheck, Boolean> store =
+        decisions.speciesStore(
+            new KeyValueStore<SpeciesCheck, Boolean>() {
+              @Override
+              public Boolean get(SpeciesCheck key) {
+                calls.incrementAndGet();
+                return Boolean.FALSE;
+              }
+
+              @Override
+              public void close() {}
+            });
+
+    // Should
+    assertEquals(
+        Boolean.TRUE,
+        store.get(SpeciesCheck.builder().scientificName("Acacia").taxonId("t1").build()));
+    assertEquals(0, calls.get());
+    assertEquals(
+        Boolean.FALSE, store.get(SpeciesCheck.builder().scientificName("Eucalyptus").build()));
+    assertEquals(1, calls.get());
+    assertSame(decisions, SensitivityDecisions.of(species, Collections.emptyMap(), decisions));
+  }
+
+  @Test
+  public void reportStoreTest() {
+    // State
+    SensitivityReport report =
+        SensitivityReport.builder().sensitive(true).valid(true).loadable(true).build();
+    Map<String, String> reports = new HashMap<>();
+    reports.put(
+        SensitivityDecisions.key("Acacia", "t1", "NSW", "Australia"),
+        SensitivityDecisions.toJson(report));
+    SensitivityDecisions decisions =
+        SensitivityDecisions.of(Collections.emptyMap(), reports, null);
+
+    // When
+    KeyValueStore<SensitivityQuery, SensitivityReport> store =
+        decisions.reportStore(
+            new KeyValueStore<SensitivityQuery, SensitivityReport>() {
+              @Override
+              public SensitivityReport get(SensitivityQuery key) {
+                throw new IllegalStateException("Unexpected lookup");
+              }
+
+              @Override
+              public void close() {}
+            });
+    SensitivityReport result =
+        store.get(
+            SensitivityQuery.builder()
+                .scientificName("Acacia")
+                .taxonId("t1")
+                .dataResourceUid("dr1")
+                .stateProvince("NSW")
+                .country("Australia")
+                .build());
+
+    // Should
+    assertEquals(report.isSensitive(), result.isSensitive());
+    assertEquals(report.isValid(), result.isValid());
+    assertEquals(report.isLoadable(), result.isLoadable());
+  }
+}
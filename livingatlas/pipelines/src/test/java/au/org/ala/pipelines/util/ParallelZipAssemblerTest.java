@@ -0,0 +1,92 @@
+package au.org.ala.pipelines.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelZipAssemblerTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void multiPartEntryTest() throws IOException {
+    // State
+    StringBuilder expected = new StringBuilder();
+    Path part1 = part("occurrence-00000-of-00003.tsv", 20_000, "a", expected);
+    Path part2 = part("occurrence-00001-of-00003.tsv", 0, "b", expected);
+    Path part3 = part("occurrence-00002-of-00003.tsv", 35_000, "c", expected);
+    Path meta = folder.getRoot().toPath().resolve("meta.xml");
+    Files.write(meta, "<archive/>".getBytes(UTF_8));
+
+    Map<String, List<Path>> entries = new LinkedHashMap<>();
+    entries.put("occurrence.tsv", Arrays.asList(part1, part2, part3));
+    entries.put("meta.xml", Collections.singletonList(meta));
+
+    Path zip = folder.getRoot().toPath().resolve("dr1.zip");
+
+    // When
+    ParallelZipAssembler.builder().zipPath(zip).entries(entries).threads(2).create().write();
+
+    // Should
+    try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+      Assert.assertEquals(2, zipFile.size());
+      Assert.assertEquals(expected.toString(), read(zipFile, "occurrence.tsv"));
+      Assert.assertEquals("<archive/>", read(zipFile, "meta.xml"));
+    }
+  }
+
+  @Test
+  public void crc32CombineTest() {
+    byte[] first = "first block of data".getBytes(UTF_8);
+    byte[] second = "and the second one".getBytes(UTF_8);
+
+    CRC32 whole = new CRC32();
+    whole.update(first);
+    whole.update(second);
+
+    CRC32 crc1 = new CRC32();
+    crc1.update(first);
+    CRC32 crc2 = new CRC32();
+    crc2.update(second);
+
+    Assert.assertEquals(
+        whole.getValue(),
+        ParallelZipAssembler.crc32Combine(crc1.getValue(), crc2.getValue(), second.length));
+  }
+
+  private Path part(String name, int lines, String value, StringBuilder expected)
+      throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < lines; i++) {
+      sb.append(value).append('\t').append(i).append('\n');
+    }
+    expected.append(sb);
+    Path path = folder.getRoot().toPath().resolve(name);
+    Files.write(path, sb.toString().getBytes(UTF_8));
+    return path;
+  }
+
+  private String read(ZipFile zipFile, String name) throws IOException {
+    ZipEntry entry = zipFile.getEntry(name);
+    Assert.assertNotNull(entry);
+    try (InputStream is = zipFile.getInputStream(entry)) {
+      return IOUtils.toString(is, UTF_8);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package au.org.ala.pipelines.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import org.apache.solr.common.SolrInputDocument;
+import org.gbif.pipelines.io.avro.SolrDocumentHash;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SolrAtomicUpdatesTest {
+
+  @Test
+  public void newDocumentTest() {
+    // State
+    SolrInputDocument doc = doc(1L);
+
+    // When
+    SolrInputDocument update = SolrAtomicUpdates.update(doc, SolrAtomicUpdates.hash(doc), null);
+
+    // Should
+    Assert.assertSame(doc, update);
+    Assert.assertEquals("dr1", SolrAtomicUpdates.hash(doc).getDatasetId());
+  }
+
+  @Test
+  public void unchangedDocumentTest() {
+    // State
+    SolrDocumentHash previous = SolrAtomicUpdates.hash(doc(1L));
+    SolrInputDocument doc = doc(2L);
+
+    // When
+    SolrInputDocument update = SolrAtomicUpdates.update(doc, SolrAtomicUpdates.hash(doc), previous);
+
+    // Should
+    Assert.assertNull(update);
+  }
+
+  @Test
+  public void changedDocumentTest() {
+    // State
+    SolrDocumentHash previous = SolrAtomicUpdates.hash(doc(1L));
+    SolrInputDocument doc = doc(2L);
+    doc.setField("outlierLayer", Arrays.asList("el1", "el3"));
+    doc.removeField("duplicateStatus");
+
+    // When
+    SolrInputDocument update = SolrAtomicUpdates.update(doc, SolrAtomicUpdates.hash(doc), previous);
+
+    // Should
+    Assert.assertNotNull(update);
+    Assert.assertEquals("id1", update.getFieldValue("id"));
+    Assert.assertEquals(4, update.size());
+    Assert.assertEquals(
+        Collections.singletonMap("set", Arrays.asList("el1", "el3")),
+        update.getFieldValue("outlierLayer"));
+    Assert.assertEquals(
+        Collections.singletonMap("set", new Date(2L)), update.getFieldValue("lastProcessedDate"));
+    Assert.assertNull(((Map<?, ?>) update.getFieldValue("duplicateStatus")).get("set"));
+    Assert.assertNull(update.getField("scientificName"));
+  }
+
+  private static SolrInputDocument doc(long processed) {
+    SolrInputDocument doc = new SolrInputDocument();
+    doc.setField("id", "id1");
+    doc.setField("dataResourceUid", "dr1");
+    doc.setField("scientificName", "Acacia");
+    doc.setField("outlierLayer", Arrays.asList("el1", "el2"));
+    doc.setField("duplicateStatus", "ASSOCIATED");
+    doc.setField("lastProcessedDate", new Date(processed));
+    return doc;
+  }
+}
@@ -0,0 +1,93 @@
+package au.org.ala.pipelines.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.gbif.pipelines.io.avro.SpeciesListRecord;
+import org.gbif.pipelines.io.avro.TaxonProfile;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpeciesListIndexTest {
+
+  @Test
+  public void lookupTest() {
+    // State
+    SpeciesListIndex index =
+        SpeciesListIndex.create(
+            Arrays.asList(
+                record("urn:lsid:taxon:2", "dr1", true, false, "NSW", "Endangered"),
+                record("urn:lsid:taxon:1", "dr2", false, true, "ACT", null),
+                record("urn:lsid:taxon:2", "dr3", false, false, null, null)),
+            true,
+            true);
+
+    // When
+    Optional<TaxonProfile> threatened = index.lookup("urn:lsid:taxon:2", "occ1");
+    Optional<TaxonProfile> invasive = index.lookup("urn:lsid:taxon:1", "occ2");
+
+    // Should
+    Assert.assertEquals(2, index.size());
+    Assert.assertTrue(threatened.isPresent());
+    Assert.assertEquals("occ1", threatened.get().getId());
+    Assert.assertEquals(Arrays.asList("dr1", "dr3"), threatened.get().getSpeciesListID());
+    Assert.assertEquals(1, threatened.get().getConservationStatuses().size());
+    Assert.assertEquals("NSW", threatened.get().getConservationStatuses().get(0).getRegion());
+    Assert.assertEquals(0, threatened.get().getInvasiveStatuses().size());
+
+    Assert.assertTrue(invasive.isPresent());
+    Assert.assertEquals("ACT", invasive.get().getInvasiveStatuses().get(0).getRegion());
+
+    Assert.assertFalse(index.lookup("urn:lsid:taxon:3", "occ3").isPresent());
+    Assert.assertFalse(index.lookup(null, "occ4").isPresent());
+  }
+
+  @Test
+  public void serializationTest() throws IOException, ClassNotFoundException {
+    // State
+    SpeciesListIndex index =
+        SpeciesListIndex.create(
+            Collections.singletonList(record("urn:lsid:taxon:1", "dr1", false, true, "WA", null)),
+            false,
+            true);
+
+    // When
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(index);
+    }
+    SpeciesListIndex result;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      result = (SpeciesListIndex) in.readObject();
+    }
+
+    // Should
+    Optional<TaxonProfile> profile = result.lookup("urn:lsid:taxon:1", "occ1");
+    Assert.assertTrue(profile.isPresent());
+    Assert.assertEquals("WA", profile.get().getInvasiveStatuses().get(0).getRegion());
+  }
+
+  private static SpeciesListRecord record(
+      String taxonID,
+      String speciesListID,
+      boolean isThreatened,
+      boolean isInvasive,
+      String region,
+      String status) {
+    return SpeciesListRecord.newBuilder()
+        .setTaxonID(taxonID)
+        .setSpeciesListID(speciesListID)
+        .setIsThreatened(isThreatened)
+        .setIsInvasive(isInvasive)
+        .setRegion(region)
+        .setStatus(status)
+        .setSourceStatus(null)
+        .build();
+  }
+}
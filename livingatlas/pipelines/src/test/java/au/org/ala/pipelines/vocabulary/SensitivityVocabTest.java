@@ -36,4 +36,26 @@ public class SensitivityVocabTest {
     assertEquals(Optional.of("alreadyGeneralised"), vocab.matchTerm("Already Generalised"));
     assertEquals(Optional.empty(), vocab.matchTerm("Blah de blah de blah"));
   }
+
+  @Test
+  public void testCachedMatches() throws Exception {
+    Sensitivity.clear();
+    Vocab vocab = Sensitivity.getInstance(null);
+    for (int i = 0; i < 2; i++) {
+      assertEquals(Optional.of("generalised"), vocab.matchTerm("generalized"));
+      assertEquals(Optional.empty(), vocab.matchTerm("Blah de blah de blah"));
+    }
+    assertEquals(2, vocab.cacheSize());
+  }
+
+  @Test
+  public void testBoundedCache() throws Exception {
+    Sensitivity.clear();
+    Vocab vocab = Sensitivity.getInstance(null);
+    for (int i = 0; i < Vocab.MAX_CACHE_SIZE + 10; i++) {
+      vocab.matchTerm("term " + i);
+    }
+    assertEquals(Vocab.MAX_CACHE_SIZE, vocab.cacheSize());
+    assertEquals(Optional.of("generalised"), vocab.matchTerm("Generalised"));
+  }
 }
@@ -1,10 +1,16 @@
 package au.org.ala.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 import au.org.ala.pipelines.jackknife.JackKnife;
+import au.org.ala.pipelines.jackknife.JackKnifeSamples;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
 
 /**
@@ -44,4 +50,59 @@ public class JackKnifeTest {
     assertEquals(8.0, result[0], 0.0);
     assertEquals(14.0, result[1], 0.0);
   }
+
+  @Test
+  public void jackKnifeRange() {
+    // valid min/max in the middle of a column, with missing values
+    double[] values =
+        new double[] {
+          100.0, 100.0, 1.0, 2.0, Double.NaN, 8.0, 9.0, 10.0, 11.0, 12.0, 13.0, 14.0, 16.0, 17.0,
+          -100.0
+        };
+    double[] result = JackKnife.jackknife(values, 2, 12, 10, new double[12]);
+    assertNotNull(result);
+    assertEquals(8.0, result[0], 0.0);
+    assertEquals(14.0, result[1], 0.0);
+  }
+
+  @Test
+  public void jackKnifeSamples() {
+    String[] layers = {"a", "b"};
+    double[] a = {1.0, 2.0, 8.0, 9.0, 10.0, 11.0, 12.0, 13.0, 14.0, 16.0, 17.0};
+    List<String> ids = Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11");
+    List<double[]> rows =
+        Arrays.asList(
+            new double[] {a[0], Double.NaN},
+            new double[] {a[1], 1.0},
+            new double[] {a[2], 1.0},
+            new double[] {a[3], 1.0},
+            new double[] {a[4], 1.0},
+            new double[] {a[5], 1.0},
+            new double[] {a[6], 1.0},
+            new double[] {a[7], 1.0},
+            new double[] {a[8], 1.0},
+            new double[] {a[9], 1.0},
+            new double[] {a[10], 1.0});
+
+    JackKnifeSamples samples = JackKnifeSamples.create(layers, ids, rows);
+    double[][] models = samples.models(10);
+
+    assertEquals(11, samples.count(0));
+    assertEquals(10, samples.count(1));
+    assertEquals(8.0, models[0][0], 0.0);
+    assertEquals(14.0, models[0][1], 0.0);
+    // no range, no model
+    assertNull(models[1]);
+    assertEquals(Collections.singletonList("a"), samples.outliers(0, models));
+    assertNull(samples.outliers(4, models));
+
+    // the hash doesn't depend on the record order, but on values and threshold
+    List<String> reversedIds = new ArrayList<>(ids);
+    List<double[]> reversedRows = new ArrayList<>(rows);
+    Collections.reverse(reversedIds);
+    Collections.reverse(reversedRows);
+    JackKnifeSamples reversed = JackKnifeSamples.create(layers, reversedIds, reversedRows);
+    assertEquals(samples.hash(10), reversed.hash(10));
+    assertNotEquals(samples.hash(10), reversed.hash(11));
+  }
 }
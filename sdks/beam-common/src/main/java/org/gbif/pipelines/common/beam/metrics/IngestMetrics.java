@@ -1,7 +1,8 @@
 package org.gbif.pipelines.common.beam.metrics;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.apache.beam.runners.core.metrics.DefaultMetricResults;
@@ -12,32 +13,38 @@ import org.apache.beam.sdk.metrics.MetricResults;
 
 /**
  * Metrics to support org.gbif.pipelines.transforms.Transform counters, wrapper on top of {@link
- * org.apache.beam.sdk.metrics.MetricResults}
+ * org.apache.beam.sdk.metrics.MetricResults}. Counters are striped {@link LongAdder}s, as every
+ * interpretation thread increments them for every record
  */
 @AllArgsConstructor(staticName = "create")
 public class IngestMetrics {
 
-  private final Map<String, String> nameSpaceMap = new HashMap<>();
-  private final Map<String, AtomicLong> valueMap = new HashMap<>();
+  private final Map<String, String> nameSpaceMap = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> valueMap = new ConcurrentHashMap<>();
 
   public IngestMetrics addMetric(Class<?> namespace, String name) {
     return addMetric(namespace.getName(), name);
   }
 
   public IngestMetrics addMetric(String namespace, String name) {
-    valueMap.putIfAbsent(name, new AtomicLong(0L));
+    valueMap.putIfAbsent(name, new LongAdder());
     nameSpaceMap.putIfAbsent(name, namespace);
     return this;
   }
 
   public long incMetric(String name) {
-    return Optional.ofNullable(valueMap.get(name)).map(AtomicLong::incrementAndGet).orElse(0L);
+    LongAdder value = valueMap.get(name);
+    if (value == null) {
+      return 0L;
+    }
+    value.increment();
+    return value.sum();
   }
 
   public MetricResults getMetricsResult() {
     List<MetricResult<Long>> counters =
         valueMap.entrySet().stream()
-            .filter(x -> x.getValue().get() > 0)
+            .filter(x -> x.getValue().sum() > 0)
             .map(
                 s -> {
                   MetricKey metricKey =
@@ -1,11 +1,18 @@
 package org.gbif.pipelines.common.beam.metrics;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.beam.sdk.metrics.DistributionResult;
 import org.apache.beam.sdk.metrics.MetricQueryResults;
 import org.apache.beam.sdk.metrics.MetricResult;
 import org.apache.beam.sdk.metrics.MetricResults;
@@ -15,6 +22,7 @@ import org.apache.hadoop.fs.Path;
 import org.gbif.pipelines.common.beam.options.BasePipelineOptions;
 import org.gbif.pipelines.common.beam.options.InterpretationPipelineOptions;
 import org.gbif.pipelines.common.beam.utils.PathBuilder;
+import org.gbif.pipelines.core.metrics.StageMetrics;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.pipelines.core.utils.FsUtils;
 
@@ -26,6 +34,10 @@ import org.gbif.pipelines.core.utils.FsUtils;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class MetricsHandler {
 
+  private static final String PROFILE_SUFFIX = "-profile.json";
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
   /**
    * Method works with Apache Beam metrics, gets metrics from {@link MetricResults} and converts to
    * a yaml string format SparkRunner doesn't support committed
@@ -45,6 +57,36 @@ public class MetricsHandler {
     return result;
   }
 
+  /**
+   * Converts Beam latency distributions from {@link MetricResults} and the {@link StageMetrics}
+   * histograms of this JVM to a json string. Distributions cover all workers, histograms with
+   * percentiles are complete only when the pipeline runs in one JVM
+   */
+  @SneakyThrows
+  public static String getProfileInfo(MetricResults results) {
+    MetricQueryResults queryResults = results.queryMetrics(MetricsFilter.builder().build());
+
+    Map<String, Object> distributions = new TreeMap<>();
+    queryResults
+        .getDistributions()
+        .forEach(
+            mr -> {
+              DistributionResult d = mr.getAttempted();
+              Map<String, Object> values = new LinkedHashMap<>();
+              values.put("count", d.getCount());
+              values.put("sum", d.getSum());
+              values.put("min", d.getMin());
+              values.put("max", d.getMax());
+              values.put("mean", d.getMean());
+              distributions.put(mr.getName().getName(), values);
+            });
+
+    Map<String, Object> profile = new LinkedHashMap<>();
+    profile.put("distributions", distributions);
+    profile.putAll(StageMetrics.snapshot());
+    return MAPPER.writeValueAsString(profile);
+  }
+
   /** Method works with String data */
   public static void saveMetricsToFile(HdfsConfigs hdfsConfigs, String path, String metrics) {
 
@@ -141,5 +183,26 @@ public class MetricsHandler {
       BasePipelineOptions options, MetricResults results, boolean isInput) {
     String countersInfo = getCountersInfo(results);
     saveMetricsToFile(options, countersInfo, isInput);
+    saveProfileToFile(options, results, isInput);
+  }
+
+  /** Saves {@link #getProfileInfo} next to the metrics file, as {metaFileName}-profile.json */
+  private static void saveProfileToFile(
+      BasePipelineOptions options, MetricResults results, boolean isInput) {
+    String metaFileName = options.getMetaFileName();
+    if (metaFileName == null || metaFileName.isEmpty()) {
+      return;
+    }
+    int idx = metaFileName.lastIndexOf('.');
+    String profileName = (idx > 0 ? metaFileName.substring(0, idx) : metaFileName) + PROFILE_SUFFIX;
+    String profilePath = PathBuilder.buildDatasetAttemptPath(options, profileName, isInput);
+
+    FileSystem fs = getFileSystemForOptions(options);
+    try {
+      FsUtils.createFile(fs, profilePath, getProfileInfo(results));
+      log.info("Pipeline profile was written to a file - {}", profilePath);
+    } catch (IOException ex) {
+      log.warn("Write pipeline profile file", ex);
+    }
   }
 }
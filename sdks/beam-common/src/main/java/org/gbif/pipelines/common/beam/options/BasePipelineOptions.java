@@ -57,6 +57,14 @@ public interface BasePipelineOptions extends PipelineOptions {
 
   void setAvroSyncInterval(int syncInterval);
 
+  @Description(
+      "Avro codec and sync interval per record type, overrides avroCompressionType and "
+          + "avroSyncInterval, e.g. IDENTIFIER=snappy@262144,VERBATIM=zstandard-3@4194304")
+  @Default.String("")
+  String getAvroWriteSettings();
+
+  void setAvroWriteSettings(String avroWriteSettings);
+
   @Description("The threshold for java based pipelines, switches between sync and async execution")
   @Default.Integer(1_000)
   int getSyncThreshold();
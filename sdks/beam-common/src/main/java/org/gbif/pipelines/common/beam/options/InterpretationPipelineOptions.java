@@ -104,6 +104,14 @@ public interface InterpretationPipelineOptions
 
   void setCoreRecordType(InterpretationType.RecordType recordType);
 
+  @Description(
+      "Number of records interpreted at the same time by transforms with remote lookups, such as"
+          + " location, taxonomy and GrSciColl. 0 interprets one record at a time")
+  @Default.Integer(0)
+  int getLookupConcurrency();
+
+  void setLookupConcurrency(int lookupConcurrency);
+
   /** A {@link DefaultValueFactory} which locates a default directory. */
   class TempDirectoryFactory implements DefaultValueFactory<String> {
 
@@ -9,6 +9,7 @@ import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
 import org.gbif.pipelines.core.utils.FsUtils;
 
 /** Factory parsers arguments or file, registers and produces {@link PipelineOptions} */
@@ -62,4 +63,12 @@ public final class PipelinesOptionsFactory {
     registerHdfs(options);
     return options;
   }
+
+  /** Creates the per record type Avro codec and sync interval settings of the options */
+  public static AvroWriteSettings createAvroWriteSettings(BasePipelineOptions options) {
+    return AvroWriteSettings.create(
+        options.getAvroCompressionType(),
+        options.getAvroSyncInterval(),
+        options.getAvroWriteSettings());
+  }
 }
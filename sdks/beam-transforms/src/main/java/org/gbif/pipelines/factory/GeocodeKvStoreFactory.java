@@ -15,7 +15,11 @@ import org.gbif.pipelines.core.config.model.KvConfig;
 import org.gbif.pipelines.core.config.model.PipelinesConfig;
 import org.gbif.pipelines.core.config.model.WsConfig;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.kvs.SharedKeyValueStore;
+import org.gbif.pipelines.core.metrics.MeteredKeyValueStore;
 import org.gbif.pipelines.core.parsers.location.GeocodeKvStore;
+import org.gbif.pipelines.core.parsers.location.cache.GeocodeBitmapCache;
+import org.gbif.pipelines.core.parsers.location.cache.TilePyramid;
 import org.gbif.pipelines.core.pojo.HdfsConfigs;
 import org.gbif.rest.client.configuration.ClientConfiguration;
 import org.gbif.rest.client.geocode.GeocodeResponse;
@@ -29,12 +33,28 @@ public class GeocodeKvStoreFactory {
 
   @SneakyThrows
   private GeocodeKvStoreFactory(HdfsConfigs hdfsConfigs, PipelinesConfig config) {
-    BufferedImage image =
-        Optional.ofNullable(config.getImageCachePath())
-            .map(ip -> BufferedImageFactory.getInstance(hdfsConfigs, ip))
-            .orElse(null);
-    KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore = creatKvStore(config);
-    geocodeKvStore = GeocodeKvStore.create(kvStore, image);
+    KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore =
+        SharedKeyValueStore.wrap(
+            "geocode",
+            config == null ? null : config.getGeocode().getSharedCache(),
+            GeocodeResponse.class,
+            MeteredKeyValueStore.wrap("geocode.remote", creatKvStore(config)));
+    // Without a config there is no remote store and no bitmap cache
+    String pyramidPath = config == null ? null : config.getImageCachePyramidPath();
+    if (pyramidPath != null) {
+      TilePyramid pyramid = TilePyramidFactory.getInstance(hdfsConfigs, pyramidPath);
+      geocodeKvStore =
+          MeteredKeyValueStore.wrap(
+              "geocode",
+              GeocodeKvStore.create(kvStore, pyramid, GeocodeBitmapCache.DEFAULT_KV_STORE, true));
+    } else {
+      BufferedImage image =
+          Optional.ofNullable(config)
+              .map(PipelinesConfig::getImageCachePath)
+              .map(ip -> BufferedImageFactory.getInstance(hdfsConfigs, ip))
+              .orElse(null);
+      geocodeKvStore = MeteredKeyValueStore.wrap("geocode", GeocodeKvStore.create(kvStore, image));
+    }
   }
 
   public static KeyValueStore<GeocodeRequest, GeocodeResponse> getInstance(
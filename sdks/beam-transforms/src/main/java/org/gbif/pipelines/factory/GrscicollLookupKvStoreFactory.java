@@ -13,6 +13,8 @@ import org.gbif.pipelines.core.config.model.KvConfig;
 import org.gbif.pipelines.core.config.model.PipelinesConfig;
 import org.gbif.pipelines.core.config.model.WsConfig;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.kvs.SharedKeyValueStore;
+import org.gbif.pipelines.core.metrics.MeteredKeyValueStore;
 import org.gbif.rest.client.configuration.ClientConfiguration;
 import org.gbif.rest.client.grscicoll.GrscicollLookupResponse;
 
@@ -28,7 +30,7 @@ public class GrscicollLookupKvStoreFactory {
 
   @SneakyThrows
   private GrscicollLookupKvStoreFactory(PipelinesConfig config) {
-    this.kvStore = create(config);
+    this.kvStore = MeteredKeyValueStore.wrap("grscicoll", createShared(config));
   }
 
   public static KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse> getInstance(
@@ -98,9 +100,20 @@ public class GrscicollLookupKvStoreFactory {
         configBuilder.build(), clientConfiguration);
   }
 
+  /** {@link #create(PipelinesConfig)} with the host shared cache if it is configured */
+  private static KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse> createShared(
+      PipelinesConfig config) {
+    return SharedKeyValueStore.wrap(
+        "grscicoll",
+        config == null ? null : config.getGrscicollLookup().getSharedCache(),
+        GrscicollLookupResponse.class,
+        create(config));
+  }
+
   public static SerializableSupplier<KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse>>
       createSupplier(PipelinesConfig config) {
-    return () -> GrscicollLookupKvStoreFactory.create(config);
+    return () ->
+        MeteredKeyValueStore.wrap("grscicoll", GrscicollLookupKvStoreFactory.createShared(config));
   }
 
   public static SerializableSupplier<KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse>>
@@ -13,13 +13,14 @@ import org.gbif.kvs.hbase.LoaderRetryConfig;
 import org.gbif.kvs.hbase.ReadOnlyHBaseStore;
 import org.gbif.pipelines.core.config.model.KvConfig;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.metrics.MeteredKeyValueStore;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class LocationFeatureKvStoreFactory {
 
   public static SerializableSupplier<KeyValueStore<GeocodeRequest, String>> createSupplier(
       KvConfig kvConfig) {
-    return () -> create(kvConfig);
+    return () -> MeteredKeyValueStore.wrap("locationFeature", create(kvConfig));
   }
 
   @SneakyThrows
@@ -16,6 +16,8 @@ import org.gbif.pipelines.core.config.model.KvConfig;
 import org.gbif.pipelines.core.config.model.PipelinesConfig;
 import org.gbif.pipelines.core.config.model.WsConfig;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.kvs.SharedKeyValueStore;
+import org.gbif.pipelines.core.metrics.MeteredKeyValueStore;
 import org.gbif.rest.client.configuration.ClientConfiguration;
 import org.gbif.rest.client.species.NameUsageMatchResponse;
 
@@ -29,7 +31,7 @@ public class NameUsageMatchStoreFactory {
 
   @SneakyThrows
   private NameUsageMatchStoreFactory(PipelinesConfig config) {
-    this.kvStore = createMultipleService(config);
+    this.kvStore = MeteredKeyValueStore.wrap("nameUsageMatch", createMultipleService(config));
   }
 
   /* TODO Comment */
@@ -62,7 +64,12 @@ public class NameUsageMatchStoreFactory {
     }
 
     ChecklistKvConfig checklistKvConfig = config.getNameUsageMatchingService();
-    return constructKV(checklistKvConfig.getWs(), checklistKvConfig.getWs().getApi().getWsUrl());
+    KvConfig kvConfig = checklistKvConfig.getWs();
+    return SharedKeyValueStore.wrap(
+        "nameUsageMatch",
+        kvConfig.getSharedCache(),
+        NameUsageMatchResponse.class,
+        constructKV(kvConfig, kvConfig.getApi().getWsUrl()));
   }
 
   private static KeyValueStore<NameUsageMatchRequest, NameUsageMatchResponse> constructKV(
@@ -118,6 +125,6 @@ public class NameUsageMatchStoreFactory {
 
   public static SerializableSupplier<KeyValueStore<NameUsageMatchRequest, NameUsageMatchResponse>>
       createMultiServiceSupplier(PipelinesConfig config) {
-    return () -> createMultipleService(config);
+    return () -> MeteredKeyValueStore.wrap("nameUsageMatch", createMultipleService(config));
   }
 }
@@ -0,0 +1,72 @@
+package org.gbif.pipelines.factory;
+
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.gbif.pipelines.core.parsers.location.cache.TilePyramid;
+import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.gbif.pipelines.core.utils.FsUtils;
+
+/**
+ * Loads a {@link TilePyramid}. Pyramids are memory-mapped, so files on HDFS or in the classpath
+ * are copied to a local temporary file first.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TilePyramidFactory {
+
+  // Read-only, so one pyramid per path is shared by all users in the JVM
+  private static final Map<String, TilePyramid> PYRAMIDS = new ConcurrentHashMap<>();
+
+  public static TilePyramid getInstance(HdfsConfigs configs, String pyramidPath) {
+    return PYRAMIDS.computeIfAbsent(pyramidPath, path -> loadPyramidFile(configs, path));
+  }
+
+  @SneakyThrows
+  public static TilePyramid loadPyramidFile(HdfsConfigs configs, String filePath) {
+    Path path = new Path(filePath);
+    log.info("Loading tile pyramid for the image cache from {}", path);
+
+    if (path.isAbsolute()) {
+      FileSystem fs = FsUtils.getFileSystem(configs, filePath);
+      String scheme = fs.getUri().getScheme();
+      if (scheme == null || "file".equals(scheme)) {
+        // Local files can be mapped in place
+        return TilePyramid.open(Paths.get(path.toUri().getPath()));
+      }
+    }
+
+    java.nio.file.Path localFile = Files.createTempFile("tile-pyramid", ".bin");
+    localFile.toFile().deleteOnExit();
+
+    if (!path.isAbsolute()) {
+      try (InputStream is =
+          Thread.currentThread().getContextClassLoader().getResourceAsStream(filePath)) {
+        if (is == null) {
+          throw new FileNotFoundException("Can't load tile pyramid from resource - " + filePath);
+        }
+        Files.copy(is, localFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } else {
+      FileSystem fs = FsUtils.getFileSystem(configs, filePath);
+      try (InputStream is = fs.open(path)) {
+        Files.copy(is, localFile, StandardCopyOption.REPLACE_EXISTING);
+      } catch (Exception e) {
+        log.error(e.getMessage(), e);
+        throw new FileNotFoundException(
+            "Unable to load tile pyramid from absolute filePath - " + filePath);
+      }
+    }
+    return TilePyramid.open(localFile);
+  }
+}
@@ -1,8 +1,18 @@
 package org.gbif.pipelines.transforms;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.avro.Schema;
 import org.apache.avro.file.CodecFactory;
@@ -10,19 +20,28 @@ import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.beam.sdk.io.AvroIO;
 import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
 import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.metrics.MetricsContainer;
+import org.apache.beam.sdk.metrics.MetricsEnvironment;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.ParDo.SingleOutput;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.TupleTag;
 import org.gbif.api.model.pipelines.InterpretationType;
 import org.gbif.pipelines.common.PipelinesVariables.Pipeline;
 import org.gbif.pipelines.core.functions.SerializableConsumer;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
+import org.gbif.pipelines.core.kvs.LookupExecutors;
+import org.gbif.pipelines.core.metrics.LatencyRecorder;
+import org.gbif.pipelines.core.metrics.StageMetrics;
 import org.gbif.pipelines.core.pojo.Edge;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
 import org.gbif.pipelines.io.avro.Record;
 import org.gbif.pipelines.transforms.common.CheckTransforms;
+import org.joda.time.Instant;
 
 /**
  * Common class for all transformations
@@ -45,6 +64,25 @@ public abstract class Transform<R, T extends SpecificRecordBase & Record> extend
   private Counter counter;
   private SerializableConsumer<String> counterFn = v -> counter.inc();
 
+  // Per record latency, the Beam distribution is in microseconds
+  private final Distribution latencyDistribution;
+  private boolean beamLatency = true;
+  private transient LatencyRecorder latencyRecorder;
+
+  // Elements of a bundle interpreted at the same time, see #setLookupConcurrency
+  private int lookupConcurrency = 0;
+  private transient Deque<Pending<T>> pending;
+
+  // Codec of the written avro files, see #setAvroWriteSettings
+  private AvroWriteSettings avroWriteSettings;
+
+  /** Interpretation of a buffered element */
+  @AllArgsConstructor
+  private static class Pending<T> {
+    private final Instant timestamp;
+    private final CompletableFuture<Optional<T>> result;
+  }
+
   public Transform(
       Class<T> clazz, InterpretationType recordType, String counterNamespace, String counterName) {
     this.clazz = clazz;
@@ -53,13 +91,37 @@ public abstract class Transform<R, T extends SpecificRecordBase & Record> extend
     this.baseInvalidName = baseName + "_invalid";
     this.counterName = counterName;
     this.counter = Metrics.counter(counterNamespace, counterName);
+    this.latencyDistribution =
+        Metrics.distribution(counterNamespace, counterName + "LatencyMicros");
   }
 
+  /**
+   * Replaces Beam counters, used when the transform runs outside Beam. Latency then goes only to
+   * {@link StageMetrics}, as there is no Beam metrics container to report to.
+   */
   public void setCounterFn(SerializableConsumer<String> counterFn) {
     this.counterFn = counterFn;
+    this.beamLatency = false;
   }
 
-  protected InterpretationType getRecordType() {
+  /**
+   * Interprets up to lookupConcurrency elements of a bundle at the same time on {@link
+   * LookupExecutors#shared()}, so the remote lookups of transforms using key-value stores and web
+   * services overlap instead of running one after another. 0 or 1 interprets on the bundle thread.
+   */
+  public void setLookupConcurrency(int lookupConcurrency) {
+    this.lookupConcurrency = lookupConcurrency;
+  }
+
+  /**
+   * Writes avro files with the codec of this record type instead of Snappy. AvroIO has no sync
+   * interval setting, so only the codec is applied.
+   */
+  public void setAvroWriteSettings(AvroWriteSettings avroWriteSettings) {
+    this.avroWriteSettings = avroWriteSettings;
+  }
+
+  public InterpretationType getRecordType() {
     return recordType;
   }
 
@@ -146,7 +208,9 @@ public abstract class Transform<R, T extends SpecificRecordBase & Record> extend
    * @param toPath path with name to output files, like - directory/name
    */
   public AvroIO.Write<T> write(String toPath) {
-    return AvroIO.write(clazz).to(toPath).withSuffix(Pipeline.AVRO_EXTENSION).withCodec(BASE_CODEC);
+    CodecFactory codec =
+        avroWriteSettings == null ? BASE_CODEC : avroWriteSettings.codecFor(recordType.name());
+    return AvroIO.write(clazz).to(toPath).withSuffix(Pipeline.AVRO_EXTENSION).withCodec(codec);
   }
 
   /**
@@ -221,15 +285,77 @@ public abstract class Transform<R, T extends SpecificRecordBase & Record> extend
 
   @ProcessElement
   public void processElement(ProcessContext c) {
-    processElement(c.element()).ifPresent(c::output);
+    R source = c.element();
+    processWithLookups(c, () -> processElement(source));
+  }
+
+  /**
+   * Outputs the result of the interpretation, see {@link #setLookupConcurrency(int)}. Results are
+   * output in the order of the elements, from the bundle thread, the last ones when the bundle
+   * finishes. Interpretation inputs are read from files and always are in the global window.
+   */
+  protected void processWithLookups(ProcessContext c, Supplier<Optional<T>> interpretFn) {
+    if (lookupConcurrency <= 1) {
+      interpretFn.get().ifPresent(c::output);
+      return;
+    }
+    if (pending == null) {
+      pending = new ArrayDeque<>(lookupConcurrency);
+    }
+
+    // Counters and distributions are reported to the container of the bundle thread
+    MetricsContainer container = MetricsEnvironment.getCurrentContainer();
+    Supplier<Optional<T>> fn =
+        () -> {
+          try (Closeable ignored = MetricsEnvironment.scopedMetricsContainer(container)) {
+            return interpretFn.get();
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        };
+    pending.add(new Pending<>(c.timestamp(), supplyAsync(fn, LookupExecutors.shared())));
+
+    while (pending.size() >= lookupConcurrency) {
+      pending.poll().result.join().ifPresent(c::output);
+    }
+  }
+
+  @FinishBundle
+  public void finishBundle(FinishBundleContext c) {
+    while (pending != null && !pending.isEmpty()) {
+      Pending<T> p = pending.poll();
+      p.result.join().ifPresent(t -> c.output(t, p.timestamp, GlobalWindow.INSTANCE));
+    }
   }
 
   public Optional<T> processElement(R source) {
+    long start = System.nanoTime();
     Optional<T> convert = convert(source);
+    recordLatency(System.nanoTime() - start);
     convert.ifPresent(t -> incCounter());
     return convert;
   }
 
+  /** For subclasses with own processElement methods, records the latency of the interpretation */
+  protected <V> Optional<V> timed(Supplier<Optional<V>> interpretFn) {
+    long start = System.nanoTime();
+    try {
+      return interpretFn.get();
+    } finally {
+      recordLatency(System.nanoTime() - start);
+    }
+  }
+
+  private void recordLatency(long nanos) {
+    if (latencyRecorder == null) {
+      latencyRecorder = StageMetrics.timer("interpret." + baseName);
+    }
+    latencyRecorder.record(nanos);
+    if (beamLatency) {
+      latencyDistribution.update(nanos / 1_000L);
+    }
+  }
+
   public abstract Optional<T> convert(R source);
 
   public void incCounter() {
@@ -5,14 +5,27 @@ import static org.gbif.pipelines.common.PipelinesVariables.Metrics.GRSCICOLL_REC
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderRegistry;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.transforms.Combine;
+import org.apache.beam.sdk.transforms.Combine.CombineFn;
+import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.ParDo.SingleOutput;
+import org.apache.beam.sdk.transforms.View;
 import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TypeDescriptor;
 import org.gbif.kvs.KeyValueStore;
@@ -21,6 +34,8 @@ import org.gbif.pipelines.core.functions.SerializableConsumer;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
 import org.gbif.pipelines.core.interpreters.Interpretation;
 import org.gbif.pipelines.core.interpreters.core.GrscicollInterpreter;
+import org.gbif.pipelines.core.kvs.PrefetchedKeyValueStore;
+import org.gbif.pipelines.core.kvs.PrefetchedKeyValueStore.Snapshot;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
 import org.gbif.pipelines.io.avro.MetadataRecord;
 import org.gbif.pipelines.io.avro.grscicoll.GrscicollRecord;
@@ -35,6 +50,7 @@ public class GrscicollTransform extends Transform<ExtendedRecord, GrscicollRecor
   private KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse> kvStore;
 
   private PCollectionView<MetadataRecord> metadataView;
+  private PCollectionView<Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>> prefetchView;
 
   @Builder(buildMethodName = "create")
   private GrscicollTransform(
@@ -67,9 +83,19 @@ public class GrscicollTransform extends Transform<ExtendedRecord, GrscicollRecor
     return interpret();
   }
 
+  /** Interprets using the lookups of {@link #prefetch(PCollection, PCollectionView, int)} */
+  public SingleOutput<ExtendedRecord, GrscicollRecord> interpret(
+      PCollectionView<MetadataRecord> metadataView,
+      PCollectionView<Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>> prefetchView) {
+    this.prefetchView = prefetchView;
+    return interpret(metadataView);
+  }
+
   @Override
   public SingleOutput<ExtendedRecord, GrscicollRecord> interpret() {
-    return ParDo.of(this).withSideInputs(metadataView);
+    SingleOutput<ExtendedRecord, GrscicollRecord> interpret =
+        ParDo.of(this).withSideInputs(metadataView);
+    return prefetchView == null ? interpret : interpret.withSideInputs(prefetchView);
   }
 
   /** Beam @Setup initializes resources */
@@ -87,6 +113,57 @@ public class GrscicollTransform extends Transform<ExtendedRecord, GrscicollRecor
     return this;
   }
 
+  /**
+   * Dataset-level pre-pass for the Java pipelines, the distinct lookup requests of the records are
+   * resolved once before the interpretation, which then reads them from a local map. Call after
+   * {@link #init()}.
+   */
+  public GrscicollTransform prefetch(
+      Collection<ExtendedRecord> records, MetadataRecord mdr, int maxInFlight) {
+    if (kvStore == null || mdr == null) {
+      return this;
+    }
+    Set<GrscicollLookupRequest> requests =
+        records.stream()
+            .map(er -> createLookupRequest(er, mdr))
+            .flatMap(Optional::stream)
+            .collect(Collectors.toSet());
+    log.info("Prefetch {} GrSciColl lookups of {} records", requests.size(), records.size());
+    kvStore = PrefetchedKeyValueStore.prefetch(kvStore, requests, maxInFlight);
+    return this;
+  }
+
+  /**
+   * Dataset-level pre-pass for the Beam pipelines, the distinct lookup requests of the records are
+   * collected and resolved once by one worker, the interpretation gets them as a side input, see
+   * {@link #interpret(PCollectionView, PCollectionView)}.
+   */
+  public PCollectionView<Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>> prefetch(
+      PCollection<ExtendedRecord> records,
+      PCollectionView<MetadataRecord> metadataView,
+      int maxInFlight) {
+    return records
+        .apply(
+            "Create GrSciColl lookup requests",
+            ParDo.of(new LookupRequestFn(metadataView)).withSideInputs(metadataView))
+        .setCoder(SerializableCoder.of(GrscicollLookupRequest.class))
+        .apply("Distinct GrSciColl lookup requests", Combine.globally(new DistinctRequestsFn()))
+        .apply(
+            "Prefetch GrSciColl lookups", ParDo.of(new PrefetchFn(kvStoreSupplier, maxInFlight)))
+        .setCoder(
+            SerializableCoder.of(
+                new TypeDescriptor<Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>>() {}))
+        .apply("GrSciColl lookups as view", View.asSingleton());
+  }
+
+  private static Optional<GrscicollLookupRequest> createLookupRequest(
+      ExtendedRecord er, MetadataRecord mdr) {
+    if (er.getCoreTerms() == null || er.getCoreTerms().isEmpty()) {
+      return Optional.empty();
+    }
+    return GrscicollInterpreter.createLookupRequest(er, mdr);
+  }
+
   /** Beam @Teardown closes initialized resources */
   @Teardown
   public void tearDown() {
@@ -108,15 +185,23 @@ public class GrscicollTransform extends Transform<ExtendedRecord, GrscicollRecor
   @Override
   @ProcessElement
   public void processElement(ProcessContext c) {
+    // The prefetch of the dataset, the same for all bundles of the global window
+    if (prefetchView != null && kvStore != null && !(kvStore instanceof PrefetchedKeyValueStore)) {
+      kvStore = PrefetchedKeyValueStore.of(kvStore, c.sideInput(prefetchView));
+    }
     ExtendedRecord er = c.element();
-    processElement(er, c.sideInput(metadataView)).ifPresent(c::output);
+    MetadataRecord mdr = c.sideInput(metadataView);
+    processWithLookups(c, () -> processElement(er, mdr));
   }
 
   public Optional<GrscicollRecord> processElement(ExtendedRecord source, MetadataRecord mdr) {
     if (source == null) {
       return Optional.empty();
     }
+    return timed(() -> interpretRecord(source, mdr));
+  }
 
+  private Optional<GrscicollRecord> interpretRecord(ExtendedRecord source, MetadataRecord mdr) {
     return Interpretation.from(source)
         .to(GrscicollRecord.newBuilder().setCreated(Instant.now().toEpochMilli()).build())
         .when(er -> !er.getCoreTerms().isEmpty())
@@ -124,4 +209,108 @@ public class GrscicollTransform extends Transform<ExtendedRecord, GrscicollRecor
         .skipWhen(gr -> gr.getId() == null)
         .getOfNullable();
   }
+
+  /** Lookup request of a record, see {@link #prefetch(PCollection, PCollectionView, int)} */
+  @AllArgsConstructor
+  private static class LookupRequestFn extends DoFn<ExtendedRecord, GrscicollLookupRequest> {
+
+    private final PCollectionView<MetadataRecord> metadataView;
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      createLookupRequest(c.element(), c.sideInput(metadataView)).ifPresent(c::output);
+    }
+  }
+
+  /** Collects the distinct lookup requests of all records */
+  private static class DistinctRequestsFn
+      extends CombineFn<
+          GrscicollLookupRequest,
+          HashSet<GrscicollLookupRequest>,
+          HashSet<GrscicollLookupRequest>> {
+
+    @Override
+    public HashSet<GrscicollLookupRequest> createAccumulator() {
+      return new HashSet<>();
+    }
+
+    @Override
+    public HashSet<GrscicollLookupRequest> addInput(
+        HashSet<GrscicollLookupRequest> accumulator, GrscicollLookupRequest input) {
+      accumulator.add(input);
+      return accumulator;
+    }
+
+    @Override
+    public HashSet<GrscicollLookupRequest> mergeAccumulators(
+        Iterable<HashSet<GrscicollLookupRequest>> accumulators) {
+      HashSet<GrscicollLookupRequest> merged = new HashSet<>();
+      accumulators.forEach(merged::addAll);
+      return merged;
+    }
+
+    @Override
+    public HashSet<GrscicollLookupRequest> extractOutput(
+        HashSet<GrscicollLookupRequest> accumulator) {
+      return accumulator;
+    }
+
+    @Override
+    public Coder<HashSet<GrscicollLookupRequest>> getAccumulatorCoder(
+        CoderRegistry registry, Coder<GrscicollLookupRequest> inputCoder) {
+      return SerializableCoder.of(new TypeDescriptor<HashSet<GrscicollLookupRequest>>() {});
+    }
+
+    @Override
+    public Coder<HashSet<GrscicollLookupRequest>> getDefaultOutputCoder(
+        CoderRegistry registry, Coder<GrscicollLookupRequest> inputCoder) {
+      return SerializableCoder.of(new TypeDescriptor<HashSet<GrscicollLookupRequest>>() {});
+    }
+  }
+
+  /** Resolves the distinct lookup requests, without a store every request stays unresolved */
+  private static class PrefetchFn
+      extends DoFn<
+          HashSet<GrscicollLookupRequest>,
+          Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>> {
+
+    private final SerializableSupplier<
+            KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse>>
+        kvStoreSupplier;
+    private final int maxInFlight;
+    private transient KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse> kvStore;
+
+    private PrefetchFn(
+        SerializableSupplier<KeyValueStore<GrscicollLookupRequest, GrscicollLookupResponse>>
+            kvStoreSupplier,
+        int maxInFlight) {
+      this.kvStoreSupplier = kvStoreSupplier;
+      this.maxInFlight = maxInFlight;
+    }
+
+    @Setup
+    public void setup() {
+      if (kvStoreSupplier != null) {
+        kvStore = kvStoreSupplier.get();
+      }
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      Set<GrscicollLookupRequest> requests = c.element();
+      if (kvStore == null || requests.isEmpty()) {
+        c.output(Snapshot.empty());
+        return;
+      }
+      log.info("Prefetch {} GrSciColl lookups", requests.size());
+      c.output(PrefetchedKeyValueStore.prefetch(kvStore, requests, maxInFlight).getSnapshot());
+    }
+
+    @Teardown
+    public void tearDown() throws IOException {
+      if (kvStore != null) {
+        kvStore.close();
+      }
+    }
+  }
 }
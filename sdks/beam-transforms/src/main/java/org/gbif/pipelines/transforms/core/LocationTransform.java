@@ -121,11 +121,16 @@ public class LocationTransform extends Transform<ExtendedRecord, LocationRecord>
   @Override
   @ProcessElement
   public void processElement(ProcessContext c) {
-    processElement(c.element(), c.sideInput(metadataView)).ifPresent(c::output);
+    ExtendedRecord source = c.element();
+    MetadataRecord mdr = c.sideInput(metadataView);
+    processWithLookups(c, () -> processElement(source, mdr));
   }
 
   public Optional<LocationRecord> processElement(ExtendedRecord source, MetadataRecord mdr) {
+    return timed(() -> interpretRecord(source, mdr));
+  }
 
+  private Optional<LocationRecord> interpretRecord(ExtendedRecord source, MetadataRecord mdr) {
     return Interpretation.from(source)
         .to(
             er ->
@@ -5,6 +5,7 @@ import static org.gbif.pipelines.common.PipelinesVariables.Metrics.AVRO_TO_HDFS_
 import java.io.Serializable;
 import lombok.Builder;
 import lombok.NonNull;
+import org.apache.avro.file.CodecFactory;
 import org.apache.beam.sdk.io.AvroIO;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -172,11 +173,23 @@ public class OccurrenceHdfsRecordTransform implements Serializable {
    * @param toPath path with name to output files, like - directory/name
    */
   public AvroIO.Write<OccurrenceHdfsRecord> write(String toPath, Integer numShards) {
+    return write(toPath, numShards, Transform.getBaseCodec());
+  }
+
+  /**
+   * Writes {@link OccurrenceHdfsRecord} *.avro files to path, data will be split into several
+   * files
+   *
+   * @param toPath path with name to output files, like - directory/name
+   * @param codec compression codec of the files
+   */
+  public AvroIO.Write<OccurrenceHdfsRecord> write(
+      String toPath, Integer numShards, CodecFactory codec) {
     AvroIO.Write<OccurrenceHdfsRecord> write =
         AvroIO.write(OccurrenceHdfsRecord.class)
             .to(toPath)
             .withSuffix(PipelinesVariables.Pipeline.AVRO_EXTENSION)
-            .withCodec(Transform.getBaseCodec());
+            .withCodec(codec);
     return numShards == null ? write : write.withNumShards(numShards);
   }
 }
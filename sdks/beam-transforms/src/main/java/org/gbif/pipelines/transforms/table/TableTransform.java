@@ -21,6 +21,7 @@ import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TupleTag;
 import org.gbif.api.model.pipelines.InterpretationType;
 import org.gbif.pipelines.core.functions.SerializableFunction;
+import org.gbif.pipelines.core.io.AvroWriteSettings;
 import org.gbif.pipelines.core.pojo.ErIdrMdrContainer;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
 import org.gbif.pipelines.io.avro.IdentifierRecord;
@@ -51,6 +52,9 @@ public abstract class TableTransform<T extends SpecificRecordBase>
 
   @NonNull private Set<String> types;
 
+  // Codec of the written avro files, see #setAvroWriteSettings
+  private AvroWriteSettings avroWriteSettings;
+
   private final Counter counter;
 
   public TableTransform(
@@ -95,6 +99,12 @@ public abstract class TableTransform<T extends SpecificRecordBase>
     return this;
   }
 
+  /** Writes avro files with the codec of this table instead of Snappy */
+  public TableTransform<T> setAvroWriteSettings(AvroWriteSettings avroWriteSettings) {
+    this.avroWriteSettings = avroWriteSettings;
+    return this;
+  }
+
   public Optional<PCollection<KV<String, CoGbkResult>>> check(
       PCollection<KV<String, CoGbkResult>> pCollection) {
     return CheckTransforms.checkRecordType(types, recordType)
@@ -111,8 +121,10 @@ public abstract class TableTransform<T extends SpecificRecordBase>
   }
 
   public AvroIO.Write<T> write() {
+    CodecFactory codec =
+        avroWriteSettings == null ? BASE_CODEC : avroWriteSettings.codecFor(recordType.name());
     AvroIO.Write<T> write =
-        AvroIO.write(clazz).to(path).withSuffix(AVRO_EXTENSION).withCodec(BASE_CODEC);
+        AvroIO.write(clazz).to(path).withSuffix(AVRO_EXTENSION).withCodec(codec);
 
     if (numShards == null || numShards <= 0) {
       return write;
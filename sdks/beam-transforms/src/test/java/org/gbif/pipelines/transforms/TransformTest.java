@@ -0,0 +1,62 @@
+package org.gbif.pipelines.transforms;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.beam.sdk.testing.NeedsRunner;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.values.PCollection;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.gbif.pipelines.transforms.core.VerbatimTransform;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+@Category(NeedsRunner.class)
+public class TransformTest {
+
+  @Rule public final transient TestPipeline p = TestPipeline.create();
+
+  @Test
+  public void lookupConcurrencyTest() {
+
+    // State, not a multiple of the concurrency, the last elements are output by finishBundle
+    List<ExtendedRecord> records = createRecords(103);
+    VerbatimTransform transform = VerbatimTransform.create();
+    transform.setLookupConcurrency(4);
+
+    // When
+    PCollection<ExtendedRecord> result = p.apply(Create.of(records)).apply(transform.interpret());
+
+    // Should
+    PAssert.that(result).containsInAnyOrder(records);
+    p.run();
+  }
+
+  @Test
+  public void lookupConcurrencyLargerThanBundleTest() {
+
+    // State, nothing is output before the bundle finishes
+    List<ExtendedRecord> records = createRecords(3);
+    VerbatimTransform transform = VerbatimTransform.create();
+    transform.setLookupConcurrency(16);
+
+    // When
+    PCollection<ExtendedRecord> result = p.apply(Create.of(records)).apply(transform.interpret());
+
+    // Should
+    PAssert.that(result).containsInAnyOrder(records);
+    p.run();
+  }
+
+  private static List<ExtendedRecord> createRecords(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> ExtendedRecord.newBuilder().setId(Integer.toString(i)).build())
+        .collect(Collectors.toList());
+  }
+}
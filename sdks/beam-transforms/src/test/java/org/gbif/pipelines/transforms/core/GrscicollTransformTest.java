@@ -23,6 +23,7 @@ import org.gbif.dwc.terms.GbifTerm;
 import org.gbif.kvs.KeyValueStore;
 import org.gbif.kvs.grscicoll.GrscicollLookupRequest;
 import org.gbif.pipelines.core.functions.SerializableSupplier;
+import org.gbif.pipelines.core.kvs.PrefetchedKeyValueStore.Snapshot;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
 import org.gbif.pipelines.io.avro.MetadataRecord;
 import org.gbif.pipelines.io.avro.grscicoll.GrscicollRecord;
@@ -131,7 +132,43 @@ public class GrscicollTransformTest {
     p.run();
   }
 
+  @Test
+  public void whenPrefetchedThenRecordsLinked() {
+    // State
+    final String[] verbatim1 = {
+      BasisOfRecord.PRESERVED_SPECIMEN.name(), "1", INSTITUTION_CODE, "", "", COLLECTION_CODE, ""
+    };
+    final String[] verbatim2 = {
+      BasisOfRecord.PRESERVED_SPECIMEN.name(), "2", INSTITUTION_CODE, "", "", COLLECTION_CODE, ""
+    };
+
+    // When
+    PCollection<GrscicollRecord> recordCollection = transformRecords(true, verbatim1, verbatim2);
+
+    // Should
+    PAssert.that(recordCollection)
+        .satisfies(
+            r -> {
+              int count = 0;
+              for (GrscicollRecord rec : r) {
+                assertEquals(INSTITUTION_KEY.toString(), rec.getInstitutionMatch().getKey());
+                assertEquals(COLLECTION_KEY.toString(), rec.getCollectionMatch().getKey());
+                count++;
+              }
+              assertEquals(2, count);
+              return null;
+            });
+
+    // run pipeline with the options required
+    p.run();
+  }
+
   private PCollection<GrscicollRecord> transformRecords(String... verbatimRecords) {
+    return transformRecords(false, verbatimRecords);
+  }
+
+  private PCollection<GrscicollRecord> transformRecords(
+      boolean prefetch, String... verbatimRecords) {
 
     final MetadataRecord mdr =
         MetadataRecord.newBuilder()
@@ -148,13 +185,15 @@ public class GrscicollTransformTest {
 
     PCollection<ExtendedRecord> extendedRecordsKv = p.apply("er", Create.of(records));
 
-    return extendedRecordsKv.apply(
-        "grscicoll transform",
-        GrscicollTransform.builder()
-            .kvStoreSupplier(KV_STORE)
-            .metadataView(metadataView)
-            .create()
-            .interpret());
+    GrscicollTransform transform =
+        GrscicollTransform.builder().kvStoreSupplier(KV_STORE).metadataView(metadataView).create();
+    if (prefetch) {
+      PCollectionView<Snapshot<GrscicollLookupRequest, GrscicollLookupResponse>> prefetchView =
+          transform.prefetch(extendedRecordsKv, metadataView, 4);
+      return extendedRecordsKv.apply(
+          "grscicoll transform", transform.interpret(metadataView, prefetchView));
+    }
+    return extendedRecordsKv.apply("grscicoll transform", transform.interpret());
   }
 
   private List<ExtendedRecord> createExtendedRecordList(
@@ -0,0 +1,203 @@
+package org.gbif.pipelines.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.file.SeekableByteArrayInput;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.gbif.pipelines.core.io.AvroCodecs;
+
+/**
+ * Measures write speed, read speed and size of a sample of Avro records for combinations of codecs
+ * and sync intervals, and suggests the setting for {@code --avroWriteSettings}.
+ *
+ * <pre>
+ * java -cp benchmarks-shaded.jar org.gbif.pipelines.benchmarks.AvroCodecCalibration
+ *     --input=occurrence/verbatim.avro --type=VERBATIM [--records=100000] [--rounds=3]
+ *     [--codecs=snappy,zstandard-3] [--sync-intervals=262144,2097152]
+ * </pre>
+ *
+ * The best setting has the lowest sum of its size and read time relative to the smallest size and
+ * the fastest read, write time only breaks ties. Files are written once and read many times, by
+ * every downstream step.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class AvroCodecCalibration {
+
+  static final List<String> DEFAULT_CODECS =
+      Arrays.asList(
+          "null", "snappy", "deflate-1", "deflate-6", "zstandard-1", "zstandard-3", "zstandard-9");
+
+  static final List<Integer> DEFAULT_SYNC_INTERVALS =
+      Arrays.asList(64 * 1024, 256 * 1024, 1024 * 1024, 2 * 1024 * 1024, 4 * 1024 * 1024);
+
+  /** Measurements of one codec and sync interval, times are the best of all rounds */
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PACKAGE)
+  public static class Result {
+    private final String codec;
+    private final int syncInterval;
+    private final long bytes;
+    private final long writeNanos;
+    private final long readNanos;
+
+    /** Value for {@code --avroWriteSettings} */
+    public String toSetting(String recordType) {
+      return recordType + "=" + codec + "@" + syncInterval;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> params = BenchmarkRunner.parseArgs(args);
+
+    File input = new File(params.get("input"));
+    String type = params.getOrDefault("type", "RECORD_TYPE");
+    int maxRecords = Integer.parseInt(params.getOrDefault("records", "100000"));
+    int rounds = Integer.parseInt(params.getOrDefault("rounds", "3"));
+    List<String> codecs =
+        params.containsKey("codecs")
+            ? Arrays.asList(params.get("codecs").split(","))
+            : DEFAULT_CODECS;
+    List<Integer> syncIntervals =
+        params.containsKey("sync-intervals")
+            ? Arrays.stream(params.get("sync-intervals").split(","))
+                .map(Integer::valueOf)
+                .collect(Collectors.toList())
+            : DEFAULT_SYNC_INTERVALS;
+
+    List<GenericRecord> sample = new ArrayList<>();
+    Schema schema;
+    try (DataFileReader<GenericRecord> reader =
+        new DataFileReader<>(input, new GenericDatumReader<>())) {
+      schema = reader.getSchema();
+      while (reader.hasNext() && sample.size() < maxRecords) {
+        sample.add(reader.next());
+      }
+    }
+    log.info("Calibrating with {} records of {}", sample.size(), schema.getFullName());
+
+    List<Result> results = calibrate(schema, sample, codecs, syncIntervals, rounds);
+    log.info("Results\n{}", format(results, sample.size()));
+
+    Result best = best(results);
+    log.info("Best setting: --avroWriteSettings={}", best.toSetting(type));
+  }
+
+  public static List<Result> calibrate(
+      Schema schema,
+      List<? extends IndexedRecord> sample,
+      List<String> codecs,
+      List<Integer> syncIntervals,
+      int rounds)
+      throws IOException {
+    List<Result> results = new ArrayList<>();
+    for (String codec : codecs) {
+      for (int syncInterval : syncIntervals) {
+        byte[] bytes = null;
+        long writeNanos = Long.MAX_VALUE;
+        long readNanos = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+          long start = System.nanoTime();
+          bytes = write(schema, sample, codec, syncInterval);
+          writeNanos = Math.min(writeNanos, System.nanoTime() - start);
+
+          start = System.nanoTime();
+          long count = read(bytes);
+          readNanos = Math.min(readNanos, System.nanoTime() - start);
+
+          if (count != sample.size()) {
+            throw new IllegalStateException(codec + " read " + count + " of " + sample.size());
+          }
+        }
+        results.add(new Result(codec, syncInterval, bytes.length, writeNanos, readNanos));
+      }
+    }
+    return results;
+  }
+
+  /** Smallest sum of size and read time relative to the best size and read time */
+  public static Result best(List<Result> results) {
+    double minBytes = results.stream().mapToLong(Result::getBytes).min().orElse(1L);
+    double minRead = results.stream().mapToLong(Result::getReadNanos).min().orElse(1L);
+    Comparator<Result> score =
+        Comparator.comparingDouble(r -> r.getBytes() / minBytes + r.getReadNanos() / minRead);
+    return results.stream()
+        .min(score.thenComparingLong(Result::getWriteNanos))
+        .orElseThrow(() -> new IllegalArgumentException("No results"));
+  }
+
+  public static String format(List<Result> results, int records) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            Locale.ROOT,
+            "%-14s %10s %14s %10s %14s %14s%n",
+            "Codec",
+            "Sync",
+            "Bytes",
+            "B/rec",
+            "Write rec/s",
+            "Read rec/s"));
+    for (Result r : results) {
+      sb.append(
+          String.format(
+              Locale.ROOT,
+              "%-14s %10d %14d %10.1f %14.0f %14.0f%n",
+              r.codec,
+              r.syncInterval,
+              r.bytes,
+              (double) r.bytes / records,
+              records / (r.writeNanos / 1_000_000_000d),
+              records / (r.readNanos / 1_000_000_000d)));
+    }
+    return sb.toString();
+  }
+
+  private static byte[] write(
+      Schema schema, List<? extends IndexedRecord> sample, String codec, int syncInterval)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DataFileWriter<IndexedRecord> writer =
+        new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+      writer.setCodec(AvroCodecs.fromString(codec));
+      writer.setSyncInterval(syncInterval);
+      writer.create(schema, out);
+      for (IndexedRecord r : sample) {
+        writer.append(r);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static long read(byte[] bytes) throws IOException {
+    long count = 0;
+    try (DataFileReader<GenericRecord> reader =
+        new DataFileReader<>(new SeekableByteArrayInput(bytes), new GenericDatumReader<>())) {
+      GenericRecord reuse = null;
+      while (reader.hasNext()) {
+        reuse = reader.next(reuse);
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,124 @@
+package org.gbif.pipelines.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compares two JMH JSON result files, matching benchmarks by name and parameters. Scores are
+ * throughput (records per second, higher is better) and the normalised allocation rate (bytes per
+ * record, lower is better).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BaselineComparison {
+
+  private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /** One benchmark present in both files */
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Row {
+    private final String name;
+    private final double baselineScore;
+    private final double currentScore;
+    private final Double baselineAlloc;
+    private final Double currentAlloc;
+
+    /** Throughput change in percent, negative is slower */
+    public double getScoreChange() {
+      return (currentScore - baselineScore) / baselineScore * 100d;
+    }
+  }
+
+  public static List<Row> compare(Path baseline, Path current) throws IOException {
+    Map<String, JsonNode> baselineResults = read(baseline);
+    Map<String, JsonNode> currentResults = read(current);
+
+    List<Row> rows = new ArrayList<>();
+    for (Entry<String, JsonNode> e : currentResults.entrySet()) {
+      JsonNode base = baselineResults.get(e.getKey());
+      if (base != null) {
+        rows.add(
+            new Row(
+                e.getKey(),
+                base.path("primaryMetric").path("score").asDouble(),
+                e.getValue().path("primaryMetric").path("score").asDouble(),
+                alloc(base),
+                alloc(e.getValue())));
+      }
+    }
+    return rows;
+  }
+
+  /** Rows slower than the baseline by more than the given percentage */
+  public static List<Row> regressions(List<Row> rows, double maxRegressionPercent) {
+    return rows.stream()
+        .filter(r -> r.getScoreChange() < -maxRegressionPercent)
+        .collect(Collectors.toList());
+  }
+
+  public static String format(List<Row> rows) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            Locale.ROOT,
+            "%-90s %14s %14s %8s %12s %12s%n",
+            "Benchmark",
+            "Baseline/s",
+            "Current/s",
+            "Change",
+            "Base B/rec",
+            "Curr B/rec"));
+    for (Row r : rows) {
+      sb.append(
+          String.format(
+              Locale.ROOT,
+              "%-90s %14.1f %14.1f %+7.1f%% %12s %12s%n",
+              r.name,
+              r.baselineScore,
+              r.currentScore,
+              r.getScoreChange(),
+              r.baselineAlloc == null ? "-" : String.format(Locale.ROOT, "%.1f", r.baselineAlloc),
+              r.currentAlloc == null ? "-" : String.format(Locale.ROOT, "%.1f", r.currentAlloc)));
+    }
+    return sb.toString();
+  }
+
+  private static Map<String, JsonNode> read(Path path) throws IOException {
+    Map<String, JsonNode> results = new LinkedHashMap<>();
+    for (JsonNode node : MAPPER.readTree(path.toFile())) {
+      results.put(key(node), node);
+    }
+    return results;
+  }
+
+  /** Benchmark name with its parameters, e.g. SyncDataFileWriterBenchmark.append:codec=snappy */
+  private static String key(JsonNode node) {
+    StringBuilder sb = new StringBuilder(node.path("benchmark").asText());
+    Iterator<Entry<String, JsonNode>> params = node.path("params").fields();
+    while (params.hasNext()) {
+      Entry<String, JsonNode> p = params.next();
+      sb.append(':').append(p.getKey()).append('=').append(p.getValue().asText());
+    }
+    return sb.toString();
+  }
+
+  private static Double alloc(JsonNode node) {
+    JsonNode alloc = node.path("secondaryMetrics").path(ALLOC_METRIC).path("score");
+    return alloc.isMissingNode() ? null : alloc.asDouble();
+  }
+}
@@ -0,0 +1,85 @@
+package org.gbif.pipelines.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.gbif.pipelines.benchmarks.BaselineComparison.Row;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so allocation per record is reported next to records
+ * per second, and writes JMH JSON results.
+ *
+ * <pre>
+ * java -jar benchmarks-shaded.jar [--include=regex] [--result=current.json] [--quick]
+ *     [--baseline=baseline.json] [--max-regression=10]
+ * </pre>
+ *
+ * With a baseline the results are compared with it, and the exit code is 1 if a benchmark is
+ * slower than the baseline by more than --max-regression percent. Use {@code --compare-only} to
+ * compare two existing result files without running benchmarks.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BenchmarkRunner {
+
+  private static final String DEFAULT_INCLUDE = "org\\.gbif\\.pipelines\\.benchmarks\\..*";
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> params = parseArgs(args);
+
+    Path result = Paths.get(params.getOrDefault("result", "benchmarks-result.json"));
+
+    if (!params.containsKey("compare-only")) {
+      ChainedOptionsBuilder options =
+          new OptionsBuilder()
+              .include(params.getOrDefault("include", DEFAULT_INCLUDE))
+              .addProfiler(GCProfiler.class)
+              .resultFormat(ResultFormatType.JSON)
+              .result(result.toString());
+      if (params.containsKey("quick")) {
+        options.warmupIterations(1).measurementIterations(2).forks(1);
+      }
+      new Runner(options.build()).run();
+    }
+
+    String baseline = params.get("baseline");
+    if (baseline != null) {
+      List<Row> rows = BaselineComparison.compare(Paths.get(baseline), result);
+      log.info("Comparison with {}\n{}", baseline, BaselineComparison.format(rows));
+
+      double maxRegression = Double.parseDouble(params.getOrDefault("max-regression", "10"));
+      List<Row> regressions = BaselineComparison.regressions(rows, maxRegression);
+      if (!regressions.isEmpty()) {
+        log.error(
+            "{} benchmarks are slower than the baseline by more than {}%",
+            regressions.size(), maxRegression);
+        System.exit(1);
+      }
+    }
+  }
+
+  /** Parses --key=value and --flag arguments */
+  static Map<String, String> parseArgs(String[] args) {
+    Map<String, String> params = new HashMap<>();
+    for (String arg : args) {
+      String a = arg.startsWith("--") ? arg.substring(2) : arg;
+      int idx = a.indexOf('=');
+      if (idx > 0) {
+        params.put(a.substring(0, idx), a.substring(idx + 1));
+      } else {
+        params.put(a, "true");
+      }
+    }
+    return params;
+  }
+}
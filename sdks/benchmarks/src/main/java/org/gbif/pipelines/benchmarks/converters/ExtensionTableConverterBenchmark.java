@@ -0,0 +1,102 @@
+package org.gbif.pipelines.benchmarks.converters;
+
+import static org.gbif.pipelines.benchmarks.data.SyntheticRecords.CORPUS_SIZE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.gbif.api.vocabulary.Extension;
+import org.gbif.dwc.terms.DwcTerm;
+import org.gbif.dwc.terms.GbifDnaTerm;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.core.converters.DnaDerivedDataTableConverter;
+import org.gbif.pipelines.core.converters.MeasurementOrFactTableConverter;
+import org.gbif.pipelines.core.pojo.ErIdrMdrContainer;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.gbif.pipelines.io.avro.IdentifierRecord;
+import org.gbif.pipelines.io.avro.MetadataRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Records per second of the generated extension table converters, as used by the HDFS view. Every
+ * record has {@link #MEASUREMENTS} MeasurementOrFact rows and one DNA derived data row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CORPUS_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExtensionTableConverterBenchmark {
+
+  private static final int MEASUREMENTS = 8;
+
+  private List<ErIdrMdrContainer> records;
+
+  @Setup
+  public void setup() {
+    MetadataRecord mdr =
+        MetadataRecord.newBuilder()
+            .setId("1")
+            .setDatasetKey("a9c4b0c4-6a4c-4b58-8f5f-4e1e1ffb1c3a")
+            .build();
+
+    records = new ArrayList<>(CORPUS_SIZE);
+    long gbifId = 1L;
+    for (ExtendedRecord er : SyntheticRecords.create()) {
+      List<Map<String, String>> measurements = new ArrayList<>(MEASUREMENTS);
+      for (int i = 0; i < MEASUREMENTS; i++) {
+        Map<String, String> mof = new HashMap<>();
+        mof.put(DwcTerm.measurementID.qualifiedName(), er.getId() + "-" + i);
+        mof.put(DwcTerm.measurementType.qualifiedName(), "length");
+        mof.put(DwcTerm.measurementValue.qualifiedName(), String.valueOf(10 + i));
+        mof.put(DwcTerm.measurementUnit.qualifiedName(), "mm");
+        mof.put(DwcTerm.measurementDeterminedDate.qualifiedName(), "2011-05-01");
+        measurements.add(mof);
+      }
+      Map<String, String> dna = new HashMap<>();
+      dna.put(GbifDnaTerm.dna_sequence.qualifiedName(), "ccacaccttagacaaggtaacccgattagca");
+
+      Map<String, List<Map<String, String>>> extensions = new HashMap<>();
+      extensions.put(Extension.MEASUREMENT_OR_FACT.getRowType(), measurements);
+      extensions.put(Extension.DNA_DERIVED_DATA.getRowType(), Collections.singletonList(dna));
+
+      ExtendedRecord record = ExtendedRecord.newBuilder(er).setExtensions(extensions).build();
+      IdentifierRecord idr =
+          IdentifierRecord.newBuilder()
+              .setId(er.getId())
+              .setInternalId(String.valueOf(gbifId++))
+              .build();
+      records.add(ErIdrMdrContainer.create(record, idr, mdr));
+    }
+  }
+
+  @Benchmark
+  public void measurementOrFact(Blackhole bh) {
+    for (ErIdrMdrContainer c : records) {
+      bh.consume(MeasurementOrFactTableConverter.convert(c));
+    }
+  }
+
+  @Benchmark
+  public void dnaDerivedData(Blackhole bh) {
+    for (ErIdrMdrContainer c : records) {
+      bh.consume(DnaDerivedDataTableConverter.convert(c));
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package org.gbif.pipelines.benchmarks.converters;
+
+import static org.gbif.pipelines.benchmarks.data.SyntheticRecords.CORPUS_SIZE;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gbif.pipelines.benchmarks.data.InterpretedRecords;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.core.converters.OccurrenceHdfsRecordConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Records per second of {@link OccurrenceHdfsRecordConverter}, as used by the HDFS view */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CORPUS_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OccurrenceHdfsRecordConverterBenchmark {
+
+  private List<InterpretedRecords> records;
+
+  @Setup
+  public void setup() {
+    records = InterpretedRecords.create(SyntheticRecords.create());
+  }
+
+  @Benchmark
+  public void convert(Blackhole bh) {
+    for (InterpretedRecords r : records) {
+      bh.consume(
+          OccurrenceHdfsRecordConverter.builder()
+              .extendedRecord(r.getVerbatim())
+              .metadataRecord(r.getMetadata())
+              .identifierRecord(r.getIdentifier())
+              .clusteringRecord(r.getClustering())
+              .basicRecord(r.getBasic())
+              .temporalRecord(r.getTemporal())
+              .locationRecord(r.getLocation())
+              .multiTaxonRecord(r.getMultiTaxon())
+              .grscicollRecord(r.getGrscicoll())
+              .multimediaRecord(r.getMultimedia())
+              .dnaDerivedDataRecord(r.getDnaDerivedData())
+              .build()
+              .convert());
+    }
+  }
+}
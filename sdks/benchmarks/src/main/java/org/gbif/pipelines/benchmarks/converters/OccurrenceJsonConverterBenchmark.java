@@ -0,0 +1,71 @@
+package org.gbif.pipelines.benchmarks.converters;
+
+import static org.gbif.pipelines.benchmarks.data.SyntheticRecords.CORPUS_SIZE;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gbif.pipelines.benchmarks.data.InterpretedRecords;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.core.converters.OccurrenceJsonConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Records per second of {@link OccurrenceJsonConverter}, as used to build ES documents */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CORPUS_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OccurrenceJsonConverterBenchmark {
+
+  private List<InterpretedRecords> records;
+
+  @Setup
+  public void setup() {
+    records = InterpretedRecords.create(SyntheticRecords.create());
+  }
+
+  @Benchmark
+  public void convert(Blackhole bh) {
+    for (InterpretedRecords r : records) {
+      bh.consume(converter(r).convert());
+    }
+  }
+
+  @Benchmark
+  public void toJsonWithNulls(Blackhole bh) {
+    for (InterpretedRecords r : records) {
+      bh.consume(converter(r).toJsonWithNulls());
+    }
+  }
+
+  private static OccurrenceJsonConverter converter(InterpretedRecords r) {
+    return OccurrenceJsonConverter.builder()
+        .metadata(r.getMetadata())
+        .identifier(r.getIdentifier())
+        .clustering(r.getClustering())
+        .basic(r.getBasic())
+        .temporal(r.getTemporal())
+        .location(r.getLocation())
+        .multiTaxon(r.getMultiTaxon())
+        .grscicoll(r.getGrscicoll())
+        .multimedia(r.getMultimedia())
+        .dnaDerivedData(r.getDnaDerivedData())
+        .verbatim(r.getVerbatim())
+        .indexLegacyTaxonomy(true)
+        .indexMultiTaxonomy(true)
+        .build();
+  }
+}
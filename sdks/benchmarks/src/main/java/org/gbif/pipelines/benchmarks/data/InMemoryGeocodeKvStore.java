@@ -0,0 +1,50 @@
+package org.gbif.pipelines.benchmarks.data;
+
+import java.util.Collections;
+import org.gbif.api.vocabulary.Country;
+import org.gbif.kvs.KeyValueStore;
+import org.gbif.kvs.geocode.GeocodeRequest;
+import org.gbif.rest.client.geocode.GeocodeResponse;
+import org.gbif.rest.client.geocode.GeocodeResponse.Location;
+
+/**
+ * Geocode stand-in answering from memory, so benchmarks measure the interpretation and not the
+ * network. Every 10° cell is assigned a country, neighbouring cells usually differ, which produces
+ * the usual mix of matching, mismatching and derived countries.
+ */
+public class InMemoryGeocodeKvStore implements KeyValueStore<GeocodeRequest, GeocodeResponse> {
+
+  private static final Country[] COUNTRIES = {
+    Country.DENMARK,
+    Country.SPAIN,
+    Country.BRAZIL,
+    Country.UNITED_STATES,
+    Country.AUSTRALIA,
+    Country.KENYA,
+    Country.INDONESIA
+  };
+
+  private final GeocodeResponse[] responses = new GeocodeResponse[COUNTRIES.length];
+
+  public InMemoryGeocodeKvStore() {
+    for (int i = 0; i < COUNTRIES.length; i++) {
+      Location location = new Location();
+      location.setType("Political");
+      location.setDistance(0.0d);
+      location.setIsoCountryCode2Digit(COUNTRIES[i].getIso2LetterCode());
+      responses[i] = new GeocodeResponse(Collections.singletonList(location));
+    }
+  }
+
+  @Override
+  public GeocodeResponse get(GeocodeRequest request) {
+    int row = (int) Math.floor(request.getLat() / 10d);
+    int col = (int) Math.floor(request.getLng() / 10d);
+    return responses[Math.floorMod(row * 37 + col, responses.length)];
+  }
+
+  @Override
+  public void close() {
+    // Nothing to close
+  }
+}
@@ -0,0 +1,89 @@
+package org.gbif.pipelines.benchmarks.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.gbif.pipelines.core.interpreters.core.LocationInterpreter;
+import org.gbif.pipelines.core.interpreters.core.TemporalInterpreter;
+import org.gbif.pipelines.core.parsers.location.GeocodeKvStore;
+import org.gbif.pipelines.io.avro.BasicRecord;
+import org.gbif.pipelines.io.avro.ClusteringRecord;
+import org.gbif.pipelines.io.avro.DnaDerivedDataRecord;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.gbif.pipelines.io.avro.GrscicollRecord;
+import org.gbif.pipelines.io.avro.IdentifierRecord;
+import org.gbif.pipelines.io.avro.LocationRecord;
+import org.gbif.pipelines.io.avro.MetadataRecord;
+import org.gbif.pipelines.io.avro.MultiTaxonRecord;
+import org.gbif.pipelines.io.avro.MultimediaRecord;
+import org.gbif.pipelines.io.avro.TemporalRecord;
+
+/**
+ * All interpreted records of one occurrence, as joined before the JSON and HDFS conversions.
+ * Location and temporal records are real interpretations of the {@link SyntheticRecords}, the
+ * others only carry ids, which is enough for the converters.
+ */
+@Getter
+@AllArgsConstructor
+public class InterpretedRecords {
+
+  private final ExtendedRecord verbatim;
+  private final MetadataRecord metadata;
+  private final IdentifierRecord identifier;
+  private final ClusteringRecord clustering;
+  private final BasicRecord basic;
+  private final TemporalRecord temporal;
+  private final LocationRecord location;
+  private final MultiTaxonRecord multiTaxon;
+  private final GrscicollRecord grscicoll;
+  private final MultimediaRecord multimedia;
+  private final DnaDerivedDataRecord dnaDerivedData;
+
+  public static List<InterpretedRecords> create(List<ExtendedRecord> records) {
+    MetadataRecord mdr =
+        MetadataRecord.newBuilder()
+            .setId("1")
+            .setDatasetKey("a9c4b0c4-6a4c-4b58-8f5f-4e1e1ffb1c3a")
+            .setDatasetPublishingCountry("DK")
+            .build();
+    BiConsumer<ExtendedRecord, LocationRecord> locationFn =
+        LocationInterpreter.interpretCountryAndCoordinates(
+            GeocodeKvStore.create(new InMemoryGeocodeKvStore()), mdr);
+    TemporalInterpreter temporalInterpreter = TemporalInterpreter.builder().create();
+
+    List<InterpretedRecords> result = new ArrayList<>(records.size());
+    long gbifId = 1L;
+    for (ExtendedRecord er : records) {
+      String id = er.getId();
+
+      LocationRecord lr = LocationRecord.newBuilder().setId(id).build();
+      locationFn.accept(er, lr);
+      LocationInterpreter.interpretCoordinateUncertaintyInMeters(er, lr);
+      LocationInterpreter.interpretElevation(er, lr);
+
+      TemporalRecord tr = TemporalRecord.newBuilder().setId(id).build();
+      temporalInterpreter.interpretTemporal(er, tr);
+      temporalInterpreter.interpretModified(er, tr);
+
+      result.add(
+          new InterpretedRecords(
+              er,
+              mdr,
+              IdentifierRecord.newBuilder()
+                  .setId(id)
+                  .setInternalId(String.valueOf(gbifId++))
+                  .build(),
+              ClusteringRecord.newBuilder().setId(id).build(),
+              BasicRecord.newBuilder().setId(id).build(),
+              tr,
+              lr,
+              MultiTaxonRecord.newBuilder().setId(id).build(),
+              GrscicollRecord.newBuilder().setId(id).build(),
+              MultimediaRecord.newBuilder().setId(id).build(),
+              DnaDerivedDataRecord.newBuilder().setId(id).build()));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,163 @@
+package org.gbif.pipelines.benchmarks.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.gbif.dwc.terms.DcTerm;
+import org.gbif.dwc.terms.DwcTerm;
+import org.gbif.dwc.terms.Term;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+
+/**
+ * Deterministic corpus of {@link ExtendedRecord}s resembling a typical occurrence dataset: mixed
+ * date formats, coordinates with varying precision, empty and missing terms and a multimedia
+ * extension on some records. The same seed always produces the same corpus, so results of
+ * different runs are comparable.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SyntheticRecords {
+
+  /** Records processed by one benchmark invocation, results are reported per record */
+  public static final int CORPUS_SIZE = 10_000;
+
+  private static final long SEED = 42L;
+
+  private static final String[] BASIS_OF_RECORD = {
+    "HumanObservation", "PreservedSpecimen", "MachineObservation", "Occurrence", "observation"
+  };
+  private static final String[] NAMES = {
+    "Puma concolor (Linnaeus, 1771)",
+    "Quercus robur L.",
+    "Betula pubescens Ehrh.",
+    "Calamagrostis canescens (Weber) Roth",
+    "Turdus merula Linnaeus, 1758",
+    "Abies alba Mill."
+  };
+  private static final String[] COUNTRIES = {"Denmark", "DK", "Brasil", "", "Spain", "ES"};
+  private static final String[] DATUMS = {"WGS84", "EPSG:4326", "", "NAD27", "unknown"};
+
+  public static List<ExtendedRecord> create() {
+    return create(CORPUS_SIZE);
+  }
+
+  public static List<ExtendedRecord> create(int size) {
+    Random random = new Random(SEED);
+    List<ExtendedRecord> records = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      records.add(createRecord(random, i));
+    }
+    return records;
+  }
+
+  private static ExtendedRecord createRecord(Random random, int index) {
+    String id = "urn:catalog:BENCH:" + index;
+    Map<String, String> core = new HashMap<>();
+
+    core.put(DwcTerm.occurrenceID.qualifiedName(), id);
+    core.put(DwcTerm.institutionCode.qualifiedName(), "BENCH");
+    core.put(DwcTerm.collectionCode.qualifiedName(), "C" + (index % 7));
+    core.put(DwcTerm.catalogNumber.qualifiedName(), String.valueOf(index));
+    core.put(DwcTerm.basisOfRecord.qualifiedName(), pick(random, BASIS_OF_RECORD));
+    core.put(DwcTerm.scientificName.qualifiedName(), pick(random, NAMES));
+    core.put(DwcTerm.recordedBy.qualifiedName(), "Collector " + random.nextInt(50));
+    core.put(DwcTerm.locality.qualifiedName(), "Locality " + random.nextInt(1_000));
+    putOptional(random, core, DwcTerm.country, pick(random, COUNTRIES));
+    putOptional(random, core, DwcTerm.geodeticDatum, pick(random, DATUMS));
+
+    // Coordinates, some with low precision and some missing
+    if (random.nextInt(10) > 0) {
+      double lat = -60d + random.nextDouble() * 130d;
+      double lng = -180d + random.nextDouble() * 360d;
+      int decimals = 1 + random.nextInt(6);
+      core.put(DwcTerm.decimalLatitude.qualifiedName(), format(lat, decimals));
+      core.put(DwcTerm.decimalLongitude.qualifiedName(), format(lng, decimals));
+      String uncertainty = String.valueOf(random.nextInt(5_000));
+      putOptional(random, core, DwcTerm.coordinateUncertaintyInMeters, uncertainty);
+    }
+
+    String elevation = String.valueOf(random.nextInt(3_000));
+    putOptional(random, core, DwcTerm.minimumElevationInMeters, elevation);
+    putOptional(random, core, DwcTerm.maximumElevationInMeters, random.nextInt(3_000) + "m");
+    putOptional(random, core, DwcTerm.minimumDepthInMeters, String.valueOf(random.nextInt(100)));
+
+    // Dates in different formats, as published
+    int year = 1850 + random.nextInt(170);
+    int month = 1 + random.nextInt(12);
+    int day = 1 + random.nextInt(28);
+    switch (random.nextInt(5)) {
+      case 0:
+        core.put(
+            DwcTerm.eventDate.qualifiedName(),
+            String.format(Locale.ROOT, "%04d-%02d-%02d", year, month, day));
+        break;
+      case 1:
+        core.put(
+            DwcTerm.eventDate.qualifiedName(),
+            String.format(
+                Locale.ROOT, "%04d-%02d-%02d/%04d-%02d-%02d", year, month, 1, year, month, day));
+        break;
+      case 2:
+        core.put(
+            DwcTerm.eventDate.qualifiedName(),
+            String.format(Locale.ROOT, "%02d/%02d/%04d", day, month, year));
+        break;
+      case 3:
+        core.put(DwcTerm.year.qualifiedName(), String.valueOf(year));
+        core.put(DwcTerm.month.qualifiedName(), String.valueOf(month));
+        core.put(DwcTerm.day.qualifiedName(), String.valueOf(day));
+        break;
+      default:
+        core.put(
+            DwcTerm.eventDate.qualifiedName(),
+            String.format(Locale.ROOT, "%04d-%02d-%02dT10:15:00Z", year, month, day));
+        core.put(DwcTerm.year.qualifiedName(), String.valueOf(year));
+    }
+    putOptional(
+        random,
+        core,
+        DcTerm.modified,
+        String.format(Locale.ROOT, "20%02d-%02d-%02d", random.nextInt(24), month, day));
+    putOptional(random, core, DwcTerm.dateIdentified, String.valueOf(year + 1));
+
+    Map<String, List<Map<String, String>>> extensions = Collections.emptyMap();
+    if (random.nextInt(4) == 0) {
+      Map<String, String> media = new HashMap<>();
+      media.put(DcTerm.identifier.qualifiedName(), "https://example.org/media/" + index + ".jpg");
+      media.put(DcTerm.format.qualifiedName(), "image/jpeg");
+      media.put(DcTerm.license.qualifiedName(), "CC-BY 4.0");
+      extensions =
+          Collections.singletonMap(
+              "http://rs.gbif.org/terms/1.0/Multimedia", Collections.singletonList(media));
+    }
+
+    return ExtendedRecord.newBuilder()
+        .setId(id)
+        .setCoreRowType(DwcTerm.Occurrence.qualifiedName())
+        .setCoreTerms(core)
+        .setExtensions(extensions)
+        .build();
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  /** Three out of four records have the term, some of them with an empty value */
+  private static void putOptional(
+      Random random, Map<String, String> core, Term term, String value) {
+    int r = random.nextInt(4);
+    if (r < 3) {
+      core.put(term.qualifiedName(), r == 0 ? "" : value);
+    }
+  }
+
+  private static String format(double value, int decimals) {
+    return String.format(Locale.ROOT, "%." + decimals + "f", value);
+  }
+}
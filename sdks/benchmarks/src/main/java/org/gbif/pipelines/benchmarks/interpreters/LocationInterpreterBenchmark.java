@@ -0,0 +1,80 @@
+package org.gbif.pipelines.benchmarks.interpreters;
+
+import static org.gbif.pipelines.benchmarks.data.SyntheticRecords.CORPUS_SIZE;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.gbif.pipelines.benchmarks.data.InMemoryGeocodeKvStore;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.core.interpreters.core.LocationInterpreter;
+import org.gbif.pipelines.core.parsers.location.GeocodeKvStore;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.gbif.pipelines.io.avro.LocationRecord;
+import org.gbif.pipelines.io.avro.MetadataRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Records per second of the {@link LocationInterpreter} steps used by the location transform */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CORPUS_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LocationInterpreterBenchmark {
+
+  private List<ExtendedRecord> records;
+  private BiConsumer<ExtendedRecord, LocationRecord> countryAndCoordinatesFn;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.create();
+    MetadataRecord mdr =
+        MetadataRecord.newBuilder().setId("1").setDatasetPublishingCountry("DK").build();
+    countryAndCoordinatesFn =
+        LocationInterpreter.interpretCountryAndCoordinates(
+            GeocodeKvStore.create(new InMemoryGeocodeKvStore()), mdr);
+  }
+
+  @Benchmark
+  public void countryAndCoordinates(Blackhole bh) {
+    for (ExtendedRecord er : records) {
+      LocationRecord lr = LocationRecord.newBuilder().setId(er.getId()).build();
+      countryAndCoordinatesFn.accept(er, lr);
+      bh.consume(lr);
+    }
+  }
+
+  @Benchmark
+  public void allSteps(Blackhole bh) {
+    for (ExtendedRecord er : records) {
+      LocationRecord lr = LocationRecord.newBuilder().setId(er.getId()).build();
+      countryAndCoordinatesFn.accept(er, lr);
+      LocationInterpreter.interpretMinimumElevationInMeters(er, lr);
+      LocationInterpreter.interpretMaximumElevationInMeters(er, lr);
+      LocationInterpreter.interpretElevation(er, lr);
+      LocationInterpreter.interpretMinimumDepthInMeters(er, lr);
+      LocationInterpreter.interpretMaximumDepthInMeters(er, lr);
+      LocationInterpreter.interpretDepth(er, lr);
+      LocationInterpreter.interpretCoordinateUncertaintyInMeters(er, lr);
+      LocationInterpreter.interpretCoordinatePrecision(er, lr);
+      LocationInterpreter.interpretLocality(er, lr);
+      LocationInterpreter.interpretStateProvince(er, lr);
+      LocationInterpreter.interpretWaterBody(er, lr);
+      LocationInterpreter.interpretGbifRegion(lr);
+      bh.consume(lr);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package org.gbif.pipelines.benchmarks.interpreters;
+
+import static org.gbif.pipelines.benchmarks.data.SyntheticRecords.CORPUS_SIZE;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.core.interpreters.core.TemporalInterpreter;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.gbif.pipelines.io.avro.TemporalRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Records per second of the {@link TemporalInterpreter} steps used by the temporal transform */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CORPUS_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TemporalInterpreterBenchmark {
+
+  private List<ExtendedRecord> records;
+  private TemporalInterpreter interpreter;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.create();
+    interpreter = TemporalInterpreter.builder().create();
+  }
+
+  @Benchmark
+  public void temporal(Blackhole bh) {
+    for (ExtendedRecord er : records) {
+      TemporalRecord tr = TemporalRecord.newBuilder().setId(er.getId()).build();
+      interpreter.interpretTemporal(er, tr);
+      bh.consume(tr);
+    }
+  }
+
+  @Benchmark
+  public void allSteps(Blackhole bh) {
+    for (ExtendedRecord er : records) {
+      TemporalRecord tr = TemporalRecord.newBuilder().setId(er.getId()).build();
+      interpreter.interpretTemporal(er, tr);
+      interpreter.interpretModified(er, tr);
+      interpreter.interpretDateIdentified(er, tr);
+      bh.consume(tr);
+    }
+  }
+}
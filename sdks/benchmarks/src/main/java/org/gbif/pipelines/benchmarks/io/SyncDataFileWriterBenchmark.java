@@ -0,0 +1,84 @@
+package org.gbif.pipelines.benchmarks.io;
+
+import static org.gbif.pipelines.benchmarks.data.SyntheticRecords.CORPUS_SIZE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.core.io.SyncDataFileWriter;
+import org.gbif.pipelines.core.io.SyncDataFileWriterBuilder;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Records per second of writing {@link ExtendedRecord}s with {@link SyncDataFileWriter}, the same
+ * way the DwC-A and XML converters write verbatim avro files. Output is discarded, so only
+ * serialization and compression are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CORPUS_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SyncDataFileWriterBenchmark {
+
+  @Param({"null", "snappy", "deflate", "zstandard-3"})
+  public String codec;
+
+  private List<ExtendedRecord> records;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.create();
+  }
+
+  @Benchmark
+  public void append(Blackhole bh) throws IOException {
+    CountingOutputStream out = new CountingOutputStream();
+    try (SyncDataFileWriter<ExtendedRecord> writer =
+        SyncDataFileWriterBuilder.builder()
+            .schema(ExtendedRecord.getClassSchema())
+            .codec(codec)
+            .outputStream(out)
+            .syncInterval(2 * 1024 * 1024)
+            .build()
+            .createSyncDataFileWriter()) {
+      for (ExtendedRecord er : records) {
+        writer.append(er);
+      }
+    }
+    bh.consume(out.count);
+  }
+
+  /** Discards the data, keeping the size so the JIT can't drop the writes */
+  private static class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
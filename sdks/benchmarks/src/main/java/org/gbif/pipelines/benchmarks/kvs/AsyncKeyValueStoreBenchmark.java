@@ -0,0 +1,83 @@
+package org.gbif.pipelines.benchmarks.kvs;
+
+import static org.gbif.pipelines.benchmarks.kvs.AsyncKeyValueStoreBenchmark.LOOKUPS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.gbif.kvs.KeyValueStore;
+import org.gbif.pipelines.core.kvs.AsyncKeyValueStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups per second against a store that answers after 1ms, like a geocode or name match call
+ * that misses the caches. Compares one lookup after another with {@link AsyncKeyValueStore} and
+ * different limits of lookups in flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(LOOKUPS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class AsyncKeyValueStoreBenchmark {
+
+  static final int LOOKUPS = 256;
+
+  private static final long LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+  @Param({"8", "32", "128"})
+  public int maxInFlight;
+
+  private final KeyValueStore<String, String> kvStore =
+      new KeyValueStore<String, String>() {
+        @Override
+        public String get(String key) {
+          LockSupport.parkNanos(LATENCY_NANOS);
+          return key;
+        }
+
+        @Override
+        public void close() {
+          // Nothing to close
+        }
+      };
+
+  private AsyncKeyValueStore<String, String> asyncKvStore;
+  private List<String> keys;
+
+  @Setup
+  public void setup() {
+    asyncKvStore = AsyncKeyValueStore.wrap(kvStore, maxInFlight);
+    keys = new ArrayList<>(LOOKUPS);
+    for (int i = 0; i < LOOKUPS; i++) {
+      keys.add("key-" + i);
+    }
+  }
+
+  @Benchmark
+  public void sequential(Blackhole bh) {
+    for (String key : keys) {
+      bh.consume(kvStore.get(key));
+    }
+  }
+
+  @Benchmark
+  public void getAll(Blackhole bh) {
+    bh.consume(asyncKvStore.getAll(keys));
+  }
+}
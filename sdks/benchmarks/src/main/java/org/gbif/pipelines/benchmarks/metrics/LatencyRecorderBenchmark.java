@@ -0,0 +1,50 @@
+package org.gbif.pipelines.benchmarks.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.gbif.pipelines.core.metrics.LatencyRecorder;
+import org.gbif.pipelines.core.metrics.StageMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost per record of timing a step with {@link LatencyRecorder}, two {@link System#nanoTime()}
+ * calls and a histogram update. Compare with the per-record time of the interpreter benchmarks, it
+ * has to stay under 1% of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LatencyRecorderBenchmark {
+
+  private final LatencyRecorder recorder = StageMetrics.timer("benchmark");
+
+  @Benchmark
+  public void record() {
+    long start = System.nanoTime();
+    recorder.record(System.nanoTime() - start);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void recordContended() {
+    long start = System.nanoTime();
+    recorder.record(System.nanoTime() - start);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void counterContended() {
+    StageMetrics.counter("benchmark").increment();
+  }
+}
@@ -0,0 +1,60 @@
+package org.gbif.pipelines.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.gbif.pipelines.benchmarks.AvroCodecCalibration.Result;
+import org.gbif.pipelines.benchmarks.data.SyntheticRecords;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.junit.Test;
+
+public class AvroCodecCalibrationTest {
+
+  @Test
+  public void calibrateTest() throws IOException {
+    // State
+    List<ExtendedRecord> sample = SyntheticRecords.create(500);
+
+    // When
+    List<Result> results =
+        AvroCodecCalibration.calibrate(
+            ExtendedRecord.getClassSchema(),
+            sample,
+            Arrays.asList("null", "deflate-6", "zstandard-3"),
+            Collections.singletonList(64 * 1024),
+            1);
+
+    // Should
+    assertEquals(3, results.size());
+    Result uncompressed = results.get(0);
+    assertTrue(results.get(1).getBytes() < uncompressed.getBytes());
+    assertTrue(results.get(2).getBytes() < uncompressed.getBytes());
+    assertTrue(results.stream().allMatch(r -> r.getReadNanos() > 0 && r.getWriteNanos() > 0));
+  }
+
+  @Test
+  public void bestTest() {
+    // State
+    List<Result> results =
+        Arrays.asList(
+            result("null", 1000L, 10L, 10L),
+            result("snappy", 500L, 20L, 12L),
+            result("zstandard-3", 300L, 40L, 14L),
+            result("zstandard-9", 290L, 400L, 16L));
+
+    // When
+    Result best = AvroCodecCalibration.best(results);
+
+    // Should
+    assertEquals("zstandard-3", best.getCodec());
+    assertEquals("VERBATIM=zstandard-3@65536", best.toSetting("VERBATIM"));
+  }
+
+  private static Result result(String codec, long bytes, long writeNanos, long readNanos) {
+    return new Result(codec, 64 * 1024, bytes, writeNanos, readNanos);
+  }
+}
@@ -0,0 +1,83 @@
+package org.gbif.pipelines.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.gbif.pipelines.benchmarks.BaselineComparison.Row;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BaselineComparisonTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void compareTest() throws IOException {
+    // State
+    Path baseline =
+        write(
+            "baseline.json",
+            "["
+                + result("a.Json.convert", null, 1000d, 2048d)
+                + ","
+                + result("a.Writer.append", "snappy", 500d, null)
+                + ","
+                + result("a.Writer.append", "deflate", 300d, null)
+                + "]");
+    Path current =
+        write(
+            "current.json",
+            "["
+                + result("a.Json.convert", null, 1200d, 1024d)
+                + ","
+                + result("a.Writer.append", "snappy", 400d, null)
+                + ","
+                + result("a.New.bench", null, 10d, null)
+                + "]");
+
+    // When
+    List<Row> rows = BaselineComparison.compare(baseline, current);
+    List<Row> regressions = BaselineComparison.regressions(rows, 10d);
+
+    // Should
+    assertEquals(2, rows.size());
+
+    Row json = rows.get(0);
+    assertEquals("a.Json.convert", json.getName());
+    assertEquals(20d, json.getScoreChange(), 0.001d);
+    assertEquals(2048d, json.getBaselineAlloc(), 0.001d);
+    assertEquals(1024d, json.getCurrentAlloc(), 0.001d);
+
+    Row writer = rows.get(1);
+    assertEquals("a.Writer.append:codec=snappy", writer.getName());
+    assertEquals(-20d, writer.getScoreChange(), 0.001d);
+    assertNull(writer.getCurrentAlloc());
+
+    assertEquals(1, regressions.size());
+    assertEquals("a.Writer.append:codec=snappy", regressions.get(0).getName());
+  }
+
+  private Path write(String name, String json) throws IOException {
+    Path path = folder.getRoot().toPath().resolve(name);
+    Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+    return path;
+  }
+
+  private static String result(String name, String codec, double score, Double alloc) {
+    return "{\"benchmark\":\""
+        + name
+        + "\","
+        + (codec == null ? "" : "\"params\":{\"codec\":\"" + codec + "\"},")
+        + "\"primaryMetric\":{\"score\":"
+        + score
+        + ",\"scoreUnit\":\"ops/s\"},\"secondaryMetrics\":{"
+        + (alloc == null ? "" : "\"gc.alloc.rate.norm\":{\"score\":" + alloc + "}")
+        + "}}";
+  }
+}
@@ -35,6 +35,8 @@ public class KvConfig implements Serializable {
 
   private LoaderRetryConfig loaderRetryConfig;
 
+  private SharedCacheConfig sharedCache;
+
   @Data
   @NoArgsConstructor
   @JsonIgnoreProperties(ignoreUnknown = true)
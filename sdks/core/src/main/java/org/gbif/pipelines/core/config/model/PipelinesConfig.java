@@ -22,6 +22,13 @@ public class PipelinesConfig implements Serializable {
 
   private String imageCachePath = "bitmap/bitmap.png";
 
+  /**
+   * Optional multi-resolution tile pyramid generated from the same layers as the image cache. When
+   * set it is used instead of {@link #imageCachePath}, so fewer coordinates fall back to the KV
+   * store.
+   */
+  private String imageCachePyramidPath;
+
   private KvConfig nameUsageMatch;
 
   private ChecklistKvConfig nameUsageMatchingService;
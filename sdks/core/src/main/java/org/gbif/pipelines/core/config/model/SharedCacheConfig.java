@@ -0,0 +1,27 @@
+package org.gbif.pipelines.core.config.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Memory-mapped cache shared by all workers on a host, see SharedKeyValueStore */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SharedCacheConfig implements Serializable {
+
+  private static final long serialVersionUID = -3218829478231440557L;
+
+  // Local directory of the cache files, /dev/shm keeps them in memory
+  private String path;
+
+  // Size of a cache file
+  private long sizeMb = 256L;
+
+  // Size of an entry, larger entries are not cached
+  private int slotBytes = 2048;
+
+  // Entries written by earlier runs are ignored after this time
+  private long expiryTimeInSeconds = 3_600L;
+}
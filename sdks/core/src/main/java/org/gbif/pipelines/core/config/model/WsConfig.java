@@ -28,4 +28,7 @@ public final class WsConfig implements Serializable {
 
   // Retry configuration
   private RetryConfig retryConfig = new RetryConfig();
+
+  // Memory-mapped cache shared by all workers on a host, disabled if not set
+  private SharedCacheConfig sharedCache;
 }
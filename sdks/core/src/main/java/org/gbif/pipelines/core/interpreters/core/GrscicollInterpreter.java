@@ -7,6 +7,7 @@ import static org.gbif.pipelines.core.utils.ModelUtils.extractNullAwareValue;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import lombok.AccessLevel;
@@ -40,35 +41,15 @@ public class GrscicollInterpreter {
 
       checkNullOrEmpty(er);
 
-      if (!isSpecimenRecord(er)) {
-        log.debug(
-            "Skipped GrSciColl Lookup for record {} because it's not an specimen record",
-            er.getId());
-        return;
-      }
-
-      GrscicollLookupRequest lookupRequest =
-          GrscicollLookupRequest.builder()
-              .withInstitutionId(extractNullAwareValue(er, DwcTerm.institutionID))
-              .withInstitutionCode(extractNullAwareValue(er, DwcTerm.institutionCode))
-              .withOwnerInstitutionCode(extractNullAwareValue(er, DwcTerm.ownerInstitutionCode))
-              .withCollectionId(extractNullAwareValue(er, DwcTerm.collectionID))
-              .withCollectionCode(extractNullAwareValue(er, DwcTerm.collectionCode))
-              .withDatasetKey(mdr.getDatasetKey())
-              .withCountry(mdr.getDatasetPublishingCountry())
-              .build();
-
-      if (isEmptyRequest(lookupRequest)) {
-        // skip the call
-        log.debug(
-            "Skipped GrSciColl Lookup for record {} due to missing collections fields", er.getId());
+      Optional<GrscicollLookupRequest> lookupRequest = createLookupRequest(er, mdr);
+      if (!lookupRequest.isPresent()) {
         return;
       }
 
       GrscicollLookupResponse lookupResponse = null;
 
       try {
-        lookupResponse = kvStore.get(lookupRequest);
+        lookupResponse = kvStore.get(lookupRequest.get());
       } catch (Exception ex) {
         log.error("Error calling the GrSciColl lookup ws", ex);
       }
@@ -117,6 +98,40 @@ public class GrscicollInterpreter {
     };
   }
 
+  /**
+   * Lookup request of a record, the same for all records of a dataset with the same collection
+   * fields.
+   *
+   * @return empty if the record is not a specimen or has no collection fields
+   */
+  public static Optional<GrscicollLookupRequest> createLookupRequest(
+      ExtendedRecord er, MetadataRecord mdr) {
+    if (!isSpecimenRecord(er)) {
+      log.debug(
+          "Skipped GrSciColl Lookup for record {} because it's not an specimen record", er.getId());
+      return Optional.empty();
+    }
+
+    GrscicollLookupRequest lookupRequest =
+        GrscicollLookupRequest.builder()
+            .withInstitutionId(extractNullAwareValue(er, DwcTerm.institutionID))
+            .withInstitutionCode(extractNullAwareValue(er, DwcTerm.institutionCode))
+            .withOwnerInstitutionCode(extractNullAwareValue(er, DwcTerm.ownerInstitutionCode))
+            .withCollectionId(extractNullAwareValue(er, DwcTerm.collectionID))
+            .withCollectionCode(extractNullAwareValue(er, DwcTerm.collectionCode))
+            .withDatasetKey(mdr.getDatasetKey())
+            .withCountry(mdr.getDatasetPublishingCountry())
+            .build();
+
+    if (isEmptyRequest(lookupRequest)) {
+      // skip the call
+      log.debug(
+          "Skipped GrSciColl Lookup for record {} due to missing collections fields", er.getId());
+      return Optional.empty();
+    }
+    return Optional.of(lookupRequest);
+  }
+
   private static boolean isSpecimenRecord(ExtendedRecord er) {
 
     Function<ParseResult<BasisOfRecord>, BasisOfRecord> fn =
@@ -0,0 +1,42 @@
+package org.gbif.pipelines.core.io;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+
+/** Avro codecs by name, with an optional compression level */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AvroCodecs {
+
+  private static final String ZSTD = "zstd";
+
+  /**
+   * Creates a codec from its Avro name, optionally followed by a compression level: "snappy",
+   * "deflate-6", "zstandard-3" or "xz-6". "zstd" is accepted as a short name for "zstandard".
+   */
+  public static CodecFactory fromString(String codec) {
+    int idx = codec.lastIndexOf('-');
+    if (idx < 0) {
+      return CodecFactory.fromString(name(codec));
+    }
+
+    String name = name(codec.substring(0, idx));
+    int level = Integer.parseInt(codec.substring(idx + 1));
+    switch (name) {
+      case DataFileConstants.DEFLATE_CODEC:
+        return CodecFactory.deflateCodec(level);
+      case DataFileConstants.ZSTANDARD_CODEC:
+        return CodecFactory.zstandardCodec(level);
+      case DataFileConstants.XZ_CODEC:
+        return CodecFactory.xzCodec(level);
+      default:
+        throw new IllegalArgumentException("Codec " + name + " doesn't support levels: " + codec);
+    }
+  }
+
+  private static String name(String codec) {
+    String name = codec.trim().toLowerCase();
+    return ZSTD.equals(name) ? DataFileConstants.ZSTANDARD_CODEC : name;
+  }
+}
@@ -172,13 +172,29 @@ public class AvroReader {
     return map;
   }
 
-  /** Read multiple files, with the wildcard in the path */
+  /**
+   * Read multiple files, with the wildcard in the path. Resolves a single file path to its shards
+   * (name-*-of-*.avro) if the output was written sharded
+   */
   @SneakyThrows
   private static List<Path> parseWildcardPath(FileSystem fs, String path) {
     if (path.contains("*")) {
       Path pp = new Path(path).getParent();
       return FsUtils.getFilesByExt(fs, pp, AVRO_EXTENSION);
     }
-    return Collections.singletonList(new Path(path));
+
+    Path single = new Path(path);
+    if (!fs.exists(single) && path.endsWith(AVRO_EXTENSION)) {
+      String base = path.substring(0, path.length() - AVRO_EXTENSION.length());
+      FileStatus[] shards = fs.globStatus(new Path(base + "-*-of-*" + AVRO_EXTENSION));
+      if (shards != null && shards.length > 0) {
+        List<Path> paths = new ArrayList<>(shards.length);
+        for (FileStatus shard : shards) {
+          paths.add(shard.getPath());
+        }
+        return paths;
+      }
+    }
+    return Collections.singletonList(single);
   }
 }
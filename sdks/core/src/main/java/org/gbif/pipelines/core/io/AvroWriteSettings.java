@@ -0,0 +1,72 @@
+package org.gbif.pipelines.core.io;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Value;
+import org.apache.avro.file.CodecFactory;
+
+/**
+ * Avro container settings per record type, parsed from a specification like
+ * "IDENTIFIER=snappy@262144,VERBATIM=zstandard-3@4194304". A record type without settings uses the
+ * default codec and sync interval, settings without "@" use the default sync interval.
+ *
+ * <p>Small records such as identifiers decode faster with a light codec, large records such as
+ * verbatim or multimedia records compress better with zstandard and bigger blocks. The settings
+ * can be measured on a sample with the AvroCodecCalibration tool of the benchmarks module.
+ */
+@Value
+public class AvroWriteSettings implements Serializable {
+
+  private static final long serialVersionUID = 2372956102781243647L;
+
+  Setting defaults;
+  Map<String, Setting> settings;
+
+  @Value
+  public static class Setting implements Serializable {
+
+    private static final long serialVersionUID = -6155016813580893510L;
+
+    String codec;
+    int syncInterval;
+  }
+
+  /**
+   * @param spec comma separated RECORD_TYPE=codec[@syncInterval] settings, may be null or empty
+   */
+  public static AvroWriteSettings create(
+      String defaultCodec, int defaultSyncInterval, String spec) {
+    Setting defaults = new Setting(defaultCodec, defaultSyncInterval);
+    if (spec == null || spec.trim().isEmpty()) {
+      return new AvroWriteSettings(defaults, Collections.emptyMap());
+    }
+
+    Map<String, Setting> settings = new HashMap<>();
+    for (String entry : spec.split(",")) {
+      String[] typeAndSetting = entry.split("=");
+      if (typeAndSetting.length != 2) {
+        throw new IllegalArgumentException("Avro setting must be TYPE=codec[@sync]: " + entry);
+      }
+      String[] codecAndSync = typeAndSetting[1].trim().split("@");
+      String codec = codecAndSync[0].trim();
+      int syncInterval =
+          codecAndSync.length > 1 ? Integer.parseInt(codecAndSync[1].trim()) : defaultSyncInterval;
+
+      // Fails fast on unknown codecs, instead of when the first file is written
+      AvroCodecs.fromString(codec);
+      settings.put(typeAndSetting[0].trim().toUpperCase(), new Setting(codec, syncInterval));
+    }
+    return new AvroWriteSettings(defaults, Collections.unmodifiableMap(settings));
+  }
+
+  public Setting forRecordType(String recordType) {
+    return settings.getOrDefault(recordType.toUpperCase(), defaults);
+  }
+
+  /** Codec of the record type, for writers without a sync interval setting such as AvroIO */
+  public CodecFactory codecFor(String recordType) {
+    return AvroCodecs.fromString(forRecordType(recordType).getCodec());
+  }
+}
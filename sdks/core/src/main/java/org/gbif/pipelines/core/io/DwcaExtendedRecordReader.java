@@ -28,9 +28,14 @@ import org.gbif.utils.file.ClosableIterator;
 @Slf4j
 public class DwcaExtendedRecordReader implements Closeable {
 
+  private final Archive archive;
   private final Function<Object, ExtendedRecord> convertFn;
   private final ClosableIterator<?> iterator;
 
+  // Collected in the same pass as the conversion when enabled by withTermCounts()
+  @Getter private DwcaTermCounts termCounts;
+  private boolean extensionsCounted;
+
   @Getter private long recordsReturned;
   @Getter private long occurrenceRecordsReturned;
   private ExtendedRecord current;
@@ -51,6 +56,7 @@ public class DwcaExtendedRecordReader implements Closeable {
 
   /** Creates and DwcaReader using a StarRecord iterator. */
   private DwcaExtendedRecordReader(Archive archive) {
+    this.archive = archive;
 
     archive.getCore().getHeader().stream()
         .flatMap(Collection::stream)
@@ -60,17 +66,49 @@ public class DwcaExtendedRecordReader implements Closeable {
     if (archive.getExtensions().isEmpty()) {
       this.iterator = archive.getCore().iterator();
       this.convertFn =
-          dwcar -> ExtendedRecordConverter.from((Record) dwcar, Collections.emptyMap());
+          dwcar -> {
+            Record record = (Record) dwcar;
+            if (termCounts != null) {
+              termCounts.addCore(record);
+            }
+            return ExtendedRecordConverter.from(record, Collections.emptyMap());
+          };
     } else {
       this.iterator = archive.iterator();
       this.convertFn =
           dwcar -> {
             StarRecord starRecord = (StarRecord) dwcar;
+            if (termCounts != null) {
+              termCounts.addCore(starRecord.core());
+            }
             return ExtendedRecordConverter.from(starRecord.core(), starRecord.extensions());
           };
     }
   }
 
+  /**
+   * Counts non-empty terms of the core records while they are read and of the extension files
+   * after the last record, must be called before the first {@link #advance()}.
+   */
+  public DwcaExtendedRecordReader withTermCounts() {
+    if (recordsReturned > 0) {
+      throw new IllegalStateException("Term counting must be enabled before reading records");
+    }
+    this.termCounts = DwcaTermCounts.create(archive.getCore(), archive.getExtensions());
+    return this;
+  }
+
+  /**
+   * The star record iterator skips extension rows without a core record, so extension files are
+   * counted separately, once all core records are read.
+   */
+  private void countExtensions() {
+    if (termCounts != null && !extensionsCounted) {
+      extensionsCounted = true;
+      termCounts.addExtensions(archive.getExtensions());
+    }
+  }
+
   /** Has the archive more records?. */
   public boolean hasNext() {
     return iterator.hasNext();
@@ -79,6 +117,7 @@ public class DwcaExtendedRecordReader implements Closeable {
   /** Read next element. */
   public boolean advance() {
     if (!iterator.hasNext()) {
+      countExtensions();
       return false;
     }
     recordsReturned++;
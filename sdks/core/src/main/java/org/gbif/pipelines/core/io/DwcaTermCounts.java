@@ -0,0 +1,174 @@
+package org.gbif.pipelines.core.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.gbif.dwc.ArchiveFile;
+import org.gbif.dwc.record.Record;
+import org.gbif.dwc.terms.Term;
+import org.gbif.utils.file.ClosableIterator;
+
+/**
+ * Number of records and non-empty values per term for every file of a DwC archive, collected
+ * while the archive is read by {@link DwcaExtendedRecordReader}, so the validator doesn't need a
+ * second pass over the archive to count terms.
+ *
+ * <p>Stored as a TSV file, a {@code file} line per archive file followed by its {@code term}
+ * lines:
+ *
+ * <pre>
+ * file  rowType  CORE|EXTENSION  title  records
+ * term  qualifiedName  count
+ * </pre>
+ *
+ * Extension files are counted by iterating each file directly, so rows without a core record are
+ * counted too.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DwcaTermCounts {
+
+  private static final String FILE = "file";
+  private static final String TERM = "term";
+
+  @Getter private final List<FileCounts> files = new ArrayList<>();
+  private final Map<Term, FileCounts> filesByRowType = new HashMap<>();
+
+  /** Counts for one file of the archive */
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class FileCounts {
+    private final String rowType;
+    private final boolean core;
+    private final String title;
+    private long count;
+    // Keeps the first seen order, terms with only empty values have 0
+    private final Map<String, Long> terms;
+
+    private void add(Record record) {
+      count++;
+      for (Term term : record.terms()) {
+        String qn = term.qualifiedName();
+        if (qn != null) {
+          String value = record.value(term);
+          long inc = value == null || value.trim().isEmpty() ? 0L : 1L;
+          terms.merge(qn, inc, Long::sum);
+        }
+      }
+    }
+  }
+
+  /** Creates empty counts for the core and all extensions of an archive */
+  public static DwcaTermCounts create(ArchiveFile core, Collection<ArchiveFile> extensions) {
+    DwcaTermCounts counts = new DwcaTermCounts();
+    counts.addFile(core, true);
+    extensions.forEach(ext -> counts.addFile(ext, false));
+    return counts;
+  }
+
+  private void addFile(ArchiveFile archiveFile, boolean core) {
+    Term rowType = archiveFile.getRowType();
+    FileCounts fc =
+        new FileCounts(
+            rowType == null ? null : rowType.qualifiedName(),
+            core,
+            archiveFile.getTitle(),
+            0L,
+            new LinkedHashMap<>(archiveFile.getTerms().size()));
+    files.add(fc);
+    if (!core) {
+      filesByRowType.put(rowType, fc);
+    }
+  }
+
+  /** Counts a core record */
+  public void addCore(Record record) {
+    files.get(0).add(record);
+  }
+
+  /** Counts all rows of the extension files, reading every file directly */
+  @SneakyThrows
+  public void addExtensions(Collection<ArchiveFile> extensions) {
+    for (ArchiveFile extension : extensions) {
+      FileCounts fc = filesByRowType.get(extension.getRowType());
+      if (fc != null) {
+        try (ClosableIterator<Record> iterator = extension.iterator()) {
+          while (iterator.hasNext()) {
+            fc.add(iterator.next());
+          }
+        }
+      }
+    }
+  }
+
+  /** Writes counts to the file, overwriting it */
+  public void write(FileSystem fs, Path path) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (FileCounts fc : files) {
+      sb.append(FILE)
+          .append('\t')
+          .append(fc.rowType == null ? "" : fc.rowType)
+          .append('\t')
+          .append(fc.core ? "CORE" : "EXTENSION")
+          .append('\t')
+          .append(fc.title == null ? "" : fc.title)
+          .append('\t')
+          .append(fc.count)
+          .append('\n');
+      fc.terms.forEach(
+          (term, count) ->
+              sb.append(TERM).append('\t').append(term).append('\t').append(count).append('\n'));
+    }
+    try (FSDataOutputStream out = fs.create(path, true)) {
+      out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    log.info("Term counts for {} files written to {}", files.size(), path);
+  }
+
+  /** Reads counts written by {@link #write}, or empty if there is no file */
+  @SneakyThrows
+  public static Optional<DwcaTermCounts> read(FileSystem fs, Path path) {
+    if (!fs.exists(path)) {
+      return Optional.empty();
+    }
+    DwcaTermCounts counts = new DwcaTermCounts();
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(fs.open(path), StandardCharsets.UTF_8))) {
+      FileCounts current = null;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] split = line.split("\t", -1);
+        if (FILE.equals(split[0])) {
+          current =
+              new FileCounts(
+                  split[1].isEmpty() ? null : split[1],
+                  "CORE".equals(split[2]),
+                  split[3].isEmpty() ? null : split[3],
+                  Long.parseLong(split[4]),
+                  new LinkedHashMap<>());
+          counts.files.add(current);
+        } else if (TERM.equals(split[0]) && current != null) {
+          current.terms.put(split[1], Long.parseLong(split[2]));
+        }
+      }
+    }
+    return Optional.of(counts);
+  }
+}
@@ -0,0 +1,217 @@
+package org.gbif.pipelines.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableInput;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.hadoop.fs.AvroFSInput;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.gbif.pipelines.core.utils.FsUtils;
+import org.gbif.pipelines.io.avro.Record;
+
+/**
+ * Reads Avro files with many threads. Every file is split into ranges of {@link
+ * #DEFAULT_SPLIT_SIZE} bytes, a range starts at the first sync marker after its start and ends at
+ * the first sync marker after its end, so every block is decoded by exactly one task. Local files
+ * smaller than 2GB are memory-mapped once and shared by all ranges, other files are opened once per
+ * range.
+ *
+ * <p>Records are passed to a consumer as they are decoded, the consumer is called concurrently and
+ * in no particular order.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParallelAvroReader {
+
+  public static final long DEFAULT_SPLIT_SIZE = 32L * 1024L * 1024L;
+
+  /** Range of a file decoded by one task, mapped is null if the file isn't memory-mapped */
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  private static class Split {
+    private final Path path;
+    private final long length;
+    private final long start;
+    private final long end;
+    private final ByteBuffer mapped;
+  }
+
+  /**
+   * Read records into the consumer
+   *
+   * @param clazz instance of {@link SpecificRecordBase}
+   * @param path sting path, a wildcard can be used in the file name, like /a/b/c*.avro to read
+   *     multiple files
+   * @param executor runs the listing of the files and the decoding of every range
+   * @param consumer thread safe consumer of the records
+   * @return completes when all records have been consumed
+   */
+  public static <T extends SpecificRecordBase> CompletableFuture<Void> read(
+      HdfsConfigs hdfsConfigs,
+      Class<T> clazz,
+      String path,
+      Executor executor,
+      Consumer<T> consumer) {
+    return read(hdfsConfigs, clazz, path, DEFAULT_SPLIT_SIZE, executor, consumer);
+  }
+
+  /**
+   * Read {@link Record#getId()} distinct records, if an id is present more than once any of the
+   * records can be returned
+   *
+   * @param clazz instance of {@link Record}
+   * @param path sting path, a wildcard can be used in the file name, like /a/b/c*.avro to read
+   *     multiple files
+   */
+  public static <T extends SpecificRecordBase & Record>
+      CompletableFuture<Map<String, T>> readRecords(
+          HdfsConfigs hdfsConfigs, Class<T> clazz, String path, Executor executor) {
+    Map<String, T> map = new ConcurrentHashMap<>();
+    return read(hdfsConfigs, clazz, path, executor, r -> map.put(r.getId(), r))
+        .thenApply(v -> map);
+  }
+
+  /**
+   * Read all records, when only the records are needed and not the lookup by id
+   *
+   * @param clazz instance of {@link SpecificRecordBase}
+   * @param path sting path, a wildcard can be used in the file name, like /a/b/c*.avro to read
+   *     multiple files
+   */
+  public static <T extends SpecificRecordBase> CompletableFuture<List<T>> readObjects(
+      HdfsConfigs hdfsConfigs, Class<T> clazz, String path, Executor executor) {
+    ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    return read(hdfsConfigs, clazz, path, executor, queue::add)
+        .thenApply(v -> new ArrayList<>(queue));
+  }
+
+  static <T extends SpecificRecordBase> CompletableFuture<Void> read(
+      HdfsConfigs hdfsConfigs,
+      Class<T> clazz,
+      String path,
+      long splitSize,
+      Executor executor,
+      Consumer<T> consumer) {
+    FileSystem fs = FsUtils.getFileSystem(hdfsConfigs, path);
+    return CompletableFuture.supplyAsync(() -> createSplits(fs, path, splitSize), executor)
+        .thenCompose(
+            splits -> {
+              log.info("Reading {} with {} tasks", path, splits.size());
+              CompletableFuture<?>[] futures =
+                  splits.stream()
+                      .map(
+                          s ->
+                              CompletableFuture.runAsync(
+                                  () -> readSplit(fs, clazz, s, consumer), executor))
+                      .toArray(CompletableFuture[]::new);
+              return CompletableFuture.allOf(futures);
+            });
+  }
+
+  private static List<Split> createSplits(FileSystem fs, String path, long splitSize) {
+    try {
+      List<Split> splits = new ArrayList<>();
+      for (Path p : AvroReader.parseWildcardPath(fs, path)) {
+        long length = fs.getFileStatus(p).getLen();
+        ByteBuffer mapped = map(fs, p, length);
+        long start = 0L;
+        do {
+          long end = Math.min(start + splitSize, length);
+          splits.add(new Split(p, length, start, end, mapped));
+          start = end;
+        } while (start < length);
+      }
+      return splits;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /** Memory-map a local file, returns null for other file systems and files over 2GB */
+  private static ByteBuffer map(FileSystem fs, Path path, long length) throws IOException {
+    if (!"file".equals(fs.getUri().getScheme()) || length > Integer.MAX_VALUE) {
+      return null;
+    }
+    File file = new File(fs.makeQualified(path).toUri());
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+    }
+  }
+
+  private static <T extends SpecificRecordBase> void readSplit(
+      FileSystem fs, Class<T> clazz, Split split, Consumer<T> consumer) {
+    try (SeekableInput input = open(fs, split);
+        DataFileReader<T> reader = new DataFileReader<>(input, new SpecificDatumReader<>(clazz))) {
+      reader.sync(split.start);
+      while (reader.hasNext() && !reader.pastSync(split.end)) {
+        consumer.accept(reader.next());
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static SeekableInput open(FileSystem fs, Split split) throws IOException {
+    if (split.mapped != null) {
+      return new MappedSeekableInput(split.mapped.duplicate());
+    }
+    return new AvroFSInput(fs.open(split.path), split.length);
+  }
+
+  /** {@link SeekableInput} over a memory-mapped file, every reader uses its own duplicate buffer */
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  private static class MappedSeekableInput implements SeekableInput {
+
+    private final ByteBuffer buffer;
+
+    @Override
+    public void seek(long p) {
+      buffer.position((int) p);
+    }
+
+    @Override
+    public long tell() {
+      return buffer.position();
+    }
+
+    @Override
+    public long length() {
+      return buffer.limit();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public void close() {
+      // Unmapped by the garbage collector
+    }
+  }
+}
@@ -7,7 +7,6 @@ import java.util.Optional;
 import lombok.Builder;
 import lombok.NonNull;
 import org.apache.avro.Schema;
-import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.specific.SpecificDatumWriter;
 
@@ -23,7 +22,7 @@ public class SyncDataFileWriterBuilder {
   public <T> SyncDataFileWriter<T> createSyncDataFileWriter() throws IOException {
     DataFileWriter<T> dataFileWriter = new DataFileWriter<>(new SpecificDatumWriter<>(schema));
 
-    dataFileWriter.setCodec(CodecFactory.fromString(codec));
+    dataFileWriter.setCodec(AvroCodecs.fromString(codec));
     Optional.ofNullable(flushOnEveryBlock).ifPresent(dataFileWriter::setFlushOnEveryBlock);
     Optional.ofNullable(syncInterval).ifPresent(dataFileWriter::setSyncInterval);
     dataFileWriter.create(schema, new BufferedOutputStream(outputStream));
@@ -0,0 +1,103 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import lombok.SneakyThrows;
+import org.gbif.kvs.KeyValueStore;
+import org.gbif.pipelines.core.functions.SerializableSupplier;
+
+/**
+ * Asynchronous access to a blocking {@link KeyValueStore}. At most maxInFlight lookups run at the
+ * same time, across synchronous and asynchronous calls, a caller waits for a permit before its
+ * lookup is submitted, so a fast producer can't queue an unbounded number of remote calls.
+ */
+public class AsyncKeyValueStore<K, V> implements KeyValueStore<K, V> {
+
+  private final KeyValueStore<K, V> kvStore;
+  private final Executor executor;
+  private final Semaphore inFlight;
+
+  private AsyncKeyValueStore(KeyValueStore<K, V> kvStore, Executor executor, int maxInFlight) {
+    this.kvStore = kvStore;
+    this.executor = executor;
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  /** Returns null if kvStore is null, as some factories have no store without a config */
+  public static <K, V> AsyncKeyValueStore<K, V> wrap(
+      KeyValueStore<K, V> kvStore, Executor executor, int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be positive");
+    }
+    return kvStore == null ? null : new AsyncKeyValueStore<>(kvStore, executor, maxInFlight);
+  }
+
+  /** Uses the {@link LookupExecutors#shared()} executor */
+  public static <K, V> AsyncKeyValueStore<K, V> wrap(KeyValueStore<K, V> kvStore, int maxInFlight) {
+    return wrap(kvStore, LookupExecutors.shared(), maxInFlight);
+  }
+
+  /** Supplier of the store of the supplier bounded to maxInFlight, or of null */
+  public static <K, V> SerializableSupplier<KeyValueStore<K, V>> boundedSupplier(
+      SerializableSupplier<KeyValueStore<K, V>> supplier, int maxInFlight) {
+    return supplier == null ? null : () -> wrap(supplier.get(), maxInFlight);
+  }
+
+  /** Blocking lookup on the calling thread, counted in the in-flight limit */
+  @Override
+  @SneakyThrows
+  public V get(K key) {
+    inFlight.acquire();
+    try {
+      return kvStore.get(key);
+    } finally {
+      inFlight.release();
+    }
+  }
+
+  /** Waits for a permit and runs the lookup on the executor */
+  @SneakyThrows
+  public CompletableFuture<V> getAsync(K key) {
+    inFlight.acquire();
+    try {
+      return CompletableFuture.supplyAsync(() -> kvStore.get(key), executor)
+          .whenComplete((v, ex) -> inFlight.release());
+    } catch (RuntimeException ex) {
+      // Rejected by the executor
+      inFlight.release();
+      throw ex;
+    }
+  }
+
+  /**
+   * Looks up the distinct keys concurrently
+   *
+   * @return values by key, in the order of the keys, keys without a value are absent
+   */
+  public Map<K, V> getAll(Collection<K> keys) {
+    Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+    for (K key : new LinkedHashSet<>(keys)) {
+      futures.put(key, getAsync(key));
+    }
+    Map<K, V> values = new LinkedHashMap<>();
+    futures.forEach(
+        (k, f) -> {
+          V value = f.join();
+          if (value != null) {
+            values.put(k, value);
+          }
+        });
+    return values;
+  }
+
+  @Override
+  public void close() throws IOException {
+    kvStore.close();
+  }
+}
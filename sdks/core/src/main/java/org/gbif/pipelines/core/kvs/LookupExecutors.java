@@ -0,0 +1,64 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executors for blocking remote lookups. The code is compiled for Java 17, virtual threads are used
+ * when the runtime has them (Java 21 and later), otherwise a pool of daemon platform threads.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LookupExecutors {
+
+  public static final int DEFAULT_PLATFORM_THREADS = 64;
+
+  private static final Object MUTEX = new Object();
+  private static volatile ExecutorService shared;
+
+  /** JVM wide executor for lookups, never shut down */
+  public static ExecutorService shared() {
+    if (shared == null) {
+      synchronized (MUTEX) {
+        if (shared == null) {
+          shared = newExecutor(DEFAULT_PLATFORM_THREADS);
+        }
+      }
+    }
+    return shared;
+  }
+
+  /**
+   * @param platformThreads number of threads if the runtime has no virtual threads
+   */
+  public static ExecutorService newExecutor(int platformThreads) {
+    ExecutorService virtual = newVirtualThreadExecutor();
+    if (virtual != null) {
+      return virtual;
+    }
+    AtomicInteger count = new AtomicInteger();
+    ThreadFactory factory =
+        r -> {
+          Thread thread = new Thread(r, "lookup-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        };
+    return Executors.newFixedThreadPool(platformThreads, factory);
+  }
+
+  /** @return a virtual thread per task executor, or null if the runtime has no virtual threads */
+  public static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException ex) {
+      log.debug("Virtual threads are not available - {}", ex.getMessage());
+      return null;
+    }
+  }
+}
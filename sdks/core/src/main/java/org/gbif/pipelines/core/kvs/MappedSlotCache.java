@@ -0,0 +1,151 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Direct-mapped cache of byte arrays in a memory-mapped file, so it can be shared by all threads
+ * and JVMs of a host that open the same file. The file is divided into slots of a fixed size, a key
+ * can only be stored in the slot of its hash and replaces whatever was there.
+ *
+ * <p>There is no locking between processes. A slot is written in one bulk copy and has a CRC32 of
+ * its content, a reader that sees a slot which is half written, belongs to another key or is older
+ * than the expiry time treats it as a miss. The cache is lossy, never wrong.
+ *
+ * <p>Slot layout: crc (int), length of the rest (int), write time (long), key length (int), key,
+ * value.
+ */
+public class MappedSlotCache {
+
+  private static final int CRC_AND_LENGTH_BYTES = 8;
+  private static final int HEADER_BYTES = CRC_AND_LENGTH_BYTES + 12;
+  private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+  private final MappedByteBuffer[] segments;
+  private final int slotBytes;
+  private final int slotsPerSegment;
+  private final long slots;
+  private final long expiryMillis;
+
+  private MappedSlotCache(
+      MappedByteBuffer[] segments, int slotBytes, int slotsPerSegment, long slots, long expiry) {
+    this.segments = segments;
+    this.slotBytes = slotBytes;
+    this.slotsPerSegment = slotsPerSegment;
+    this.slots = slots;
+    this.expiryMillis = expiry;
+  }
+
+  /**
+   * Maps the file, creating it if it doesn't exist. A file written with another size or slot size
+   * can be opened, its slots are then misses.
+   */
+  public static MappedSlotCache open(File file, long sizeBytes, int slotBytes, long expiryMillis)
+      throws IOException {
+    if (slotBytes <= HEADER_BYTES || slotBytes > MAX_SEGMENT_BYTES) {
+      throw new IllegalArgumentException("Slot size must be more than " + HEADER_BYTES + " bytes");
+    }
+    long slots = sizeBytes / slotBytes;
+    if (slots <= 0) {
+      throw new IllegalArgumentException("The cache must be larger than one slot");
+    }
+    File dir = file.getAbsoluteFile().getParentFile();
+    if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+      throw new IOException("Can't create directory " + dir);
+    }
+
+    int slotsPerSegment = MAX_SEGMENT_BYTES / slotBytes;
+    long segmentBytes = (long) slotsPerSegment * slotBytes;
+    long length = slots * slotBytes;
+    MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length - 1) / segmentBytes + 1)];
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        FileChannel channel = raf.getChannel()) {
+      // Mapping beyond the end grows the file, as a sparse file on most file systems
+      for (int i = 0; i < segments.length; i++) {
+        long position = i * segmentBytes;
+        long size = Math.min(segmentBytes, length - position);
+        segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+      }
+    }
+    return new MappedSlotCache(segments, slotBytes, slotsPerSegment, slots, expiryMillis);
+  }
+
+  /** @return the value of the key, or null if it isn't in the cache */
+  public byte[] get(byte[] key) {
+    long slot = slot(key);
+    ByteBuffer segment = segments[(int) (slot / slotsPerSegment)];
+    int offset = (int) (slot % slotsPerSegment) * slotBytes;
+
+    int length = segment.getInt(offset + Integer.BYTES);
+    if (length < HEADER_BYTES - CRC_AND_LENGTH_BYTES + key.length
+        || length > slotBytes - CRC_AND_LENGTH_BYTES) {
+      return null;
+    }
+
+    byte[] data = new byte[length];
+    ByteBuffer buffer = segment.duplicate();
+    buffer.position(offset + CRC_AND_LENGTH_BYTES);
+    buffer.get(data);
+    if (segment.getInt(offset) != crc(data)) {
+      return null;
+    }
+
+    ByteBuffer content = ByteBuffer.wrap(data);
+    long written = content.getLong();
+    int keyLength = content.getInt();
+    if (System.currentTimeMillis() - written > expiryMillis || keyLength != key.length) {
+      return null;
+    }
+    int from = content.position();
+    for (int i = 0; i < keyLength; i++) {
+      if (data[from + i] != key[i]) {
+        return null;
+      }
+    }
+    return Arrays.copyOfRange(data, from + keyLength, length);
+  }
+
+  /** @return false if the entry is larger than a slot and wasn't stored */
+  public boolean put(byte[] key, byte[] value) {
+    int length = HEADER_BYTES - CRC_AND_LENGTH_BYTES + key.length + value.length;
+    if (length > slotBytes - CRC_AND_LENGTH_BYTES) {
+      return false;
+    }
+
+    byte[] data =
+        ByteBuffer.allocate(length)
+            .putLong(System.currentTimeMillis())
+            .putInt(key.length)
+            .put(key)
+            .put(value)
+            .array();
+
+    long slot = slot(key);
+    ByteBuffer buffer = segments[(int) (slot / slotsPerSegment)].duplicate();
+    buffer.position((int) (slot % slotsPerSegment) * slotBytes);
+    buffer.putInt(crc(data)).putInt(length).put(data);
+    return true;
+  }
+
+  private long slot(byte[] key) {
+    // FNV-1a
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : key) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    return Math.floorMod(hash, slots);
+  }
+
+  private static int crc(byte[] data) {
+    CRC32 crc = new CRC32();
+    crc.update(data, 0, data.length);
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,130 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.gbif.kvs.KeyValueStore;
+
+/**
+ * {@link KeyValueStore} answering from values resolved before the records are interpreted. When the
+ * keys of a dataset repeat, e.g. the same collection codes in every record, every distinct key is
+ * looked up once and concurrently, and the interpretation reads an immutable local map. Keys that
+ * weren't prefetched or failed are looked up in the wrapped store.
+ */
+@Slf4j
+public class PrefetchedKeyValueStore<K, V> implements KeyValueStore<K, V> {
+
+  public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+  private final KeyValueStore<K, V> kvStore;
+  private final Snapshot<K, V> snapshot;
+
+  /**
+   * Prefetched values and keys without value, serializable to share a prefetch with other workers,
+   * e.g. as a Beam side input. Keys and values must be serializable.
+   */
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Snapshot<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 6386205139213917395L;
+
+    private final Map<K, V> values;
+    private final Set<K> absent;
+
+    /** Snapshot without keys, every key is looked up in the wrapped store */
+    public static <K, V> Snapshot<K, V> empty() {
+      return new Snapshot<>(Map.of(), Set.of());
+    }
+  }
+
+  private PrefetchedKeyValueStore(KeyValueStore<K, V> kvStore, Snapshot<K, V> snapshot) {
+    this.kvStore = kvStore;
+    this.snapshot = snapshot;
+  }
+
+  /** Answers from the snapshot of a prefetch made elsewhere, other keys from kvStore */
+  public static <K, V> PrefetchedKeyValueStore<K, V> of(
+      KeyValueStore<K, V> kvStore, Snapshot<K, V> snapshot) {
+    return kvStore == null ? null : new PrefetchedKeyValueStore<>(kvStore, snapshot);
+  }
+
+  /**
+   * Looks up the distinct keys, at most maxInFlight at the same time. Returns null if kvStore is
+   * null.
+   */
+  public static <K, V> PrefetchedKeyValueStore<K, V> prefetch(
+      KeyValueStore<K, V> kvStore, Collection<K> keys, int maxInFlight) {
+    if (kvStore == null) {
+      return null;
+    }
+    long start = System.currentTimeMillis();
+    AsyncKeyValueStore<K, V> async = AsyncKeyValueStore.wrap(kvStore, maxInFlight);
+
+    Set<K> failed = ConcurrentHashMap.newKeySet();
+    Map<K, CompletableFuture<V>> futures = new HashMap<>();
+    for (K key : new HashSet<>(keys)) {
+      futures.put(
+          key,
+          async
+              .getAsync(key)
+              .exceptionally(
+                  ex -> {
+                    log.warn("Prefetch of {} failed, it will be looked up again", key, ex);
+                    failed.add(key);
+                    return null;
+                  }));
+    }
+
+    Map<K, V> values = new HashMap<>();
+    Set<K> absent = new HashSet<>();
+    futures.forEach(
+        (k, f) -> {
+          V value = f.join();
+          if (value != null) {
+            values.put(k, value);
+          } else if (!failed.contains(k)) {
+            absent.add(k);
+          }
+        });
+
+    log.info(
+        "Prefetched {} distinct keys, {} without value, in {}ms",
+        futures.size(),
+        absent.size(),
+        System.currentTimeMillis() - start);
+    return new PrefetchedKeyValueStore<>(
+        kvStore, new Snapshot<>(Map.copyOf(values), Set.copyOf(absent)));
+  }
+
+  @Override
+  public V get(K key) {
+    V value = snapshot.values.get(key);
+    if (value != null || snapshot.absent.contains(key)) {
+      return value;
+    }
+    return kvStore.get(key);
+  }
+
+  /** Number of keys answered locally */
+  public int size() {
+    return snapshot.values.size() + snapshot.absent.size();
+  }
+
+  public Snapshot<K, V> getSnapshot() {
+    return snapshot;
+  }
+
+  @Override
+  public void close() throws IOException {
+    kvStore.close();
+  }
+}
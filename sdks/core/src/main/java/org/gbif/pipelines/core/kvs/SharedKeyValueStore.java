@@ -0,0 +1,135 @@
+package org.gbif.pipelines.core.kvs;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.gbif.kvs.KeyValueStore;
+import org.gbif.pipelines.core.config.model.SharedCacheConfig;
+import org.gbif.pipelines.core.metrics.StageMetrics;
+
+/**
+ * {@link KeyValueStore} with a {@link MappedSlotCache} in front of another store. Keys and values
+ * are stored as JSON, every worker thread and JVM on the host that uses the same cache directory
+ * shares the entries, instead of each filling its own on-heap cache with the same hot keys.
+ *
+ * <p>Hits, misses and entries too large for a slot are counted in {@link StageMetrics} under
+ * kv.{name}.shared, the hit ratio is logged when the store is closed.
+ */
+@Slf4j
+public class SharedKeyValueStore<K, V> implements KeyValueStore<K, V> {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  // One mapping per file and JVM
+  private static final Map<String, MappedSlotCache> CACHES = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final KeyValueStore<K, V> kvStore;
+  private final MappedSlotCache cache;
+  private final Class<V> valueClass;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder rejected;
+  private final LongAdder errors;
+
+  private SharedKeyValueStore(
+      String name, KeyValueStore<K, V> kvStore, MappedSlotCache cache, Class<V> valueClass) {
+    String prefix = "kv." + name + ".shared";
+    this.name = name;
+    this.kvStore = kvStore;
+    this.cache = cache;
+    this.valueClass = valueClass;
+    this.hits = StageMetrics.counter(prefix + ".hits");
+    this.misses = StageMetrics.counter(prefix + ".misses");
+    this.rejected = StageMetrics.counter(prefix + ".rejected");
+    this.errors = StageMetrics.counter(prefix + ".errors");
+  }
+
+  /**
+   * Returns kvStore itself if it is null or the config has no path, the shared cache is optional
+   *
+   * @param name name of the cache file and of the metrics
+   * @param valueClass class of the values, must be readable by Jackson
+   */
+  public static <K, V> KeyValueStore<K, V> wrap(
+      String name, SharedCacheConfig config, Class<V> valueClass, KeyValueStore<K, V> kvStore) {
+    if (kvStore == null || config == null || config.getPath() == null) {
+      return kvStore;
+    }
+    File file = new File(config.getPath(), name + ".cache").getAbsoluteFile();
+    MappedSlotCache cache =
+        CACHES.computeIfAbsent(
+            file.getPath(),
+            p -> {
+              try {
+                log.info("Shared {} cache in {}, {}MB", name, file, config.getSizeMb());
+                return MappedSlotCache.open(
+                    file,
+                    config.getSizeMb() * 1024L * 1024L,
+                    config.getSlotBytes(),
+                    TimeUnit.SECONDS.toMillis(config.getExpiryTimeInSeconds()));
+              } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+              }
+            });
+    return new SharedKeyValueStore<>(name, kvStore, cache, valueClass);
+  }
+
+  @Override
+  public V get(K key) {
+    byte[] keyBytes;
+    try {
+      keyBytes = MAPPER.writeValueAsBytes(key);
+      byte[] cached = cache.get(keyBytes);
+      if (cached != null) {
+        V value = MAPPER.readValue(cached, valueClass);
+        hits.increment();
+        return value;
+      }
+    } catch (IOException ex) {
+      // Not serializable, the cache is skipped
+      errors.increment();
+      return kvStore.get(key);
+    }
+
+    misses.increment();
+    V value = kvStore.get(key);
+    if (value != null) {
+      try {
+        if (!cache.put(keyBytes, MAPPER.writeValueAsBytes(value))) {
+          rejected.increment();
+        }
+      } catch (IOException ex) {
+        errors.increment();
+      }
+    }
+    return value;
+  }
+
+  /** Share of the lookups of all stores with this name served by the cache, since JVM start */
+  public double getHitRatio() {
+    long total = hits.sum() + misses.sum();
+    return total == 0 ? 0d : (double) hits.sum() / total;
+  }
+
+  @Override
+  public void close() throws IOException {
+    log.info(
+        "Shared {} cache: {} hits, {} misses, hit ratio {}, {} entries too large",
+        name,
+        hits.sum(),
+        misses.sum(),
+        String.format(Locale.ROOT, "%.3f", getHitRatio()),
+        rejected.sum());
+    kvStore.close();
+  }
+}
@@ -0,0 +1,45 @@
+package org.gbif.pipelines.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Thread-safe latency histogram, values are recorded in nanoseconds and stored in microseconds with
+ * two significant digits. Recording is wait-free, so it can be called for every record.
+ */
+public class LatencyRecorder {
+
+  private static final int SIGNIFICANT_DIGITS = 2;
+  private static final double[] PERCENTILES = {50d, 90d, 99d, 99.9d};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+  private final ConcurrentHistogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+  public void record(long nanos) {
+    histogram.recordValue(Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos)));
+  }
+
+  public long getCount() {
+    return histogram.getTotalCount();
+  }
+
+  /** Count, mean, max and percentiles in microseconds */
+  public Map<String, Object> snapshot() {
+    Histogram copy = histogram.copy();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("count", copy.getTotalCount());
+    result.put("meanMicros", copy.getTotalCount() == 0 ? 0d : copy.getMean());
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      result.put(PERCENTILE_NAMES[i] + "Micros", copy.getValueAtPercentile(PERCENTILES[i]));
+    }
+    result.put("maxMicros", copy.getMaxValue());
+    return result;
+  }
+
+  public void reset() {
+    histogram.reset();
+  }
+}
@@ -0,0 +1,52 @@
+package org.gbif.pipelines.core.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+import org.gbif.kvs.KeyValueStore;
+
+/**
+ * Records latency, found/empty responses and errors of a {@link KeyValueStore} in {@link
+ * StageMetrics}, under kv.{name}.
+ */
+public class MeteredKeyValueStore<K, V> implements KeyValueStore<K, V> {
+
+  private final KeyValueStore<K, V> kvStore;
+  private final LatencyRecorder latency;
+  private final LongAdder found;
+  private final LongAdder empty;
+  private final LongAdder errors;
+
+  private MeteredKeyValueStore(String name, KeyValueStore<K, V> kvStore) {
+    String prefix = "kv." + name;
+    this.kvStore = kvStore;
+    this.latency = StageMetrics.timer(prefix);
+    this.found = StageMetrics.counter(prefix + ".found");
+    this.empty = StageMetrics.counter(prefix + ".empty");
+    this.errors = StageMetrics.counter(prefix + ".errors");
+  }
+
+  /** Returns null if kvStore is null, as some factories have no store without a config */
+  public static <K, V> KeyValueStore<K, V> wrap(String name, KeyValueStore<K, V> kvStore) {
+    return kvStore == null ? null : new MeteredKeyValueStore<>(name, kvStore);
+  }
+
+  @Override
+  public V get(K key) {
+    long start = System.nanoTime();
+    try {
+      V value = kvStore.get(key);
+      (value == null ? empty : found).increment();
+      return value;
+    } catch (RuntimeException ex) {
+      errors.increment();
+      throw ex;
+    } finally {
+      latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    kvStore.close();
+  }
+}
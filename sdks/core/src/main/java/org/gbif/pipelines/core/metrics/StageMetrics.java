@@ -0,0 +1,73 @@
+package org.gbif.pipelines.core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+
+/**
+ * JVM wide registry of striped counters and {@link LatencyRecorder}s for interpretation steps and
+ * key-value stores. Lookups are cheap, but callers on hot paths should keep the returned instances.
+ *
+ * <p>The registry is per JVM: in distributed runs every executor has its own profile, the Beam
+ * metrics carry the aggregated view.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StageMetrics {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private static final Map<String, LatencyRecorder> TIMERS = new ConcurrentHashMap<>();
+  private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+  public static LatencyRecorder timer(String name) {
+    LatencyRecorder timer = TIMERS.get(name);
+    return timer != null ? timer : TIMERS.computeIfAbsent(name, n -> new LatencyRecorder());
+  }
+
+  public static LongAdder counter(String name) {
+    LongAdder counter = COUNTERS.get(name);
+    return counter != null ? counter : COUNTERS.computeIfAbsent(name, n -> new LongAdder());
+  }
+
+  /** Timers and counters with at least one value, sorted by name */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> timers = new TreeMap<>();
+    TIMERS.forEach(
+        (k, v) -> {
+          if (v.getCount() > 0) {
+            timers.put(k, v.snapshot());
+          }
+        });
+    Map<String, Object> counters = new TreeMap<>();
+    COUNTERS.forEach(
+        (k, v) -> {
+          long sum = v.sum();
+          if (sum > 0) {
+            counters.put(k, sum);
+          }
+        });
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("timers", timers);
+    result.put("counters", counters);
+    return result;
+  }
+
+  @SneakyThrows
+  public static String toJson() {
+    return MAPPER.writeValueAsString(snapshot());
+  }
+
+  public static void reset() {
+    TIMERS.values().forEach(LatencyRecorder::reset);
+    COUNTERS.values().forEach(LongAdder::reset);
+  }
+}
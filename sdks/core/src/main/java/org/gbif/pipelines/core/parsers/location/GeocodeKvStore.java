@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.gbif.kvs.KeyValueStore;
 import org.gbif.kvs.geocode.GeocodeRequest;
 import org.gbif.pipelines.core.parsers.location.cache.GeocodeBitmapCache;
+import org.gbif.pipelines.core.parsers.location.cache.TilePyramid;
 import org.gbif.rest.client.geocode.GeocodeResponse;
 
 @Slf4j
@@ -34,13 +35,24 @@ public class GeocodeKvStore
     }
   }
 
+  private GeocodeKvStore(
+      @NonNull KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore,
+      @NonNull TilePyramid pyramid,
+      String kvStoreType,
+      boolean missEqualsFail) {
+    this.kvStore = kvStore;
+    this.bitmapCache =
+        GeocodeBitmapCache.create(pyramid, kvStore::get, kvStoreType, missEqualsFail);
+  }
+
   public static GeocodeKvStore create(
       KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore, BufferedImage image) {
     return new GeocodeKvStore(kvStore, image, GeocodeBitmapCache.DEFAULT_KV_STORE, true);
   }
 
   public static GeocodeKvStore create(KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore) {
-    return new GeocodeKvStore(kvStore, null, GeocodeBitmapCache.DEFAULT_KV_STORE, true);
+    return new GeocodeKvStore(
+        kvStore, (BufferedImage) null, GeocodeBitmapCache.DEFAULT_KV_STORE, true);
   }
 
   public static GeocodeKvStore create(
@@ -51,11 +63,19 @@ public class GeocodeKvStore
     return new GeocodeKvStore(kvStore, image, kvStoreType, missEqualsFail);
   }
 
+  public static GeocodeKvStore create(
+      KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore,
+      TilePyramid pyramid,
+      String kvStoreType,
+      boolean missEqualsFail) {
+    return new GeocodeKvStore(kvStore, pyramid, kvStoreType, missEqualsFail);
+  }
+
   public static GeocodeKvStore create(
       KeyValueStore<GeocodeRequest, GeocodeResponse> kvStore,
       String kvStoreType,
       boolean missEqualsFail) {
-    return new GeocodeKvStore(kvStore, null, kvStoreType, missEqualsFail);
+    return new GeocodeKvStore(kvStore, (BufferedImage) null, kvStoreType, missEqualsFail);
   }
 
   /** Simple get candidates by point. */
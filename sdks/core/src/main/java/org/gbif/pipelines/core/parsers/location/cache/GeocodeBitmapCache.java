@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,8 @@ public class GeocodeBitmapCache {
 
   // World map image lookup
   private final BufferedImage img;
+  // Optional multi-resolution refinement, used instead of the image when present
+  private final TilePyramid pyramid;
   private static final int BORDER = 0x000000;
   private static final int NOTHING = 0xFFFFFF;
   private final int imgWidth;
@@ -33,11 +36,13 @@ public class GeocodeBitmapCache {
   @SneakyThrows
   private GeocodeBitmapCache(
       BufferedImage img,
+      TilePyramid pyramid,
       Function<GeocodeRequest, GeocodeResponse> loadFn,
       String kvStoreType,
       boolean missEqualsFail) {
     this.loadFn = loadFn;
     this.img = img;
+    this.pyramid = pyramid;
     this.imgHeight = img != null ? img.getHeight() : -1;
     this.imgWidth = img != null ? img.getWidth() : -1;
     this.kvStoreType = kvStoreType;
@@ -46,7 +51,7 @@ public class GeocodeBitmapCache {
 
   public static GeocodeBitmapCache create(
       @NonNull BufferedImage img, @NonNull Function<GeocodeRequest, GeocodeResponse> loadFn) {
-    return new GeocodeBitmapCache(img, loadFn, DEFAULT_KV_STORE, false);
+    return new GeocodeBitmapCache(img, null, loadFn, DEFAULT_KV_STORE, false);
   }
 
   public static GeocodeBitmapCache create(
@@ -54,7 +59,15 @@ public class GeocodeBitmapCache {
       @NonNull Function<GeocodeRequest, GeocodeResponse> loadFn,
       String kvStoreType,
       boolean missEqualsFail) {
-    return new GeocodeBitmapCache(img, loadFn, kvStoreType, missEqualsFail);
+    return new GeocodeBitmapCache(img, null, loadFn, kvStoreType, missEqualsFail);
+  }
+
+  public static GeocodeBitmapCache create(
+      @NonNull TilePyramid pyramid,
+      @NonNull Function<GeocodeRequest, GeocodeResponse> loadFn,
+      String kvStoreType,
+      boolean missEqualsFail) {
+    return new GeocodeBitmapCache(null, pyramid, loadFn, kvStoreType, missEqualsFail);
   }
 
   /**
@@ -67,16 +80,26 @@ public class GeocodeBitmapCache {
   public GeocodeResponse getFromBitmap(GeocodeRequest latLng) {
     double lat = latLng.getLat();
     double lng = latLng.getLng();
-    // Convert the latitude and longitude to x,y coordinates on the image.
-    // The axes are swapped, and the image's origin is the top left.
-    int x = (int) Math.round((lng + 180d) / 360d * (imgWidth - 1));
-    int y = imgHeight - 1 - (int) Math.round((lat + 90d) / 180d * (imgHeight - 1));
 
-    int colour = img.getRGB(x, y) & 0x00FFFFFF; // Ignore possible transparency.
+    int colour;
+    // Only formatted when logged
+    Object pixel;
+    if (pyramid != null) {
+      // The pyramid descends into finer tiles, the pixel is in the tile which answered
+      TilePyramid.Pixel p = pyramid.getPixel(lat, lng);
+      colour = p.getColour();
+      pixel = p;
+    } else {
+      // Convert the latitude and longitude to x,y coordinates on the image.
+      // The axes are swapped, and the image's origin is the top left.
+      int x = (int) Math.round((lng + 180d) / 360d * (imgWidth - 1));
+      int y = imgHeight - 1 - (int) Math.round((lat + 90d) / 180d * (imgHeight - 1));
+      colour = img.getRGB(x, y) & 0x00FFFFFF; // Ignore possible transparency.
+      pixel = new ImagePixel(x, y);
+    }
 
     String hex = String.format("#%06x", colour);
-    log.debug(
-        "[{}] LatLong {},{} has pixel {},{} with colour {}", kvStoreType, lat, lng, x, y, hex);
+    log.debug("[{}] LatLong {},{} has pixel {} with colour {}", kvStoreType, lat, lng, pixel, hex);
 
     switch (colour) {
       case BORDER:
@@ -86,17 +109,17 @@ public class GeocodeBitmapCache {
         return new GeocodeResponse(Collections.emptyList());
 
       default:
-        return getDefaultGeocodeResponse(lat, lng, x, y, colour, hex);
+        return getDefaultGeocodeResponse(lat, lng, pixel, colour, hex);
     }
   }
 
   private GeocodeResponse getDefaultGeocodeResponse(
-      double lat, double lng, int x, int y, int colour, String hex) {
+      double lat, double lng, Object pixel, int colour, String hex) {
 
     GeocodeResponse locations;
     if (colourKey.containsKey(colour)) {
       locations = colourKey.get(colour);
-      log.debug("[{}] Known colour {} (LL {},{}; pixel {},{})", kvStoreType, hex, lat, lng, x, y);
+      log.debug("[{}] Known colour {} (LL {},{}; pixel {})", kvStoreType, hex, lat, lng, pixel);
       return locations;
     }
 
@@ -105,33 +128,30 @@ public class GeocodeBitmapCache {
     if (locations.getLocations().isEmpty()) {
       if (missEqualsFail) {
         log.error(
-            "[{}] For colour {} (LL {},{}; pixel {},{}) the webservice gave zero locations.",
+            "[{}] For colour {} (LL {},{}; pixel {}) the webservice gave zero locations.",
             kvStoreType,
             hex,
             lat,
             lng,
-            x,
-            y);
+            pixel);
       } else {
         log.warn(
-            "[{}] For colour {} (LL {},{}; pixel {},{}) the webservice gave zero locations.",
+            "[{}] For colour {} (LL {},{}; pixel {}) the webservice gave zero locations.",
             kvStoreType,
             hex,
             lat,
             lng,
-            x,
-            y);
+            pixel);
       }
       colourKey.put(colour, locations);
     } else {
       log.debug(
-          "[{}] New colour {} (LL {},{}; pixel {},{}); remembering as {}",
+          "[{}] New colour {} (LL {},{}; pixel {}); remembering as {}",
           kvStoreType,
           hex,
           lat,
           lng,
-          x,
-          y,
+          pixel,
           joinLocations(locations));
       colourKey.put(colour, locations);
     }
@@ -145,4 +165,16 @@ public class GeocodeBitmapCache {
         .distinct()
         .collect(Collectors.joining(", "));
   }
+
+  /** Pixel of the world image, only formatted when logged */
+  @AllArgsConstructor
+  private static class ImagePixel {
+    private final int x;
+    private final int y;
+
+    @Override
+    public String toString() {
+      return x + "," + y;
+    }
+  }
 }
@@ -0,0 +1,201 @@
+package org.gbif.pipelines.core.parsers.location.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-only, memory-mapped quadtree of colour tiles used to refine the world bitmap near borders.
+ *
+ * <p>The root level is a grid of {@code rootCols × rootRows} tiles covering the world, each tile
+ * being {@code tileSize × tileSize} pixels. A tile containing {@link #BORDER} pixels may have four
+ * children covering its quadrants at twice the resolution. A lookup starts in the root tile and
+ * descends while it hits a border pixel and a child exists, so only coordinates which are still on
+ * a border at the finest level remain ambiguous.
+ *
+ * <p>File layout (big-endian), as written by {@code au.org.ala.utils.BitMapPyramidGenerator}:
+ *
+ * <pre>
+ * int    magic ({@link #MAGIC})
+ * int    version ({@link #VERSION})
+ * int    tileSize, rootCols, rootRows
+ * int    bytesPerPixel (2 or 4, palette index width)
+ * int    paletteSize, then paletteSize RGB colours
+ * int    tileCount, then tileCount first-child ids (-1 for a leaf)
+ * pixels tileCount × tileSize × tileSize palette indices, row-major from the north-west corner
+ * </pre>
+ *
+ * Children of a tile are stored contiguously in NW, NE, SW, SE order.
+ */
+@Slf4j
+public class TilePyramid {
+
+  public static final int MAGIC = 0x47545059; // GTPY
+  public static final int VERSION = 1;
+  public static final int BORDER = 0x000000;
+  public static final int NO_CHILD = -1;
+
+  @Getter private final int tileSize;
+  @Getter private final int rootCols;
+  @Getter private final int rootRows;
+  private final int bytesPerPixel;
+  private final int[] palette;
+  private final int[] firstChild;
+
+  // Each segment holds a whole number of tiles, so a tile never crosses a mapping boundary
+  private final MappedByteBuffer[] segments;
+  private final int tilesPerSegment;
+  private final int tileBytes;
+
+  private TilePyramid(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(6 * Integer.BYTES);
+      readFully(channel, header, 0L);
+      header.flip();
+
+      if (header.getInt() != MAGIC) {
+        throw new IOException("Not a tile pyramid file: " + path);
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported tile pyramid version " + version + " in " + path);
+      }
+      this.tileSize = header.getInt();
+      this.rootCols = header.getInt();
+      this.rootRows = header.getInt();
+      this.bytesPerPixel = header.getInt();
+      long position = header.capacity();
+
+      this.palette = readInts(channel, position);
+      position += Integer.BYTES * (1L + palette.length);
+
+      this.firstChild = readInts(channel, position);
+      position += Integer.BYTES * (1L + firstChild.length);
+
+      this.tileBytes = tileSize * tileSize * bytesPerPixel;
+      this.tilesPerSegment = Math.max(1, Integer.MAX_VALUE / tileBytes);
+
+      int segmentCount = (firstChild.length + tilesPerSegment - 1) / tilesPerSegment;
+      this.segments = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+        long tiles = Math.min(tilesPerSegment, firstChild.length - (long) i * tilesPerSegment);
+        long offset = position + (long) i * tilesPerSegment * tileBytes;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, tiles * tileBytes);
+      }
+    }
+    log.info(
+        "Mapped tile pyramid {} with {} tiles of {}px and {} colours",
+        path,
+        firstChild.length,
+        tileSize,
+        palette.length);
+  }
+
+  public static TilePyramid open(@NonNull Path path) throws IOException {
+    return new TilePyramid(path);
+  }
+
+  /** Pixel of a tile which answered a lookup, with its RGB colour */
+  @Value
+  public static class Pixel {
+    int tile;
+    int x;
+    int y;
+    int colour;
+
+    @Override
+    public String toString() {
+      return x + "," + y + " of tile " + tile;
+    }
+  }
+
+  public int getTileCount() {
+    return firstChild.length;
+  }
+
+  /**
+   * Returns the RGB colour for a coordinate, descending into child tiles while the pixel is a
+   * border and a finer tile exists.
+   */
+  public int getColour(double lat, double lng) {
+    return getPixel(lat, lng).getColour();
+  }
+
+  /** Returns the pixel of the finest tile used by {@link #getColour(double, double)} */
+  public Pixel getPixel(double lat, double lng) {
+    double tileWidth = 360d / rootCols;
+    double tileHeight = 180d / rootRows;
+
+    int col = clamp((int) Math.floor((lng + 180d) / tileWidth), rootCols);
+    int row = clamp((int) Math.floor((90d - lat) / tileHeight), rootRows);
+
+    double west = -180d + col * tileWidth;
+    double north = 90d - row * tileHeight;
+    int tile = row * rootCols + col;
+
+    while (true) {
+      int x = clamp((int) Math.floor((lng - west) / tileWidth * tileSize), tileSize);
+      int y = clamp((int) Math.floor((north - lat) / tileHeight * tileSize), tileSize);
+
+      int colour = palette[pixel(tile, x, y)];
+      int child = firstChild[tile];
+      if (colour != BORDER || child == NO_CHILD) {
+        return new Pixel(tile, x, y, colour);
+      }
+
+      int half = tileSize / 2;
+      int dx = x >= half ? 1 : 0;
+      int dy = y >= half ? 1 : 0;
+
+      tileWidth /= 2d;
+      tileHeight /= 2d;
+      west += dx * tileWidth;
+      north -= dy * tileHeight;
+      tile = child + dy * 2 + dx;
+    }
+  }
+
+  private int pixel(int tile, int x, int y) {
+    ByteBuffer segment = segments[tile / tilesPerSegment];
+    int offset = (tile % tilesPerSegment) * tileBytes + (y * tileSize + x) * bytesPerPixel;
+    return bytesPerPixel == 2 ? segment.getShort(offset) & 0xFFFF : segment.getInt(offset);
+  }
+
+  private static int clamp(int value, int size) {
+    return Math.max(0, Math.min(size - 1, value));
+  }
+
+  private static int[] readInts(FileChannel channel, long position) throws IOException {
+    ByteBuffer sizeBuffer = ByteBuffer.allocate(Integer.BYTES);
+    readFully(channel, sizeBuffer, position);
+    sizeBuffer.flip();
+    int size = sizeBuffer.getInt();
+
+    ByteBuffer buffer = ByteBuffer.allocate(size * Integer.BYTES);
+    readFully(channel, buffer, position + Integer.BYTES);
+    buffer.flip();
+
+    IntBuffer ints = buffer.asIntBuffer();
+    int[] result = new int[size];
+    ints.get(result);
+    return result;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new IOException("Unexpected end of tile pyramid file");
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.gbif.pipelines.core.parsers.vertnet;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -26,16 +27,19 @@ class DynamicParser {
   private final Pattern unitsFromKey;
   private final Map<String, String> keyMap;
   private final String fieldName;
+  private final KeywordFilter keywordFilter;
 
   private DynamicParser(
       List<PatternDefault> patternList,
       Pattern unitsFromKey,
       Map<String, String> keyMap,
-      String fieldName) {
+      String fieldName,
+      KeywordFilter keywordFilter) {
     this.patternList = patternList;
     this.unitsFromKey = unitsFromKey;
     this.keyMap = keyMap;
     this.fieldName = fieldName;
+    this.keywordFilter = keywordFilter;
   }
 
   protected static DynamicParserBuilder builder() {
@@ -48,9 +52,14 @@ class DynamicParser {
     }
 
     try {
+      String lowerCase = source.toLowerCase();
+      if (keywordFilter != null && keywordFilter.candidates(lowerCase) == 0L) {
+        return Optional.empty();
+      }
+
       for (PatternDefault p : patternList) {
 
-        Matcher matcher = p.pattern.matcher(source.toLowerCase());
+        Matcher matcher = p.pattern.matcher(lowerCase);
 
         if (matcher.find()) {
           String key = getGroup(matcher, p.defaultKey, KEY_GROUP);
@@ -102,6 +111,7 @@ class DynamicParser {
 
     private Pattern unitsFromKey;
     private String fieldName;
+    private String[] requiredKeywords;
 
     protected DynamicParserBuilder addUnitsFromKeyRegex(String regex) {
       this.unitsFromKey = Pattern.compile(regex);
@@ -114,6 +124,15 @@ class DynamicParser {
       return this;
     }
 
+    /**
+     * Lower case keywords of which every match pattern requires at least one, values without any
+     * of them are skipped without running the patterns
+     */
+    protected DynamicParserBuilder requiredKeywords(String... keywords) {
+      this.requiredKeywords = keywords;
+      return this;
+    }
+
     protected DynamicParserBuilder parserName(String fieldName) {
       this.fieldName = fieldName;
       return this;
@@ -170,7 +189,11 @@ class DynamicParser {
 
     public DynamicParser build() {
       initParser();
-      return new DynamicParser(patternList, unitsFromKey, keyMap, fieldName);
+      KeywordFilter keywordFilter =
+          requiredKeywords == null
+              ? null
+              : KeywordFilter.create(Collections.singletonList(requiredKeywords));
+      return new DynamicParser(patternList, unitsFromKey, keyMap, fieldName, keywordFilter);
     }
   }
 
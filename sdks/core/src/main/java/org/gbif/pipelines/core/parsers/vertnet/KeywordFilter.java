@@ -0,0 +1,112 @@
+package org.gbif.pipelines.core.parsers.vertnet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over the keywords required by a list of patterns. One scan of the text
+ * returns the patterns that can match it, as a bit mask where bit i is pattern i. A pattern can
+ * only match if the text contains at least one of its keywords, patterns without keywords are
+ * always candidates.
+ */
+final class KeywordFilter {
+
+  private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+  private final List<Integer> failures = new ArrayList<>();
+  private final List<Long> outputs = new ArrayList<>();
+  private final long always;
+  private final long all;
+
+  private KeywordFilter(List<String[]> keywords) {
+    if (keywords.size() > Long.SIZE) {
+      throw new IllegalArgumentException("At most " + Long.SIZE + " patterns are supported");
+    }
+
+    addNode();
+    long alwaysMask = 0L;
+    for (int i = 0; i < keywords.size(); i++) {
+      String[] words = keywords.get(i);
+      if (words == null || words.length == 0) {
+        alwaysMask |= 1L << i;
+      } else {
+        for (String word : words) {
+          addKeyword(word, 1L << i);
+        }
+      }
+    }
+    this.always = alwaysMask;
+    this.all = keywords.size() == Long.SIZE ? -1L : (1L << keywords.size()) - 1;
+    buildFailures();
+  }
+
+  /** @param keywords lower case keywords of every pattern, in the order of the patterns */
+  static KeywordFilter create(List<String[]> keywords) {
+    return new KeywordFilter(keywords);
+  }
+
+  /** Bit mask of the patterns that can match the lower case text */
+  long candidates(String text) {
+    long found = always;
+    int state = 0;
+    for (int i = 0; i < text.length() && found != all; i++) {
+      char c = text.charAt(i);
+      Integer next = transitions.get(state).get(c);
+      while (next == null && state != 0) {
+        state = failures.get(state);
+        next = transitions.get(state).get(c);
+      }
+      state = next == null ? 0 : next;
+      found |= outputs.get(state);
+    }
+    return found;
+  }
+
+  static boolean isCandidate(long candidates, int pattern) {
+    return (candidates & (1L << pattern)) != 0;
+  }
+
+  private int addNode() {
+    transitions.add(new HashMap<>());
+    failures.add(0);
+    outputs.add(0L);
+    return transitions.size() - 1;
+  }
+
+  private void addKeyword(String word, long mask) {
+    int state = 0;
+    for (char c : word.toCharArray()) {
+      Integer next = transitions.get(state).get(c);
+      if (next == null) {
+        next = addNode();
+        transitions.get(state).put(c, next);
+      }
+      state = next;
+    }
+    outputs.set(state, outputs.get(state) | mask);
+  }
+
+  private void buildFailures() {
+    Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      for (Map.Entry<Character, Integer> e : transitions.get(state).entrySet()) {
+        int child = e.getValue();
+        int failure = failures.get(state);
+        Integer next = transitions.get(failure).get(e.getKey());
+        while (next == null && failure != 0) {
+          failure = failures.get(failure);
+          next = transitions.get(failure).get(e.getKey());
+        }
+        int childFailure = next == null || next == child ? 0 : next;
+        failures.set(child, childFailure);
+        // A state also ends every keyword of its failure state
+        outputs.set(child, outputs.get(child) | outputs.get(childFailure));
+        queue.add(child);
+      }
+    }
+  }
+}
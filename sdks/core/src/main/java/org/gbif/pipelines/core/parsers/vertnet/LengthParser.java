@@ -92,6 +92,9 @@ public class LengthParser {
           .replaceRegexKeyGroupResultWith("totallengthin", TOTAL_LENGTH)
           .replaceRegexKeyGroupResultWith("totallengthinmm", TOTAL_LENGTH)
 
+          // Every match pattern contains a number
+          .requiredKeywords("0", "1", "2", "3", "4", "5", "6", "7", "8", "9")
+
           // In the case when key may contain units
           .addUnitsFromKeyRegex("(?<units>mm|millimeters)$")
 
@@ -40,18 +40,37 @@ public class LifeStageParser {
           LIFE_STAGE_YOLK_SAC,
           LIFE_STAGE_UNKEYED);
 
+  // Keywords required by each of the patterns, the shortest form of every alternative
+  private static final KeywordFilter KEYWORDS =
+      KeywordFilter.create(
+          Arrays.asList(
+              new String[] {"life", "age"},
+              new String[] {"life", "age"},
+              new String[] {"year"},
+              new String[] {"yolk"},
+              new String[] {
+                "larv", "imago", "neonate", "hatch", "fr", "metamorph", "tadpole", "têtar",
+                "youn", "leptocephal", "imm", "jeune", "yg", "flegling", "fledgeling", "chick",
+                "nestling", "juv", "ad", "yearling", "mature"
+              }));
+
   public static Optional<String> parse(String source) {
     if (source == null || source.isEmpty()) {
       return Optional.empty();
     }
 
     try {
-      Matcher exclude = EXCLUDE_PATTERN.matcher(source.toLowerCase());
+      String lowerCase = source.toLowerCase();
+      Matcher exclude = EXCLUDE_PATTERN.matcher(lowerCase);
       if (exclude.find()) {
         return Optional.empty();
       }
-      for (Pattern p : PATTERNS) {
-        Matcher matcher = p.matcher(source.toLowerCase());
+      long candidates = KEYWORDS.candidates(lowerCase);
+      for (int i = 0; i < PATTERNS.size(); i++) {
+        if (!KeywordFilter.isCandidate(candidates, i)) {
+          continue;
+        }
+        Matcher matcher = PATTERNS.get(i).matcher(lowerCase);
         if (matcher.find()) {
           return Optional.ofNullable(matcher.group("value"));
         }
@@ -72,6 +72,9 @@ public class MassParser {
           .replaceRegexKeyGroupResultWith("wts", TOTAL_WEIGHT)
           .replaceRegexKeyGroupResultWith("wts.", TOTAL_WEIGHT)
 
+          // Every match pattern contains a number
+          .requiredKeywords("0", "1", "2", "3", "4", "5", "6", "7", "8", "9")
+
           // In the case when key may contain units
           .addUnitsFromKeyRegex("(?<units>grams)$")
 
@@ -25,14 +25,24 @@ public class SexParser {
   private static final List<Pattern> PATTERNS =
       Arrays.asList(SEX_KEY_VALUE_DELIMITED, SEX_KEY_VALUE_UNDELIMITED, SEX_UNKEYED);
 
+  // Keywords required by each of the patterns, "male" is also part of "female"
+  private static final KeywordFilter KEYWORDS =
+      KeywordFilter.create(
+          Arrays.asList(new String[] {"sex"}, new String[] {"sex"}, new String[] {"male"}));
+
   public static Optional<String> parse(String source) {
     if (source == null || source.isEmpty()) {
       return Optional.empty();
     }
 
     try {
-      for (Pattern p : PATTERNS) {
-        Matcher matcher = p.matcher(source.toLowerCase());
+      String lowerCase = source.toLowerCase();
+      long candidates = KEYWORDS.candidates(lowerCase);
+      for (int i = 0; i < PATTERNS.size(); i++) {
+        if (!KeywordFilter.isCandidate(candidates, i)) {
+          continue;
+        }
+        Matcher matcher = PATTERNS.get(i).matcher(lowerCase);
         String result = matcher.find() ? matcher.group("value") : null;
         if (result != null) {
           while (matcher.find()) {
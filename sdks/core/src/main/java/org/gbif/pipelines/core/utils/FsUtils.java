@@ -18,16 +18,25 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
@@ -56,6 +65,9 @@ public final class FsUtils {
 
   public static final String HDFS_EMR_PREFIX = "hdfs:///";
 
+  // Maximum number of concurrent file system calls of one housekeeping operation
+  static final int MAX_PARALLELISM = 8;
+
   /**
    * Reads Beam options from arguments or file.
    *
@@ -243,21 +255,70 @@ public final class FsUtils {
     }
   }
 
+  /**
+   * Walks the tree level by level, the directories of a level are listed concurrently and the
+   * matching ones are deleted concurrently.
+   */
   private static void deleteDirectoryByPrefix(FileSystem fs, Path directoryPath, String filePrefix)
       throws IOException {
-    FileStatus[] status = fs.listStatus(directoryPath);
-    List<Path> list =
-        Arrays.stream(status)
-            .filter(FileStatus::isDirectory)
-            .map(FileStatus::getPath)
-            .collect(Collectors.toList());
-
-    for (Path dir : list) {
-      if (dir.getName().startsWith(filePrefix)) {
-        fs.delete(dir, true);
-      } else {
-        deleteDirectoryByPrefix(fs, dir, filePrefix);
+    List<Path> level = Collections.singletonList(directoryPath);
+    while (!level.isEmpty()) {
+      List<Callable<List<Path>>> listings = new ArrayList<>(level.size());
+      level.forEach(dir -> listings.add(() -> listDirectories(fs, dir)));
+
+      List<Path> next = new ArrayList<>();
+      List<Callable<Boolean>> deletes = new ArrayList<>();
+      for (List<Path> dirs : runParallel(listings)) {
+        for (Path dir : dirs) {
+          if (dir.getName().startsWith(filePrefix)) {
+            deletes.add(() -> fs.delete(dir, true));
+          } else {
+            next.add(dir);
+          }
+        }
+      }
+      runParallel(deletes);
+      level = next;
+    }
+  }
+
+  /** Lists subdirectories using the paged listing, the directory is never listed at once */
+  private static List<Path> listDirectories(FileSystem fs, Path directoryPath) throws IOException {
+    List<Path> dirs = new ArrayList<>();
+    RemoteIterator<FileStatus> iterator = fs.listStatusIterator(directoryPath);
+    while (iterator.hasNext()) {
+      FileStatus status = iterator.next();
+      if (status.isDirectory()) {
+        dirs.add(status.getPath());
+      }
+    }
+    return dirs;
+  }
+
+  /** Runs the tasks, at most {@link #MAX_PARALLELISM} at a time, and returns results in order */
+  private static <T> List<T> runParallel(List<Callable<T>> tasks) throws IOException {
+    List<T> results = new ArrayList<>(tasks.size());
+    if (tasks.isEmpty()) {
+      return results;
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(tasks.size(), MAX_PARALLELISM));
+    try {
+      for (Future<T> future : executor.invokeAll(tasks)) {
+        results.add(future.get());
       }
+      return results;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for file system calls");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      throw new PipelinesException(ex.getCause());
+    } finally {
+      executor.shutdownNow();
     }
   }
 
@@ -280,6 +341,28 @@ public final class FsUtils {
     }
   }
 
+  /**
+   * Removes directories with content if they exist, at most {@link #MAX_PARALLELISM} at a time
+   *
+   * @param hdfsConfigs path to hdfs-site.xml config file
+   * @param directoryPaths paths to directories
+   * @return deleted flag by directory path
+   */
+  @SneakyThrows
+  public static Map<String, Boolean> deleteIfExist(
+      HdfsConfigs hdfsConfigs, Collection<String> directoryPaths) {
+    List<String> paths = new ArrayList<>(directoryPaths);
+    List<Callable<Boolean>> deletes = new ArrayList<>(paths.size());
+    paths.forEach(path -> deletes.add(() -> deleteIfExist(hdfsConfigs, path)));
+
+    List<Boolean> deleted = runParallel(deletes);
+    Map<String, Boolean> result = new LinkedHashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      result.put(paths.get(i), deleted.get(i));
+    }
+    return result;
+  }
+
   /**
    * Convert EMR style path with hdfs:/// prefix to local path.
    *
@@ -350,12 +433,16 @@ public final class FsUtils {
         boolean isDeleted = deleteIfExist(hdfsConfigs, path);
         log.info("Delete interpretation directory - {}, deleted - {}", path, isDeleted);
       } else {
+        List<String> stepPaths = new ArrayList<>(steps.size());
         for (String step : steps) {
           log.info("Delete {}/{} directory", path, step.toLowerCase());
-          boolean isDeleted =
-              deleteIfExist(hdfsConfigs, String.join("/", path, step.toLowerCase()));
-          log.info("Delete interpretation directory - {}, deleted - {}", path, isDeleted);
+          stepPaths.add(String.join("/", path, step.toLowerCase()));
         }
+        deleteIfExist(hdfsConfigs, stepPaths)
+            .forEach(
+                (stepPath, isDeleted) ->
+                    log.info(
+                        "Delete interpretation directory - {}, deleted - {}", stepPath, isDeleted));
       }
     }
   }
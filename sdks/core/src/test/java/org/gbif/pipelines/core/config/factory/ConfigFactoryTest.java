@@ -52,6 +52,9 @@ public class ConfigFactoryTest {
     assertEquals(62L, geocode.getWsTimeoutSec());
     assertEquals(66L, geocode.getWsCacheSizeMb());
     assertEquals(7, geocode.getNumOfKeyBuckets());
+    assertEquals("/dev/shm/pipelines", geocode.getSharedCache().getPath());
+    assertEquals(512L, geocode.getSharedCache().getSizeMb());
+    assertEquals(2048, geocode.getSharedCache().getSlotBytes());
 
     KvConfig locationFeature = config.getLocationFeature();
     assertEquals(
@@ -2,8 +2,15 @@ package org.gbif.pipelines.core.interpreters.core;
 
 import static org.gbif.rest.client.grscicoll.GrscicollLookupResponse.Status.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
+import java.util.Map;
+import java.util.Optional;
 import org.gbif.api.vocabulary.OccurrenceIssue;
+import org.gbif.dwc.terms.DwcTerm;
+import org.gbif.kvs.grscicoll.GrscicollLookupRequest;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.gbif.pipelines.io.avro.MetadataRecord;
 import org.junit.Test;
 
 public class GrscicollInterpreterTest {
@@ -39,4 +46,53 @@ public class GrscicollInterpreterTest {
         OccurrenceIssue.INSTITUTION_COLLECTION_MISMATCH,
         GrscicollInterpreter.getCollectionMatchNoneIssue(AMBIGUOUS_INSTITUTION_MISMATCH));
   }
+
+  @Test
+  public void createLookupRequestTest() {
+
+    // State
+    MetadataRecord mdr =
+        MetadataRecord.newBuilder()
+            .setId("1")
+            .setDatasetKey("7ddf754f-d193-4cc9-b351-99906754a03b")
+            .setDatasetPublishingCountry("DK")
+            .build();
+    ExtendedRecord first = specimen("1", "NHMD");
+    ExtendedRecord second = specimen("2", "NHMD");
+    ExtendedRecord noCollection =
+        ExtendedRecord.newBuilder()
+            .setId("3")
+            .setCoreTerms(Map.of(DwcTerm.basisOfRecord.qualifiedName(), "PreservedSpecimen"))
+            .build();
+    ExtendedRecord observation =
+        ExtendedRecord.newBuilder()
+            .setId("4")
+            .setCoreTerms(
+                Map.of(
+                    DwcTerm.basisOfRecord.qualifiedName(), "HumanObservation",
+                    DwcTerm.institutionCode.qualifiedName(), "NHMD"))
+            .build();
+
+    // When
+    Optional<GrscicollLookupRequest> firstRequest =
+        GrscicollInterpreter.createLookupRequest(first, mdr);
+    Optional<GrscicollLookupRequest> secondRequest =
+        GrscicollInterpreter.createLookupRequest(second, mdr);
+
+    // Should
+    assertEquals(firstRequest, secondRequest);
+    assertEquals("NHMD", firstRequest.get().getInstitutionCode());
+    assertFalse(GrscicollInterpreter.createLookupRequest(noCollection, mdr).isPresent());
+    assertFalse(GrscicollInterpreter.createLookupRequest(observation, mdr).isPresent());
+  }
+
+  private static ExtendedRecord specimen(String id, String institutionCode) {
+    return ExtendedRecord.newBuilder()
+        .setId(id)
+        .setCoreTerms(
+            Map.of(
+                DwcTerm.basisOfRecord.qualifiedName(), "PreservedSpecimen",
+                DwcTerm.institutionCode.qualifiedName(), institutionCode))
+        .build();
+  }
 }
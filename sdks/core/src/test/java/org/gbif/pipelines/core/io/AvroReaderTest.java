@@ -229,6 +229,54 @@ public class AvroReaderTest {
     Files.deleteIfExists(Paths.get(verbatimPath1.toString()));
   }
 
+  @Test
+  public void shardedSinglePathTest() throws IOException {
+
+    // State
+    Path shard1 = new Path("target/sharded/interpret-1-00000-of-00002.avro");
+    Path shard2 = new Path("target/sharded/interpret-1-00001-of-00002.avro");
+    ExtendedRecord expectedOne = ExtendedRecord.newBuilder().setId("1").build();
+    ExtendedRecord expectedTwo = ExtendedRecord.newBuilder().setId("2").build();
+    writeExtendedRecords(shard1, expectedOne);
+    writeExtendedRecords(shard2, expectedTwo);
+
+    // When
+    Map<String, ExtendedRecord> result =
+        AvroReader.readRecords(
+            hdfsConfigs, ExtendedRecord.class, "target/sharded/interpret-1.avro");
+
+    // Should
+    assertMap(result, expectedOne, expectedTwo);
+
+    // Post
+    verbatimFs.delete(new Path("target/sharded"), true);
+  }
+
+  @Test
+  public void shardedWildcardTest() throws IOException {
+
+    // State
+    Path dir = new Path("target/sharded-wildcard");
+    ExtendedRecord expectedOne = ExtendedRecord.newBuilder().setId("1").build();
+    ExtendedRecord expectedTwo = ExtendedRecord.newBuilder().setId("2").build();
+    ExtendedRecord expectedThree = ExtendedRecord.newBuilder().setId("3").build();
+    writeExtendedRecords(new Path(dir, "interpret-1-00000-of-00002.avro"), expectedOne);
+    writeExtendedRecords(new Path(dir, "interpret-1-00001-of-00002.avro"), expectedTwo);
+    // Written by another writer into the same directory, e.g. absent identifiers
+    writeExtendedRecords(new Path(dir, "absent-2.avro"), expectedThree);
+
+    // When
+    Map<String, ExtendedRecord> result =
+        AvroReader.readRecords(
+            hdfsConfigs, ExtendedRecord.class, "target/sharded-wildcard/*.avro");
+
+    // Should
+    assertMap(result, expectedOne, expectedTwo, expectedThree);
+
+    // Post
+    verbatimFs.delete(dir, true);
+  }
+
   private void assertMap(Map<String, ExtendedRecord> result, ExtendedRecord... expected) {
     Assert.assertEquals(expected.length, result.size());
     Arrays.stream(expected)
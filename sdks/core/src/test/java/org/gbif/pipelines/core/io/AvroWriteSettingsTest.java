@@ -0,0 +1,60 @@
+package org.gbif.pipelines.core.io;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.file.CodecFactory;
+import org.gbif.pipelines.core.io.AvroWriteSettings.Setting;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AvroWriteSettingsTest {
+
+  @Test
+  public void recordTypeSettingsTest() {
+    // State
+    String spec = "IDENTIFIER=snappy@262144, verbatim=zstandard-3@4194304,AUDUBON=deflate-6";
+
+    // When
+    AvroWriteSettings settings = AvroWriteSettings.create("snappy", 2_097_152, spec);
+
+    // Should
+    Assert.assertEquals(new Setting("snappy", 262_144), settings.forRecordType("IDENTIFIER"));
+    Assert.assertEquals(new Setting("zstandard-3", 4_194_304), settings.forRecordType("VERBATIM"));
+    Assert.assertEquals(new Setting("deflate-6", 2_097_152), settings.forRecordType("audubon"));
+    Assert.assertEquals(new Setting("snappy", 2_097_152), settings.forRecordType("BASIC"));
+  }
+
+  @Test
+  public void emptySpecTest() {
+    // When
+    AvroWriteSettings settings = AvroWriteSettings.create("deflate", 1024, "");
+
+    // Should
+    Assert.assertEquals(new Setting("deflate", 1024), settings.forRecordType("IDENTIFIER"));
+  }
+
+  @Test(expected = AvroRuntimeException.class)
+  public void unknownCodecTest() {
+    // When
+    AvroWriteSettings.create("snappy", 1024, "IDENTIFIER=lz4");
+  }
+
+  @Test
+  public void codecLevelsTest() {
+    // Should
+    Assert.assertEquals(CodecFactory.zstandardCodec(3).toString(), toString("zstandard-3"));
+    Assert.assertEquals(CodecFactory.zstandardCodec(3).toString(), toString("zstd-3"));
+    Assert.assertEquals(CodecFactory.deflateCodec(6).toString(), toString("deflate-6"));
+    Assert.assertEquals(CodecFactory.snappyCodec().toString(), toString("snappy"));
+    Assert.assertEquals(CodecFactory.nullCodec().toString(), toString("null"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedLevelTest() {
+    // When
+    AvroCodecs.fromString("snappy-3");
+  }
+
+  private static String toString(String codec) {
+    return AvroCodecs.fromString(codec).toString();
+  }
+}
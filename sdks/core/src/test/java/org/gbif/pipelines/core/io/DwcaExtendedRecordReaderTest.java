@@ -1,13 +1,24 @@
 package org.gbif.pipelines.core.io;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.gbif.pipelines.core.io.DwcaTermCounts.FileCounts;
 import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class DwcaExtendedRecordReaderTest {
 
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   @Test
   public void uncompressedReaderExtensionTest() throws IOException {
     // State
@@ -50,4 +61,57 @@ public class DwcaExtendedRecordReaderTest {
       dwcaReader.getCurrent();
     }
   }
+
+  @Test
+  public void termCountsTest() throws IOException {
+    // State
+    String fileName = getClass().getResource("/dwca/plants_dwca").getFile();
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    Path countsPath = new Path(folder.getRoot().getAbsolutePath(), "term-counts.tsv");
+
+    // When
+    try (DwcaExtendedRecordReader dwcaReader =
+        DwcaExtendedRecordReader.fromLocation(fileName).withTermCounts()) {
+      while (dwcaReader.advance()) {
+        dwcaReader.getCurrent();
+      }
+      dwcaReader.getTermCounts().write(fs, countsPath);
+    }
+    DwcaTermCounts result = DwcaTermCounts.read(fs, countsPath).orElse(null);
+
+    // Should
+    assertNotNull(result);
+    assertEquals(1, result.getFiles().size());
+    FileCounts core = result.getFiles().get(0);
+    assertTrue(core.isCore());
+    assertEquals("http://rs.tdwg.org/dwc/terms/Occurrence", core.getRowType());
+    assertEquals(307L, core.getCount());
+    assertEquals(Long.valueOf(307L), core.getTerms().get("http://rs.tdwg.org/dwc/terms/family"));
+    assertFalse(DwcaTermCounts.read(fs, new Path(countsPath + ".missing")).isPresent());
+  }
+
+  @Test
+  public void extensionTermCountsTest() throws IOException {
+    // State
+    String fileName = getClass().getResource("/dwca/plants_dwca_ext").getFile();
+
+    // When
+    DwcaTermCounts result;
+    try (DwcaExtendedRecordReader dwcaReader =
+        DwcaExtendedRecordReader.fromLocation(fileName).withTermCounts()) {
+      while (dwcaReader.advance()) {
+        dwcaReader.getCurrent();
+      }
+      result = dwcaReader.getTermCounts();
+    }
+
+    // Should
+    assertEquals(2, result.getFiles().size());
+    FileCounts extension = result.getFiles().get(1);
+    assertFalse(extension.isCore());
+    assertEquals("http://rs.gbif.org/terms/1.0/Identifier", extension.getRowType());
+    assertEquals(307L, extension.getCount());
+    assertEquals(
+        Long.valueOf(269L), extension.getTerms().get("http://purl.org/dc/terms/identifier"));
+  }
 }
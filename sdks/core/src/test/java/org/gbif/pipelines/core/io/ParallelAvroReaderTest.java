@@ -0,0 +1,106 @@
+package org.gbif.pipelines.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.gbif.pipelines.io.avro.ExtendedRecord;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelAvroReaderTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final HdfsConfigs hdfsConfigs = HdfsConfigs.nullConfig();
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void after() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void readSplitsTest() throws Exception {
+
+    // State
+    File file = writeExtendedRecords("verbatim.avro", 0, 10_000);
+    Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    // When
+    ParallelAvroReader.read(
+            hdfsConfigs,
+            ExtendedRecord.class,
+            file.getAbsolutePath(),
+            4_096L,
+            executor,
+            r -> counts.computeIfAbsent(r.getId(), k -> new AtomicInteger()).incrementAndGet())
+        .get();
+
+    // Should
+    Assert.assertEquals(10_000, counts.size());
+    counts.values().forEach(c -> Assert.assertEquals(1, c.get()));
+  }
+
+  @Test
+  public void readRecordsWildcardTest() throws Exception {
+
+    // State
+    writeExtendedRecords("verbatim1.avro", 0, 500);
+    writeExtendedRecords("verbatim2.avro", 500, 1_000);
+    String path = new File(folder.getRoot(), "verbatim*.avro").getAbsolutePath();
+
+    // When
+    Map<String, ExtendedRecord> result =
+        ParallelAvroReader.readRecords(hdfsConfigs, ExtendedRecord.class, path, executor).get();
+
+    // Should
+    Assert.assertEquals(1_000, result.size());
+    Assert.assertEquals("value-999", result.get("999").getCoreTerms().get("key"));
+  }
+
+  @Test
+  public void readObjectsTest() throws Exception {
+
+    // State
+    File file = writeExtendedRecords("verbatim.avro", 0, 3);
+
+    // When
+    List<ExtendedRecord> result =
+        ParallelAvroReader.readObjects(
+                hdfsConfigs, ExtendedRecord.class, file.getAbsolutePath(), executor)
+            .get();
+
+    // Should
+    Assert.assertEquals(3, result.size());
+  }
+
+  private File writeExtendedRecords(String name, int from, int to) throws IOException {
+    File file = new File(folder.getRoot(), name);
+    try (DataFileWriter<ExtendedRecord> writer =
+        new DataFileWriter<>(new SpecificDatumWriter<>(ExtendedRecord.class))) {
+      // Small blocks, so a file has many sync markers
+      writer.setSyncInterval(512);
+      writer.create(ExtendedRecord.getClassSchema(), file);
+      for (int i = from; i < to; i++) {
+        writer.append(
+            ExtendedRecord.newBuilder()
+                .setId(String.valueOf(i))
+                .setCoreTerms(Collections.singletonMap("key", "value-" + i))
+                .build());
+      }
+    }
+    return file;
+  }
+}
@@ -0,0 +1,130 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gbif.kvs.KeyValueStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncKeyValueStoreTest {
+
+  @Test
+  public void getAllTest() {
+
+    // State
+    AtomicInteger calls = new AtomicInteger();
+    AsyncKeyValueStore<String, String> kvStore = AsyncKeyValueStore.wrap(upperCaseStore(calls), 4);
+
+    // When
+    Map<String, String> result = kvStore.getAll(Arrays.asList("b", "a", "missing", "b", "c"));
+
+    // Should
+    Assert.assertEquals(3, result.size());
+    Assert.assertArrayEquals(new Object[] {"b", "a", "c"}, result.keySet().toArray());
+    Assert.assertEquals("B", result.get("b"));
+    Assert.assertEquals(4, calls.get());
+    Assert.assertEquals("A", kvStore.get("a"));
+  }
+
+  @Test
+  public void maxInFlightTest() throws Exception {
+
+    // State
+    AtomicInteger calls = new AtomicInteger();
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(3);
+    CountDownLatch release = new CountDownLatch(1);
+    KeyValueStore<String, String> blockingStore =
+        new KeyValueStore<String, String>() {
+          @Override
+          public String get(String key) {
+            calls.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            } finally {
+              active.decrementAndGet();
+            }
+            return key.toUpperCase();
+          }
+
+          @Override
+          public void close() {
+            // NOP
+          }
+        };
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    AsyncKeyValueStore<String, String> kvStore =
+        AsyncKeyValueStore.wrap(blockingStore, executor, 3);
+
+    // When
+    CompletableFuture<Map<String, String>> result;
+    boolean allStarted;
+    int callsWhileBlocked;
+    try {
+      result =
+          CompletableFuture.supplyAsync(
+              () ->
+                  kvStore.getAll(
+                      Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k")));
+      allStarted = started.await(10, TimeUnit.SECONDS);
+      // The caller waits for a permit, no lookup can start until one of the three finishes
+      callsWhileBlocked = calls.get();
+      release.countDown();
+      result.get(10, TimeUnit.SECONDS);
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+
+    // Should
+    Assert.assertTrue(allStarted);
+    Assert.assertEquals(3, callsWhileBlocked);
+    Assert.assertEquals(11, result.get().size());
+    Assert.assertEquals(11, calls.get());
+    Assert.assertEquals(3, maxActive.get());
+  }
+
+  @Test
+  public void nullStoreTest() {
+
+    // When
+    AsyncKeyValueStore<String, String> kvStore = AsyncKeyValueStore.wrap(null, 4);
+
+    // Should
+    Assert.assertNull(kvStore);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMaxInFlightTest() {
+
+    // When
+    AsyncKeyValueStore.wrap(upperCaseStore(new AtomicInteger()), 0);
+  }
+
+  /** Upper case of the key, null for "missing" */
+  private static KeyValueStore<String, String> upperCaseStore(AtomicInteger calls) {
+    return new KeyValueStore<String, String>() {
+      @Override
+      public String get(String key) {
+        calls.incrementAndGet();
+        return "missing".equals(key) ? null : key.toUpperCase();
+      }
+
+      @Override
+      public void close() {
+        // NOP
+      }
+    };
+  }
+}
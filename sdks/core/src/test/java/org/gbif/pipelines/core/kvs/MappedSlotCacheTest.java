@@ -0,0 +1,85 @@
+package org.gbif.pipelines.core.kvs;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedSlotCacheTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void sharedFileTest() throws IOException {
+
+    // State
+    File file = new File(folder.getRoot(), "shared.cache");
+    MappedSlotCache writer = MappedSlotCache.open(file, 1024 * 1024, 256, 60_000L);
+    MappedSlotCache reader = MappedSlotCache.open(file, 1024 * 1024, 256, 60_000L);
+
+    // When
+    boolean stored = writer.put(bytes("key"), bytes("value"));
+
+    // Should
+    Assert.assertTrue(stored);
+    Assert.assertEquals("value", new String(reader.get(bytes("key")), UTF_8));
+    Assert.assertNull(reader.get(bytes("other")));
+  }
+
+  @Test
+  public void tooLargeTest() throws IOException {
+
+    // State
+    MappedSlotCache cache =
+        MappedSlotCache.open(new File(folder.getRoot(), "large.cache"), 64 * 1024, 64, 60_000L);
+
+    // When
+    boolean stored = cache.put(bytes("key"), new byte[64]);
+
+    // Should
+    Assert.assertFalse(stored);
+    Assert.assertNull(cache.get(bytes("key")));
+  }
+
+  @Test
+  public void expiredTest() throws Exception {
+
+    // State
+    File file = new File(folder.getRoot(), "expired.cache");
+    MappedSlotCache.open(file, 64 * 1024, 256, 60_000L).put(bytes("key"), bytes("value"));
+    Thread.sleep(5L);
+
+    // When
+    byte[] result = MappedSlotCache.open(file, 64 * 1024, 256, 1L).get(bytes("key"));
+
+    // Should
+    Assert.assertNull(result);
+  }
+
+  @Test
+  public void corruptSlotTest() throws IOException {
+
+    // State
+    File file = new File(folder.getRoot(), "corrupt.cache");
+    MappedSlotCache cache = MappedSlotCache.open(file, 256, 256, 60_000L);
+    cache.put(bytes("key"), bytes("value"));
+
+    // When, a half written slot
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(24L);
+      raf.write(bytes("XX"));
+    }
+
+    // Should
+    Assert.assertNull(cache.get(bytes("key")));
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+}
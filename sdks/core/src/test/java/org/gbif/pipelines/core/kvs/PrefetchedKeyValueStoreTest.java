@@ -0,0 +1,118 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gbif.kvs.KeyValueStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefetchedKeyValueStoreTest {
+
+  @Test
+  public void prefetchTest() {
+
+    // State
+    AtomicInteger calls = new AtomicInteger();
+    KeyValueStore<String, String> kvStore = upperCaseStore(calls);
+
+    // When
+    PrefetchedKeyValueStore<String, String> prefetched =
+        PrefetchedKeyValueStore.prefetch(
+            kvStore, Arrays.asList("a", "b", "a", "missing", "a", "b"), 4);
+    int prefetchCalls = calls.get();
+
+    // Should
+    Assert.assertEquals(3, prefetchCalls);
+    Assert.assertEquals(3, prefetched.size());
+    Assert.assertEquals("A", prefetched.get("a"));
+    Assert.assertEquals("B", prefetched.get("b"));
+    Assert.assertNull(prefetched.get("missing"));
+    Assert.assertEquals(prefetchCalls, calls.get());
+
+    // Not prefetched
+    Assert.assertEquals("C", prefetched.get("c"));
+    Assert.assertEquals(prefetchCalls + 1, calls.get());
+  }
+
+  @Test
+  public void failedKeysTest() {
+
+    // State
+    AtomicInteger calls = new AtomicInteger();
+    KeyValueStore<String, String> kvStore = upperCaseStore(calls);
+
+    // When
+    PrefetchedKeyValueStore<String, String> prefetched =
+        PrefetchedKeyValueStore.prefetch(kvStore, Arrays.asList("a", "error"), 4);
+
+    // Should
+    Assert.assertEquals(1, prefetched.size());
+    Assert.assertThrows(IllegalStateException.class, () -> prefetched.get("error"));
+    Assert.assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void nullStoreTest() {
+
+    // When
+    PrefetchedKeyValueStore<String, String> prefetched =
+        PrefetchedKeyValueStore.prefetch(null, Arrays.asList("a", "b"), 4);
+
+    // Should
+    Assert.assertNull(prefetched);
+  }
+
+  @Test
+  public void snapshotTest() throws Exception {
+
+    // State
+    AtomicInteger calls = new AtomicInteger();
+    PrefetchedKeyValueStore<String, String> prefetched =
+        PrefetchedKeyValueStore.prefetch(
+            upperCaseStore(new AtomicInteger()), Arrays.asList("a", "missing"), 4);
+
+    // When, shared with another worker
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(prefetched.getSnapshot());
+    }
+    PrefetchedKeyValueStore.Snapshot<String, String> snapshot;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      snapshot = (PrefetchedKeyValueStore.Snapshot<String, String>) in.readObject();
+    }
+    PrefetchedKeyValueStore<String, String> shared =
+        PrefetchedKeyValueStore.of(upperCaseStore(calls), snapshot);
+
+    // Should
+    Assert.assertEquals(2, shared.size());
+    Assert.assertEquals("A", shared.get("a"));
+    Assert.assertNull(shared.get("missing"));
+    Assert.assertEquals(0, calls.get());
+    Assert.assertEquals("B", shared.get("b"));
+    Assert.assertEquals(1, calls.get());
+  }
+
+  /** Upper case of the key, null for "missing", fails for "error" */
+  private static KeyValueStore<String, String> upperCaseStore(AtomicInteger calls) {
+    return new KeyValueStore<String, String>() {
+      @Override
+      public String get(String key) {
+        calls.incrementAndGet();
+        if ("error".equals(key)) {
+          throw new IllegalStateException("Service is down");
+        }
+        return "missing".equals(key) ? null : key.toUpperCase();
+      }
+
+      @Override
+      public void close() {
+        // NOP
+      }
+    };
+  }
+}
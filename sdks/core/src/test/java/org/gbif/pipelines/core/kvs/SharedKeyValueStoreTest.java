@@ -0,0 +1,73 @@
+package org.gbif.pipelines.core.kvs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gbif.kvs.KeyValueStore;
+import org.gbif.pipelines.core.config.model.SharedCacheConfig;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SharedKeyValueStoreTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void sharedBetweenStoresTest() {
+
+    // State
+    SharedCacheConfig config = new SharedCacheConfig();
+    config.setPath(folder.getRoot().getAbsolutePath());
+    config.setSizeMb(1L);
+
+    AtomicInteger firstCalls = new AtomicInteger();
+    AtomicInteger secondCalls = new AtomicInteger();
+    KeyValueStore<String, String> first =
+        SharedKeyValueStore.wrap("test", config, String.class, upperCaseStore(firstCalls));
+    KeyValueStore<String, String> second =
+        SharedKeyValueStore.wrap("test", config, String.class, upperCaseStore(secondCalls));
+
+    // When
+    String firstValue = first.get("abc");
+    String secondValue = second.get("abc");
+    String missingValue = second.get("missing");
+
+    // Should
+    Assert.assertEquals("ABC", firstValue);
+    Assert.assertEquals("ABC", secondValue);
+    Assert.assertNull(missingValue);
+    Assert.assertEquals(1, firstCalls.get());
+    Assert.assertEquals(1, secondCalls.get());
+    Assert.assertTrue(((SharedKeyValueStore<String, String>) second).getHitRatio() > 0d);
+  }
+
+  @Test
+  public void disabledTest() {
+
+    // State
+    KeyValueStore<String, String> kvStore = upperCaseStore(new AtomicInteger());
+
+    // When
+    KeyValueStore<String, String> result =
+        SharedKeyValueStore.wrap("test", new SharedCacheConfig(), String.class, kvStore);
+
+    // Should
+    Assert.assertSame(kvStore, result);
+  }
+
+  /** Upper case of the key, null for "missing" */
+  private static KeyValueStore<String, String> upperCaseStore(AtomicInteger calls) {
+    return new KeyValueStore<String, String>() {
+      @Override
+      public String get(String key) {
+        calls.incrementAndGet();
+        return "missing".equals(key) ? null : key.toUpperCase();
+      }
+
+      @Override
+      public void close() {
+        // NOP
+      }
+    };
+  }
+}
@@ -0,0 +1,78 @@
+package org.gbif.pipelines.core.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.gbif.kvs.KeyValueStore;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StageMetricsTest {
+
+  @Before
+  public void reset() {
+    StageMetrics.reset();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void timerTest() {
+
+    // State
+    LatencyRecorder recorder = StageMetrics.timer("interpret.test");
+
+    // When
+    for (int x = 1; x <= 100; x++) {
+      recorder.record(TimeUnit.MILLISECONDS.toNanos(x));
+    }
+
+    // Should
+    assertSame(recorder, StageMetrics.timer("interpret.test"));
+    Map<String, Object> timers = (Map<String, Object>) StageMetrics.snapshot().get("timers");
+    Map<String, Object> values = (Map<String, Object>) timers.get("interpret.test");
+    assertEquals(100L, values.get("count"));
+    assertEquals(50_000d, (long) values.get("p50Micros"), 500d);
+    assertEquals(99_000d, (long) values.get("p99Micros"), 1_000d);
+    assertEquals(100_000d, (long) values.get("maxMicros"), 1_000d);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void meteredKeyValueStoreTest() {
+
+    // State
+    KeyValueStore<String, String> kvStore =
+        MeteredKeyValueStore.wrap(
+            "test",
+            new KeyValueStore<String, String>() {
+              @Override
+              public String get(String key) {
+                return key.isEmpty() ? null : key;
+              }
+
+              @Override
+              public void close() {
+                // NOP
+              }
+            });
+
+    // When
+    kvStore.get("a");
+    kvStore.get("b");
+    kvStore.get("");
+
+    // Should
+    Map<String, Object> counters = (Map<String, Object>) StageMetrics.snapshot().get("counters");
+    assertEquals(2L, counters.get("kv.test.found"));
+    assertEquals(1L, counters.get("kv.test.empty"));
+    assertFalse(counters.containsKey("kv.test.errors"));
+    assertEquals(3L, StageMetrics.timer("kv.test").getCount());
+    assertNull(MeteredKeyValueStore.wrap("test", null));
+    assertTrue(StageMetrics.toJson().contains("\"kv.test\""));
+  }
+}
@@ -0,0 +1,83 @@
+package org.gbif.pipelines.core.parsers.location.cache;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TilePyramidTest {
+
+  private static final int RED = 0xFF0000;
+  private static final int GREEN = 0x00FF00;
+  private static final int WHITE = 0xFFFFFF;
+
+  private static TilePyramid pyramid;
+
+  /**
+   * Two 2×2 root tiles (west and east hemispheres). The west tile has a border pixel in its NE
+   * quadrant and four children, the NE child resolves the northern half to green.
+   */
+  @BeforeClass
+  public static void writePyramid() throws IOException {
+    Path file = Files.createTempFile("tile-pyramid-test", ".pyramid");
+    file.toFile().deleteOnExit();
+
+    int[] palette = {TilePyramid.BORDER, RED, GREEN, WHITE};
+    int[] firstChild = {2, -1, -1, -1, -1, -1};
+    int[][] tiles = {
+      {1, 0, 1, 1}, // west
+      {3, 3, 3, 3}, // east
+      {1, 1, 1, 1}, // west NW
+      {2, 2, 0, 0}, // west NE
+      {1, 1, 1, 1}, // west SW
+      {1, 1, 1, 1} // west SE
+    };
+
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file.toFile()))) {
+      out.writeInt(TilePyramid.MAGIC);
+      out.writeInt(TilePyramid.VERSION);
+      out.writeInt(2); // tileSize
+      out.writeInt(2); // rootCols
+      out.writeInt(1); // rootRows
+      out.writeInt(2); // bytesPerPixel
+      out.writeInt(palette.length);
+      for (int colour : palette) {
+        out.writeInt(colour);
+      }
+      out.writeInt(firstChild.length);
+      for (int child : firstChild) {
+        out.writeInt(child);
+      }
+      for (int[] tile : tiles) {
+        for (int index : tile) {
+          out.writeShort(index);
+        }
+      }
+    }
+
+    pyramid = TilePyramid.open(file);
+  }
+
+  @Test
+  public void rootColourTest() {
+    assertEquals(6, pyramid.getTileCount());
+    assertEquals(RED, pyramid.getColour(45d, -135d));
+    assertEquals(WHITE, pyramid.getColour(0d, 90d));
+    assertEquals(WHITE, pyramid.getColour(-90d, 180d));
+  }
+
+  @Test
+  public void borderResolvedByChildTest() {
+    assertEquals(GREEN, pyramid.getColour(80d, -45d));
+  }
+
+  @Test
+  public void borderAtFinestLevelTest() {
+    assertEquals(TilePyramid.BORDER, pyramid.getColour(45d, -45d));
+  }
+}
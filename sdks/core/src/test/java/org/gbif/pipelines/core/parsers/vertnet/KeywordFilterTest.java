@@ -0,0 +1,46 @@
+package org.gbif.pipelines.core.parsers.vertnet;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeywordFilterTest {
+
+  private static final KeywordFilter FILTER =
+      KeywordFilter.create(
+          Arrays.asList(
+              new String[] {"he", "she"},
+              new String[] {"his", "hers"},
+              new String[] {"year"},
+              null));
+
+  @Test
+  public void noKeywordTest() {
+    // When
+    long result = FILTER.candidates("a plain value");
+
+    // Should
+    Assert.assertEquals(0b1000L, result);
+  }
+
+  @Test
+  public void overlappingKeywordsTest() {
+    // When
+    long result = FILTER.candidates("ushers");
+
+    // Should
+    Assert.assertTrue(KeywordFilter.isCandidate(result, 0));
+    Assert.assertTrue(KeywordFilter.isCandidate(result, 1));
+    Assert.assertFalse(KeywordFilter.isCandidate(result, 2));
+    Assert.assertTrue(KeywordFilter.isCandidate(result, 3));
+  }
+
+  @Test
+  public void suffixKeywordTest() {
+    // When
+    long result = FILTER.candidates("first yea, second year");
+
+    // Should
+    Assert.assertEquals(0b1100L, result);
+  }
+}
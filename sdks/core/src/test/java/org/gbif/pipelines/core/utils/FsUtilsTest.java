@@ -0,0 +1,112 @@
+package org.gbif.pipelines.core.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import org.gbif.dwc.terms.DwcTerm;
+import org.gbif.pipelines.core.pojo.HdfsConfigs;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FsUtilsTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final HdfsConfigs hdfsConfigs = HdfsConfigs.nullConfig();
+
+  @Test
+  public void deleteDirectoryByPrefixTest() {
+    // State
+    File root = folder.getRoot();
+    mkdirs(root, ".temp-beam-1/part");
+    mkdirs(root, "a/.temp-beam-2");
+    mkdirs(root, "a/keep");
+    mkdirs(root, "b/c/d/.temp-beam-3/part");
+    for (int i = 0; i < FsUtils.MAX_PARALLELISM * 2; i++) {
+      mkdirs(root, "e/" + i + "/.temp-beam-" + i);
+    }
+
+    // When
+    FsUtils.deleteDirectoryByPrefix(hdfsConfigs, root.getAbsolutePath(), ".temp-beam");
+
+    // Should
+    Assert.assertFalse(new File(root, ".temp-beam-1").exists());
+    Assert.assertFalse(new File(root, "a/.temp-beam-2").exists());
+    Assert.assertTrue(new File(root, "a/keep").exists());
+    Assert.assertFalse(new File(root, "b/c/d/.temp-beam-3").exists());
+    Assert.assertTrue(new File(root, "b/c/d").exists());
+    for (int i = 0; i < FsUtils.MAX_PARALLELISM * 2; i++) {
+      Assert.assertTrue(new File(root, "e/" + i).exists());
+      Assert.assertFalse(new File(root, "e/" + i + "/.temp-beam-" + i).exists());
+    }
+  }
+
+  @Test
+  public void deleteDirectoryByPrefixMissingTest() {
+    // State
+    String path = new File(folder.getRoot(), "missing").getAbsolutePath();
+
+    // When
+    FsUtils.deleteDirectoryByPrefix(hdfsConfigs, path, ".temp-beam");
+
+    // Should
+    Assert.assertFalse(new File(path).exists());
+  }
+
+  @Test
+  public void deleteIfExistTest() {
+    // State
+    File root = folder.getRoot();
+    mkdirs(root, "1/part");
+    mkdirs(root, "2");
+    String missing = new File(root, "3").getAbsolutePath();
+    String first = new File(root, "1").getAbsolutePath();
+    String second = new File(root, "2").getAbsolutePath();
+
+    // When
+    Map<String, Boolean> result =
+        FsUtils.deleteIfExist(hdfsConfigs, Arrays.asList(first, second, missing));
+
+    // Should
+    Assert.assertEquals(Arrays.asList(first, second, missing), new ArrayList<>(result.keySet()));
+    Assert.assertTrue(result.get(first));
+    Assert.assertTrue(result.get(second));
+    Assert.assertFalse(result.get(missing));
+    Assert.assertFalse(new File(first).exists());
+    Assert.assertFalse(new File(second).exists());
+  }
+
+  @Test
+  public void deleteInterpretIfExistTest() {
+    // State
+    File root = folder.getRoot();
+    String datasetId = "a0b1c2d3-0000-0000-0000-000000000000";
+    String interpreted = datasetId + "/1/occurrence/";
+    mkdirs(root, interpreted + "basic");
+    mkdirs(root, interpreted + "location");
+    mkdirs(root, interpreted + "taxonomy");
+
+    // When
+    FsUtils.deleteInterpretIfExist(
+        hdfsConfigs,
+        root.getAbsolutePath(),
+        datasetId,
+        1,
+        DwcTerm.Occurrence,
+        "BASIC",
+        "LOCATION",
+        "TEMPORAL");
+
+    // Should
+    Assert.assertFalse(new File(root, interpreted + "basic").exists());
+    Assert.assertFalse(new File(root, interpreted + "location").exists());
+    Assert.assertTrue(new File(root, interpreted + "taxonomy").exists());
+  }
+
+  private static void mkdirs(File root, String path) {
+    Assert.assertTrue(new File(root, path).mkdirs());
+  }
+}
@@ -6,14 +6,11 @@ public class Templates {
   public static final String TABLE_CONVERTER =
       "package ${packagePath};\n"
           + "\n"
+          + "import java.util.ArrayList;\n"
           + "import java.util.Collections;\n"
           + "import java.util.List;\n"
-          + "import java.util.Optional;\n"
-          + "import java.util.function.Function;\n"
-          + "import java.util.function.Supplier;\n"
+          + "import java.util.Map;\n"
           + "\n"
-          + "import org.gbif.pipelines.core.interpreters.ExtensionInterpretation;\n"
-          + "import org.gbif.pipelines.core.interpreters.ExtensionInterpretation.TargetHandler;\n"
           + "import org.gbif.pipelines.core.pojo.ErIdrMdrContainer;\n"
           + "import ${namespace}.ExtendedRecord;\n"
           + "import ${namespace}.${extensionPackage}.${tableName};\n"
@@ -28,15 +25,7 @@ public class Templates {
           + "@NoArgsConstructor(access = AccessLevel.PRIVATE)\n"
           + "public class ${tableName}Converter {\n"
           + "\n"
-          + "  private static final Function<Supplier<${tableName}>, TargetHandler<${tableName}>>\n"
-          + "      HANDLER =\n"
-          + "          mft ->\n"
-          + "              ExtensionInterpretation.extension(\"${rowType}\")\n"
-          + "                  .to(mft)\n"
-          + "                  // Verbatim\n"
-          + "              <#list setters as setter>\n"
-          + "                 .map(\"${setter.qualifier}\", ${tableName}::set${setter.vName}, ${tableName}::set${setter.name})\n"
-          + "              </#list>;\n"
+          + "  private static final String ROW_TYPE = \"${rowType}\";\n"
           + "\n"
           + "  /**\n"
           + "   * Converts an extension of a {@link ExtendedRecord} and populates a {@link\n"
@@ -46,17 +35,34 @@ public class Templates {
           + "    if (c.getEr() == null || c.getIdr() == null || c.getMdr() == null) {\n"
           + "      return Collections.emptyList();\n"
           + "    }\n"
-          + "    Supplier<${tableName}> supplierFn =\n"
-          + "     ()->\n"
-          + "        ${tableName}.newBuilder()\n"
-          + "         .setGbifid(Optional.ofNullable(c.getIdr().getInternalId()).map(Object::toString).orElse(c.getIdr().getId()))\n"
-          + "         .setDatasetkey(c.getMdr().getDatasetKey())\n"
-          + "         .build();\n"
+          + "    List<Map<String, String>> rows = c.getEr().getExtensions().get(ROW_TYPE);\n"
+          + "    if (rows == null || rows.isEmpty()) {\n"
+          + "      return Collections.emptyList();\n"
+          + "    }\n"
           + "\n"
-          + "    return HANDLER\n"
-          + "        .apply(supplierFn)\n"
-          + "        .convert(c.getEr())\n"
-          + "        .getList();\n"
+          + "    Object internalId = c.getIdr().getInternalId();\n"
+          + "    String gbifid = internalId != null ? internalId.toString() : c.getIdr().getId();\n"
+          + "    String datasetkey = c.getMdr().getDatasetKey();\n"
+          + "\n"
+          + "    List<${tableName}> result = new ArrayList<>(rows.size());\n"
+          + "    for (Map<String, String> row : rows) {\n"
+          + "      ${tableName} t =\n"
+          + "          ${tableName}.newBuilder()\n"
+          + "              .setGbifid(gbifid)\n"
+          + "              .setDatasetkey(datasetkey)\n"
+          + "              .build();\n"
+          + "      String v;\n"
+          + "      // Verbatim and interpreted values\n"
+          + "      <#list setters as setter>\n"
+          + "      v = row.get(\"${setter.qualifier}\");\n"
+          + "      if (v != null) {\n"
+          + "        t.set${setter.vName}(v);\n"
+          + "        t.set${setter.name}(v);\n"
+          + "      }\n"
+          + "      </#list>\n"
+          + "      result.add(t);\n"
+          + "    }\n"
+          + "    return result;\n"
           + "  }\n"
           + "}\n";
 
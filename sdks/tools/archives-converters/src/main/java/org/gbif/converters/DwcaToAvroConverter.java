@@ -72,6 +72,10 @@ public class DwcaToAvroConverter extends ConverterToVerbatim {
       reader = DwcaExtendedRecordReader.fromLocation(realPath);
     }
 
+    if (isTermCountsEnabled()) {
+      reader.withTermCounts();
+    }
+
     log.info("Exporting the DwC Archive to Avro started {}", realPath);
 
     // Read all records
@@ -83,7 +87,10 @@ public class DwcaToAvroConverter extends ConverterToVerbatim {
     }
     reader.close();
 
-    return Metric.create(reader.getRecordsReturned(), reader.getOccurrenceRecordsReturned());
+    Metric metric =
+        Metric.create(reader.getRecordsReturned(), reader.getOccurrenceRecordsReturned());
+    metric.setTermCounts(reader.getTermCounts());
+    return metric;
   }
 
   @SneakyThrows
@@ -27,6 +27,7 @@ public abstract class ConverterToVerbatim {
   private java.nio.file.Path inputPath;
   private Path outputPath;
   private Path metaPath;
+  private Path termCountsPath;
 
   private boolean skipDeletion = false;
 
@@ -60,6 +61,12 @@ public abstract class ConverterToVerbatim {
     return this;
   }
 
+  /** Enables counting terms during the conversion, for converters supporting it */
+  public ConverterToVerbatim termCountsPath(Path termCountsPath) {
+    this.termCountsPath = termCountsPath;
+    return this;
+  }
+
   public ConverterToVerbatim outputPath(String outputPath) {
     this.outputPath = new Path(outputPath);
     return this;
@@ -105,6 +112,10 @@ public abstract class ConverterToVerbatim {
 
       createMetafile(fs, metaPath, metric);
 
+      if (termCountsPath != null && metric.getTermCounts() != null) {
+        metric.getTermCounts().write(fs, termCountsPath);
+      }
+
     } catch (Exception e) {
       log.error("Failed performing conversion on {}", inputPath, e);
       throw new IllegalStateException("Failed performing conversion on " + inputPath, e);
@@ -132,6 +143,10 @@ public abstract class ConverterToVerbatim {
     }
   }
 
+  protected boolean isTermCountsEnabled() {
+    return termCountsPath != null;
+  }
+
   protected abstract Metric convert(
       java.nio.file.Path inputPath, SyncDataFileWriter<ExtendedRecord> dataFileWriter)
       throws IOException;
@@ -1,12 +1,15 @@
 package org.gbif.converters.converter;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.gbif.pipelines.core.io.DwcaTermCounts;
 
 @Data
-@AllArgsConstructor(staticName = "create")
+@RequiredArgsConstructor(staticName = "create")
 public class Metric {
 
   private final long numberOfRecords;
   private final long numberOfOccurrenceRecords;
+  // Only set by converters counting terms in the same pass
+  private DwcaTermCounts termCounts;
 }
@@ -15,6 +15,7 @@
  */
 package org.gbif.converters.parser.xml;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -24,10 +25,12 @@ import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -61,6 +64,8 @@ public class OccurrenceParser {
   private static final Pattern ENCODING_PATTERN = Pattern.compile(ENCONDING_EQ);
   private static final Pattern REPLACE_QUOTES_PAT = Pattern.compile("[\"']");
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+
   public static final String ADD_RECORD_AS_XML = "addRecordAsXml";
   public static final String SET_ABCD_1_HEADER = "setAbcd1Header";
 
@@ -84,13 +89,24 @@ public class OccurrenceParser {
    */
   // TODO: Optionally handle compressed streams
   public List<RawXmlOccurrence> parseStream(InputStream is) {
+    List<RawXmlOccurrence> records = new ArrayList<>();
+    parseStream(is, records::add);
+    return records;
+  }
+
+  /**
+   * This parses a stream of uncompressed ABCD or DwC Occurrences and passes every {@link
+   * RawXmlOccurrence} to the consumer as soon as it is parsed, so the occurrences of a response are
+   * never held in memory together.
+   *
+   * @param is stream to parse
+   * @param consumer receives parsed occurrences
+   * @throws ParsingException if there were any problems during parsing the stream
+   */
+  public void parseStream(InputStream is, Consumer<RawXmlOccurrence> consumer) {
     Objects.requireNonNull(is, "is can't be null");
     try {
-      ParsedSearchResponse responseBody = new ParsedSearchResponse();
-
-      parse(new InputSource(is), responseBody);
-
-      return responseBody.getRecords();
+      parse(new InputSource(is), new ParsedSearchResponse(consumer));
     } catch (ParserConfigurationException | TransformerException e) {
       throw new ServiceUnavailableException("Error setting up Commons Digester", e);
     } catch (SAXException | IOException e) {
@@ -108,9 +124,23 @@ public class OccurrenceParser {
    * @throws ParsingException if there were any problems during parsing the stream
    */
   public List<RawXmlOccurrence> parseFile(File file) {
-    try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+    List<RawXmlOccurrence> records = new ArrayList<>();
+    parseFile(file, records::add);
+    return records;
+  }
+
+  /**
+   * Streaming version of {@link #parseFile(File)}, see {@link #parseStream(InputStream, Consumer)}
+   *
+   * @param file xml response file
+   * @param consumer receives parsed occurrences
+   * @throws ParsingException if there were any problems during parsing the stream
+   */
+  public void parseFile(File file, Consumer<RawXmlOccurrence> consumer) {
+    try (InputStream inputStream =
+        new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE)) {
       log.info("Parsing XML file: {}", file);
-      return parseStream(inputStream);
+      parseStream(inputStream, consumer);
     } catch (IOException ex) {
       log.error("Parsing failed", ex);
       throw new ParsingException("Parsing failed", ex);
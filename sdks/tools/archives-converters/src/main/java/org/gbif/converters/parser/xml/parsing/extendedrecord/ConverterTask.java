@@ -1,7 +1,6 @@
 package org.gbif.converters.parser.xml.parsing.extendedrecord;
 
 import java.io.File;
-import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,22 +25,24 @@ public class ConverterTask implements Runnable {
   private final AtomicLong counter;
 
   /**
-   * Converts list of {@link org.gbif.converters.parser.xml.parsing.RawXmlOccurrence} into list of
-   * {@link RawOccurrenceRecord} and appends AVRO file
+   * Converts every {@link org.gbif.converters.parser.xml.parsing.RawXmlOccurrence} into {@link
+   * RawOccurrenceRecord}s and appends AVRO file while the response file is parsed, occurrences of
+   * a file are not collected in memory
    */
   @Override
   public void run() {
     new OccurrenceParser()
-        .parseFile(inputFile).stream()
-            .map(XmlFragmentParser::parseRecord)
-            .flatMap(Collection::stream)
-            .map(ExtendedRecordConverter::from)
-            .filter(er -> validator.isUnique(er.getId()))
-            .filter(er -> !er.getId().equals(ExtendedRecordConverter.getRecordIdError()))
-            .forEach(
-                er -> {
-                  dataFileWriter.append(er);
-                  counter.incrementAndGet();
-                });
+        .parseFile(
+            inputFile,
+            rawXml ->
+                XmlFragmentParser.parseRecord(rawXml).stream()
+                    .map(ExtendedRecordConverter::from)
+                    .filter(er -> validator.isUnique(er.getId()))
+                    .filter(er -> !er.getId().equals(ExtendedRecordConverter.getRecordIdError()))
+                    .forEach(
+                        er -> {
+                          dataFileWriter.append(er);
+                          counter.incrementAndGet();
+                        }));
   }
 }
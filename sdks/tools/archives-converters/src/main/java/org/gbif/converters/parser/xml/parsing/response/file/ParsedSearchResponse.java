@@ -19,6 +19,7 @@ import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -42,6 +43,7 @@ import org.w3c.dom.NodeList;
 public class ParsedSearchResponse {
 
   private List<RawXmlOccurrence> records;
+  private final Consumer<RawXmlOccurrence> recordConsumer;
   private OccurrenceSchemaType schemaType;
   private Transformer transformer;
   private ResponseSchemaDetector schemaDetector;
@@ -50,7 +52,17 @@ public class ParsedSearchResponse {
   private DocumentBuilder docBuilder;
 
   public ParsedSearchResponse() throws TransformerException, ParserConfigurationException {
+    this(null);
+  }
+
+  /**
+   * @param recordConsumer receives every record as soon as it is parsed, records are not collected
+   *     in {@link #getRecords()}. If null, records are collected
+   */
+  public ParsedSearchResponse(Consumer<RawXmlOccurrence> recordConsumer)
+      throws TransformerException, ParserConfigurationException {
     records = new ArrayList<>();
+    this.recordConsumer = recordConsumer != null ? recordConsumer : r -> records.add(r);
 
     TransformerFactory transformerFactory = TransformerFactory.newInstance();
     transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
@@ -92,7 +104,7 @@ public class ParsedSearchResponse {
       populateRecordCodes(workingNode, record);
 
       record.setXml(xml);
-      records.add(record);
+      recordConsumer.accept(record);
     }
   }
 
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -59,6 +60,19 @@ public class XmlFragmentParser {
   private static final Map<OccurrenceSchemaType, RuleSet> RULE_SETS =
       new EnumMap<>(OccurrenceSchemaType.class);
 
+  // Digester isn't thread-safe, every thread keeps one configured Digester per schema type
+  private static final ThreadLocal<Map<OccurrenceSchemaType, Digester>> DIGESTERS =
+      ThreadLocal.withInitial(() -> new EnumMap<>(OccurrenceSchemaType.class));
+
+  private static final Function<OccurrenceSchemaType, Digester> DIGESTER_FN =
+      schemaType -> {
+        Digester digester = new Digester();
+        digester.setNamespaceAware(true);
+        digester.setValidating(false);
+        digester.addRuleSet(RULE_SETS.get(schemaType));
+        return digester;
+      };
+
   static {
     try {
       RULE_SETS.put(OccurrenceSchemaType.ABCD_1_2, new Abcd12RuleSet());
@@ -103,15 +117,21 @@ public class XmlFragmentParser {
     return records;
   }
 
+  /**
+   * Parses the fragment with the thread's {@link Digester} for the schema type, rules are
+   * registered once per thread and schema type, not for every fragment
+   */
   private static List<RawOccurrenceRecord> parseRecord(
       InputSource inputSource, OccurrenceSchemaType schemaType) throws IOException, SAXException {
     RawOccurrenceRecordBuilder builder = new RawOccurrenceRecordBuilder();
-    Digester digester = new Digester();
-    digester.setNamespaceAware(true);
-    digester.setValidating(false);
-    digester.push(builder);
-    digester.addRuleSet(RULE_SETS.get(schemaType));
-    digester.parse(inputSource);
+    Digester digester = DIGESTERS.get().computeIfAbsent(schemaType, DIGESTER_FN);
+    try {
+      digester.push(builder);
+      digester.parse(inputSource);
+    } finally {
+      // A failed parse leaves objects on the stack
+      digester.clear();
+    }
 
     builder.resolvePriorities();
     return builder.generateRawOccurrenceRecords();
@@ -138,6 +138,27 @@ public class XmlFragmentParserTest {
     assertTrue(extractionResults.isEmpty());
   }
 
+  @Test
+  public void reuseDigesterAfterFailureTest() throws IOException {
+    // State
+    String xml =
+        Resources.toString(
+            Resources.getResource("id_extraction/abcd1_umlaut.xml"), StandardCharsets.UTF_8);
+    String brokenXml = xml.substring(0, xml.length() / 2);
+
+    // When
+    List<RawOccurrenceRecord> first = XmlFragmentParser.parseRecord(createFakeOcc(xml));
+    List<RawOccurrenceRecord> broken = XmlFragmentParser.parseRecord(createFakeOcc(brokenXml));
+    List<RawOccurrenceRecord> second = XmlFragmentParser.parseRecord(createFakeOcc(xml));
+
+    // Should
+    assertTrue(broken.isEmpty());
+    assertEquals(1, first.size());
+    assertEquals(1, second.size());
+    assertEquals(first.get(0).getCatalogueNumber(), second.get(0).getCatalogueNumber());
+    assertEquals(first.get(0).getCollectors().size(), second.get(0).getCollectors().size());
+  }
+
   private RawXmlOccurrence createFakeOcc(String xml) {
     RawXmlOccurrence rawRecord = new RawXmlOccurrence();
     rawRecord.setCatalogNumber("fake catalog");
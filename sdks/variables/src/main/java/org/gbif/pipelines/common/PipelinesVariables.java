@@ -29,6 +29,7 @@ public class PipelinesVariables {
     public static class Conversion {
 
       public static final String FILE_NAME = "verbatim";
+      public static final String TERM_COUNTS_FILE_NAME = "verbatim-term-counts.tsv";
     }
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)